@@ -47,6 +47,11 @@
 -dontwarn com.facebook.react.**
 -keep,includedescriptorclasses class com.facebook.react.bridge.** { *; }
 
+# Hermes (loaded through reflection when built with JS_ENGINE=hermes)
+
+-keep class com.facebook.hermes.** { *; }
+-dontwarn com.facebook.hermes.**
+
 # okhttp
 
 -keepattributes Signature
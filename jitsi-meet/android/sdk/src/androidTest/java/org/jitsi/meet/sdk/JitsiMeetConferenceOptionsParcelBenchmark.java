@@ -0,0 +1,208 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.URL;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures the {@link Parcel} round-trip (write and read back) of
+ * {@link JitsiMeetConferenceOptions} on a device, with the compact encoding
+ * and with the {@link Bundle} based one of older versions of the SDK, which
+ * is still read. Unlike the unit tests (see
+ * {@code JitsiMeetConferenceOptionsParcelTest}), it runs on the real
+ * {@link Parcel} implementation, so the timings mean something. The results
+ * are logged, e.g.:
+ *
+ * ./gradlew :sdk:connectedDebugAndroidTest
+ * adb logcat -s JitsiMeetConferenceOptionsParcelBenchmark
+ *
+ * The timings are only reported, not asserted, to not be flaky.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class JitsiMeetConferenceOptionsParcelBenchmark {
+    /**
+     * Number of flags in the large feature flag set.
+     */
+    private static final int FEATURE_FLAGS = 200;
+
+    /**
+     * Number of round-trips in a run.
+     */
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * Number of measured runs, the fastest one is reported.
+     */
+    private static final int RUNS = 5;
+
+    private static final String TAG
+        = JitsiMeetConferenceOptionsParcelBenchmark.class.getSimpleName();
+
+    /**
+     * Number of round-trips before measuring, for the JIT to kick in.
+     */
+    private static final int WARMUP_ITERATIONS = 2000;
+
+    @Test
+    public void benchmarkRoundTrip() throws Exception {
+        JitsiMeetConferenceOptions options = createOptions(0);
+
+        measure("compact, no flags", options, false);
+        measure("legacy, no flags", options, true);
+
+        options = createOptions(FEATURE_FLAGS);
+
+        measure("compact, " + FEATURE_FLAGS + " flags", options, false);
+        measure("legacy, " + FEATURE_FLAGS + " flags", options, true);
+    }
+
+    private static JitsiMeetConferenceOptions createOptions(int featureFlags)
+            throws Exception {
+        JitsiMeetUserInfo userInfo = new JitsiMeetUserInfo();
+
+        userInfo.setDisplayName("Jane Doe");
+        userInfo.setEmail("jane@example.org");
+        userInfo.setAvatar(new URL("https://example.org/avatar.png"));
+
+        Bundle colorScheme = new Bundle();
+
+        colorScheme.putString("background", "#000000");
+
+        JitsiMeetConferenceOptions.Builder builder
+            = new JitsiMeetConferenceOptions.Builder()
+                .setRoom("room")
+                .setSubject("Subject")
+                .setColorScheme(colorScheme)
+                .setAudioMuted(true)
+                .setVideoMuted(false)
+                .setUserInfo(userInfo);
+
+        for (int i = 0; i < featureFlags; i++) {
+            builder.setFeatureFlag("custom." + i + ".enabled", i % 2 == 0);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Measures the round-trip of the given options and logs the result.
+     *
+     * @param name - The name of the measurement in the log.
+     * @param options - The {@link JitsiMeetConferenceOptions} to round-trip.
+     * @param legacy - Whether to write the {@link Bundle} based encoding of
+     * older versions of the SDK instead of the compact one.
+     */
+    private static void measure(
+            String name,
+            JitsiMeetConferenceOptions options,
+            boolean legacy) {
+        long best = Long.MAX_VALUE;
+        int size = 0;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            roundTrip(options, legacy);
+        }
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                size = roundTrip(options, legacy);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        Log.i(TAG, name + ": " + (best / ITERATIONS) + " ns, " + size + " bytes");
+    }
+
+    /**
+     * Writes the given options to a {@link Parcel} and reads them back.
+     *
+     * @return The size of the {@link Parcel}, in bytes.
+     */
+    private static int roundTrip(
+            JitsiMeetConferenceOptions options,
+            boolean legacy) {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            if (legacy) {
+                writeLegacyParcel(parcel, options);
+            } else {
+                options.writeToParcel(parcel, 0);
+            }
+            parcel.setDataPosition(0);
+
+            JitsiMeetConferenceOptions result
+                = JitsiMeetConferenceOptions.CREATOR.createFromParcel(parcel);
+
+            // The Bundles of the legacy encoding are read lazily.
+            assertTrue(result.getFeatureFlag("pip.enabled", true));
+
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * Writes the given options with the {@link Bundle} based encoding of older
+     * versions of the SDK.
+     */
+    private static void writeLegacyParcel(
+            Parcel parcel,
+            JitsiMeetConferenceOptions options) {
+        Bundle props = options.asProps();
+        Bundle urlProps = props.getBundle("url");
+        Bundle config = urlProps.getBundle("config");
+        Bundle flags = new Bundle(props.getBundle("flags"));
+
+        flags.remove("pip.enabled");
+
+        parcel.writeString(urlProps.getString("room"));
+        parcel.writeString(config.getString("subject"));
+        parcel.writeString(urlProps.getString("jwt"));
+        parcel.writeBundle(props.getBundle("colorScheme"));
+        parcel.writeBundle(flags);
+        parcel.writeBundle(props.getBundle("userInfo"));
+        parcel.writeByte(writeLegacyTriState(config, "startWithAudioMuted"));
+        parcel.writeByte(writeLegacyTriState(config, "startAudioOnly"));
+        parcel.writeByte(writeLegacyTriState(config, "startWithVideoMuted"));
+    }
+
+    /**
+     * Encodes an optional boolean of the config like older versions of the SDK
+     * did: 0 if not set, 1 if {@code true} and 2 if {@code false}.
+     */
+    private static byte writeLegacyTriState(Bundle config, String key) {
+        if (!config.containsKey(key)) {
+            return 0;
+        }
+
+        return config.getBoolean(key) ? (byte) 1 : (byte) 2;
+    }
+}
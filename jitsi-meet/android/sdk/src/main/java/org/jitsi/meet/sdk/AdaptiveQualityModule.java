@@ -0,0 +1,323 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
+
+/**
+ * Module which lowers the quality of the video (sent resolution and frame
+ * rate, number of received videos) when the device heats up, runs low on
+ * battery or is in power save mode, and raises it back once it recovers. The
+ * tiers are picked by {@link QualityPolicy} and sent to JavaScript, which
+ * applies them to the conference, with the {@link #TIER_CHANGED_EVENT} event.
+ *
+ * The thermal status is only available as of API level 29. All the readings
+ * are handled on the main thread.
+ */
+@ReactModule(name = AdaptiveQualityModule.NAME)
+class AdaptiveQualityModule extends ReactContextBaseJavaModule {
+
+    public static final String NAME = "AdaptiveQuality";
+
+    /**
+     * The {@code Log} tag {@code AdaptiveQualityModule} is to log messages
+     * with.
+     */
+    static final String TAG = NAME;
+
+    /**
+     * The name of the event with which the changes of the tier are sent to
+     * JavaScript.
+     */
+    private static final String TIER_CHANGED_EVENT
+        = "org.jitsi.meet:features/adaptive-quality#tier";
+
+    private static WritableMap toMap(QualityPolicy.Tier tier) {
+        WritableMap map = Arguments.createMap();
+
+        map.putString("name", tier.name);
+        map.putInt("receiveVideoCount", tier.receiveVideoCount);
+        map.putInt("sendFrameRate", tier.sendFrameRate);
+        map.putInt("sendHeight", tier.sendHeight);
+
+        return map;
+    }
+
+    private int batteryLevel = -1;
+
+    private final BroadcastReceiver broadcastReceiver
+        = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                if (Intent.ACTION_BATTERY_CHANGED.equals(intent.getAction())) {
+                    onBatteryChanged(intent);
+                }
+                update();
+            }
+        };
+
+    private boolean charging;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final QualityPolicy policy = new QualityPolicy();
+
+    private final PowerManager powerManager;
+
+    private int thermalStatus;
+
+    /**
+     * The {@code PowerManager.OnThermalStatusChangedListener}, {@code null}
+     * before API level 29.
+     */
+    private Object thermalStatusListener;
+
+    /**
+     * The tier as of the last update, which JavaScript knows about.
+     */
+    private volatile QualityPolicy.Tier tier = policy.getTier();
+
+    /**
+     * Updates the policy when the quality may be raised, see
+     * {@link QualityPolicy#getUpgradeTime()}.
+     */
+    private final Runnable updateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            update();
+        }
+    };
+
+    /**
+     * Initializes a new module instance. There shall be a single instance of
+     * this module throughout the lifetime of the application.
+     *
+     * @param reactContext the {@link ReactApplicationContext} where this module
+     * is created.
+     */
+    public AdaptiveQualityModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+
+        powerManager
+            = (PowerManager) reactContext.getSystemService(Context.POWER_SERVICE);
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                start();
+            }
+        });
+    }
+
+    /**
+     * Gets the name for this module to be used in the React Native bridge.
+     *
+     * @return a string with the module name.
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Retrieves the current tier: its name ("high", "medium", "low" or
+     * "minimal"), sendHeight, sendFrameRate and receiveVideoCount (-1 for no
+     * limit). The changes are then sent with the
+     * {@link #TIER_CHANGED_EVENT} event.
+     *
+     * @param promise a {@link Promise} which will be resolved with the tier.
+     */
+    @ReactMethod
+    public void getTier(Promise promise) {
+        promise.resolve(toMap(tier));
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                stop();
+            }
+        });
+    }
+
+    private void onBatteryChanged(Intent intent) {
+        int level = intent.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+        int scale = intent.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+        int status = intent.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+
+        batteryLevel = level >= 0 && scale > 0 ? level * 100 / scale : -1;
+        charging
+            = status == BatteryManager.BATTERY_STATUS_CHARGING
+                || status == BatteryManager.BATTERY_STATUS_FULL;
+    }
+
+    /**
+     * Starts listening to the readings. Called on the main thread.
+     */
+    private void start() {
+        Context context = getReactApplicationContext();
+        IntentFilter filter = new IntentFilter(Intent.ACTION_BATTERY_CHANGED);
+
+        filter.addAction(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED);
+
+        // ACTION_BATTERY_CHANGED is sticky, the current battery state is
+        // returned right away.
+        Intent battery = context.registerReceiver(broadcastReceiver, filter);
+
+        if (battery != null) {
+            onBatteryChanged(battery);
+        }
+
+        // PowerManager.addThermalStatusListener() was introduced in API level
+        // 29.
+        if (Build.VERSION.SDK_INT >= 29 && powerManager != null) {
+            try {
+                Class<?> listenerClass
+                    = Class.forName(
+                        "android.os.PowerManager$OnThermalStatusChangedListener");
+
+                thermalStatusListener
+                    = Proxy.newProxyInstance(
+                        listenerClass.getClassLoader(),
+                        new Class<?>[] { listenerClass },
+                        new InvocationHandler() {
+                            @Override
+                            public Object invoke(
+                                    Object proxy,
+                                    Method method,
+                                    Object[] args) {
+                                if ("onThermalStatusChanged".equals(method.getName())) {
+                                    thermalStatus = (Integer) args[0];
+                                    update();
+                                    return null;
+                                }
+                                if ("equals".equals(method.getName())) {
+                                    return proxy == args[0];
+                                }
+                                if ("hashCode".equals(method.getName())) {
+                                    return System.identityHashCode(proxy);
+                                }
+
+                                return null;
+                            }
+                        });
+                thermalStatus
+                    = (Integer)
+                        PowerManager.class
+                            .getMethod("getCurrentThermalStatus")
+                            .invoke(powerManager);
+                PowerManager.class
+                    .getMethod("addThermalStatusListener", Executor.class, listenerClass)
+                    .invoke(
+                        powerManager,
+                        new Executor() {
+                            @Override
+                            public void execute(Runnable runnable) {
+                                handler.post(runnable);
+                            }
+                        },
+                        thermalStatusListener);
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to listen to the thermal status", e);
+                thermalStatusListener = null;
+            }
+        }
+
+        update();
+    }
+
+    /**
+     * Stops listening to the readings. Called on the main thread.
+     */
+    private void stop() {
+        handler.removeCallbacks(updateRunnable);
+
+        try {
+            getReactApplicationContext().unregisterReceiver(broadcastReceiver);
+        } catch (IllegalArgumentException e) {
+            // The receiver was not registered.
+        }
+
+        if (thermalStatusListener != null) {
+            try {
+                PowerManager.class
+                    .getMethod(
+                        "removeThermalStatusListener",
+                        thermalStatusListener.getClass().getInterfaces()[0])
+                    .invoke(powerManager, thermalStatusListener);
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to stop listening to the thermal status", e);
+            }
+            thermalStatusListener = null;
+        }
+    }
+
+    /**
+     * Updates the policy from the current readings, sends the tier to
+     * JavaScript if it changed and schedules the next update, if the quality
+     * is about to be raised. Called on the main thread.
+     */
+    private void update() {
+        long now = SystemClock.elapsedRealtime();
+        QualityPolicy.Tier tier
+            = policy.update(
+                now,
+                thermalStatus,
+                batteryLevel,
+                charging,
+                powerManager != null && powerManager.isPowerSaveMode());
+
+        handler.removeCallbacks(updateRunnable);
+
+        long upgradeTime = policy.getUpgradeTime();
+
+        if (upgradeTime != -1) {
+            handler.postDelayed(updateRunnable, upgradeTime - now);
+        }
+
+        if (tier != this.tier) {
+            Log.i(TAG, "Quality tier changed from " + this.tier + " to " + tier);
+            this.tier = tier;
+            ReactInstanceManagerHolder.emitEvent(TIER_CHANGED_EVENT, toMap(tier));
+        }
+    }
+}
@@ -16,11 +16,6 @@
 
 package org.jitsi.meet.sdk;
 
-import android.content.Context;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
-
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.module.annotations.ReactModule;
@@ -46,35 +41,18 @@ class AppInfoModule
      */
     @Override
     public Map<String, Object> getConstants() {
-        Context context = getReactApplicationContext();
-        PackageManager packageManager = context.getPackageManager();
-        ApplicationInfo applicationInfo;
-        PackageInfo packageInfo;
-
-        try {
-             String packageName = context.getPackageName();
-
-             applicationInfo
-                 = packageManager.getApplicationInfo(packageName, 0);
-             packageInfo = packageManager.getPackageInfo(packageName, 0);
-        } catch (PackageManager.NameNotFoundException e) {
-             applicationInfo = null;
-             packageInfo = null;
-        }
-
+        AppMetadata appMetadata
+            = AppMetadata.getInstance(getReactApplicationContext());
         Map<String, Object> constants = new HashMap<>();
+        String applicationLabel = appMetadata.getApplicationLabel();
+        String versionCode = appMetadata.getVersionCode();
+        String versionName = appMetadata.getVersionName();
 
-        constants.put(
-            "buildNumber",
-            packageInfo == null ? "" : String.valueOf(packageInfo.versionCode));
+        constants.put("buildNumber", versionCode == null ? "" : versionCode);
         constants.put(
             "name",
-            applicationInfo == null
-                ? ""
-                : packageManager.getApplicationLabel(applicationInfo));
-        constants.put(
-            "version",
-            packageInfo == null ? "" : packageInfo.versionName);
+            applicationLabel == null ? "" : applicationLabel);
+        constants.put("version", versionName == null ? "" : versionName);
         constants.put("LIBRE_BUILD", BuildConfig.LIBRE_BUILD);
 
         return constants;
@@ -0,0 +1,142 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+
+/**
+ * Process-wide snapshot of the metadata of the app, shared by the native
+ * modules which export it to JS ({@link AppInfoModule}, {@link LocaleDetector}
+ * and {@link DropboxModule}). Querying the {@link PackageManager} takes binder
+ * calls, so it's done once per process rather than every time a React context
+ * is created. The package info doesn't change during the lifetime of the
+ * process; the locale is updated when the configuration of the app changes.
+ */
+final class AppMetadata {
+    private static AppMetadata instance;
+
+    /**
+     * Gets the snapshot, computing it on the first call.
+     *
+     * @param context - The {@link Context} to get the metadata of.
+     * @return The {@link AppMetadata} of the app.
+     */
+    static synchronized AppMetadata getInstance(Context context) {
+        if (instance == null) {
+            instance = new AppMetadata(context.getApplicationContext());
+        }
+
+        return instance;
+    }
+
+    /**
+     * The label of the app, {@code null} if unknown.
+     */
+    private final String applicationLabel;
+
+    private volatile String locale;
+
+    /**
+     * The version code of the app, {@code null} if unknown.
+     */
+    private final String versionCode;
+
+    /**
+     * The version name of the app, {@code null} if unknown.
+     */
+    private final String versionName;
+
+    private AppMetadata(Context context) {
+        PackageManager packageManager = context.getPackageManager();
+        ApplicationInfo applicationInfo;
+        PackageInfo packageInfo;
+
+        try {
+            String packageName = context.getPackageName();
+
+            applicationInfo
+                = packageManager.getApplicationInfo(packageName, 0);
+            packageInfo = packageManager.getPackageInfo(packageName, 0);
+        } catch (PackageManager.NameNotFoundException e) {
+            applicationInfo = null;
+            packageInfo = null;
+        }
+
+        applicationLabel
+            = applicationInfo == null
+                ? null
+                : packageManager.getApplicationLabel(applicationInfo).toString();
+        versionCode
+            = packageInfo == null ? null : String.valueOf(packageInfo.versionCode);
+        versionName = packageInfo == null ? null : packageInfo.versionName;
+
+        locale = context.getResources().getConfiguration().locale.toString();
+        context.registerComponentCallbacks(new ComponentCallbacks() {
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+                if (newConfig.locale != null) {
+                    locale = newConfig.locale.toString();
+                }
+            }
+
+            @Override
+            public void onLowMemory() {
+            }
+        });
+    }
+
+    /**
+     * Gets the label of the app.
+     *
+     * @return The label of the app, or {@code null} if unknown.
+     */
+    String getApplicationLabel() {
+        return applicationLabel;
+    }
+
+    /**
+     * Gets the current locale of the app.
+     *
+     * @return The locale, e.g. "en_US".
+     */
+    String getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets the version code of the app.
+     *
+     * @return The version code, or {@code null} if unknown.
+     */
+    String getVersionCode() {
+        return versionCode;
+    }
+
+    /**
+     * Gets the version name of the app.
+     *
+     * @return The version name, or {@code null} if unknown.
+     */
+    String getVersionName() {
+        return versionName;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.facebook.react.bridge.UiThreadUtil;
+
+import org.webrtc.audio.AudioDeviceModule;
+import org.webrtc.audio.JavaAudioDeviceModule;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helper class for creating the WebRTC {@link AudioDeviceModule} according to
+ * the {@link AudioEngineOptions} set on {@link JitsiMeet}, and for keeping
+ * track of the errors it reports.
+ */
+class AudioDeviceModuleFactory {
+    private static final String TAG = AudioDeviceModuleFactory.class.getSimpleName();
+
+    /**
+     * Counters of the errors reported by the audio engine.
+     */
+    private static final AtomicInteger recordErrorCount = new AtomicInteger();
+    private static final AtomicInteger trackErrorCount = new AtomicInteger();
+
+    /**
+     * Creates an {@link AudioDeviceModule} configured with the given options.
+     *
+     * @param context - The {@link Context} to create the module with.
+     * @param options - The {@link AudioEngineOptions} to apply. If
+     * {@code null}, the WebRTC defaults are used.
+     * @return The new {@link AudioDeviceModule}.
+     */
+    static AudioDeviceModule create(
+            Context context, @Nullable AudioEngineOptions options) {
+        JavaAudioDeviceModule.Builder builder
+            = JavaAudioDeviceModule.builder(context);
+        AudioEngineListener listener = null;
+
+        if (options != null) {
+            if (options.getHardwareAcousticEchoCancelerEnabled() != null) {
+                builder.setUseHardwareAcousticEchoCanceler(
+                    options.getHardwareAcousticEchoCancelerEnabled());
+            }
+            if (options.getHardwareNoiseSuppressorEnabled() != null) {
+                builder.setUseHardwareNoiseSuppressor(
+                    options.getHardwareNoiseSuppressorEnabled());
+            }
+            if (options.getInputSampleRate() > 0) {
+                builder.setInputSampleRate(options.getInputSampleRate());
+            }
+            if (options.getOutputSampleRate() > 0) {
+                builder.setOutputSampleRate(options.getOutputSampleRate());
+            }
+            if (options.getAudioSource() >= 0) {
+                builder.setAudioSource(options.getAudioSource());
+            }
+            if (options.isLowLatencyEnabled()) {
+                setUseLowLatency(builder);
+            }
+
+            listener = options.getListener();
+        }
+
+        final AudioEngineListener l = listener;
+
+        builder.setAudioRecordErrorCallback(
+            new JavaAudioDeviceModule.AudioRecordErrorCallback() {
+                @Override
+                public void onWebRtcAudioRecordInitError(String message) {
+                    onRecordError(l, "init", message);
+                }
+
+                @Override
+                public void onWebRtcAudioRecordStartError(
+                        JavaAudioDeviceModule.AudioRecordStartErrorCode code,
+                        String message) {
+                    onRecordError(l, "start", code + ": " + message);
+                }
+
+                @Override
+                public void onWebRtcAudioRecordError(String message) {
+                    onRecordError(l, "runtime", message);
+                }
+            });
+        builder.setAudioTrackErrorCallback(
+            new JavaAudioDeviceModule.AudioTrackErrorCallback() {
+                @Override
+                public void onWebRtcAudioTrackInitError(String message) {
+                    onTrackError(l, "init", message);
+                }
+
+                @Override
+                public void onWebRtcAudioTrackStartError(
+                        JavaAudioDeviceModule.AudioTrackStartErrorCode code,
+                        String message) {
+                    onTrackError(l, "start", code + ": " + message);
+                }
+
+                @Override
+                public void onWebRtcAudioTrackError(String message) {
+                    onTrackError(l, "runtime", message);
+                }
+            });
+
+        recordErrorCount.set(0);
+        trackErrorCount.set(0);
+
+        return builder.createAudioDeviceModule();
+    }
+
+    /**
+     * Gets a snapshot of the audio engine error counters.
+     */
+    static AudioEngineStats getStats() {
+        return new AudioEngineStats(recordErrorCount.get(), trackErrorCount.get());
+    }
+
+    private static void onRecordError(
+            final AudioEngineListener listener,
+            final String errorType,
+            final String message) {
+        recordErrorCount.incrementAndGet();
+        Log.e(TAG, "Audio record " + errorType + " error: " + message);
+
+        if (listener != null) {
+            final AudioEngineStats stats = getStats();
+
+            UiThreadUtil.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onAudioRecordError(errorType, message, stats);
+                }
+            });
+        }
+    }
+
+    private static void onTrackError(
+            final AudioEngineListener listener,
+            final String errorType,
+            final String message) {
+        trackErrorCount.incrementAndGet();
+        Log.e(TAG, "Audio track " + errorType + " error: " + message);
+
+        if (listener != null) {
+            final AudioEngineStats stats = getStats();
+
+            UiThreadUtil.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onAudioTrackError(errorType, message, stats);
+                }
+            });
+        }
+    }
+
+    /**
+     * Requests low latency playout. The option is only available in newer
+     * WebRTC builds, so it's looked up by reflection.
+     */
+    private static void setUseLowLatency(JavaAudioDeviceModule.Builder builder) {
+        try {
+            Method method
+                = builder.getClass().getMethod("setUseLowLatency", boolean.class);
+            method.invoke(builder, true);
+        } catch (Exception e) {
+            Log.w(TAG, "Low latency audio is not supported by this WebRTC build");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Interface for listening to errors reported by the WebRTC audio engine. The
+ * methods are invoked on the UI thread.
+ */
+public interface AudioEngineListener {
+    /**
+     * Called when the audio record (microphone) fails to initialize, start or
+     * read data.
+     *
+     * @param errorType The kind of error: "init", "start" or "runtime".
+     * @param message The error message reported by WebRTC.
+     * @param stats Snapshot of the audio engine counters at the time of the
+     * error.
+     */
+    void onAudioRecordError(String errorType, String message, AudioEngineStats stats);
+
+    /**
+     * Called when the audio track (playout) fails to initialize, start or
+     * write data.
+     *
+     * @param errorType The kind of error: "init", "start" or "runtime".
+     * @param message The error message reported by WebRTC.
+     * @param stats Snapshot of the audio engine counters at the time of the
+     * error.
+     */
+    void onAudioTrackError(String errorType, String message, AudioEngineStats stats);
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * This class represents the options used to configure the WebRTC audio engine
+ * (the {@code JavaAudioDeviceModule}). The user can create an instance by using
+ * {@link AudioEngineOptions.Builder} and install it with
+ * {@link JitsiMeet#setAudioEngineOptions(AudioEngineOptions)}.
+ *
+ * The audio engine is created once per React context, so the options must be
+ * set before the first {@link JitsiMeetView} is created in order to take
+ * effect. Options which are not set keep the WebRTC defaults.
+ */
+public class AudioEngineOptions {
+    /**
+     * Whether the hardware acoustic echo canceler / noise suppressor should be
+     * used. {@code null} keeps the WebRTC default.
+     */
+    private Boolean hardwareAcousticEchoCancelerEnabled;
+    private Boolean hardwareNoiseSuppressorEnabled;
+
+    /**
+     * Sample rates (in Hz) for recording and playout. 0 keeps the rate picked
+     * by WebRTC based on the device.
+     */
+    private int inputSampleRate;
+    private int outputSampleRate;
+
+    /**
+     * Audio source (one of {@code MediaRecorder.AudioSource}) used for
+     * recording. -1 keeps the WebRTC default.
+     */
+    private int audioSource;
+
+    /**
+     * Whether the low latency playout path should be requested, if the WebRTC
+     * build supports it.
+     */
+    private boolean lowLatencyEnabled;
+
+    /**
+     * Listener notified about audio engine errors.
+     */
+    private AudioEngineListener listener;
+
+    /**
+     * Class used to build the immutable {@link AudioEngineOptions} object.
+     */
+    public static class Builder {
+        private Boolean hardwareAcousticEchoCancelerEnabled;
+        private Boolean hardwareNoiseSuppressorEnabled;
+        private int inputSampleRate;
+        private int outputSampleRate;
+        private int audioSource = -1;
+        private boolean lowLatencyEnabled;
+        private AudioEngineListener listener;
+
+        /**
+         * Enables / disables the hardware (platform) acoustic echo canceler.
+         * @param enabled - Whether the hardware AEC should be used.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setHardwareAcousticEchoCancelerEnabled(boolean enabled) {
+            this.hardwareAcousticEchoCancelerEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Enables / disables the hardware (platform) noise suppressor.
+         * @param enabled - Whether the hardware NS should be used.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setHardwareNoiseSuppressorEnabled(boolean enabled) {
+            this.hardwareNoiseSuppressorEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Sets the sample rate used for both recording and playout.
+         * @param sampleRate - The sample rate in Hz.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.inputSampleRate = sampleRate;
+            this.outputSampleRate = sampleRate;
+
+            return this;
+        }
+
+        /**
+         * Sets the sample rate used for recording.
+         * @param sampleRate - The sample rate in Hz.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setInputSampleRate(int sampleRate) {
+            this.inputSampleRate = sampleRate;
+
+            return this;
+        }
+
+        /**
+         * Sets the sample rate used for playout.
+         * @param sampleRate - The sample rate in Hz.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setOutputSampleRate(int sampleRate) {
+            this.outputSampleRate = sampleRate;
+
+            return this;
+        }
+
+        /**
+         * Sets the audio source used for recording.
+         * @param audioSource - One of the {@code MediaRecorder.AudioSource} constants.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setAudioSource(int audioSource) {
+            this.audioSource = audioSource;
+
+            return this;
+        }
+
+        /**
+         * Requests the low latency playout path. Ignored if the WebRTC build
+         * in use doesn't support it.
+         * @param enabled - Whether low latency playout should be requested.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setLowLatencyEnabled(boolean enabled) {
+            this.lowLatencyEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Sets the listener which will be notified about audio engine errors.
+         * @param listener - The {@link AudioEngineListener} to notify.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setListener(AudioEngineListener listener) {
+            this.listener = listener;
+
+            return this;
+        }
+
+        /**
+         * Builds the immutable {@link AudioEngineOptions} object with the configuration
+         * that this {@link Builder} instance specified.
+         * @return - The built {@link AudioEngineOptions} object.
+         */
+        public AudioEngineOptions build() {
+            AudioEngineOptions options = new AudioEngineOptions();
+
+            options.hardwareAcousticEchoCancelerEnabled = this.hardwareAcousticEchoCancelerEnabled;
+            options.hardwareNoiseSuppressorEnabled = this.hardwareNoiseSuppressorEnabled;
+            options.inputSampleRate = this.inputSampleRate;
+            options.outputSampleRate = this.outputSampleRate;
+            options.audioSource = this.audioSource;
+            options.lowLatencyEnabled = this.lowLatencyEnabled;
+            options.listener = this.listener;
+
+            return options;
+        }
+    }
+
+    private AudioEngineOptions() {
+    }
+
+    Boolean getHardwareAcousticEchoCancelerEnabled() {
+        return hardwareAcousticEchoCancelerEnabled;
+    }
+
+    Boolean getHardwareNoiseSuppressorEnabled() {
+        return hardwareNoiseSuppressorEnabled;
+    }
+
+    int getInputSampleRate() {
+        return inputSampleRate;
+    }
+
+    int getOutputSampleRate() {
+        return outputSampleRate;
+    }
+
+    int getAudioSource() {
+        return audioSource;
+    }
+
+    boolean isLowLatencyEnabled() {
+        return lowLatencyEnabled;
+    }
+
+    AudioEngineListener getListener() {
+        return listener;
+    }
+}
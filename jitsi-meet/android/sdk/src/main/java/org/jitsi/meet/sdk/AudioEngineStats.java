@@ -0,0 +1,57 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Immutable snapshot of the error counters of the WebRTC audio engine, as
+ * returned by {@link JitsiMeet#getAudioEngineStats()}.
+ */
+public class AudioEngineStats {
+    private final int recordErrorCount;
+    private final int trackErrorCount;
+
+    AudioEngineStats(int recordErrorCount, int trackErrorCount) {
+        this.recordErrorCount = recordErrorCount;
+        this.trackErrorCount = trackErrorCount;
+    }
+
+    /**
+     * Gets the number of audio record (microphone) errors reported since the
+     * audio engine was created.
+     *
+     * @return - The number of audio record errors.
+     */
+    public int getRecordErrorCount() {
+        return recordErrorCount;
+    }
+
+    /**
+     * Gets the number of audio track (playout) errors reported since the
+     * audio engine was created.
+     *
+     * @return - The number of audio track errors.
+     */
+    public int getTrackErrorCount() {
+        return trackErrorCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AudioEngineStats{recordErrors=" + recordErrorCount
+            + ", trackErrors=" + trackErrorCount + "}";
+    }
+}
@@ -43,6 +43,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Module implementing a simple API to select the appropriate audio device for a
@@ -179,12 +180,36 @@ class AudioModeModule extends ReactContextBaseJavaModule
      */
     private BluetoothHeadsetMonitor bluetoothHeadsetMonitor;
 
+    /**
+     * The {@code AudioDeviceCallback} registered on Android >= M, typed
+     * {@code Object} since the class is not available on older versions.
+     */
+    private Object audioDeviceCallback;
+
+    /**
+     * The hook of this module in {@link ShutdownRegistry}, registered while the
+     * module is alive.
+     */
+    private final ShutdownRegistry.Hook shutdownHook
+        = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                AudioModeModule.this.shutDown();
+            }
+        };
+
     /**
      * {@link ExecutorService} for running all audio operations on a dedicated
-     * thread.
+     * thread. The thread is named after the module, so that its CPU use can be
+     * told apart (see {@link ProcessStatsSampler}).
      */
     private static final ExecutorService executor
-        = Executors.newSingleThreadExecutor();
+        = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, NAME);
+            }
+        });
 
     /**
      * {@link Runnable} for running audio device detection the main thread.
@@ -248,11 +273,17 @@ class AudioModeModule extends ReactContextBaseJavaModule
      */
     private int mode = -1;
 
+    /**
+     * The {@link BroadcastReceiver} of the wired headset changes, registered
+     * on Android < M.
+     */
+    private BroadcastReceiver wiredHeadsetReceiver;
+
     /**
      * Audio device types.
      */
     private static final String DEVICE_BLUETOOTH  = "BLUETOOTH";
-    private static final String DEVICE_EARPIECE   = "EARPIECE";
+    static final String DEVICE_EARPIECE   = "EARPIECE";
     private static final String DEVICE_HEADPHONES = "HEADPHONES";
     private static final String DEVICE_SPEAKER    = "SPEAKER";
 
@@ -315,6 +346,8 @@ class AudioModeModule extends ReactContextBaseJavaModule
                 availableDevices.add(DEVICE_SPEAKER);
             }
         }
+
+        ShutdownRegistry.getInstance().register(NAME, shutdownHook);
     }
 
     /**
@@ -374,6 +407,11 @@ class AudioModeModule extends ReactContextBaseJavaModule
         return NAME;
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        ShutdownRegistry.getInstance().unregister(NAME, shutdownHook);
+    }
+
     /**
      * Helper method to trigger an audio route update when devices change. It
      * makes sure the operation is performed on the main thread.
@@ -646,6 +684,7 @@ class AudioModeModule extends ReactContextBaseJavaModule
                 };
 
         audioManager.registerAudioDeviceCallback(audioDeviceCallback, null);
+        this.audioDeviceCallback = audioDeviceCallback;
     }
 
     /**
@@ -656,7 +695,7 @@ class AudioModeModule extends ReactContextBaseJavaModule
 
         // Detect changes in wired headset connections.
         IntentFilter wiredHeadSetFilter = new IntentFilter(ACTION_HEADSET_PLUG);
-        BroadcastReceiver wiredHeadsetReceiver = new BroadcastReceiver() {
+        wiredHeadsetReceiver = new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
                 Log.d(TAG, "Wired headset added / removed");
@@ -669,6 +708,34 @@ class AudioModeModule extends ReactContextBaseJavaModule
         bluetoothHeadsetMonitor = new BluetoothHeadsetMonitor(this, context);
     }
 
+    /**
+     * Restores the audio state of the system and stops the audio route change
+     * detection. Runs on a {@link ShutdownRegistry} thread rather than in the
+     * audio thread, which may be the one which crashed.
+     */
+    @TargetApi(Build.VERSION_CODES.M)
+    private void shutDown() {
+        executor.shutdownNow();
+
+        if (!useConnectionService()) {
+            audioManager.setMode(AudioManager.MODE_NORMAL);
+            audioManager.abandonAudioFocus(this);
+            audioManager.setSpeakerphoneOn(false);
+            setBluetoothAudioRoute(false);
+        }
+
+        if (audioDeviceCallback != null) {
+            audioManager.unregisterAudioDeviceCallback(
+                (android.media.AudioDeviceCallback) audioDeviceCallback);
+        }
+        if (wiredHeadsetReceiver != null) {
+            getReactApplicationContext().unregisterReceiver(wiredHeadsetReceiver);
+        }
+        if (bluetoothHeadsetMonitor != null) {
+            bluetoothHeadsetMonitor.stop();
+        }
+    }
+
     /**
      * Updates the audio route for the given mode.
      *
@@ -689,6 +756,8 @@ class AudioModeModule extends ReactContextBaseJavaModule
             }
             selectedDevice = null;
             userSelectedDevice = null;
+            PowerLockManager.getInstance(getReactApplicationContext())
+                .setAudioRoute(null);
 
             return true;
         }
@@ -737,6 +806,8 @@ class AudioModeModule extends ReactContextBaseJavaModule
 
         selectedDevice = audioDevice;
         Log.d(TAG, "Selected audio device: " + audioDevice);
+        PowerLockManager.getInstance(getReactApplicationContext())
+            .setAudioRoute(audioDevice);
 
         if (useConnectionService()) {
             setAudioRoute(audioDevice);
@@ -24,6 +24,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.widget.FrameLayout;
 
+import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactRootView;
 import com.facebook.react.bridge.ReadableMap;
 import com.rnimmersive.RNImmersiveModule;
@@ -101,18 +102,39 @@ public abstract class BaseReactView<ListenerT>
      */
     private ListenerT listener;
 
+    /**
+     * The React Native instance manager this view runs its app on, {@code null}
+     * once this view was disposed.
+     */
+    private ReactInstanceManager reactInstanceManager;
+
     /**
      * React Native root view.
      */
     private ReactRootView reactRootView;
 
     public BaseReactView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    /**
+     * Initializes a new view which loads a specific React Native app, so the
+     * React Native instance manager which fits the app is initialized (see
+     * {@link ReactInstanceManagerHolder#acquireReactInstanceManager}).
+     *
+     * @param context - The {@link Context} of the view.
+     * @param appName - The name of the React Native app the view loads, or
+     * {@code null} for the main one.
+     */
+    protected BaseReactView(@NonNull Context context, @Nullable String appName) {
         super(context);
 
         setBackgroundColor(BACKGROUND_COLOR);
 
-        ReactInstanceManagerHolder.initReactInstanceManager(
-            ((Activity) context).getApplication());
+        reactInstanceManager
+            = ReactInstanceManagerHolder.acquireReactInstanceManager(
+                ((Activity) context).getApplication(),
+                appName);
 
         // Hook this BaseReactView into ExternalAPI.
         externalAPIScope = UUID.randomUUID().toString();
@@ -136,9 +158,16 @@ public abstract class BaseReactView<ListenerT>
         props.putString("externalAPIScope", externalAPIScope);
 
         if (reactRootView == null) {
+            if (reactInstanceManager == null) {
+                reactInstanceManager
+                    = ReactInstanceManagerHolder.acquireReactInstanceManager(
+                        ((Activity) getContext()).getApplication(),
+                        appName);
+            }
+
             reactRootView = new ReactRootView(getContext());
             reactRootView.startReactApplication(
-                ReactInstanceManagerHolder.getReactInstanceManager(),
+                reactInstanceManager,
                 appName,
                 props);
             reactRootView.setBackgroundColor(BACKGROUND_COLOR);
@@ -161,6 +190,26 @@ public abstract class BaseReactView<ListenerT>
             reactRootView.unmountReactApplication();
             reactRootView = null;
         }
+
+        if (reactInstanceManager != null) {
+            ReactInstanceManagerHolder.releaseReactInstanceManager(
+                reactInstanceManager);
+            reactInstanceManager = null;
+        }
+    }
+
+    /**
+     * Gets whether the app of this view runs on the dedicated React Native
+     * instance manager of the incoming call app while the main one exists. If
+     * so, the view should be disposed once it's no longer shown, so that the
+     * dedicated instance manager is released: the next time the view is used
+     * its app is loaded on the main one.
+     *
+     * @return {@code true} if the instance manager of this view is superseded.
+     */
+    protected boolean isReactInstanceManagerSuperseded() {
+        return ReactInstanceManagerHolder.isReactInstanceManagerSuperseded(
+            reactInstanceManager);
     }
 
     /**
@@ -47,6 +47,12 @@ class BluetoothHeadsetMonitor {
      */
     private BluetoothHeadset headset;
 
+    /**
+     * The {@link BroadcastReceiver} of the Bluetooth state changes, if it was
+     * registered.
+     */
+    private BroadcastReceiver receiver;
+
     /**
      * Flag indicating if there are any Bluetooth headset devices currently
      * available.
@@ -174,7 +180,7 @@ class BluetoothHeadsetMonitor {
     }
 
     private void registerBluetoothReceiver() {
-        BroadcastReceiver receiver = new BroadcastReceiver() {
+        receiver = new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
                 onBluetoothReceiverReceive(context, intent);
@@ -187,6 +193,28 @@ class BluetoothHeadsetMonitor {
         context.registerReceiver(receiver, filter);
     }
 
+    /**
+     * Stops monitoring: unregisters the receiver and closes the headset profile
+     * proxy.
+     */
+    void stop() {
+        if (receiver != null) {
+            context.unregisterReceiver(receiver);
+            receiver = null;
+        }
+
+        BluetoothHeadset headset = this.headset;
+
+        if (headset != null) {
+            BluetoothAdapter adapter = BluetoothAdapter.getDefaultAdapter();
+
+            if (adapter != null) {
+                adapter.closeProfileProxy(BluetoothProfile.HEADSET, headset);
+            }
+            this.headset = null;
+        }
+    }
+
     /**
      * Detects if there are new devices connected / disconnected and fires the
      * {@link AudioModeModule#onAudioDeviceChange()} callback.
@@ -0,0 +1,302 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.Context;
+import android.os.Build;
+import android.telephony.CellSignalStrengthLte;
+import android.telephony.PhoneStateListener;
+import android.telephony.SignalStrength;
+import android.telephony.TelephonyManager;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+import java.util.List;
+
+/**
+ * Module exposing cellular radio statistics, the counterpart of
+ * {@link WiFiStatsModule} on mobile networks.
+ *
+ * While in a conference, the signal level, RSRP, RSRQ and SINR are sampled
+ * from the {@link PhoneStateListener} callbacks (no polling), at a bounded rate
+ * (see {@link CellularStatsSampler}). They're resolved as arrays of numbers,
+ * oldest first, with {@code null} for the unavailable values.
+ */
+@ReactModule(name = CellularStatsModule.NAME)
+class CellularStatsModule
+    extends ReactContextBaseJavaModule
+    implements OngoingConferenceTracker.OngoingConferenceListener {
+
+    public static final String NAME = "CellularStats";
+
+    /**
+     * The {@code Log} tag {@code CellularStatsModule} is to log messages with.
+     */
+    static final String TAG = NAME;
+
+    /**
+     * Gets the value of an {@code int} getter by reflection, for the readings
+     * which are hidden or not in the compile SDK.
+     *
+     * @return The value, or {@link CellularStatsSampler#UNAVAILABLE} if there's
+     * no such getter.
+     */
+    private static int getInt(Object object, String getter) {
+        try {
+            return (Integer) object.getClass().getMethod(getter).invoke(object);
+        } catch (Exception e) {
+            return CellularStatsSampler.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Converts samples to a {@link WritableArray}, with {@code null} for the
+     * unavailable ones.
+     */
+    private static WritableArray toArray(double[] samples, int count) {
+        WritableArray array = Arguments.createArray();
+
+        for (int i = 0; i < count; i++) {
+            if (Double.isNaN(samples[i])) {
+                array.pushNull();
+            } else {
+                array.pushDouble(samples[i]);
+            }
+        }
+
+        return array;
+    }
+
+    /**
+     * The listener of the radio while in a conference, {@code null}
+     * otherwise. Only accessed on the UI thread.
+     */
+    private PhoneStateListener phoneStateListener;
+
+    private final CellularStatsSampler sampler = new CellularStatsSampler();
+
+    private final TelephonyManager telephonyManager;
+
+    /**
+     * Initializes a new module instance. There shall be a single instance of
+     * this module throughout the lifetime of the application.
+     *
+     * @param reactContext the {@link ReactApplicationContext} where this module
+     * is created.
+     */
+    public CellularStatsModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+
+        telephonyManager
+            = (TelephonyManager)
+                reactContext.getSystemService(Context.TELEPHONY_SERVICE);
+
+        OngoingConferenceTracker ongoingConferenceTracker
+            = OngoingConferenceTracker.getInstance();
+
+        ongoingConferenceTracker.addListener(this);
+        onCurrentConferenceChanged(
+            ongoingConferenceTracker.getCurrentConference());
+    }
+
+    /**
+     * Gets the name for this module to be used in the React Native bridge.
+     *
+     * @return a string with the module name.
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Public method to retrieve the cellular stats: the network type ("2g",
+     * "3g", "4g", "5g" or "unknown") and the arrays timestamps, level (0 to 4),
+     * rsrp (dBm), rsrq (dB) and sinr (dB).
+     *
+     * @param promise a {@link Promise} which will be resolved with the
+     * cellular stats.
+     */
+    @ReactMethod
+    public void getCellularStats(Promise promise) {
+        CellularStatsSampler.Snapshot snapshot = sampler.getSnapshot();
+        WritableMap result = Arguments.createMap();
+        WritableArray timestamps = Arguments.createArray();
+
+        for (int i = 0; i < snapshot.count; i++) {
+            timestamps.pushDouble(snapshot.times[i]);
+        }
+
+        result.putString("networkType", snapshot.networkType);
+        result.putArray("timestamps", timestamps);
+        result.putArray("level", toArray(snapshot.level, snapshot.count));
+        result.putArray("rsrp", toArray(snapshot.rsrp, snapshot.count));
+        result.putArray("rsrq", toArray(snapshot.rsrq, snapshot.count));
+        result.putArray("sinr", toArray(snapshot.sinr, snapshot.count));
+
+        promise.resolve(result);
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        OngoingConferenceTracker.getInstance().removeListener(this);
+        onCurrentConferenceChanged(null);
+    }
+
+    /**
+     * Listens to the radio while in a conference.
+     *
+     * @param conferenceUrl - The URL of the current conference, {@code null}
+     * if there's none.
+     */
+    @Override
+    public void onCurrentConferenceChanged(final String conferenceUrl) {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                if (conferenceUrl != null) {
+                    startListening();
+                } else {
+                    stopListening();
+                }
+            }
+        });
+    }
+
+    /**
+     * Records a reading of the signal strength. The LTE readings are
+     * preferred, unless there's an NR (5G) one.
+     *
+     * @param signalStrength - The {@link SignalStrength}.
+     */
+    private void onSignalStrengthsChanged(SignalStrength signalStrength) {
+        int level
+            = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                ? signalStrength.getLevel()
+                : CellularStatsSampler.UNAVAILABLE;
+        int rsrp = CellularStatsSampler.UNAVAILABLE;
+        int rsrq = CellularStatsSampler.UNAVAILABLE;
+        double sinr = Double.NaN;
+
+        // SignalStrength.getCellSignalStrengths() was introduced in API level
+        // 29, the LTE readings were hidden in SignalStrength before.
+        if (Build.VERSION.SDK_INT >= 29) {
+            List<?> cellSignalStrengths;
+
+            try {
+                cellSignalStrengths
+                    = (List<?>)
+                        SignalStrength.class
+                            .getMethod("getCellSignalStrengths")
+                            .invoke(signalStrength);
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to get the cell signal strengths", e);
+                return;
+            }
+
+            for (Object cellSignalStrength : cellSignalStrengths) {
+                if (cellSignalStrength instanceof CellSignalStrengthLte) {
+                    CellSignalStrengthLte lte
+                        = (CellSignalStrengthLte) cellSignalStrength;
+
+                    rsrp = lte.getRsrp();
+                    rsrq = lte.getRsrq();
+                    sinr
+                        = CellularStatsSampler.rssnrToDb(
+                            lte.getRssnr(),
+                            Build.VERSION.SDK_INT);
+                } else if (cellSignalStrength.getClass().getSimpleName()
+                        .equals("CellSignalStrengthNr")) {
+                    rsrp = getInt(cellSignalStrength, "getSsRsrp");
+                    rsrq = getInt(cellSignalStrength, "getSsRsrq");
+
+                    int ssSinr = getInt(cellSignalStrength, "getSsSinr");
+
+                    sinr
+                        = ssSinr == CellularStatsSampler.UNAVAILABLE
+                            ? Double.NaN
+                            : ssSinr;
+                    break;
+                }
+            }
+        } else {
+            rsrp = getInt(signalStrength, "getLteRsrp");
+            rsrq = getInt(signalStrength, "getLteRsrq");
+            sinr
+                = CellularStatsSampler.rssnrToDb(
+                    getInt(signalStrength, "getLteRssnr"),
+                    Build.VERSION.SDK_INT);
+        }
+
+        sampler.onSignalStrength(
+            System.currentTimeMillis(),
+            level,
+            rsrp,
+            rsrq,
+            sinr);
+    }
+
+    /**
+     * Starts listening to the radio, starting over with new samples. Called on
+     * the UI thread.
+     */
+    private void startListening() {
+        if (telephonyManager == null || phoneStateListener != null) {
+            return;
+        }
+
+        sampler.clear();
+        phoneStateListener = new PhoneStateListener() {
+            @Override
+            public void onDataConnectionStateChanged(int state, int networkType) {
+                sampler.setNetworkType(networkType);
+            }
+
+            @Override
+            public void onSignalStrengthsChanged(SignalStrength signalStrength) {
+                CellularStatsModule.this.onSignalStrengthsChanged(
+                    signalStrength);
+            }
+        };
+        telephonyManager.listen(
+            phoneStateListener,
+            PhoneStateListener.LISTEN_DATA_CONNECTION_STATE
+                | PhoneStateListener.LISTEN_SIGNAL_STRENGTHS);
+    }
+
+    /**
+     * Stops listening to the radio. The samples are kept. Called on the UI
+     * thread.
+     */
+    private void stopListening() {
+        if (phoneStateListener != null) {
+            telephonyManager.listen(
+                phoneStateListener,
+                PhoneStateListener.LISTEN_NONE);
+            phoneStateListener = null;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.telephony.TelephonyManager;
+
+/**
+ * Keeps the recent readings of the cellular radio, see
+ * {@link CellularStatsModule}: signal level, RSRP, RSRQ and SINR, in
+ * {@link StatsRingBuffer}s which are filled at the same time so their values
+ * line up. The rate of the readings is bounded: a reading which comes less
+ * than {@link #MIN_INTERVAL} after the previous sample replaces it rather than
+ * adding a sample. Values which are unavailable or out of range are stored as
+ * {@code NaN}.
+ *
+ * All the methods are thread safe.
+ */
+final class CellularStatsSampler {
+    /**
+     * The recent readings, oldest first.
+     */
+    static final class Snapshot {
+        final int count;
+        final double[] level;
+        final String networkType;
+        final double[] rsrp;
+        final double[] rsrq;
+        final double[] sinr;
+        final long[] times;
+
+        Snapshot(
+                String networkType,
+                int count,
+                long[] times,
+                double[] level,
+                double[] rsrp,
+                double[] rsrq,
+                double[] sinr) {
+            this.networkType = networkType;
+            this.count = count;
+            this.times = times;
+            this.level = level;
+            this.rsrp = rsrp;
+            this.rsrq = rsrq;
+            this.sinr = sinr;
+        }
+    }
+
+    /**
+     * The number of samples kept.
+     */
+    static final int CAPACITY = 60;
+
+    /**
+     * The minimum interval between two samples, in milliseconds.
+     */
+    static final long MIN_INTERVAL = 1000;
+
+    /**
+     * The value of an unavailable reading, like
+     * {@code CellInfo.UNAVAILABLE}.
+     */
+    static final int UNAVAILABLE = Integer.MAX_VALUE;
+
+    /**
+     * {@code TelephonyManager.NETWORK_TYPE_LTE_CA}, which is hidden.
+     */
+    private static final int NETWORK_TYPE_LTE_CA = 19;
+
+    /**
+     * {@code TelephonyManager.NETWORK_TYPE_NR}, which was introduced in API
+     * level 29.
+     */
+    private static final int NETWORK_TYPE_NR = 20;
+
+    /**
+     * Gets the generation of a network type.
+     *
+     * @param networkType - One of the {@code TelephonyManager.NETWORK_TYPE_}
+     * constants.
+     * @return "2g", "3g", "4g", "5g" or "unknown".
+     */
+    static String getNetworkTypeName(int networkType) {
+        switch (networkType) {
+        case TelephonyManager.NETWORK_TYPE_1xRTT:
+        case TelephonyManager.NETWORK_TYPE_CDMA:
+        case TelephonyManager.NETWORK_TYPE_EDGE:
+        case TelephonyManager.NETWORK_TYPE_GPRS:
+        case TelephonyManager.NETWORK_TYPE_GSM:
+        case TelephonyManager.NETWORK_TYPE_IDEN:
+            return "2g";
+
+        case TelephonyManager.NETWORK_TYPE_EHRPD:
+        case TelephonyManager.NETWORK_TYPE_EVDO_0:
+        case TelephonyManager.NETWORK_TYPE_EVDO_A:
+        case TelephonyManager.NETWORK_TYPE_EVDO_B:
+        case TelephonyManager.NETWORK_TYPE_HSDPA:
+        case TelephonyManager.NETWORK_TYPE_HSPA:
+        case TelephonyManager.NETWORK_TYPE_HSPAP:
+        case TelephonyManager.NETWORK_TYPE_HSUPA:
+        case TelephonyManager.NETWORK_TYPE_TD_SCDMA:
+        case TelephonyManager.NETWORK_TYPE_UMTS:
+            return "3g";
+
+        case TelephonyManager.NETWORK_TYPE_LTE:
+        case NETWORK_TYPE_LTE_CA:
+            return "4g";
+
+        case NETWORK_TYPE_NR:
+            return "5g";
+
+        default:
+            return "unknown";
+        }
+    }
+
+    /**
+     * Converts an LTE RSSNR reading to dB. {@code CellSignalStrengthLte}
+     * reports it in units of 0.1 dB (-200 to 300) up to API level 30 (like
+     * the hidden {@code SignalStrength.getLteRssnr()} before API level 29) and
+     * in dB (-20 to 30) from API level 31.
+     *
+     * @param rssnr - The RSSNR reading.
+     * @param sdkInt - The API level of the device.
+     * @return The RSSNR in dB, or {@code NaN} if it's unavailable.
+     */
+    static double rssnrToDb(int rssnr, int sdkInt) {
+        if (rssnr == UNAVAILABLE) {
+            return Double.NaN;
+        }
+
+        return sdkInt >= 31 ? rssnr : rssnr / 10.0;
+    }
+
+    /**
+     * Converts a reading to a sample value.
+     *
+     * @return The reading, or {@code NaN} if it's unavailable or not within
+     * {@code min} and {@code max} (inclusive).
+     */
+    private static double toSample(double reading, double min, double max) {
+        return reading >= min && reading <= max ? reading : Double.NaN;
+    }
+
+    private final StatsRingBuffer level = new StatsRingBuffer(CAPACITY);
+
+    /**
+     * The time of the sample readings are currently coalesced into.
+     */
+    private long sampleTime;
+
+    private int networkType = TelephonyManager.NETWORK_TYPE_UNKNOWN;
+
+    private final StatsRingBuffer rsrp = new StatsRingBuffer(CAPACITY);
+
+    private final StatsRingBuffer rsrq = new StatsRingBuffer(CAPACITY);
+
+    private final StatsRingBuffer sinr = new StatsRingBuffer(CAPACITY);
+
+    synchronized void clear() {
+        level.clear();
+        rsrp.clear();
+        rsrq.clear();
+        sinr.clear();
+    }
+
+    /**
+     * Gets the recent readings.
+     *
+     * @return The {@link Snapshot}.
+     */
+    synchronized Snapshot getSnapshot() {
+        int size = level.size();
+        long[] times = new long[size];
+        double[] level = new double[size];
+        double[] rsrp = new double[size];
+        double[] rsrq = new double[size];
+        double[] sinr = new double[size];
+        int count = this.level.copy(Long.MIN_VALUE, times, level);
+
+        this.rsrp.copy(Long.MIN_VALUE, times, rsrp);
+        this.rsrq.copy(Long.MIN_VALUE, times, rsrq);
+        this.sinr.copy(Long.MIN_VALUE, times, sinr);
+
+        return new Snapshot(
+            getNetworkTypeName(networkType),
+            count,
+            times,
+            level,
+            rsrp,
+            rsrq,
+            sinr);
+    }
+
+    /**
+     * Records a reading of the signal strength.
+     *
+     * @param time - The time of the reading, in milliseconds.
+     * @param level - The signal level, from 0 to 4.
+     * @param rsrp - The RSRP, in dBm.
+     * @param rsrq - The RSRQ, in dB.
+     * @param sinr - The SINR, in dB; {@code NaN} if unavailable.
+     */
+    synchronized void onSignalStrength(
+            long time,
+            int level,
+            int rsrp,
+            int rsrq,
+            double sinr) {
+        double levelSample = toSample(level, 0, 4);
+        double rsrpSample = toSample(rsrp, -140, -43);
+        double rsrqSample = toSample(rsrq, -34, 3);
+        double sinrSample = toSample(sinr, -23, 40);
+
+        if (this.level.size() > 0 && time - sampleTime < MIN_INTERVAL) {
+            this.level.replaceLast(time, levelSample);
+            this.rsrp.replaceLast(time, rsrpSample);
+            this.rsrq.replaceLast(time, rsrqSample);
+            this.sinr.replaceLast(time, sinrSample);
+        } else {
+            sampleTime = time;
+            this.level.add(time, levelSample);
+            this.rsrp.add(time, rsrpSample);
+            this.rsrq.add(time, rsrqSample);
+            this.sinr.add(time, sinrSample);
+        }
+    }
+
+    synchronized void setNetworkType(int networkType) {
+        this.networkType = networkType;
+    }
+}
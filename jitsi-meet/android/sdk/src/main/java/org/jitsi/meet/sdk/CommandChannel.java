@@ -0,0 +1,494 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Channel for the commands the native side sends to the conferences running on
+ * the JavaScript side (e.g. {@link JitsiMeetView#setAudioMuted(boolean)}). A
+ * conference is identified by the external API scope of its app.
+ *
+ * Commands are queued until the app of their scope is ready to execute them,
+ * and sent in batches: the commands issued within {@link #BATCH_DELAY} make a
+ * single event. A command which only sets some state (e.g. muting) replaces
+ * the queued one with the same name, since only the last one matters. Each
+ * command is acknowledged by the JavaScript side, which completes its
+ * {@link CommandFuture}; the round-trip times are recorded, see
+ * {@link #getStats()}.
+ *
+ * All the methods are thread safe.
+ */
+final class CommandChannel {
+    /**
+     * A command, as queued and sent.
+     */
+    static final class Command {
+        /**
+         * The arguments of the command, a {@link Bundle} (or {@code null})
+         * when sent to the JavaScript side.
+         */
+        final Object args;
+
+        /**
+         * When the command was first queued.
+         */
+        private final long enqueueTime;
+
+        /**
+         * The futures of the command and of the ones it replaced.
+         */
+        private final List<CommandFuture> futures;
+
+        final int id;
+
+        final String name;
+
+        final String scope;
+
+        /**
+         * When the command was sent, -1 if it's still queued.
+         */
+        private long sendTime = -1;
+
+        Command(
+                int id,
+                String scope,
+                String name,
+                Object args,
+                long enqueueTime,
+                List<CommandFuture> futures) {
+            this.id = id;
+            this.scope = scope;
+            this.name = name;
+            this.args = args;
+            this.enqueueTime = enqueueTime;
+            this.futures = futures;
+        }
+    }
+
+    /**
+     * Schedules the flushes of the queue.
+     */
+    interface Scheduler {
+        void schedule(Runnable runnable, long delay);
+    }
+
+    /**
+     * Source of the time the latencies are measured with.
+     */
+    interface TimeSource {
+        long elapsedRealtime();
+    }
+
+    /**
+     * Sends batches of commands to the JavaScript side.
+     */
+    interface Transport {
+        void send(List<Command> commands);
+    }
+
+    /**
+     * For how long (in milliseconds) commands are held back, so that the ones
+     * issued together are sent together.
+     */
+    static final long BATCH_DELAY = 16;
+
+    /**
+     * The name of the event which carries the batches of commands.
+     */
+    static final String COMMANDS_EVENT
+        = "org.jitsi.meet:features/external-api#commands";
+
+    /**
+     * The error of the commands which were dropped because their app went
+     * away for good.
+     */
+    static final String ERROR_CLOSED = "closed";
+
+    /**
+     * The error of the commands which were sent, but whose app went away
+     * before acknowledging them.
+     */
+    static final String ERROR_NOT_ACKNOWLEDGED = "notAcknowledged";
+
+    private static CommandChannel instance;
+
+    /**
+     * Gets the single instance, which sends the commands through the current
+     * React context.
+     *
+     * @return The {@link CommandChannel}.
+     */
+    static synchronized CommandChannel getInstance() {
+        if (instance == null) {
+            final Handler handler = new Handler(Looper.getMainLooper());
+
+            instance
+                = new CommandChannel(
+                    new Scheduler() {
+                        @Override
+                        public void schedule(Runnable runnable, long delay) {
+                            handler.postDelayed(runnable, delay);
+                        }
+                    },
+                    new TimeSource() {
+                        @Override
+                        public long elapsedRealtime() {
+                            return SystemClock.elapsedRealtime();
+                        }
+                    },
+                    new Transport() {
+                        @Override
+                        public void send(List<Command> commands) {
+                            ReactInstanceManagerHolder.emitEvent(
+                                COMMANDS_EVENT,
+                                toWritableArray(commands));
+                        }
+                    });
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the statistics of the channel, if it was used.
+     *
+     * @return The {@link CommandChannelStats}, or {@code null} if no command
+     * was sent in this process.
+     */
+    static synchronized CommandChannelStats getInstanceStats() {
+        return instance == null ? null : instance.getStats();
+    }
+
+    private static WritableArray toWritableArray(List<Command> commands) {
+        WritableArray array = Arguments.createArray();
+
+        for (Command command : commands) {
+            WritableMap map = Arguments.createMap();
+
+            map.putInt("id", command.id);
+            map.putString("name", command.name);
+            map.putString("scope", command.scope);
+            map.putMap(
+                "args",
+                command.args instanceof Bundle
+                    ? Arguments.fromBundle((Bundle) command.args)
+                    : Arguments.createMap());
+            array.pushMap(map);
+        }
+
+        return array;
+    }
+
+    private int acknowledgedCount;
+
+    private int batchCount;
+
+    private int coalescedCount;
+
+    private int failedCount;
+
+    /**
+     * Whether a flush is scheduled.
+     */
+    private boolean flushScheduled;
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    /**
+     * The commands which were sent and not acknowledged yet, by identifier.
+     */
+    private final Map<Integer, Command> inFlight = new LinkedHashMap<>();
+
+    private long maxRoundTripTime;
+
+    private int nextId = 1;
+
+    /**
+     * The queued commands, in order.
+     */
+    private final List<Command> queue = new ArrayList<>();
+
+    /**
+     * The scopes whose apps are ready to execute commands.
+     */
+    private final Set<String> readyScopes = new HashSet<>();
+
+    private final Scheduler scheduler;
+
+    private int sentCount;
+
+    private final TimeSource timeSource;
+
+    private long totalQueueTime;
+
+    private long totalRoundTripTime;
+
+    private final Transport transport;
+
+    CommandChannel(
+            Scheduler scheduler,
+            TimeSource timeSource,
+            Transport transport) {
+        this.scheduler = scheduler;
+        this.timeSource = timeSource;
+        this.transport = transport;
+    }
+
+    /**
+     * Acknowledges a command, completing its futures.
+     *
+     * @param id - The identifier of the command.
+     * @param error - The error the command failed with, {@code null} if it
+     * succeeded.
+     */
+    void acknowledge(int id, String error) {
+        Command command;
+
+        synchronized (this) {
+            command = inFlight.remove(id);
+            if (command == null) {
+                return;
+            }
+
+            long roundTripTime = timeSource.elapsedRealtime() - command.sendTime;
+
+            if (error == null) {
+                acknowledgedCount++;
+            } else {
+                failedCount++;
+            }
+            totalRoundTripTime += roundTripTime;
+            maxRoundTripTime = Math.max(maxRoundTripTime, roundTripTime);
+        }
+
+        complete(command, error);
+    }
+
+    /**
+     * Drops the commands of a scope whose app went away for good (e.g. its
+     * view was disposed), failing them.
+     *
+     * @param scope - The external API scope.
+     */
+    void close(String scope) {
+        List<Command> dropped = new ArrayList<>();
+
+        synchronized (this) {
+            readyScopes.remove(scope);
+            removeCommands(queue.iterator(), scope, dropped);
+            removeCommands(inFlight.values().iterator(), scope, dropped);
+            failedCount += dropped.size();
+        }
+
+        for (Command command : dropped) {
+            complete(command, ERROR_CLOSED);
+        }
+    }
+
+    /**
+     * Sends the queued commands of the ready scopes, in a single batch.
+     */
+    void flush() {
+        List<Command> batch = new ArrayList<>();
+
+        synchronized (this) {
+            flushScheduled = false;
+
+            long now = timeSource.elapsedRealtime();
+
+            for (Iterator<Command> i = queue.iterator(); i.hasNext();) {
+                Command command = i.next();
+
+                if (readyScopes.contains(command.scope)) {
+                    i.remove();
+                    command.sendTime = now;
+                    inFlight.put(command.id, command);
+                    batch.add(command);
+                    totalQueueTime += now - command.enqueueTime;
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            batchCount++;
+            sentCount += batch.size();
+        }
+
+        transport.send(batch);
+    }
+
+    /**
+     * Gets the statistics of the channel.
+     *
+     * @return The {@link CommandChannelStats}.
+     */
+    synchronized CommandChannelStats getStats() {
+        int completedCount = acknowledgedCount + failedCount;
+
+        return new CommandChannelStats(
+            sentCount,
+            batchCount,
+            coalescedCount,
+            acknowledgedCount,
+            failedCount,
+            sentCount == 0 ? 0 : totalQueueTime / sentCount,
+            completedCount == 0 ? 0 : totalRoundTripTime / completedCount,
+            maxRoundTripTime);
+    }
+
+    /**
+     * Queues a command.
+     *
+     * @param scope - The external API scope of the app to send it to.
+     * @param name - The name of the command.
+     * @param args - The arguments of the command, a {@link Bundle} or
+     * {@code null} if none.
+     * @param coalesce - Whether the command replaces the queued one with the
+     * same name, if any.
+     * @return The {@link CommandFuture} which completes when the command is
+     * acknowledged.
+     */
+    CommandFuture send(
+            String scope,
+            String name,
+            Object args,
+            boolean coalesce) {
+        CommandFuture future = new CommandFuture();
+
+        synchronized (this) {
+            int index = coalesce ? indexOf(scope, name) : -1;
+            List<CommandFuture> futures;
+            long enqueueTime;
+
+            if (index == -1) {
+                futures = new ArrayList<>(1);
+                enqueueTime = timeSource.elapsedRealtime();
+            } else {
+                // Take over the place and the futures of the replaced command.
+                Command replaced = queue.get(index);
+
+                futures = replaced.futures;
+                enqueueTime = replaced.enqueueTime;
+                coalescedCount++;
+            }
+            futures.add(future);
+
+            Command command
+                = new Command(nextId++, scope, name, args, enqueueTime, futures);
+
+            if (index == -1) {
+                queue.add(command);
+            } else {
+                queue.set(index, command);
+            }
+
+            scheduleFlush(scope);
+        }
+
+        return future;
+    }
+
+    /**
+     * Sets whether the app of a scope is ready to execute commands. Commands
+     * sent to an app which is no longer ready will never be acknowledged, so
+     * they fail; queued ones wait for the app to be ready again (e.g. after a
+     * reload).
+     *
+     * @param scope - The external API scope.
+     * @param ready - Whether the app is ready.
+     */
+    void setReady(String scope, boolean ready) {
+        List<Command> dropped = new ArrayList<>();
+
+        synchronized (this) {
+            if (ready) {
+                readyScopes.add(scope);
+                scheduleFlush(scope);
+            } else {
+                readyScopes.remove(scope);
+                removeCommands(inFlight.values().iterator(), scope, dropped);
+                failedCount += dropped.size();
+            }
+        }
+
+        for (Command command : dropped) {
+            complete(command, ERROR_NOT_ACKNOWLEDGED);
+        }
+    }
+
+    private static void complete(Command command, String error) {
+        for (CommandFuture future : command.futures) {
+            future.complete(error);
+        }
+    }
+
+    private int indexOf(String scope, String name) {
+        for (int i = 0, size = queue.size(); i < size; i++) {
+            Command command = queue.get(i);
+
+            if (command.scope.equals(scope) && command.name.equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static void removeCommands(
+            Iterator<Command> i,
+            String scope,
+            List<Command> removed) {
+        while (i.hasNext()) {
+            Command command = i.next();
+
+            if (command.scope.equals(scope)) {
+                i.remove();
+                removed.add(command);
+            }
+        }
+    }
+
+    private void scheduleFlush(String scope) {
+        if (!flushScheduled && readyScopes.contains(scope)) {
+            flushScheduled = true;
+            scheduler.schedule(flushRunnable, BATCH_DELAY);
+        }
+    }
+}
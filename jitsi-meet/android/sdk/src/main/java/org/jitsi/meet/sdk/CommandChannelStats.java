@@ -0,0 +1,141 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Immutable snapshot of the statistics of the commands sent to the
+ * conferences (e.g. with {@link JitsiMeetView#setAudioMuted(boolean)}), as
+ * returned by {@link JitsiMeet#getCommandChannelStats()}. Times are in
+ * milliseconds.
+ */
+public class CommandChannelStats {
+    private final int acknowledgedCount;
+    private final long averageQueueTime;
+    private final long averageRoundTripTime;
+    private final int batchCount;
+    private final int coalescedCount;
+    private final int failedCount;
+    private final long maxRoundTripTime;
+    private final int sentCount;
+
+    CommandChannelStats(
+            int sentCount,
+            int batchCount,
+            int coalescedCount,
+            int acknowledgedCount,
+            int failedCount,
+            long averageQueueTime,
+            long averageRoundTripTime,
+            long maxRoundTripTime) {
+        this.sentCount = sentCount;
+        this.batchCount = batchCount;
+        this.coalescedCount = coalescedCount;
+        this.acknowledgedCount = acknowledgedCount;
+        this.failedCount = failedCount;
+        this.averageQueueTime = averageQueueTime;
+        this.averageRoundTripTime = averageRoundTripTime;
+        this.maxRoundTripTime = maxRoundTripTime;
+    }
+
+    /**
+     * Gets the number of commands which were executed successfully.
+     *
+     * @return - The number of acknowledged commands.
+     */
+    public int getAcknowledgedCount() {
+        return acknowledgedCount;
+    }
+
+    /**
+     * Gets the average time the sent commands waited in the queue, e.g. for
+     * the JavaScript side to be ready.
+     *
+     * @return - The average queue time.
+     */
+    public long getAverageQueueTime() {
+        return averageQueueTime;
+    }
+
+    /**
+     * Gets the average time between sending a command and its
+     * acknowledgement.
+     *
+     * @return - The average round-trip time.
+     */
+    public long getAverageRoundTripTime() {
+        return averageRoundTripTime;
+    }
+
+    /**
+     * Gets the number of batches the commands were sent in.
+     *
+     * @return - The number of batches.
+     */
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Gets the number of commands which were replaced by a later one before
+     * being sent.
+     *
+     * @return - The number of coalesced commands.
+     */
+    public int getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets the number of commands which failed, or were dropped.
+     *
+     * @return - The number of failed commands.
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Gets the longest time between sending a command and its
+     * acknowledgement.
+     *
+     * @return - The maximum round-trip time.
+     */
+    public long getMaxRoundTripTime() {
+        return maxRoundTripTime;
+    }
+
+    /**
+     * Gets the number of commands which were sent to the JavaScript side.
+     *
+     * @return - The number of sent commands.
+     */
+    public int getSentCount() {
+        return sentCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandChannelStats{sent=" + sentCount
+            + ", batches=" + batchCount
+            + ", coalesced=" + coalescedCount
+            + ", acknowledged=" + acknowledgedCount
+            + ", failed=" + failedCount
+            + ", averageQueueTime=" + averageQueueTime
+            + ", averageRoundTripTime=" + averageRoundTripTime
+            + ", maxRoundTripTime=" + maxRoundTripTime + "}";
+    }
+}
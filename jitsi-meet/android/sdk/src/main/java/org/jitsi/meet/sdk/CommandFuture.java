@@ -0,0 +1,107 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The acknowledgement of a command sent to a conference, e.g. with
+ * {@link JitsiMeetView#setAudioMuted(boolean)}. It completes once the
+ * JavaScript side executed the command. If the command failed, {@link #get()}
+ * throws an {@link ExecutionException} whose cause carries the error. Commands
+ * can't be cancelled.
+ *
+ * Don't block the UI thread on it: the commands are sent from the UI thread.
+ */
+public final class CommandFuture implements Future<Void> {
+    private boolean done;
+
+    /**
+     * The error the command failed with, {@code null} if it succeeded.
+     */
+    private String error;
+
+    CommandFuture() {
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    /**
+     * Completes this future.
+     *
+     * @param error - The error the command failed with, {@code null} if it
+     * succeeded.
+     */
+    synchronized void complete(String error) {
+        if (!done) {
+            this.error = error;
+            done = true;
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized Void get()
+            throws InterruptedException, ExecutionException {
+        while (!done) {
+            wait();
+        }
+
+        return getResult();
+    }
+
+    @Override
+    public synchronized Void get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (!done) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return getResult();
+    }
+
+    private Void getResult() throws ExecutionException {
+        if (error != null) {
+            throw new ExecutionException(new IllegalStateException(error));
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+}
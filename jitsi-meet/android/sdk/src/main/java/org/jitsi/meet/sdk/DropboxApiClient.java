@@ -0,0 +1,263 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import com.dropbox.core.DbxHost;
+import com.dropbox.core.DbxRequestConfig;
+import com.dropbox.core.http.StandardHttpRequestor;
+import com.dropbox.core.v2.DbxClientV2;
+import com.dropbox.core.v2.users.SpaceAllocation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for the few Dropbox API calls the app makes. The calls are performed
+ * asynchronously on a dedicated thread, the {@link DbxClientV2} instances are
+ * reused per access token and the responses are cached for a short while.
+ *
+ * All the state is only ever accessed on the executor thread, so no additional
+ * synchronization is needed.
+ */
+class DropboxApiClient {
+    /**
+     * Callback used to deliver the result of an asynchronous call. It's
+     * invoked on the executor thread.
+     */
+    interface Callback<T> {
+        void onSuccess(T result);
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * The space usage of a Dropbox account, in bytes.
+     */
+    static final class SpaceUsage {
+        final long allocated;
+        final long used;
+
+        SpaceUsage(long used, long allocated) {
+            this.used = used;
+            this.allocated = allocated;
+        }
+    }
+
+    /**
+     * Source of the time the age of the cached responses is measured with.
+     */
+    interface TimeSource {
+        long currentTimeMillis();
+    }
+
+    /**
+     * How long (in milliseconds) a response is cached by default.
+     */
+    static final long DEFAULT_CACHE_TTL = 30 * 1000;
+
+    /**
+     * The connect and read timeouts (in milliseconds) of the HTTP requests.
+     */
+    private static final long CONNECT_TIMEOUT = 10 * 1000;
+    private static final long READ_TIMEOUT = 20 * 1000;
+
+    /**
+     * Maximum number of access tokens for which clients and responses are
+     * kept. There is normally a single one.
+     */
+    private static final int MAX_TOKENS = 4;
+
+    /**
+     * {@link ExecutorService} for running all Dropbox requests on a dedicated
+     * thread, off the React Native bridge.
+     */
+    private static final ExecutorService defaultExecutor
+        = Executors.newSingleThreadExecutor();
+
+    private static <V> Map<String, V> newLruMap() {
+        return new LinkedHashMap<String, V>(MAX_TOKENS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_TOKENS;
+            }
+        };
+    }
+
+    private final long cacheTtl;
+
+    private final Map<String, DbxClientV2> clients = newLruMap();
+
+    private final Map<String, CachedValue<String>> displayNames = newLruMap();
+
+    private final ExecutorService executor;
+
+    private final DbxHost host;
+
+    private final DbxRequestConfig requestConfig;
+
+    private final Map<String, CachedValue<SpaceUsage>> spaceUsages = newLruMap();
+
+    private final TimeSource timeSource;
+
+    /**
+     * Creates a new client talking to the Dropbox servers.
+     *
+     * @param clientId the client identifier for the Dropbox SDK.
+     */
+    DropboxApiClient(String clientId) {
+        this(
+            DbxRequestConfig.newBuilder(clientId)
+                .withHttpRequestor(
+                    new StandardHttpRequestor(
+                        StandardHttpRequestor.Config.builder()
+                            .withConnectTimeout(CONNECT_TIMEOUT, TimeUnit.MILLISECONDS)
+                            .withReadTimeout(READ_TIMEOUT, TimeUnit.MILLISECONDS)
+                            .build()))
+                .build(),
+            DbxHost.DEFAULT,
+            DEFAULT_CACHE_TTL,
+            defaultExecutor,
+            new TimeSource() {
+                @Override
+                public long currentTimeMillis() {
+                    return System.currentTimeMillis();
+                }
+            });
+    }
+
+    DropboxApiClient(
+            DbxRequestConfig requestConfig,
+            DbxHost host,
+            long cacheTtl,
+            ExecutorService executor,
+            TimeSource timeSource) {
+        this.requestConfig = requestConfig;
+        this.host = host;
+        this.cacheTtl = cacheTtl;
+        this.executor = executor;
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Gets the display name of the account the given token belongs to.
+     *
+     * @param token a Dropbox access token.
+     * @param callback the {@link Callback} to deliver the result to.
+     */
+    void getDisplayName(final String token, final Callback<String> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CachedValue<String> cached = displayNames.get(token);
+
+                if (cached != null && !cached.isExpired()) {
+                    callback.onSuccess(cached.value);
+                    return;
+                }
+
+                String displayName;
+
+                try {
+                    displayName
+                        = getClient(token).users().getCurrentAccount()
+                            .getName().getDisplayName();
+                } catch (Exception e) {
+                    callback.onFailure(e);
+                    return;
+                }
+
+                displayNames.put(token, new CachedValue<>(displayName));
+                callback.onSuccess(displayName);
+            }
+        });
+    }
+
+    /**
+     * Gets the space usage of the account the given token belongs to.
+     *
+     * @param token a Dropbox access token.
+     * @param callback the {@link Callback} to deliver the result to.
+     */
+    void getSpaceUsage(final String token, final Callback<SpaceUsage> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CachedValue<SpaceUsage> cached = spaceUsages.get(token);
+
+                if (cached != null && !cached.isExpired()) {
+                    callback.onSuccess(cached.value);
+                    return;
+                }
+
+                SpaceUsage spaceUsage;
+
+                try {
+                    com.dropbox.core.v2.users.SpaceUsage result
+                        = getClient(token).users().getSpaceUsage();
+                    SpaceAllocation allocation = result.getAllocation();
+                    long allocated = 0;
+
+                    if (allocation.isIndividual()) {
+                        allocated += allocation.getIndividualValue().getAllocated();
+                    }
+                    if (allocation.isTeam()) {
+                        allocated += allocation.getTeamValue().getAllocated();
+                    }
+
+                    spaceUsage = new SpaceUsage(result.getUsed(), allocated);
+                } catch (Exception e) {
+                    callback.onFailure(e);
+                    return;
+                }
+
+                spaceUsages.put(token, new CachedValue<>(spaceUsage));
+                callback.onSuccess(spaceUsage);
+            }
+        });
+    }
+
+    private DbxClientV2 getClient(String token) {
+        DbxClientV2 client = clients.get(token);
+
+        if (client == null) {
+            client = new DbxClientV2(requestConfig, token, host);
+            clients.put(token, client);
+        }
+
+        return client;
+    }
+
+    /**
+     * A cached response along with the time it was obtained.
+     */
+    private final class CachedValue<T> {
+        private final long timestamp = timeSource.currentTimeMillis();
+
+        final T value;
+
+        CachedValue(T value) {
+            this.value = value;
+        }
+
+        boolean isExpired() {
+            return timeSource.currentTimeMillis() - timestamp > cacheTtl;
+        }
+    }
+}
@@ -1,17 +1,7 @@
 package org.jitsi.meet.sdk;
 
-import android.content.Context;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
 import android.text.TextUtils;
 
-import com.dropbox.core.DbxException;
-import com.dropbox.core.DbxRequestConfig;
-import com.dropbox.core.v2.DbxClientV2;
-import com.dropbox.core.v2.users.FullAccount;
-import com.dropbox.core.v2.users.SpaceAllocation;
-import com.dropbox.core.v2.users.SpaceUsage;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.Promise;
@@ -37,7 +27,10 @@ class DropboxModule
 
     private String appKey;
 
-    private String clientId;
+    /**
+     * Client performing the Dropbox API calls off the React Native bridge.
+     */
+    private final DropboxApiClient apiClient;
 
     private final boolean isEnabled;
 
@@ -53,7 +46,7 @@ class DropboxModule
             = reactContext.getString(resId);
         isEnabled = !TextUtils.isEmpty(appKey);
 
-        clientId = generateClientId();
+        apiClient = new DropboxApiClient(generateClientId());
 
         reactContext.addLifecycleEventListener(this);
     }
@@ -81,27 +74,16 @@ class DropboxModule
      * @see {https://dropbox.github.io/dropbox-sdk-java/api-docs/v3.0.x/com/dropbox/core/DbxRequestConfig.html#getClientIdentifier--}
      */
     private String generateClientId() {
-        Context context = getReactApplicationContext();
-        PackageManager packageManager = context.getPackageManager();
-        ApplicationInfo applicationInfo = null;
-        PackageInfo packageInfo = null;
-
-        try {
-            String packageName = context.getPackageName();
-
-            applicationInfo = packageManager.getApplicationInfo(packageName, 0);
-            packageInfo = packageManager.getPackageInfo(packageName, 0);
-        } catch (PackageManager.NameNotFoundException e) {
-        }
+        AppMetadata appMetadata
+            = AppMetadata.getInstance(getReactApplicationContext());
+        String applicationLabel = appMetadata.getApplicationLabel();
+        String versionName = appMetadata.getVersionName();
 
-        String applicationLabel
-            = applicationInfo == null
+        return (applicationLabel == null
                 ? "JitsiMeet"
-                : packageManager.getApplicationLabel(applicationInfo).toString()
-                    .replaceAll("\\s", "");
-        String version = packageInfo == null ? "dev" : packageInfo.versionName;
-
-        return applicationLabel + "/" + version;
+                : applicationLabel.replaceAll("\\s", ""))
+            + "/"
+            + (versionName == null ? "dev" : versionName);
     }
 
     @Override
@@ -121,17 +103,17 @@ class DropboxModule
      */
     @ReactMethod
     public void getDisplayName(final String token, final Promise promise) {
-        DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
-        DbxClientV2 client = new DbxClientV2(config, token);
-
-        // Get current account info
-        try {
-            FullAccount account = client.users().getCurrentAccount();
+        apiClient.getDisplayName(token, new DropboxApiClient.Callback<String>() {
+            @Override
+            public void onSuccess(String displayName) {
+                promise.resolve(displayName);
+            }
 
-            promise.resolve(account.getName().getDisplayName());
-        } catch (DbxException e) {
-            promise.reject(e);
-        }
+            @Override
+            public void onFailure(Exception e) {
+                promise.reject(e);
+            }
+        });
     }
 
     @Override
@@ -147,30 +129,24 @@ class DropboxModule
      */
     @ReactMethod
     public void getSpaceUsage(final String token, final Promise promise) {
-        DbxRequestConfig config = DbxRequestConfig.newBuilder(clientId).build();
-        DbxClientV2 client = new DbxClientV2(config, token);
-
-        try {
-            SpaceUsage spaceUsage = client.users().getSpaceUsage();
-            WritableMap map = Arguments.createMap();
-
-            map.putString("used", String.valueOf(spaceUsage.getUsed()));
-
-            SpaceAllocation allocation = spaceUsage.getAllocation();
-            long allocated = 0;
-
-            if (allocation.isIndividual()) {
-                allocated += allocation.getIndividualValue().getAllocated();
-            }
-            if (allocation.isTeam()) {
-                allocated += allocation.getTeamValue().getAllocated();
-            }
-            map.putString("allocated", String.valueOf(allocated));
-
-            promise.resolve(map);
-        } catch (DbxException e) {
-            promise.reject(e);
-        }
+        apiClient.getSpaceUsage(
+            token,
+            new DropboxApiClient.Callback<DropboxApiClient.SpaceUsage>() {
+                @Override
+                public void onSuccess(DropboxApiClient.SpaceUsage spaceUsage) {
+                    WritableMap map = Arguments.createMap();
+
+                    map.putString("used", String.valueOf(spaceUsage.used));
+                    map.putString("allocated", String.valueOf(spaceUsage.allocated));
+
+                    promise.resolve(map);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    promise.reject(e);
+                }
+            });
     }
 
     @Override
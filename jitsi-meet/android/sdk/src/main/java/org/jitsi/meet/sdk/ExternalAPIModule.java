@@ -21,6 +21,7 @@ import android.util.Log;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
@@ -46,6 +47,28 @@ class ExternalAPIModule
         super(reactContext);
     }
 
+    /**
+     * Acknowledges the commands of a batch sent through
+     * {@link CommandChannel}, once they were executed.
+     *
+     * @param acknowledgements - The {@code id} of each command, with its
+     * {@code error} if it failed.
+     */
+    @ReactMethod
+    public void acknowledgeCommands(ReadableArray acknowledgements) {
+        CommandChannel channel = CommandChannel.getInstance();
+
+        for (int i = 0, size = acknowledgements.size(); i < size; i++) {
+            ReadableMap acknowledgement = acknowledgements.getMap(i);
+            String error
+                = acknowledgement.hasKey("error")
+                    ? acknowledgement.getString("error")
+                    : null;
+
+            channel.acknowledge(acknowledgement.getInt("id"), error);
+        }
+    }
+
     /**
      * Gets the name of this module to be used in the React Native bridge.
      *
@@ -82,6 +105,32 @@ class ExternalAPIModule
             } catch(Exception e) {
                 Log.e(TAG, "onExternalAPIEvent: error sending event", e);
             }
+            return;
+        }
+
+        // Headless conferences have no view.
+        JitsiMeetHeadlessConference conference
+            = JitsiMeetHeadlessConference.findByExternalAPIScope(scope);
+
+        if (conference != null) {
+            Log.d(TAG, "Sending headless event: " + name + " with data: " + data);
+            try {
+                conference.onExternalAPIEvent(name, data);
+            } catch(Exception e) {
+                Log.e(TAG, "onExternalAPIEvent: error sending event", e);
+            }
         }
     }
+
+    /**
+     * Sets whether the app with a specific external API scope is ready to
+     * execute the commands sent through {@link CommandChannel}.
+     *
+     * @param scope - The external API scope of the app.
+     * @param ready - Whether the app is ready.
+     */
+    @ReactMethod
+    public void setCommandsReady(String scope, boolean ready) {
+        CommandChannel.getInstance().setReady(scope, ready);
+    }
 }
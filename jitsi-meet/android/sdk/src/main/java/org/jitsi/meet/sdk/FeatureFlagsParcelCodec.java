@@ -0,0 +1,173 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+import android.os.Parcel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact {@link Parcel} encoding of the feature flags {@link Bundle} of
+ * {@link JitsiMeetConferenceOptions}, which is much cheaper to marshal than
+ * {@link Parcel#writeBundle(Bundle)}.
+ *
+ * The encoding is: the number of flags, then for each flag its key (the index
+ * in {@link #KNOWN_FLAGS} or -1 followed by the key itself) and its type,
+ * followed by the string / int value if any. The values of the boolean flags
+ * are packed into a bitset written at the end.
+ */
+final class FeatureFlagsParcelCodec {
+    /**
+     * Feature flags known to the SDK. They are written by index instead of by
+     * name. Entries may only ever be appended to this list, never removed or
+     * reordered, since the indexes are part of the encoding.
+     */
+    private static final String[] KNOWN_FLAGS = {
+        "calendar.enabled",
+        "chat.enabled",
+        "ios.recording.enabled",
+        "pip.enabled",
+        "welcomepage.enabled",
+        ReactInstanceManagerHolder.DROPBOX_ENABLED_FLAG,
+        ReactInstanceManagerHolder.NAT64_ENABLED_FLAG,
+        ReactInstanceManagerHolder.PROXIMITY_ENABLED_FLAG,
+        ReactInstanceManagerHolder.WIFI_STATS_ENABLED_FLAG,
+        ReactInstanceManagerHolder.CELLULAR_STATS_ENABLED_FLAG,
+        ReactInstanceManagerHolder.ADAPTIVE_QUALITY_ENABLED_FLAG,
+        ReactInstanceManagerHolder.PROCESS_STATS_ENABLED_FLAG
+    };
+
+    private static final Map<String, Integer> KNOWN_FLAG_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_FLAGS.length; i++) {
+            KNOWN_FLAG_INDEXES.put(KNOWN_FLAGS[i], i);
+        }
+    }
+
+    /**
+     * The types of flag values.
+     */
+    private static final int TYPE_BOOLEAN = 0;
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_STRING = 2;
+
+    /**
+     * Writes the given feature flags to the given {@link Parcel}.
+     *
+     * @param dest - The {@link Parcel} to write to.
+     * @param flags - The feature flags. Only boolean, int and String values
+     * are supported, which are the ones the options builder can set.
+     */
+    static void write(Parcel dest, Bundle flags) {
+        if (flags == null) {
+            dest.writeInt(-1);
+            return;
+        }
+
+        dest.writeInt(flags.size());
+
+        long[] booleans = new long[(flags.size() + 63) / 64];
+        int booleanCount = 0;
+
+        for (String key : flags.keySet()) {
+            Integer index = KNOWN_FLAG_INDEXES.get(key);
+
+            if (index != null) {
+                dest.writeInt(index);
+            } else {
+                dest.writeInt(-1);
+                dest.writeString(key);
+            }
+
+            Object value = flags.get(key);
+
+            if (value instanceof Boolean) {
+                dest.writeInt(TYPE_BOOLEAN);
+                if ((Boolean) value) {
+                    booleans[booleanCount / 64] |= 1L << (booleanCount % 64);
+                }
+                booleanCount++;
+            } else if (value instanceof Integer) {
+                dest.writeInt(TYPE_INT);
+                dest.writeInt((Integer) value);
+            } else if (value instanceof String) {
+                dest.writeInt(TYPE_STRING);
+                dest.writeString((String) value);
+            } else {
+                throw new IllegalArgumentException(
+                    "Unsupported feature flag value for " + key + ": " + value);
+            }
+        }
+
+        dest.writeLongArray(booleans);
+    }
+
+    /**
+     * Reads feature flags written by {@link #write(Parcel, Bundle)}.
+     *
+     * @param in - The {@link Parcel} to read from.
+     * @return The feature flags, or {@code null} if {@code null} was written.
+     */
+    static Bundle read(Parcel in) {
+        int size = in.readInt();
+
+        if (size < 0) {
+            return null;
+        }
+
+        Bundle flags = new Bundle();
+        List<String> booleanKeys = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            int index = in.readInt();
+            String key = index >= 0 ? KNOWN_FLAGS[index] : in.readString();
+            int type = in.readInt();
+
+            switch (type) {
+            case TYPE_BOOLEAN:
+                booleanKeys.add(key);
+                break;
+            case TYPE_INT:
+                flags.putInt(key, in.readInt());
+                break;
+            case TYPE_STRING:
+                flags.putString(key, in.readString());
+                break;
+            default:
+                throw new IllegalStateException("Unknown feature flag type: " + type);
+            }
+        }
+
+        long[] booleans = in.createLongArray();
+
+        for (int i = 0; i < booleanKeys.size(); i++) {
+            flags.putBoolean(
+                booleanKeys.get(i),
+                (booleans[i / 64] & (1L << (i % 64))) != 0);
+        }
+
+        return flags;
+    }
+
+    private FeatureFlagsParcelCodec() {
+    }
+}
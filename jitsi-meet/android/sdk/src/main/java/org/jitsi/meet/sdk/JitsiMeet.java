@@ -28,6 +28,20 @@ public class JitsiMeet {
      */
     private static JitsiMeetConferenceOptions defaultConferenceOptions;
 
+    /**
+     * {@link VideoCodecOptions} used for picking the video encoder and decoder
+     * factories. Since the WebRTC module is created once per React context,
+     * they must be set before the first {@link JitsiMeetView} is created.
+     */
+    private static VideoCodecOptions videoCodecOptions;
+
+    /**
+     * {@link AudioEngineOptions} used for creating the WebRTC audio engine.
+     * Like {@link #videoCodecOptions}, they must be set before the first
+     * {@link JitsiMeetView} is created.
+     */
+    private static AudioEngineOptions audioEngineOptions;
+
     public static JitsiMeetConferenceOptions getDefaultConferenceOptions() {
         return defaultConferenceOptions;
     }
@@ -36,6 +50,116 @@ public class JitsiMeet {
         defaultConferenceOptions = options;
     }
 
+    public static VideoCodecOptions getVideoCodecOptions() {
+        return videoCodecOptions;
+    }
+
+    public static void setVideoCodecOptions(VideoCodecOptions options) {
+        videoCodecOptions = options;
+    }
+
+    public static AudioEngineOptions getAudioEngineOptions() {
+        return audioEngineOptions;
+    }
+
+    public static void setAudioEngineOptions(AudioEngineOptions options) {
+        audioEngineOptions = options;
+    }
+
+    /**
+     * Returns a snapshot of the error counters of the WebRTC audio engine.
+     *
+     * @return the current {@link AudioEngineStats}.
+     */
+    public static AudioEngineStats getAudioEngineStats() {
+        return AudioDeviceModuleFactory.getStats();
+    }
+
+    /**
+     * Returns a snapshot of the hold statistics of the wake locks of the SDK.
+     *
+     * @return the current {@link PowerLockStats}, or {@code null} if no wake
+     * lock was used yet.
+     */
+    public static PowerLockStats getPowerLockStats() {
+        return PowerLockManager.getInstanceStats();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the commands sent to the
+     * conferences, e.g. with {@link JitsiMeetView#setAudioMuted(boolean)}.
+     *
+     * @return the current {@link CommandChannelStats}, or {@code null} if no
+     * command was sent yet.
+     */
+    public static CommandChannelStats getCommandChannelStats() {
+        return CommandChannel.getInstanceStats();
+    }
+
+    /**
+     * Returns the aggregates of the WebRTC statistics (bitrate, round-trip
+     * time, jitter, packet loss and frame rate per stream) sampled in the
+     * current conference, or in the last one.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return the current {@link WebRTCStats}, or {@code null} if WebRTC was
+     * not initialized yet.
+     */
+    public static WebRTCStats getWebRTCStats(long window) {
+        return WebRTCStatsSampler.getInstanceStats(window);
+    }
+
+    /**
+     * Returns the aggregates of the CPU use (of the process, and of its
+     * JavaScript, WebRTC and audio threads) and of the memory use sampled in
+     * the current conference, or in the last one.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return the current {@link ProcessStats}, or {@code null} if the process
+     * is not sampled.
+     */
+    public static ProcessStats getProcessStats(long window) {
+        return ProcessStatsSampler.getInstanceStats(window);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the memory the SDK released when
+     * Android asked the app to trim its memory.
+     *
+     * @return the current {@link MemoryPressureStats}, or {@code null} if
+     * Android didn't ask the app to trim its memory yet.
+     */
+    public static MemoryPressureStats getMemoryPressureStats() {
+        return MemoryPressureCoordinator.getInstanceStats();
+    }
+
+    /**
+     * Returns the breadcrumb of the shutdown which followed the crash of the
+     * previous process of the app, if it crashed: which cleanup hooks ran and
+     * how long they took, as JSON.
+     *
+     * @return the breadcrumb, or {@code null} if the previous process didn't
+     * crash.
+     */
+    public static String getLastCrashBreadcrumb() {
+        Object breadcrumb = JitsiMeetUncaughtExceptionHandler.getLastBreadcrumb();
+
+        return breadcrumb == null ? null : breadcrumb.toString();
+    }
+
+    /**
+     * Returns how long loading the JavaScript bundle took when the React
+     * context was last created, to measure the startup time.
+     *
+     * @return the duration in milliseconds, or -1 if the bundle wasn't loaded
+     * yet.
+     */
+    public static long getJSBundleLoadTime() {
+        return ReactInstanceManagerHolder.getJSBundleLoadTime();
+    }
+
     /**
      * Returns the current conference URL as a string.
      *
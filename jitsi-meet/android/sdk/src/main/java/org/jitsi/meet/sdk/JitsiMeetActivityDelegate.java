@@ -27,6 +27,8 @@ import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.modules.core.PermissionListener;
 
+import java.util.List;
+
 /**
  * Helper class to encapsulate the work which needs to be done on
  * {@link Activity} lifecycle methods in order for the React side to be aware of
@@ -64,10 +66,8 @@ public class JitsiMeetActivityDelegate {
             int requestCode,
             int resultCode,
             Intent data) {
-        ReactInstanceManager reactInstanceManager
-                = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
+        for (ReactInstanceManager reactInstanceManager
+                : ReactInstanceManagerHolder.getReactInstanceManagers()) {
             reactInstanceManager.onActivityResult(activity, requestCode, resultCode, data);
         }
     }
@@ -82,11 +82,13 @@ public class JitsiMeetActivityDelegate {
      * {@code super}'s implementation.
      */
     public static void onBackPressed() {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
+        // The main instance manager if it exists, the one of the incoming call
+        // app otherwise. Both would fall back to the Activity.
+        List<ReactInstanceManager> reactInstanceManagers
+            = ReactInstanceManagerHolder.getReactInstanceManagers();
 
-        if (reactInstanceManager != null) {
-            reactInstanceManager.onBackPressed();
+        if (!reactInstanceManagers.isEmpty()) {
+            reactInstanceManagers.get(0).onBackPressed();
         }
     }
 
@@ -98,10 +100,8 @@ public class JitsiMeetActivityDelegate {
      * @param activity {@code Activity} being destroyed.
      */
     public static void onHostDestroy(Activity activity) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
+        for (ReactInstanceManager reactInstanceManager
+                : ReactInstanceManagerHolder.getReactInstanceManagers()) {
             reactInstanceManager.onHostDestroy(activity);
         }
     }
@@ -113,10 +113,8 @@ public class JitsiMeetActivityDelegate {
      * @param activity {@code Activity} being paused.
      */
     public static void onHostPause(Activity activity) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
+        for (ReactInstanceManager reactInstanceManager
+                : ReactInstanceManagerHolder.getReactInstanceManagers()) {
             reactInstanceManager.onHostPause(activity);
         }
     }
@@ -128,10 +126,8 @@ public class JitsiMeetActivityDelegate {
      * @param activity {@code Activity} being resumed.
      */
     public static void onHostResume(Activity activity) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
+        for (ReactInstanceManager reactInstanceManager
+                : ReactInstanceManagerHolder.getReactInstanceManagers()) {
             reactInstanceManager.onHostResume(activity, new DefaultHardwareBackBtnHandlerImpl(activity));
         }
 
@@ -151,10 +147,8 @@ public class JitsiMeetActivityDelegate {
      * @param intent {@code Intent} instance which was received.
      */
     public static void onNewIntent(Intent intent) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
-
-        if (reactInstanceManager != null) {
+        for (ReactInstanceManager reactInstanceManager
+                : ReactInstanceManagerHolder.getReactInstanceManagers()) {
             reactInstanceManager.onNewIntent(intent);
         }
     }
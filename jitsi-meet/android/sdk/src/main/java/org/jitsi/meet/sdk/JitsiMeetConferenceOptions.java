@@ -20,7 +20,10 @@ import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.TreeSet;
 
 
 /**
@@ -32,6 +35,34 @@ import java.net.URL;
  * conference will be joined.
  */
 public class JitsiMeetConferenceOptions implements Parcelable {
+    /**
+     * Marks (and versions) the {@link Parcel} encoding written by
+     * {@link #writeToParcel(Parcel, int)}. Parcels without it were written by
+     * older versions of the SDK.
+     */
+    private static final int PARCEL_VERSION = 0x4A4D4F31;
+
+    /**
+     * Bits of the header of the {@link Parcel} encoding, telling which of the
+     * fields are present, followed by the values of the tri-state booleans.
+     */
+    private static final int HAS_SERVER_URL = 1;
+    private static final int HAS_ROOM = 1 << 1;
+    private static final int HAS_SUBJECT = 1 << 2;
+    private static final int HAS_TOKEN = 1 << 3;
+    private static final int HAS_COLOR_SCHEME = 1 << 4;
+    private static final int HAS_USER_INFO = 1 << 5;
+    private static final int HAS_DISPLAY_NAME = 1 << 6;
+    private static final int HAS_EMAIL = 1 << 7;
+    private static final int HAS_AVATAR = 1 << 8;
+    private static final int HAS_AUDIO_MUTED = 1 << 9;
+    private static final int AUDIO_MUTED = 1 << 10;
+    private static final int HAS_AUDIO_ONLY = 1 << 11;
+    private static final int AUDIO_ONLY = 1 << 12;
+    private static final int HAS_VIDEO_MUTED = 1 << 13;
+    private static final int VIDEO_MUTED = 1 << 14;
+    private static final int HAS_RESERVATION = 1 << 15;
+
     /**
      * Server where the conference should take place.
      */
@@ -72,6 +103,19 @@ public class JitsiMeetConferenceOptions implements Parcelable {
      */
     private JitsiMeetUserInfo userInfo;
 
+    /**
+     * The reservation of the room, if it was looked up before joining.
+     */
+    private Reservation reservation;
+
+    /**
+     * The React Native props corresponding to these options and their content
+     * hash, computed lazily by {@link #asProps()}. The options are immutable,
+     * so they never need to be recomputed.
+     */
+    private Bundle props;
+    private int propsHash;
+
     /**
      * Class used to build the immutable {@link JitsiMeetConferenceOptions} object.
      */
@@ -90,6 +134,8 @@ public class JitsiMeetConferenceOptions implements Parcelable {
 
         private JitsiMeetUserInfo userInfo;
 
+        private Reservation reservation;
+
         public Builder() {
             featureFlags = new Bundle();
         }
@@ -221,6 +267,19 @@ public class JitsiMeetConferenceOptions implements Parcelable {
             return this;
         }
 
+        /**
+         * Sets the reservation of the room, as looked up with {@link ReservationClient}. If the
+         * room turns out not to be reserved, joining fails right away with a
+         * {@code CONFERENCE_TERMINATED} event instead of later in the conference flow.
+         * @param reservation - The {@link Reservation} of the room.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setReservation(Reservation reservation) {
+            this.reservation = reservation;
+
+            return this;
+        }
+
         /**
          * Builds the immutable {@link JitsiMeetConferenceOptions} object with the configuration
          * that this {@link Builder} instance specified.
@@ -233,12 +292,16 @@ public class JitsiMeetConferenceOptions implements Parcelable {
             options.room = this.room;
             options.subject = this.subject;
             options.token = this.token;
-            options.colorScheme = this.colorScheme;
-            options.featureFlags = this.featureFlags;
+            // Copy the Bundles so the built object stays immutable even if
+            // this Builder is used further.
+            options.colorScheme
+                = this.colorScheme != null ? new Bundle(this.colorScheme) : null;
+            options.featureFlags = new Bundle(this.featureFlags);
             options.audioMuted = this.audioMuted;
             options.audioOnly = this.audioOnly;
             options.videoMuted = this.videoMuted;
             options.userInfo = this.userInfo;
+            options.reservation = this.reservation;
 
             return options;
         }
@@ -248,6 +311,69 @@ public class JitsiMeetConferenceOptions implements Parcelable {
     }
 
     private JitsiMeetConferenceOptions(Parcel in) {
+        int start = in.dataPosition();
+
+        if (in.readInt() != PARCEL_VERSION) {
+            in.setDataPosition(start);
+            readLegacyParcel(in);
+            return;
+        }
+
+        int header = in.readInt();
+
+        if ((header & HAS_SERVER_URL) != 0) {
+            serverURL = toURL(in.readString());
+        }
+        if ((header & HAS_ROOM) != 0) {
+            room = in.readString();
+        }
+        if ((header & HAS_SUBJECT) != 0) {
+            subject = in.readString();
+        }
+        if ((header & HAS_TOKEN) != 0) {
+            token = in.readString();
+        }
+        if ((header & HAS_COLOR_SCHEME) != 0) {
+            colorScheme = in.readBundle(getClass().getClassLoader());
+        }
+
+        featureFlags = FeatureFlagsParcelCodec.read(in);
+
+        if ((header & HAS_USER_INFO) != 0) {
+            userInfo = new JitsiMeetUserInfo();
+            if ((header & HAS_DISPLAY_NAME) != 0) {
+                userInfo.setDisplayName(in.readString());
+            }
+            if ((header & HAS_EMAIL) != 0) {
+                userInfo.setEmail(in.readString());
+            }
+            if ((header & HAS_AVATAR) != 0) {
+                userInfo.setAvatar(toURL(in.readString()));
+            }
+        }
+
+        if ((header & HAS_RESERVATION) != 0) {
+            reservation
+                = new Reservation(
+                    in.readString(),
+                    in.readInt() != 0,
+                    in.readLong(),
+                    in.readString(),
+                    in.readLong(),
+                    in.readLong());
+        }
+
+        audioMuted = readTriState(header, HAS_AUDIO_MUTED, AUDIO_MUTED);
+        audioOnly = readTriState(header, HAS_AUDIO_ONLY, AUDIO_ONLY);
+        videoMuted = readTriState(header, HAS_VIDEO_MUTED, VIDEO_MUTED);
+    }
+
+    /**
+     * Reads the {@link Parcel} encoding used by older versions of the SDK,
+     * which may still be found in pending intents and notifications created
+     * before an update.
+     */
+    private void readLegacyParcel(Parcel in) {
         room = in.readString();
         subject = in.readString();
         token = in.readString();
@@ -262,15 +388,183 @@ public class JitsiMeetConferenceOptions implements Parcelable {
         videoMuted = tmpVideoMuted == 0 ? null : tmpVideoMuted == 1;
     }
 
-    Bundle asProps() {
+    private static Boolean readTriState(int header, int hasBit, int valueBit) {
+        return (header & hasBit) == 0 ? null : (header & valueBit) != 0;
+    }
+
+    private static int writeTriState(Boolean value, int hasBit, int valueBit) {
+        return value == null ? 0 : value ? hasBit | valueBit : hasBit;
+    }
+
+    private static URL toURL(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the value of a boolean feature flag.
+     *
+     * @param flag - The name of the feature flag.
+     * @param defaultValue - The value to return if the flag is not set.
+     * @return The value of the flag, or {@code defaultValue} if it's not set.
+     */
+    boolean getFeatureFlag(String flag, boolean defaultValue) {
+        return featureFlags != null ? featureFlags.getBoolean(flag, defaultValue) : defaultValue;
+    }
+
+    Reservation getReservation() {
+        return reservation;
+    }
+
+    /**
+     * Gets the URL of the conference these options join, as reported by the
+     * external API (and thus by {@link OngoingConferenceTracker}), without the
+     * query and fragment parts.
+     *
+     * @return The conference URL, or {@code null} if the options don't
+     * specify a room or the server can't be determined on the native side.
+     */
+    String getConferenceUrl() {
+        if (room == null || room.isEmpty()) {
+            return null;
+        }
+
+        String url;
+
+        if (room.contains("://")) {
+            url = room;
+        } else {
+            URL server = serverURL;
+
+            if (server == null) {
+                JitsiMeetConferenceOptions defaultOptions
+                    = JitsiMeet.getDefaultConferenceOptions();
+
+                if (defaultOptions != null) {
+                    server = defaultOptions.serverURL;
+                }
+            }
+            if (server == null) {
+                return null;
+            }
+
+            url = server.toString();
+            if (!url.endsWith("/")) {
+                url += "/";
+            }
+            url += room;
+        }
+
+        return normalizeConferenceUrl(url);
+    }
+
+    /**
+     * Checks whether these options only specify where the conference is (as
+     * the options created for deep links and notifications do), and nothing
+     * about how to join it.
+     *
+     * @return {@code true} if only the server URL and / or room are set.
+     */
+    boolean hasOnlyLocation() {
+        return subject == null
+            && token == null
+            && colorScheme == null
+            && (featureFlags == null || featureFlags.isEmpty())
+            && audioMuted == null
+            && audioOnly == null
+            && videoMuted == null
+            && userInfo == null;
+    }
+
+    /**
+     * Normalizes a conference URL so it can be compared with another one:
+     * strips the query (e.g. the JWT) and the fragment (e.g. config overrides)
+     * and trailing slashes, and lowercases it since room names are case
+     * insensitive.
+     *
+     * @param url - The conference URL.
+     * @return The normalized URL.
+     */
+    static String normalizeConferenceUrl(String url) {
+        int end = url.length();
+        int hashIndex = url.indexOf('#');
+        int queryIndex = url.indexOf('?');
+
+        if (hashIndex != -1) {
+            end = hashIndex;
+        }
+        if (queryIndex != -1 && queryIndex < end) {
+            end = queryIndex;
+        }
+        while (end > 0 && url.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        return url.substring(0, end).toLowerCase();
+    }
+
+    /**
+     * Gets the React Native props corresponding to these options. They are
+     * computed once and shared, so the returned {@link Bundle} MUST NOT be
+     * modified.
+     *
+     * @return The props {@link Bundle}.
+     */
+    synchronized Bundle asProps() {
+        if (props == null) {
+            props = createProps();
+            propsHash = hashBundle(props);
+        }
+
+        return props;
+    }
+
+    /**
+     * Gets a hash of the content of these options, stable across instances,
+     * processes and {@link Parcel} round-trips. Equal options have equal hashes,
+     * but different options may have equal hashes too, so a match has to be
+     * confirmed with {@link #hasSameContent(JitsiMeetConferenceOptions)}.
+     *
+     * @return The content hash.
+     */
+    synchronized int getContentHash() {
+        asProps();
+
+        return propsHash;
+    }
+
+    /**
+     * Checks whether the given options have the same content as these ones,
+     * i.e. whether joining with either would result in the same props. The
+     * content hashes are compared first, so it's cheap when they differ.
+     *
+     * @param other - The {@link JitsiMeetConferenceOptions} to compare with.
+     * @return {@code true} if the options have the same content.
+     */
+    boolean hasSameContent(JitsiMeetConferenceOptions other) {
+        if (other == this) {
+            return true;
+        }
+
+        return other != null
+            && getContentHash() == other.getContentHash()
+            && bundlesEqual(asProps(), other.asProps());
+    }
+
+    private Bundle createProps() {
         Bundle props = new Bundle();
+        Bundle flags
+            = featureFlags != null ? new Bundle(featureFlags) : new Bundle();
 
         // Android always has the PiP flag set by default.
-        if (!featureFlags.containsKey("pip.enabled")) {
-            featureFlags.putBoolean("pip.enabled", true);
+        if (!flags.containsKey("pip.enabled")) {
+            flags.putBoolean("pip.enabled", true);
         }
 
-        props.putBundle("flags", featureFlags);
+        props.putBundle("flags", flags);
 
         if (colorScheme != null) {
             props.putBundle("colorScheme", colorScheme);
@@ -319,6 +613,68 @@ public class JitsiMeetConferenceOptions implements Parcelable {
         return props;
     }
 
+    /**
+     * Checks whether the given {@link Bundle}s have the same content, the
+     * counterpart of {@link #hashBundle(Bundle)}.
+     */
+    private static boolean bundlesEqual(Bundle a, Bundle b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+
+        for (String key : a.keySet()) {
+            Object value = a.get(key);
+            Object otherValue = b.get(key);
+
+            if (value instanceof Bundle) {
+                if (!(otherValue instanceof Bundle)
+                        || !bundlesEqual((Bundle) value, (Bundle) otherValue)) {
+                    return false;
+                }
+            } else if (value instanceof Object[]) {
+                if (!(otherValue instanceof Object[])
+                        || !Arrays.deepEquals(
+                            (Object[]) value,
+                            (Object[]) otherValue)) {
+                    return false;
+                }
+            } else if (value == null
+                    ? otherValue != null
+                    : !value.equals(otherValue)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes a hash of the content of the given {@link Bundle}, which
+     * (unlike {@link Bundle#hashCode()}) doesn't depend on its identity or on
+     * the order of its keys.
+     */
+    private static int hashBundle(Bundle bundle) {
+        int hash = 1;
+
+        for (String key : new TreeSet<>(bundle.keySet())) {
+            Object value = bundle.get(key);
+            int valueHash;
+
+            if (value instanceof Bundle) {
+                valueHash = hashBundle((Bundle) value);
+            } else if (value instanceof Object[]) {
+                valueHash = Arrays.deepHashCode((Object[]) value);
+            } else {
+                valueHash = value != null ? value.hashCode() : 0;
+            }
+
+            hash = 31 * hash + key.hashCode();
+            hash = 31 * hash + valueHash;
+        }
+
+        return hash;
+    }
+
     // Parcelable interface
     //
 
@@ -336,15 +692,82 @@ public class JitsiMeetConferenceOptions implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeString(room);
-        dest.writeString(subject);
-        dest.writeString(token);
-        dest.writeBundle(colorScheme);
-        dest.writeBundle(featureFlags);
-        dest.writeBundle(userInfo != null ? userInfo.asBundle() : new Bundle());
-        dest.writeByte((byte) (audioMuted == null ? 0 : audioMuted ? 1 : 2));
-        dest.writeByte((byte) (audioOnly == null ? 0 : audioOnly ? 1 : 2));
-        dest.writeByte((byte) (videoMuted == null ? 0 : videoMuted ? 1 : 2));
+        int header = 0;
+
+        if (serverURL != null) {
+            header |= HAS_SERVER_URL;
+        }
+        if (room != null) {
+            header |= HAS_ROOM;
+        }
+        if (subject != null) {
+            header |= HAS_SUBJECT;
+        }
+        if (token != null) {
+            header |= HAS_TOKEN;
+        }
+        if (colorScheme != null) {
+            header |= HAS_COLOR_SCHEME;
+        }
+        if (userInfo != null) {
+            header |= HAS_USER_INFO;
+            if (userInfo.getDisplayName() != null) {
+                header |= HAS_DISPLAY_NAME;
+            }
+            if (userInfo.getEmail() != null) {
+                header |= HAS_EMAIL;
+            }
+            if (userInfo.getAvatar() != null) {
+                header |= HAS_AVATAR;
+            }
+        }
+        if (reservation != null) {
+            header |= HAS_RESERVATION;
+        }
+        header |= writeTriState(audioMuted, HAS_AUDIO_MUTED, AUDIO_MUTED);
+        header |= writeTriState(audioOnly, HAS_AUDIO_ONLY, AUDIO_ONLY);
+        header |= writeTriState(videoMuted, HAS_VIDEO_MUTED, VIDEO_MUTED);
+
+        dest.writeInt(PARCEL_VERSION);
+        dest.writeInt(header);
+
+        if (serverURL != null) {
+            dest.writeString(serverURL.toString());
+        }
+        if (room != null) {
+            dest.writeString(room);
+        }
+        if (subject != null) {
+            dest.writeString(subject);
+        }
+        if (token != null) {
+            dest.writeString(token);
+        }
+        if (colorScheme != null) {
+            dest.writeBundle(colorScheme);
+        }
+
+        FeatureFlagsParcelCodec.write(dest, featureFlags);
+
+        if (userInfo != null) {
+            if (userInfo.getDisplayName() != null) {
+                dest.writeString(userInfo.getDisplayName());
+            }
+            if (userInfo.getEmail() != null) {
+                dest.writeString(userInfo.getEmail());
+            }
+            if (userInfo.getAvatar() != null) {
+                dest.writeString(userInfo.getAvatar().toString());
+            }
+        }
+        if (reservation != null) {
+            dest.writeString(reservation.getRoomName());
+            dest.writeInt(reservation.isFound() ? 1 : 0);
+            dest.writeLong(reservation.getId());
+            dest.writeString(reservation.getOwner());
+            dest.writeLong(reservation.getStartTime());
+            dest.writeLong(reservation.getDuration());
+        }
     }
 
     @Override
@@ -0,0 +1,354 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.jstasks.HeadlessJsTaskConfig;
+import com.facebook.react.jstasks.HeadlessJsTaskContext;
+import com.facebook.react.jstasks.HeadlessJsTaskEventListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An audio-only conference without any UI, for apps which keep a conference
+ * running in the background for hours (e.g. dispatcher consoles). No
+ * {@code ReactRootView} is created: the conference runs as a React Native
+ * headless JS task on the React context, started by
+ * {@link JitsiMeetOngoingConferenceService} which keeps the process in the
+ * foreground. The CPU is kept awake with the screen off through the CPU lock
+ * of {@link PowerLockManager} while the conference runs. It's controlled through this class (see {@link CommandChannel}),
+ * and reports the same events as {@link JitsiMeetView} to its
+ * {@link JitsiMeetViewListener}.
+ *
+ * There can be a single headless conference at a time; joining with another
+ * instance leaves the current one.
+ */
+public class JitsiMeetHeadlessConference {
+    /**
+     * The {@code Method}s of {@code JitsiMeetViewListener} by event name i.e.
+     * redux action types.
+     */
+    private static final Map<String, Method> LISTENER_METHODS
+        = ListenerUtils.mapListenerMethods(JitsiMeetViewListener.class);
+
+    private static final String TAG
+        = JitsiMeetHeadlessConference.class.getSimpleName();
+
+    /**
+     * The key the headless JS task is registered with on the JavaScript side.
+     */
+    static final String TASK_KEY = "HeadlessConference";
+
+    /**
+     * The headless conference which is running or about to.
+     */
+    private static JitsiMeetHeadlessConference current;
+
+    /**
+     * Finds the headless conference which matches a specific external API
+     * scope.
+     *
+     * @param externalAPIScope - The external API scope.
+     * @return The {@code JitsiMeetHeadlessConference}, if any, associated with
+     * the specified {@code externalAPIScope}; otherwise, {@code null}.
+     */
+    static JitsiMeetHeadlessConference findByExternalAPIScope(
+            String externalAPIScope) {
+        JitsiMeetHeadlessConference conference = getCurrent();
+
+        return conference != null
+                && conference.externalAPIScope.equals(externalAPIScope)
+            ? conference
+            : null;
+    }
+
+    static synchronized JitsiMeetHeadlessConference getCurrent() {
+        return current;
+    }
+
+    private final Application application;
+
+    /**
+     * The unique identifier of this conference for the purposes of
+     * {@link ExternalAPIModule}, like {@link BaseReactView#externalAPIScope}.
+     */
+    private final String externalAPIScope = UUID.randomUUID().toString();
+
+    /**
+     * Whether this conference holds a request for the CPU lock of
+     * {@link PowerLockManager}. Only accessed on the UI thread.
+     */
+    private boolean holdsCpuLock;
+
+    private volatile JitsiMeetViewListener listener;
+
+    /**
+     * The props the task is started with.
+     */
+    private Bundle props;
+
+    /**
+     * The instance manager the task runs on. Only accessed on the UI thread.
+     */
+    private ReactInstanceManager reactInstanceManager;
+
+    /**
+     * The identifier of the running task, {@code null} if it's not running.
+     * Only accessed on the UI thread.
+     */
+    private Integer taskId;
+
+    public JitsiMeetHeadlessConference(@NonNull Context context) {
+        application = (Application) context.getApplicationContext();
+    }
+
+    public JitsiMeetViewListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Joins the conference specified by the given options, audio-only and
+     * without video regardless of the options. The options are merged with
+     * the default ones, like in {@link JitsiMeetView#join}.
+     *
+     * @param options - Description of the conference to join.
+     */
+    public void join(@NonNull JitsiMeetConferenceOptions options) {
+        Bundle config = new Bundle();
+
+        config.putBoolean("startAudioOnly", true);
+        config.putBoolean("startWithVideoMuted", true);
+
+        Bundle url = new Bundle();
+
+        url.putBundle("config", config);
+
+        Bundle overrides = new Bundle();
+
+        overrides.putBundle("url", url);
+        overrides.putString("externalAPIScope", externalAPIScope);
+
+        Bundle props
+            = JitsiMeetView.mergeProps(
+                JitsiMeetView.mergeProps(
+                    JitsiMeet.getDefaultProps(),
+                    options.asProps()),
+                overrides);
+        JitsiMeetHeadlessConference previous;
+
+        synchronized (JitsiMeetHeadlessConference.class) {
+            previous = current;
+            current = this;
+            this.props = props;
+        }
+
+        if (previous != null && previous != this) {
+            previous.leave();
+        }
+
+        JitsiMeetOngoingConferenceService.launchHeadless(application);
+    }
+
+    /**
+     * Leaves the conference. The foreground service stops once the
+     * conference has been left.
+     */
+    public void leave() {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                if (taskId != null) {
+                    CommandChannel.getInstance().send(
+                        externalAPIScope, "hangUp", null, true);
+                } else {
+                    // The task didn't start yet, so it just won't.
+                    onTaskFinished();
+                }
+            }
+        });
+    }
+
+    /**
+     * Mutes or unmutes the local audio.
+     *
+     * @param muted - Whether the local audio is to be muted.
+     * @return The {@link CommandFuture} which completes once done.
+     */
+    public CommandFuture setAudioMuted(boolean muted) {
+        Bundle args = new Bundle();
+
+        args.putBoolean("muted", muted);
+
+        return CommandChannel.getInstance().send(
+            externalAPIScope, "setAudioMuted", args, true);
+    }
+
+    /**
+     * Sets the listener for the events occurring in the conference.
+     *
+     * @param listener - The {@link JitsiMeetViewListener}.
+     */
+    public void setListener(JitsiMeetViewListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Called by {@link ExternalAPIModule} when an event is received for this
+     * conference.
+     *
+     * @param name - The name of the event.
+     * @param data - The details of the event associated with/specific to the
+     * specified {@code name}.
+     */
+    void onExternalAPIEvent(String name, ReadableMap data) {
+        JitsiMeetViewListener listener = getListener();
+
+        if (listener != null) {
+            ListenerUtils.runListenerMethod(
+                listener, LISTENER_METHODS, name, data);
+        }
+    }
+
+    /**
+     * Called by {@link JitsiMeetOngoingConferenceService} once it's in the
+     * foreground, on the UI thread. Keeps the CPU awake and starts the task as
+     * soon as the React context is ready, creating it if needed.
+     */
+    void onServiceStarted() {
+        if (!holdsCpuLock) {
+            PowerLockManager.getInstance(application).acquireCpuLock();
+            holdsCpuLock = true;
+        }
+
+        if (reactInstanceManager == null) {
+            reactInstanceManager
+                = ReactInstanceManagerHolder.acquireReactInstanceManager(
+                    application,
+                    null);
+        }
+
+        ReactContext reactContext
+            = reactInstanceManager.getCurrentReactContext();
+
+        if (reactContext != null) {
+            startTask(reactContext);
+            return;
+        }
+
+        reactInstanceManager.addReactInstanceEventListener(
+            new ReactInstanceManager.ReactInstanceEventListener() {
+                @Override
+                public void onReactContextInitialized(ReactContext context) {
+                    if (reactInstanceManager != null) {
+                        reactInstanceManager
+                            .removeReactInstanceEventListener(this);
+                    }
+                    startTask(context);
+                }
+            });
+        if (!reactInstanceManager.hasStartedCreatingInitialContext()) {
+            reactInstanceManager.createReactContextInBackground();
+        }
+    }
+
+    /**
+     * Releases the resources of the task and stops the foreground service,
+     * unless another headless conference took over. Called on the UI thread.
+     */
+    private void onTaskFinished() {
+        if (reactInstanceManager != null) {
+            ReactInstanceManagerHolder.releaseReactInstanceManager(
+                reactInstanceManager);
+            reactInstanceManager = null;
+        }
+        taskId = null;
+        CommandChannel.getInstance().close(externalAPIScope);
+        if (holdsCpuLock) {
+            PowerLockManager.getInstance(application).releaseCpuLock();
+            holdsCpuLock = false;
+        }
+
+        boolean wasCurrent;
+
+        synchronized (JitsiMeetHeadlessConference.class) {
+            wasCurrent = current == this;
+            if (wasCurrent) {
+                current = null;
+            }
+        }
+
+        if (wasCurrent) {
+            JitsiMeetOngoingConferenceService.abort(application);
+        }
+    }
+
+    /**
+     * Starts the task which runs the conference. Called on the UI thread.
+     *
+     * @param reactContext - The {@link ReactContext} to run the task in.
+     */
+    private void startTask(ReactContext reactContext) {
+        // Left (or replaced) before the React context was ready.
+        if (getCurrent() != this || taskId != null) {
+            return;
+        }
+
+        final HeadlessJsTaskContext taskContext
+            = HeadlessJsTaskContext.getInstance(reactContext);
+
+        taskContext.addTaskEventListener(new HeadlessJsTaskEventListener() {
+            @Override
+            public void onHeadlessJsTaskStart(int taskId) {
+            }
+
+            @Override
+            public void onHeadlessJsTaskFinish(int taskId) {
+                Integer runningTaskId
+                    = JitsiMeetHeadlessConference.this.taskId;
+
+                if (runningTaskId != null && runningTaskId == taskId) {
+                    taskContext.removeTaskEventListener(this);
+                    onTaskFinished();
+                }
+            }
+        });
+
+        // No timeout: the task runs as long as the conference does. It's also
+        // allowed while the app is in the foreground, the service may keep
+        // running while an Activity of the app is shown.
+        taskId
+            = taskContext.startTask(
+                new HeadlessJsTaskConfig(
+                    TASK_KEY,
+                    Arguments.fromBundle(props),
+                    0,
+                    true));
+        Log.i(TAG, "Headless conference started");
+    }
+}
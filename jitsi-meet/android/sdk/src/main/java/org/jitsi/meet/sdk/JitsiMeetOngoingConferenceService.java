@@ -39,14 +39,27 @@ public class JitsiMeetOngoingConferenceService extends Service
 
     static final class Actions {
         static final String START = TAG + ":START";
+        static final String START_HEADLESS = TAG + ":START_HEADLESS";
         static final String HANGUP = TAG + ":HANGUP";
     }
 
     static void launch(Context context) {
+        launch(context, Actions.START);
+    }
+
+    /**
+     * Starts the service, which then starts the current
+     * {@link JitsiMeetHeadlessConference} once in the foreground.
+     */
+    static void launchHeadless(Context context) {
+        launch(context, Actions.START_HEADLESS);
+    }
+
+    private static void launch(Context context, String action) {
         OngoingNotification.createOngoingConferenceNotificationChannel();
 
         Intent intent = new Intent(context, JitsiMeetOngoingConferenceService.class);
-        intent.setAction(Actions.START);
+        intent.setAction(action);
 
         ComponentName componentName;
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
@@ -69,11 +82,19 @@ public class JitsiMeetOngoingConferenceService extends Service
         super.onCreate();
 
         OngoingConferenceTracker.getInstance().addListener(this);
+        ShutdownRegistry.getInstance().register(TAG, new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                stopForeground(true);
+                stopSelf();
+            }
+        });
     }
 
     @Override
     public void onDestroy() {
         OngoingConferenceTracker.getInstance().removeListener(this);
+        ShutdownRegistry.getInstance().unregister(TAG);
 
         super.onDestroy();
     }
@@ -86,7 +107,7 @@ public class JitsiMeetOngoingConferenceService extends Service
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
         final String action = intent.getAction();
-        if (action.equals(Actions.START)) {
+        if (action.equals(Actions.START) || action.equals(Actions.START_HEADLESS)) {
             Notification notification = OngoingNotification.buildOngoingConferenceNotification();
             if (notification == null) {
                 stopSelf();
@@ -94,9 +115,26 @@ public class JitsiMeetOngoingConferenceService extends Service
             } else {
                 startForeground(OngoingNotification.NOTIFICATION_ID, notification);
                 Log.i(TAG, "Service started");
+
+                if (action.equals(Actions.START_HEADLESS)) {
+                    JitsiMeetHeadlessConference conference
+                        = JitsiMeetHeadlessConference.getCurrent();
+
+                    if (conference != null) {
+                        conference.onServiceStarted();
+                    } else {
+                        stopSelf();
+                    }
+                }
             }
         } else if (action.equals(Actions.HANGUP)) {
             Log.i(TAG, "Hangup requested");
+            JitsiMeetHeadlessConference conference
+                = JitsiMeetHeadlessConference.getCurrent();
+
+            if (conference != null) {
+                conference.leave();
+            }
             // Abort all ongoing calls
             if (AudioModeModule.useConnectionService()) {
                 ConnectionService.abortConnections();
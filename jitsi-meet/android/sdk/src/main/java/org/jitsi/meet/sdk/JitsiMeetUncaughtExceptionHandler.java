@@ -17,12 +17,65 @@
 
 package org.jitsi.meet.sdk;
 
+import android.content.Context;
 import android.util.Log;
 
+import org.json.JSONObject;
+
+import java.io.File;
+
 class JitsiMeetUncaughtExceptionHandler implements Thread.UncaughtExceptionHandler {
+    /**
+     * The name of the file, in the files directory of the app, the breadcrumb
+     * of the shutdown following a crash is written to.
+     */
+    private static final String BREADCRUMB_FILE_NAME = "jitsi-meet-shutdown.json";
+
+    private static final String TAG = JitsiMeetUncaughtExceptionHandler.class.getSimpleName();
+
+    /**
+     * The breadcrumb left by the shutdown of the previous process, if it
+     * crashed.
+     */
+    private static JSONObject lastBreadcrumb;
+
     private final Thread.UncaughtExceptionHandler defaultUncaughtExceptionHandler;
 
-    public static void register() {
+    /**
+     * Gets the breadcrumb of the shutdown which followed the crash of the
+     * previous process, if it crashed.
+     *
+     * @return The breadcrumb, or {@code null}.
+     */
+    static synchronized JSONObject getLastBreadcrumb() {
+        return lastBreadcrumb;
+    }
+
+    public static void register(Context context) {
+        File breadcrumbFile = new File(context.getFilesDir(), BREADCRUMB_FILE_NAME);
+        JSONObject breadcrumb = ShutdownRegistry.readBreadcrumb(breadcrumbFile);
+
+        if (breadcrumb != null) {
+            Log.w(TAG, "The previous process crashed, shutdown: " + breadcrumb);
+            synchronized (JitsiMeetUncaughtExceptionHandler.class) {
+                lastBreadcrumb = breadcrumb;
+            }
+        }
+
+        ShutdownRegistry shutdownRegistry = ShutdownRegistry.getInstance();
+
+        shutdownRegistry.setBreadcrumbFile(breadcrumbFile);
+
+        // Abort all ConnectionService ongoing calls.
+        shutdownRegistry.register("ConnectionService", new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                if (AudioModeModule.useConnectionService()) {
+                    ConnectionService.abortConnections();
+                }
+            }
+        });
+
         Thread.UncaughtExceptionHandler defaultUncaughtExceptionHandler = Thread.getDefaultUncaughtExceptionHandler();
 
         JitsiMeetUncaughtExceptionHandler uncaughtExceptionHandler
@@ -37,11 +90,19 @@ class JitsiMeetUncaughtExceptionHandler implements Thread.UncaughtExceptionHandl
 
     @Override
     public void uncaughtException(Thread t, Throwable e) {
-        Log.e(this.getClass().getSimpleName(), "FATAL ERROR", e);
+        Log.e(TAG, "FATAL ERROR", e);
+
+        // Free all the resources held on the system, within a bounded time so
+        // that the process is restarted quickly.
+        try {
+            JSONObject breadcrumb
+                = ShutdownRegistry.getInstance().shutDown(
+                    e,
+                    ShutdownRegistry.DEFAULT_TIMEOUT);
 
-        // Abort all ConnectionService ongoing calls
-        if (AudioModeModule.useConnectionService()) {
-            ConnectionService.abortConnections();
+            Log.i(TAG, "Shutdown: " + breadcrumb);
+        } catch (Throwable te) {
+            Log.e(TAG, "Shutdown failed", te);
         }
 
         if (defaultUncaughtExceptionHandler != null) {
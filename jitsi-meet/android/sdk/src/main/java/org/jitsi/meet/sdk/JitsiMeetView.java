@@ -24,8 +24,10 @@ import android.support.annotation.Nullable;
 import android.util.Log;
 
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 
 
@@ -52,6 +54,18 @@ public class JitsiMeetView extends BaseReactView<JitsiMeetViewListener>
     // fine to have this field volatile without additional synchronization.
     private volatile String url;
 
+    /**
+     * The options of the last {@link #join(JitsiMeetConferenceOptions)}, or
+     * {@code null} if the conference was left since.
+     */
+    private JitsiMeetConferenceOptions joinedOptions;
+
+    /**
+     * The default options {@link #joinedOptions} were merged with when the
+     * conference was joined.
+     */
+    private JitsiMeetConferenceOptions joinedDefaultOptions;
+
     /**
      * Helper method to recursively merge 2 {@link Bundle} objects representing React Native props.
      *
@@ -59,7 +73,7 @@ public class JitsiMeetView extends BaseReactView<JitsiMeetViewListener>
      * @param b - The second {@link Bundle}.
      * @return The merged {@link Bundle} object.
      */
-    private static Bundle mergeProps(@Nullable Bundle a, @Nullable Bundle b) {
+    static Bundle mergeProps(@Nullable Bundle a, @Nullable Bundle b) {
         Bundle result = new Bundle();
 
         if (a == null) {
@@ -114,6 +128,7 @@ public class JitsiMeetView extends BaseReactView<JitsiMeetViewListener>
     @Override
     public void dispose() {
         OngoingConferenceTracker.getInstance().removeListener(this);
+        CommandChannel.getInstance().close(externalAPIScope);
         super.dispose();
     }
 
@@ -130,26 +145,139 @@ public class JitsiMeetView extends BaseReactView<JitsiMeetViewListener>
         PictureInPictureModule pipModule
             = ReactInstanceManagerHolder.getNativeModule(
                 PictureInPictureModule.class);
+        // With auto-enter, the system enters PiP by itself.
         if (pipModule != null
                 && PictureInPictureModule.isPictureInPictureSupported()
+                && !pipModule.isAutoEnterEnabled()
                 && !JitsiMeetActivityDelegate.arePermissionsBeingRequested()
                 && this.url != null) {
-            try {
-                pipModule.enterPictureInPicture();
-            } catch (RuntimeException re) {
-                Log.e(TAG, "failed to enter PiP mode", re);
-            }
+            pipModule.enterPictureInPicture();
         }
     }
 
+    /**
+     * Hangs up, i.e. leaves the current conference like the hangup button of
+     * the UI does.
+     *
+     * @return The {@link CommandFuture} which completes once done.
+     */
+    public CommandFuture hangUp() {
+        return sendCommand("hangUp", null, true);
+    }
+
     /**
      * Joins the conference specified by the given {@link JitsiMeetConferenceOptions}. If there is
-     * already an active conference, it will be left and the new one will be joined.
+     * already an active conference, it will be left and the new one will be joined, unless the
+     * options are for the active conference (see {@link #isCurrentConference}), in which case
+     * nothing happens.
      * @param options - Description of what conference must be joined and what options will be used
      *                when doing so.
      */
     public void join(@Nullable JitsiMeetConferenceOptions options) {
+        if (options != null) {
+            // Joining the ongoing conference again (e.g. after a configuration
+            // change or from its notification) would only reload it.
+            if (isCurrentConference(options)) {
+                Log.d(TAG, "Already in the requested conference, not reloading");
+                return;
+            }
+
+            // Fail right away if the reservation system said the room is not
+            // reserved, instead of loading the conference only to be rejected.
+            // The time slot of the reservation is left to the server to
+            // enforce: its times are not reliable enough on the client (see
+            // Reservation#parseDateTime).
+            Reservation reservation = options.getReservation();
+
+            if (reservation != null && !reservation.isFound()) {
+                onReservationNotFound(options);
+                return;
+            }
+        }
+
         setProps(options != null ? options.asProps() : new Bundle());
+        joinedOptions = options;
+        joinedDefaultOptions = JitsiMeet.getDefaultConferenceOptions();
+    }
+
+    /**
+     * Checks whether the given options are for the conference this view is
+     * currently in, so joining with them would not change anything. That is the
+     * case if the conference URL is the same one and either the options are
+     * equal to the ones the conference was joined with, or they only specify
+     * the conference URL (e.g. a deep link to the ongoing conference).
+     *
+     * @param options - The {@link JitsiMeetConferenceOptions} to check.
+     * @return {@code true} if the options are for the current conference.
+     */
+    public boolean isCurrentConference(@Nullable JitsiMeetConferenceOptions options) {
+        if (options == null) {
+            return false;
+        }
+
+        String currentConference
+            = OngoingConferenceTracker.getInstance().getCurrentConference();
+
+        // The tracker is shared by all views, so also check that this one
+        // joined a conference.
+        if (currentConference == null
+                || this.url == null
+                || joinedOptions == null
+                || !currentConference.equals(this.url)) {
+            return false;
+        }
+
+        // The content is compared, not just the content hashes which may
+        // collide.
+        if (options.hasSameContent(joinedOptions)
+                && hasSameContent(
+                    JitsiMeet.getDefaultConferenceOptions(),
+                    joinedDefaultOptions)) {
+            return true;
+        }
+
+        String conferenceUrl = options.getConferenceUrl();
+
+        return options.hasOnlyLocation()
+            && conferenceUrl != null
+            && conferenceUrl.equals(
+                JitsiMeetConferenceOptions.normalizeConferenceUrl(currentConference));
+    }
+
+    /**
+     * Notifies the listener that the conference was terminated, because its
+     * room is not reserved. The event has the same shape as the one emitted by
+     * the JavaScript side.
+     */
+    private void onReservationNotFound(JitsiMeetConferenceOptions options) {
+        Log.w(TAG, "Not joining, the room is not reserved");
+
+        final Map<String, Object> data = new HashMap<>();
+        String url = options.getConferenceUrl();
+
+        data.put("url", url != null ? url : options.getReservation().getRoomName());
+        data.put("error", "reservation.notFound");
+
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                JitsiMeetViewListener listener = getListener();
+
+                if (listener != null) {
+                    listener.onConferenceTerminated(data);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks whether the given options, either of which may be {@code null},
+     * have the same content.
+     */
+    private static boolean hasSameContent(
+            @Nullable JitsiMeetConferenceOptions a,
+            @Nullable JitsiMeetConferenceOptions b) {
+        return a == null ? b == null : a.hasSameContent(b);
     }
 
     /**
@@ -157,6 +285,70 @@ public class JitsiMeetView extends BaseReactView<JitsiMeetViewListener>
      */
     public void leave() {
         setProps(new Bundle());
+        joinedOptions = null;
+        joinedDefaultOptions = null;
+    }
+
+    /**
+     * Sends a message to one or all the other participants of the current
+     * conference, through the bridge channel.
+     *
+     * @param to - The endpoint identifier of the participant to send the
+     * message to, or {@code null} to send it to all of them.
+     * @param message - The message, as a JSON object.
+     * @return The {@link CommandFuture} which completes once the message was
+     * sent. It fails if not in a conference.
+     */
+    public CommandFuture sendEndpointMessage(
+            @Nullable String to,
+            @NonNull Bundle message) {
+        Bundle args = new Bundle();
+
+        args.putString("to", to != null ? to : "");
+        args.putBundle("message", message);
+
+        // Every message counts, don't coalesce them.
+        return sendCommand("sendEndpointMessage", args, false);
+    }
+
+    /**
+     * Mutes or unmutes the local audio.
+     *
+     * @param muted - Whether the local audio is to be muted.
+     * @return The {@link CommandFuture} which completes once done.
+     */
+    public CommandFuture setAudioMuted(boolean muted) {
+        Bundle args = new Bundle();
+
+        args.putBoolean("muted", muted);
+
+        return sendCommand("setAudioMuted", args, true);
+    }
+
+    /**
+     * Mutes or unmutes the local video.
+     *
+     * @param muted - Whether the local video is to be muted.
+     * @return The {@link CommandFuture} which completes once done.
+     */
+    public CommandFuture setVideoMuted(boolean muted) {
+        Bundle args = new Bundle();
+
+        args.putBoolean("muted", muted);
+
+        return sendCommand("setVideoMuted", args, true);
+    }
+
+    /**
+     * Sends a command to the conference of this view. Commands sent before
+     * the conference is loaded are queued.
+     */
+    private CommandFuture sendCommand(
+            String name,
+            @Nullable Bundle args,
+            boolean coalesce) {
+        return CommandChannel.getInstance().send(
+            externalAPIScope, name, args, coalesce);
     }
 
     /**
@@ -20,8 +20,6 @@
 
 package org.jitsi.meet.sdk;
 
-import android.content.Context;
-
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 
@@ -33,6 +31,8 @@ import java.util.Map;
  */
 class LocaleDetector extends ReactContextBaseJavaModule {
 
+    public static final String NAME = "LocaleDetector";
+
     public LocaleDetector(ReactApplicationContext reactContext) {
         super(reactContext);
     }
@@ -45,14 +45,15 @@ class LocaleDetector extends ReactContextBaseJavaModule {
      */
     @Override
     public Map<String, Object> getConstants() {
-        Context context = getReactApplicationContext();
         HashMap<String,Object> constants = new HashMap<>();
-        constants.put("locale", context.getResources().getConfiguration().locale.toString());
+        constants.put(
+            "locale",
+            AppMetadata.getInstance(getReactApplicationContext()).getLocale());
         return constants;
     }
 
     @Override
     public String getName() {
-        return "LocaleDetector";
+        return NAME;
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the memory releasers of the subsystems of the SDK, which are run
+ * when Android asks the app to trim its memory (see
+ * {@link ComponentCallbacks2#onTrimMemory(int)}), so that the SDK sheds load
+ * rather than the process being killed in the middle of a call. Each releaser
+ * decides what to release depending on the level of the memory pressure and
+ * reports how much it released; the total is reported to the
+ * {@link Listener} (which sends it to JavaScript) and kept in the
+ * {@link MemoryPressureStats}.
+ *
+ * All the methods are thread safe.
+ */
+final class MemoryPressureCoordinator {
+    /**
+     * Listener of the trims, which are notified after all the releasers ran.
+     */
+    interface Listener {
+        void onMemoryTrimmed(int level, long releasedBytes);
+    }
+
+    /**
+     * A memory releaser. It runs on the main thread, it must not block.
+     */
+    interface Releaser {
+        /**
+         * Releases memory.
+         *
+         * @param level - The {@code ComponentCallbacks2.TRIM_MEMORY_} level.
+         * @return An estimate of the memory released, in bytes.
+         */
+        long release(int level);
+    }
+
+    private static final MemoryPressureCoordinator instance
+        = new MemoryPressureCoordinator();
+
+    static MemoryPressureCoordinator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the statistics of the trims, if any.
+     *
+     * @return The {@link MemoryPressureStats}, or {@code null} if Android
+     * didn't ask the app to trim its memory yet.
+     */
+    static MemoryPressureStats getInstanceStats() {
+        return instance.getStats();
+    }
+
+    /**
+     * Gets the name of a trim level, as sent to JavaScript.
+     *
+     * @param level - The {@code ComponentCallbacks2.TRIM_MEMORY_} level.
+     * @return The name of the level, e.g. "running-low".
+     */
+    static String getLevelName(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE) {
+            return "complete";
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            return "moderate";
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            return "background";
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return "ui-hidden";
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            return "running-critical";
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            return "running-low";
+        }
+
+        return "running-moderate";
+    }
+
+    /**
+     * The number of times a releaser threw.
+     */
+    private int failedCount;
+
+    private boolean installed;
+
+    private int lastLevel;
+
+    private long lastReleasedBytes;
+
+    private Listener listener;
+
+    /**
+     * The registered releasers by name, in order of registration.
+     */
+    private final Map<String, Releaser> releasers = new LinkedHashMap<>();
+
+    private long totalReleasedBytes;
+
+    private int trimCount;
+
+    MemoryPressureCoordinator() {
+    }
+
+    /**
+     * Gets the statistics of the trims.
+     *
+     * @return The {@link MemoryPressureStats}, or {@code null} if there was no
+     * trim.
+     */
+    synchronized MemoryPressureStats getStats() {
+        return trimCount == 0
+            ? null
+            : new MemoryPressureStats(
+                trimCount,
+                lastLevel,
+                lastReleasedBytes,
+                totalReleasedBytes,
+                failedCount);
+    }
+
+    /**
+     * Starts listening to the requests of Android to trim the memory of the
+     * app. Only the first call has an effect.
+     *
+     * @param context - The {@link Context} of the app.
+     */
+    void install(Context context) {
+        synchronized (this) {
+            if (installed) {
+                return;
+            }
+            installed = true;
+        }
+
+        context.getApplicationContext().registerComponentCallbacks(
+            new ComponentCallbacks2() {
+                @Override
+                public void onConfigurationChanged(Configuration newConfig) {
+                }
+
+                @Override
+                public void onLowMemory() {
+                    trim(TRIM_MEMORY_COMPLETE);
+                }
+
+                @Override
+                public void onTrimMemory(int level) {
+                    trim(level);
+                }
+            });
+    }
+
+    /**
+     * Registers a releaser, replacing the one registered with the same name,
+     * if any (e.g. by a previous instance of a native module).
+     *
+     * @param name - The name of the releaser.
+     * @param releaser - The {@link Releaser}.
+     */
+    synchronized void register(String name, Releaser releaser) {
+        releasers.put(name, releaser);
+    }
+
+    synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Runs all the registered releasers, in order of registration. A releaser
+     * which throws doesn't keep the others from running.
+     *
+     * @param level - The {@code ComponentCallbacks2.TRIM_MEMORY_} level.
+     * @return An estimate of the memory released, in bytes.
+     */
+    long trim(int level) {
+        List<Releaser> releasers;
+
+        synchronized (this) {
+            releasers = new ArrayList<>(this.releasers.values());
+        }
+
+        long releasedBytes = 0;
+        int failedCount = 0;
+
+        for (Releaser releaser : releasers) {
+            try {
+                releasedBytes += releaser.release(level);
+            } catch (RuntimeException e) {
+                failedCount++;
+            }
+        }
+
+        Listener listener;
+
+        synchronized (this) {
+            trimCount++;
+            lastLevel = level;
+            lastReleasedBytes = releasedBytes;
+            totalReleasedBytes += releasedBytes;
+            this.failedCount += failedCount;
+            listener = this.listener;
+        }
+
+        if (listener != null) {
+            listener.onMemoryTrimmed(level, releasedBytes);
+        }
+
+        return releasedBytes;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Immutable snapshot of the statistics of the memory the SDK released when
+ * Android asked the app to trim its memory, as returned by
+ * {@link JitsiMeet#getMemoryPressureStats()}. The released memory is an
+ * estimate, in bytes.
+ */
+public class MemoryPressureStats {
+    private final int failedCount;
+    private final int lastLevel;
+    private final long lastReleasedBytes;
+    private final long totalReleasedBytes;
+    private final int trimCount;
+
+    MemoryPressureStats(
+            int trimCount,
+            int lastLevel,
+            long lastReleasedBytes,
+            long totalReleasedBytes,
+            int failedCount) {
+        this.trimCount = trimCount;
+        this.lastLevel = lastLevel;
+        this.lastReleasedBytes = lastReleasedBytes;
+        this.totalReleasedBytes = totalReleasedBytes;
+        this.failedCount = failedCount;
+    }
+
+    /**
+     * Gets the number of times a subsystem failed to release its memory.
+     *
+     * @return - The number of failures.
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Gets the level of the last trim.
+     *
+     * @return - The last {@code ComponentCallbacks2.TRIM_MEMORY_} level.
+     */
+    public int getLastLevel() {
+        return lastLevel;
+    }
+
+    /**
+     * Gets the memory released by the last trim.
+     *
+     * @return - The released bytes.
+     */
+    public long getLastReleasedBytes() {
+        return lastReleasedBytes;
+    }
+
+    /**
+     * Gets the memory released by all the trims.
+     *
+     * @return - The released bytes.
+     */
+    public long getTotalReleasedBytes() {
+        return totalReleasedBytes;
+    }
+
+    /**
+     * Gets the number of times Android asked the app to trim its memory.
+     *
+     * @return - The number of trims.
+     */
+    public int getTrimCount() {
+        return trimCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryPressureStats{trimCount=" + trimCount
+            + ", lastLevel=" + lastLevel
+            + ", lastReleasedBytes=" + lastReleasedBytes
+            + ", totalReleasedBytes=" + totalReleasedBytes
+            + ", failedCount=" + failedCount + "}";
+    }
+}
@@ -19,7 +19,12 @@ package org.jitsi.meet.sdk;
 import android.annotation.TargetApi;
 import android.app.Activity;
 import android.app.PictureInPictureParams;
+import android.graphics.Rect;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
 import android.util.Log;
 import android.util.Rational;
 
@@ -27,62 +32,135 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.module.annotations.ReactModule;
 
+import java.lang.reflect.Method;
+
+/**
+ * Module implementing Picture-in-Picture (PiP) for the current {@link Activity}.
+ *
+ * The {@link PictureInPictureParams} follow the large video: the JavaScript
+ * side reports its aspect ratio and its bounds (used as source rect hint), and
+ * the params are pushed to the {@code Activity} so the PiP transition doesn't
+ * need to adjust them. The updates are rate limited, since the aspect ratio
+ * follows the video stats. On API 31+ auto-enter is enabled while in a
+ * conference, so the system enters PiP itself when the user leaves the app.
+ */
 @ReactModule(name = PictureInPictureModule.NAME)
 class PictureInPictureModule
-    extends ReactContextBaseJavaModule {
+    extends ReactContextBaseJavaModule
+    implements OngoingConferenceTracker.OngoingConferenceListener {
 
     public static final String NAME = "PictureInPicture";
 
     private static final String TAG = NAME;
 
+    /**
+     * The limits of the aspect ratio of the PiP window imposed by Android.
+     */
+    private static final float MAX_ASPECT_RATIO = 2.39f;
+    private static final float MIN_ASPECT_RATIO = 1 / MAX_ASPECT_RATIO;
+
+    /**
+     * Minimum interval (in milliseconds) between two updates of the params of
+     * the {@code Activity}.
+     */
+    private static final long MIN_UPDATE_INTERVAL = 1000;
+
     static boolean isPictureInPictureSupported() {
         return Build.VERSION.SDK_INT >= Build.VERSION_CODES.O;
     }
 
+    /**
+     * Whether auto-enter is (to be) enabled i.e. there is an ongoing conference
+     * and the platform supports it.
+     */
+    private boolean autoEnterEnabled;
+
+    /**
+     * The aspect ratio of the large video.
+     */
+    private Rational aspectRatio = new Rational(1, 1);
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * When the params were last pushed to the {@code Activity}, as per
+     * {@link SystemClock#uptimeMillis()}.
+     */
+    private long lastUpdateTime;
+
+    /**
+     * The params built from the current state, {@code null} if they need to be
+     * built again.
+     */
+    private Object params;
+
+    /**
+     * The bounds of the large video in the window, in pixels.
+     */
+    private Rect sourceRectHint;
+
+    /**
+     * Whether a (rate limited) update of the params is scheduled.
+     */
+    private boolean updateScheduled;
+
+    private final Runnable updateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            updateScheduled = false;
+            lastUpdateTime = SystemClock.uptimeMillis();
+            updatePictureInPictureParams();
+        }
+    };
+
     public PictureInPictureModule(ReactApplicationContext reactContext) {
         super(reactContext);
+
+        OngoingConferenceTracker ongoingConferenceTracker
+            = OngoingConferenceTracker.getInstance();
+
+        ongoingConferenceTracker.addListener(this);
+        // The module may be created while a conference is ongoing already
+        // (e.g. when the React instance is recreated).
+        onCurrentConferenceChanged(
+            ongoingConferenceTracker.getCurrentConference());
     }
 
     /**
      * Enters Picture-in-Picture (mode) for the current {@link Activity}.
      * Supported on Android API >= 26 (Oreo) only.
      *
-     * @throws IllegalStateException if {@link #isPictureInPictureSupported()}
-     * returns {@code false} or if {@link #getCurrentActivity()} returns
-     * {@code null}.
-     * @throws RuntimeException if
-     * {@link Activity#enterPictureInPictureMode(PictureInPictureParams)} fails.
-     * That method can also throw a {@link RuntimeException} in various cases,
-     * including when the activity is not visible (paused or stopped), if the
-     * screen is locked or if the user has an activity pinned.
+     * @return {@code true} if PiP was entered; {@code false} if it's not
+     * supported, there is no current {@code Activity} or the system disallowed
+     * it. That is the case when the activity is not visible (paused or
+     * stopped), if the screen is locked or if the user has an activity pinned.
+     * Must be called on the UI thread, where the params are built.
      */
     @TargetApi(Build.VERSION_CODES.O)
-    public void enterPictureInPicture() {
+    boolean enterPictureInPicture() {
         if (!isPictureInPictureSupported()) {
-            throw new IllegalStateException("Picture-in-Picture not supported");
+            Log.w(TAG, "Picture-in-Picture not supported");
+            return false;
         }
 
         Activity currentActivity = getCurrentActivity();
 
         if (currentActivity == null) {
-            throw new IllegalStateException("No current Activity!");
+            Log.w(TAG, "Cannot enter Picture-in-Picture: no current Activity");
+            return false;
         }
 
         Log.d(TAG, "Entering Picture-in-Picture");
 
-        PictureInPictureParams.Builder builder
-            = new PictureInPictureParams.Builder()
-                .setAspectRatio(new Rational(1, 1));
-
-        // https://developer.android.com/reference/android/app/Activity.html#enterPictureInPictureMode(android.app.PictureInPictureParams)
-        //
-        // The system may disallow entering picture-in-picture in various cases,
-        // including when the activity is not visible, if the screen is locked
-        // or if the user has an activity pinned.
-        if (!currentActivity.enterPictureInPictureMode(builder.build())) {
-            throw new RuntimeException("Failed to enter Picture-in-Picture");
+        try {
+            return currentActivity.enterPictureInPictureMode(
+                getPictureInPictureParams());
+        } catch (RuntimeException re) {
+            Log.e(TAG, "Failed to enter Picture-in-Picture", re);
+            return false;
         }
     }
 
@@ -94,17 +172,204 @@ class PictureInPictureModule
      * value upon success, and an {@link Exception} otherwise.
      */
     @ReactMethod
-    public void enterPictureInPicture(Promise promise) {
-        try {
-            enterPictureInPicture();
-            promise.resolve(null);
-        } catch (RuntimeException re) {
-            promise.reject(re);
-        }
+    public void enterPictureInPicture(final Promise promise) {
+        // The params are only built and read on the UI thread, where their
+        // setters run.
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                if (enterPictureInPicture()) {
+                    promise.resolve(null);
+                } else {
+                    promise.reject(
+                        new IllegalStateException(
+                            "Failed to enter Picture-in-Picture"));
+                }
+            }
+        });
     }
 
     @Override
     public String getName() {
         return NAME;
     }
+
+    /**
+     * Gets whether the system enters PiP by itself when the user leaves the
+     * app, so {@link #enterPictureInPicture()} need not be called.
+     */
+    boolean isAutoEnterEnabled() {
+        return autoEnterEnabled;
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        OngoingConferenceTracker.getInstance().removeListener(this);
+        handler.removeCallbacks(updateRunnable);
+    }
+
+    /**
+     * Enables auto-enter (on API 31+) while there is an ongoing conference.
+     */
+    @Override
+    public void onCurrentConferenceChanged(String conferenceUrl) {
+        final boolean enabled
+            = conferenceUrl != null
+                && Build.VERSION.SDK_INT >= 31 /* Build.VERSION_CODES.S */;
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (autoEnterEnabled != enabled) {
+                    autoEnterEnabled = enabled;
+                    invalidateParams();
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the aspect ratio of the large video, which the PiP window will have.
+     * It's clamped to the range supported by Android.
+     *
+     * @param width - The width of the video.
+     * @param height - The height of the video.
+     */
+    @ReactMethod
+    public void setAspectRatio(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                Rational newAspectRatio = clampAspectRatio(width, height);
+
+                if (!newAspectRatio.equals(aspectRatio)) {
+                    aspectRatio = newAspectRatio;
+                    invalidateParams();
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the bounds of the large video in the window, so the PiP transition
+     * can animate from it.
+     *
+     * @param x - The left coordinate, in density-independent pixels.
+     * @param y - The top coordinate, in density-independent pixels.
+     * @param width - The width, in density-independent pixels.
+     * @param height - The height, in density-independent pixels.
+     */
+    @ReactMethod
+    public void setSourceRectHint(
+            double x, double y, double width, double height) {
+        DisplayMetrics displayMetrics
+            = getReactApplicationContext().getResources().getDisplayMetrics();
+        float density = displayMetrics.density;
+        final Rect rect
+            = new Rect(
+                (int) Math.round(x * density),
+                (int) Math.round(y * density),
+                (int) Math.round((x + width) * density),
+                (int) Math.round((y + height) * density));
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!rect.equals(sourceRectHint)) {
+                    sourceRectHint = rect.isEmpty() ? null : rect;
+                    invalidateParams();
+                }
+            }
+        });
+    }
+
+    private static Rational clampAspectRatio(int width, int height) {
+        float ratio = (float) width / height;
+
+        if (ratio > MAX_ASPECT_RATIO) {
+            return new Rational(239, 100);
+        }
+        if (ratio < MIN_ASPECT_RATIO) {
+            return new Rational(100, 239);
+        }
+
+        return new Rational(width, height);
+    }
+
+    /**
+     * Gets the params built from the current state, building them if needed.
+     * Must be called on the UI thread.
+     */
+    @TargetApi(Build.VERSION_CODES.O)
+    private PictureInPictureParams getPictureInPictureParams() {
+        if (params == null) {
+            PictureInPictureParams.Builder builder
+                = new PictureInPictureParams.Builder()
+                    .setAspectRatio(aspectRatio)
+                    .setSourceRectHint(sourceRectHint);
+
+            if (Build.VERSION.SDK_INT >= 31 /* Build.VERSION_CODES.S */) {
+                // The methods are only available in the API 31 SDK.
+                invokeBuilderMethod(builder, "setAutoEnterEnabled", autoEnterEnabled);
+                invokeBuilderMethod(builder, "setSeamlessResizeEnabled", true);
+            }
+
+            params = builder.build();
+        }
+
+        return (PictureInPictureParams) params;
+    }
+
+    /**
+     * Marks the params as changed and schedules their update, no more often
+     * than every {@link #MIN_UPDATE_INTERVAL}. Must be called on the UI thread.
+     */
+    private void invalidateParams() {
+        params = null;
+
+        if (!isPictureInPictureSupported() || updateScheduled) {
+            return;
+        }
+
+        updateScheduled = true;
+        handler.postAtTime(
+            updateRunnable,
+            Math.max(
+                SystemClock.uptimeMillis(),
+                lastUpdateTime + MIN_UPDATE_INTERVAL));
+    }
+
+    private static void invokeBuilderMethod(
+            Object builder, String name, boolean value) {
+        try {
+            Method method = builder.getClass().getMethod(name, boolean.class);
+            method.invoke(builder, value);
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to invoke PictureInPictureParams.Builder." + name, e);
+        }
+    }
+
+    /**
+     * Pushes the params to the current {@code Activity}, so they are already
+     * set when PiP is entered (or auto-entered). Must be called on the UI
+     * thread.
+     */
+    @TargetApi(Build.VERSION_CODES.O)
+    private void updatePictureInPictureParams() {
+        Activity currentActivity = getCurrentActivity();
+
+        if (currentActivity == null) {
+            return;
+        }
+
+        try {
+            currentActivity.setPictureInPictureParams(getPictureInPictureParams());
+        } catch (RuntimeException re) {
+            Log.w(TAG, "Failed to set the Picture-in-Picture params", re);
+        }
+    }
 }
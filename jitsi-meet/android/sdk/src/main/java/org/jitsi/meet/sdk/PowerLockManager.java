@@ -0,0 +1,363 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.Context;
+import android.os.PowerManager;
+import android.os.PowerManager.WakeLock;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Owns the wake locks of the SDK: the proximity (screen off) wake lock and the
+ * CPU (partial) wake lock. The locks are reference counted, and whether they
+ * are actually held is decided from the requests and the state of the call:
+ *
+ * - The CPU lock is only held while explicitly requested, which
+ *   {@link JitsiMeetHeadlessConference} does while it runs since it has no
+ *   UI to keep the device awake. A regular conference doesn't need it:
+ *   the ongoing conference notification keeps the process running, and
+ *   WebRTC keeps its own threads busy while media flows.
+ * - The proximity lock is held while requested, in a conference and while the
+ *   audio is routed to the earpiece. Turning the screen off makes no sense
+ *   when the audio goes to the speaker or to a headset.
+ *
+ * How long the locks are held is recorded, see {@link #getStats()}, so battery
+ * drain in long calls can be tracked down.
+ *
+ * All the methods are thread safe.
+ */
+class PowerLockManager implements OngoingConferenceTracker.OngoingConferenceListener {
+    /**
+     * Abstraction of a wake lock.
+     */
+    interface Lock {
+        void acquire();
+
+        void release();
+    }
+
+    /**
+     * Source of the time the hold durations are measured with.
+     */
+    interface TimeSource {
+        long elapsedRealtime();
+    }
+
+    /**
+     * This type of wake lock (the one activated by the proximity sensor) has
+     * been available for a while, but the constant was only exported in API
+     * level 21 (Android Marshmallow) so make no assumptions and use its value
+     * directly.
+     */
+    private static final int PROXIMITY_SCREEN_OFF_WAKE_LOCK = 32;
+
+    private static final String TAG = PowerLockManager.class.getSimpleName();
+
+    private static PowerLockManager instance;
+
+    /**
+     * Gets the single instance, creating it (with the wake locks of the
+     * device) on the first call.
+     *
+     * @param context - The {@link Context} to get the {@link PowerManager}
+     * from.
+     * @return The {@link PowerLockManager}.
+     */
+    static synchronized PowerLockManager getInstance(Context context) {
+        if (instance == null) {
+            PowerManager powerManager
+                = (PowerManager)
+                    context.getApplicationContext()
+                        .getSystemService(Context.POWER_SERVICE);
+
+            instance
+                = new PowerLockManager(
+                    createWakeLock(powerManager, PROXIMITY_SCREEN_OFF_WAKE_LOCK, "proximity"),
+                    createWakeLock(powerManager, PowerManager.PARTIAL_WAKE_LOCK, "cpu"),
+                    new TimeSource() {
+                        @Override
+                        public long elapsedRealtime() {
+                            return SystemClock.elapsedRealtime();
+                        }
+                    });
+            OngoingConferenceTracker.getInstance().addListener(instance);
+
+            final PowerLockManager powerLockManager = instance;
+
+            ShutdownRegistry.getInstance().register(TAG, new ShutdownRegistry.Hook() {
+                @Override
+                public void shutDown() {
+                    powerLockManager.releaseAll();
+                }
+            });
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the statistics of the wake locks, if they were used.
+     *
+     * @return The {@link PowerLockStats}, or {@code null} if the wake locks
+     * were not used in this process.
+     */
+    static synchronized PowerLockStats getInstanceStats() {
+        return instance == null ? null : instance.getStats();
+    }
+
+    private static Lock createWakeLock(
+            PowerManager powerManager,
+            int levelAndFlags,
+            String name) {
+        final WakeLock wakeLock;
+
+        try {
+            wakeLock = powerManager.newWakeLock(levelAndFlags, "jitsi:" + name);
+        } catch (Throwable t) {
+            Log.w(TAG, "Wake lock not supported: " + name, t);
+            return null;
+        }
+
+        // The references are counted by PowerLockManager.
+        wakeLock.setReferenceCounted(false);
+
+        return new Lock() {
+            @Override
+            public void acquire() {
+                wakeLock.acquire();
+            }
+
+            @Override
+            public void release() {
+                if (wakeLock.isHeld()) {
+                    wakeLock.release();
+                }
+            }
+        };
+    }
+
+    /**
+     * The current audio route, {@code null} if unknown.
+     */
+    private String audioRoute;
+
+    private int cpuLockRequests;
+
+    private final LockState cpuLock;
+
+    private boolean inConference;
+
+    private int proximityLockRequests;
+
+    private final LockState proximityLock;
+
+    private final TimeSource timeSource;
+
+    /**
+     * Initializes a new instance.
+     *
+     * @param proximityLock - The proximity {@link Lock}, {@code null} if not
+     * supported.
+     * @param cpuLock - The CPU {@link Lock}, {@code null} if not supported.
+     * @param timeSource - The {@link TimeSource} to measure durations with.
+     */
+    PowerLockManager(Lock proximityLock, Lock cpuLock, TimeSource timeSource) {
+        this.proximityLock = new LockState(proximityLock);
+        this.cpuLock = new LockState(cpuLock);
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Adds a request for the CPU lock. Must be balanced with
+     * {@link #releaseCpuLock()}.
+     */
+    synchronized void acquireCpuLock() {
+        cpuLockRequests++;
+        update();
+    }
+
+    /**
+     * Adds a request for the proximity lock. Must be balanced with
+     * {@link #releaseProximityLock()}.
+     */
+    synchronized void acquireProximityLock() {
+        proximityLockRequests++;
+        update();
+    }
+
+    /**
+     * Gets the statistics of the wake locks, including the ongoing holds.
+     *
+     * @return The {@link PowerLockStats}.
+     */
+    synchronized PowerLockStats getStats() {
+        long now = timeSource.elapsedRealtime();
+
+        return new PowerLockStats(
+            proximityLock.getAcquireCount(),
+            proximityLock.getTotalHeldTime(now),
+            proximityLock.getLongestHeldTime(now),
+            cpuLock.getAcquireCount(),
+            cpuLock.getTotalHeldTime(now),
+            cpuLock.getLongestHeldTime(now));
+    }
+
+    /**
+     * Gets whether the CPU lock is held.
+     */
+    synchronized boolean isCpuLockHeld() {
+        return cpuLock.isHeld();
+    }
+
+    /**
+     * Gets whether the proximity lock is held.
+     */
+    synchronized boolean isProximityLockHeld() {
+        return proximityLock.isHeld();
+    }
+
+    @Override
+    public void onCurrentConferenceChanged(String conferenceUrl) {
+        setInConference(conferenceUrl != null);
+    }
+
+    /**
+     * Releases the locks and drops all the requests for them.
+     */
+    synchronized void releaseAll() {
+        cpuLockRequests = 0;
+        proximityLockRequests = 0;
+        inConference = false;
+        update();
+    }
+
+    /**
+     * Removes a request for the CPU lock added with {@link #acquireCpuLock()}.
+     */
+    synchronized void releaseCpuLock() {
+        if (cpuLockRequests > 0) {
+            cpuLockRequests--;
+            update();
+        } else {
+            Log.w(TAG, "Unbalanced release of the CPU lock");
+        }
+    }
+
+    /**
+     * Removes a request for the proximity lock added with
+     * {@link #acquireProximityLock()}.
+     */
+    synchronized void releaseProximityLock() {
+        if (proximityLockRequests > 0) {
+            proximityLockRequests--;
+            update();
+        } else {
+            Log.w(TAG, "Unbalanced release of the proximity lock");
+        }
+    }
+
+    /**
+     * Sets the current audio route.
+     *
+     * @param audioRoute - One of the devices of {@link AudioModeModule}, or
+     * {@code null} if no route is selected.
+     */
+    synchronized void setAudioRoute(String audioRoute) {
+        this.audioRoute = audioRoute;
+        update();
+    }
+
+    synchronized void setInConference(boolean inConference) {
+        this.inConference = inConference;
+        update();
+    }
+
+    /**
+     * Acquires or releases the locks as per the current state.
+     */
+    private void update() {
+        long now = timeSource.elapsedRealtime();
+
+        cpuLock.setHeld(cpuLockRequests > 0, now);
+        proximityLock.setHeld(
+            inConference
+                && proximityLockRequests > 0
+                && AudioModeModule.DEVICE_EARPIECE.equals(audioRoute),
+            now);
+    }
+
+    /**
+     * A {@link Lock} and its hold statistics.
+     */
+    private static class LockState {
+        private int acquireCount;
+
+        /**
+         * When the lock was acquired, -1 if it's not held.
+         */
+        private long heldSince = -1;
+
+        private final Lock lock;
+
+        private long longestHeldTime;
+
+        private long totalHeldTime;
+
+        LockState(Lock lock) {
+            this.lock = lock;
+        }
+
+        int getAcquireCount() {
+            return acquireCount;
+        }
+
+        long getLongestHeldTime(long now) {
+            return isHeld()
+                ? Math.max(longestHeldTime, now - heldSince)
+                : longestHeldTime;
+        }
+
+        long getTotalHeldTime(long now) {
+            return isHeld() ? totalHeldTime + now - heldSince : totalHeldTime;
+        }
+
+        boolean isHeld() {
+            return heldSince != -1;
+        }
+
+        void setHeld(boolean held, long now) {
+            if (lock == null || held == isHeld()) {
+                return;
+            }
+
+            if (held) {
+                lock.acquire();
+                acquireCount++;
+                heldSince = now;
+            } else {
+                lock.release();
+
+                long heldTime = now - heldSince;
+
+                totalHeldTime += heldTime;
+                longestHeldTime = Math.max(longestHeldTime, heldTime);
+                heldSince = -1;
+            }
+        }
+    }
+}
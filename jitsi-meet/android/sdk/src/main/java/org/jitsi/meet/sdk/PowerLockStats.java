@@ -0,0 +1,109 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Immutable snapshot of the hold statistics of the wake locks of the SDK, as
+ * returned by {@link JitsiMeet#getPowerLockStats()}. The times are in
+ * milliseconds and include the ongoing holds.
+ */
+public class PowerLockStats {
+    private final int cpuAcquireCount;
+    private final long cpuLongestHeldTime;
+    private final long cpuTotalHeldTime;
+    private final int proximityAcquireCount;
+    private final long proximityLongestHeldTime;
+    private final long proximityTotalHeldTime;
+
+    PowerLockStats(
+            int proximityAcquireCount,
+            long proximityTotalHeldTime,
+            long proximityLongestHeldTime,
+            int cpuAcquireCount,
+            long cpuTotalHeldTime,
+            long cpuLongestHeldTime) {
+        this.proximityAcquireCount = proximityAcquireCount;
+        this.proximityTotalHeldTime = proximityTotalHeldTime;
+        this.proximityLongestHeldTime = proximityLongestHeldTime;
+        this.cpuAcquireCount = cpuAcquireCount;
+        this.cpuTotalHeldTime = cpuTotalHeldTime;
+        this.cpuLongestHeldTime = cpuLongestHeldTime;
+    }
+
+    /**
+     * Gets how many times the CPU wake lock was acquired.
+     *
+     * @return - The number of acquisitions of the CPU wake lock.
+     */
+    public int getCpuAcquireCount() {
+        return cpuAcquireCount;
+    }
+
+    /**
+     * Gets the longest time the CPU wake lock was held at once.
+     *
+     * @return - The longest hold of the CPU wake lock, in milliseconds.
+     */
+    public long getCpuLongestHeldTime() {
+        return cpuLongestHeldTime;
+    }
+
+    /**
+     * Gets the total time the CPU wake lock was held.
+     *
+     * @return - The total hold time of the CPU wake lock, in milliseconds.
+     */
+    public long getCpuTotalHeldTime() {
+        return cpuTotalHeldTime;
+    }
+
+    /**
+     * Gets how many times the proximity wake lock was acquired.
+     *
+     * @return - The number of acquisitions of the proximity wake lock.
+     */
+    public int getProximityAcquireCount() {
+        return proximityAcquireCount;
+    }
+
+    /**
+     * Gets the longest time the proximity wake lock was held at once.
+     *
+     * @return - The longest hold of the proximity wake lock, in milliseconds.
+     */
+    public long getProximityLongestHeldTime() {
+        return proximityLongestHeldTime;
+    }
+
+    /**
+     * Gets the total time the proximity wake lock was held.
+     *
+     * @return - The total hold time of the proximity wake lock, in
+     * milliseconds.
+     */
+    public long getProximityTotalHeldTime() {
+        return proximityTotalHeldTime;
+    }
+
+    @Override
+    public String toString() {
+        return "PowerLockStats{proximity=" + proximityAcquireCount
+            + "x/" + proximityTotalHeldTime + "ms/max " + proximityLongestHeldTime
+            + "ms, cpu=" + cpuAcquireCount
+            + "x/" + cpuTotalHeldTime + "ms/max " + cpuLongestHeldTime + "ms}";
+    }
+}
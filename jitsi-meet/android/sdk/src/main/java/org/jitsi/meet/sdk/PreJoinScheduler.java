@@ -0,0 +1,216 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Schedules the warmup of upcoming reserved conferences. The warmup happens in
+ * two phases:
+ *
+ * 1. The lead time before the start of a conference, the expensive and long
+ *    lived state is created: the React context and the WebRTC factory.
+ * 2. {@link #NETWORK_LEAD_TIME} before the start, the short lived state is
+ *    prefetched: DNS and NAT64 info, and the reservation record. This is late
+ *    enough for it to still be cached when the conference is joined.
+ *
+ * Warmups only happen if the {@link Budget} allows them, and the context
+ * warmups are limited to {@link #MAX_CONTEXT_WARMUPS_PER_HOUR}.
+ *
+ * The time and the scheduling of tasks are abstracted by {@link Clock} so this
+ * class can be tested with a simulated clock. All the methods are expected to
+ * be called, and the tasks to be run, on the same thread.
+ */
+class PreJoinScheduler {
+    /**
+     * Source of the time, which is compared to the start times of the
+     * reservations, and scheduler of the warmup tasks.
+     */
+    interface Clock {
+        long currentTimeMillis();
+
+        /**
+         * Schedules a task.
+         *
+         * @return A token for {@link #cancel(Object)}.
+         */
+        Object schedule(Runnable task, long delay);
+
+        void cancel(Object token);
+    }
+
+    /**
+     * Tells whether the resources (battery, memory) allow for a warmup.
+     */
+    interface Budget {
+        boolean allowsWarmup();
+    }
+
+    /**
+     * Performs the warmups.
+     */
+    interface Warmup {
+        void warmUpContext();
+
+        void warmUpNetwork(Reservation reservation);
+    }
+
+    /**
+     * Maximum number of context warmups per hour.
+     */
+    static final int MAX_CONTEXT_WARMUPS_PER_HOUR = 4;
+
+    /**
+     * How long (in milliseconds) before the start of a conference the network
+     * warmup happens.
+     */
+    static final long NETWORK_LEAD_TIME = 30 * 1000;
+
+    /**
+     * How long (in milliseconds) after the start of a conference it is still
+     * warmed up, e.g. if the device was asleep at the scheduled time.
+     */
+    static final long START_GRACE_PERIOD = 5 * 60 * 1000;
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private final Budget budget;
+
+    private final Clock clock;
+
+    /**
+     * When the last context warmups happened.
+     */
+    private final LinkedList<Long> contextWarmupTimes = new LinkedList<>();
+
+    private final long leadTime;
+
+    /**
+     * The tokens of the scheduled tasks.
+     */
+    private final List<Object> tasks = new ArrayList<>();
+
+    private final Warmup warmup;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param clock - The {@link Clock} to use.
+     * @param budget - The {@link Budget} to check before warmups.
+     * @param warmup - The {@link Warmup} to perform.
+     * @param leadTime - How long (in milliseconds) before the start of a
+     * conference the context warmup happens.
+     */
+    PreJoinScheduler(Clock clock, Budget budget, Warmup warmup, long leadTime) {
+        this.clock = clock;
+        this.budget = budget;
+        this.warmup = warmup;
+        this.leadTime = Math.max(leadTime, NETWORK_LEAD_TIME);
+    }
+
+    /**
+     * Cancels all the scheduled warmups.
+     */
+    void cancel() {
+        for (Object token : tasks) {
+            clock.cancel(token);
+        }
+        tasks.clear();
+    }
+
+    /**
+     * Gets the number of scheduled warmup tasks.
+     */
+    int getScheduledTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Schedules the warmups of the given reservations, replacing the ones
+     * scheduled before.
+     *
+     * @param reservations - The upcoming reservations.
+     */
+    void schedule(Collection<Reservation> reservations) {
+        cancel();
+
+        long now = clock.currentTimeMillis();
+
+        for (final Reservation reservation : reservations) {
+            long startTime = reservation.getStartTime();
+
+            if (!reservation.isFound() || now > startTime + START_GRACE_PERIOD) {
+                continue;
+            }
+
+            scheduleTask(startTime, startTime - leadTime, new Runnable() {
+                @Override
+                public void run() {
+                    warmUpContext();
+                }
+            });
+            scheduleTask(startTime, startTime - NETWORK_LEAD_TIME, new Runnable() {
+                @Override
+                public void run() {
+                    if (budget.allowsWarmup()) {
+                        warmup.warmUpNetwork(reservation);
+                    }
+                }
+            });
+        }
+    }
+
+    private void scheduleTask(
+            final long startTime,
+            long dueTime,
+            final Runnable task) {
+        final Object[] token = new Object[1];
+
+        token[0] = clock.schedule(new Runnable() {
+            @Override
+            public void run() {
+                tasks.remove(token[0]);
+
+                // The task may run late, e.g. if the device was asleep.
+                if (clock.currentTimeMillis() <= startTime + START_GRACE_PERIOD) {
+                    task.run();
+                }
+            }
+        }, Math.max(0, dueTime - clock.currentTimeMillis()));
+        tasks.add(token[0]);
+    }
+
+    private void warmUpContext() {
+        long now = clock.currentTimeMillis();
+
+        for (Iterator<Long> i = contextWarmupTimes.iterator(); i.hasNext();) {
+            if (now - i.next() >= HOUR) {
+                i.remove();
+            }
+        }
+
+        if (contextWarmupTimes.size() < MAX_CONTEXT_WARMUPS_PER_HOUR
+                && budget.allowsWarmup()) {
+            contextWarmupTimes.add(now);
+            warmup.warmUpContext();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.app.ActivityManager;
+import android.app.AlarmManager;
+import android.app.Application;
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.SparseArray;
+
+import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.bridge.ReactContext;
+import com.oney.WebRTCModule.WebRTCModule;
+
+import org.jitsi.meet.sdk.net.NAT64AddrInfoModule;
+
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms up the SDK ahead of upcoming reserved conferences, so joining them at
+ * the scheduled time skips the cold path: the React context and the WebRTC
+ * factory are created a configurable lead time before the start, and the DNS /
+ * NAT64 info and the reservation record are prefetched shortly before it.
+ *
+ * Warmups are skipped when the battery is low (and not charging), in battery
+ * saver mode and when memory is low. They're scheduled with
+ * {@link AlarmManager} alarms which count the time the device is asleep but
+ * don't wake it up: a warmup which is due while the device is asleep (or
+ * deferred by Doze) happens when it wakes up, if the conference is not long
+ * started by then.
+ *
+ * All the methods must be called on the UI thread.
+ */
+public class PreJoinWarmupScheduler {
+    /**
+     * Minimum battery level (in percent) for warming up when not charging.
+     */
+    private static final int MIN_BATTERY_LEVEL = 20;
+
+    private static final String TAG = PreJoinWarmupScheduler.class.getSimpleName();
+
+    /**
+     * {@link ExecutorService} for the blocking parts of the warmups.
+     */
+    private static final ExecutorService executor
+        = Executors.newSingleThreadExecutor();
+
+    private final PreJoinScheduler scheduler;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param context - The {@link Context} to use.
+     * @param serverURL - The URL of the server the conferences are hosted on.
+     * @param reservationClient - The {@link ReservationClient} to prefetch the
+     * reservations with, if any.
+     * @param leadTime - How long (in milliseconds) before the start of a
+     * conference the React context should be warmed up.
+     */
+    public PreJoinWarmupScheduler(
+            Context context,
+            URL serverURL,
+            @Nullable ReservationClient reservationClient,
+            long leadTime) {
+        Context appContext = context.getApplicationContext();
+
+        scheduler
+            = new PreJoinScheduler(
+                new AlarmClock(appContext),
+                new DeviceBudget(appContext),
+                new SdkWarmup(
+                    (Application) appContext,
+                    serverURL,
+                    reservationClient),
+                leadTime);
+    }
+
+    /**
+     * Cancels all the scheduled warmups.
+     */
+    public void cancel() {
+        scheduler.cancel();
+    }
+
+    /**
+     * Schedules the warmups of the given reservations, replacing the ones
+     * scheduled before. Reservations which are over are ignored.
+     *
+     * @param reservations - The upcoming reservations, e.g. of a calendar.
+     */
+    public void schedule(Collection<Reservation> reservations) {
+        scheduler.schedule(reservations);
+    }
+
+    /**
+     * {@link PreJoinScheduler.Clock} running the tasks on the UI thread when
+     * non-wakeup {@link AlarmManager#ELAPSED_REALTIME} alarms go off. Unlike
+     * {@code Handler} delays, which count the uptime, they count the time the
+     * device is asleep. The receiver of the alarms is only registered while
+     * there are scheduled tasks.
+     */
+    private static class AlarmClock implements PreJoinScheduler.Clock {
+        private static final String EXTRA_TASK_ID = "taskId";
+
+        /**
+         * The action of the broadcasts of the alarms, which is specific to
+         * this clock.
+         */
+        private final String action;
+
+        private final AlarmManager alarmManager;
+
+        private final Context context;
+
+        private int nextTaskId;
+
+        private final BroadcastReceiver receiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                Runnable task = remove(intent.getIntExtra(EXTRA_TASK_ID, -1));
+
+                if (task != null) {
+                    task.run();
+                }
+            }
+        };
+
+        /**
+         * The scheduled tasks by ID.
+         */
+        private final SparseArray<Runnable> tasks = new SparseArray<>();
+
+        AlarmClock(Context context) {
+            this.context = context;
+
+            alarmManager
+                = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+            action
+                = context.getPackageName() + "." + TAG + ".WARMUP."
+                    + System.identityHashCode(this);
+        }
+
+        @Override
+        public void cancel(Object token) {
+            int taskId = (Integer) token;
+
+            if (remove(taskId) != null) {
+                alarmManager.cancel(createPendingIntent(taskId));
+            }
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public Object schedule(Runnable task, long delay) {
+            int taskId = nextTaskId++;
+
+            if (tasks.size() == 0) {
+                context.registerReceiver(receiver, new IntentFilter(action));
+            }
+            tasks.put(taskId, task);
+            alarmManager.setExact(
+                AlarmManager.ELAPSED_REALTIME,
+                SystemClock.elapsedRealtime() + delay,
+                createPendingIntent(taskId));
+
+            return taskId;
+        }
+
+        /**
+         * Creates the {@link PendingIntent} of the alarm of a task. The ID of
+         * the task is the request code, so that the intents of the tasks are
+         * distinct.
+         */
+        private PendingIntent createPendingIntent(int taskId) {
+            Intent intent
+                = new Intent(action)
+                    .setPackage(context.getPackageName())
+                    .putExtra(EXTRA_TASK_ID, taskId);
+
+            return PendingIntent.getBroadcast(
+                context,
+                taskId,
+                intent,
+                PendingIntent.FLAG_UPDATE_CURRENT);
+        }
+
+        /**
+         * Removes a scheduled task, unregistering the receiver if it was the
+         * last one.
+         *
+         * @return The task, or {@code null} if it's not scheduled.
+         */
+        @Nullable
+        private Runnable remove(int taskId) {
+            Runnable task = tasks.get(taskId);
+
+            if (task != null) {
+                tasks.remove(taskId);
+                if (tasks.size() == 0) {
+                    context.unregisterReceiver(receiver);
+                }
+            }
+
+            return task;
+        }
+    }
+
+    /**
+     * {@link PreJoinScheduler.Budget} based on the battery and memory state of
+     * the device.
+     */
+    private static class DeviceBudget implements PreJoinScheduler.Budget {
+        private final Context context;
+
+        DeviceBudget(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public boolean allowsWarmup() {
+            ActivityManager activityManager
+                = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+            ActivityManager.MemoryInfo memoryInfo = new ActivityManager.MemoryInfo();
+
+            activityManager.getMemoryInfo(memoryInfo);
+            if (activityManager.isLowRamDevice() || memoryInfo.lowMemory) {
+                Log.d(TAG, "Skipping warmup, low memory");
+                return false;
+            }
+
+            PowerManager powerManager
+                = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+
+            if (powerManager.isPowerSaveMode()) {
+                Log.d(TAG, "Skipping warmup, battery saver is on");
+                return false;
+            }
+
+            Intent battery
+                = context.registerReceiver(
+                    null,
+                    new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+
+            if (battery != null) {
+                int status = battery.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+                int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+                int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+                boolean charging
+                    = status == BatteryManager.BATTERY_STATUS_CHARGING
+                        || status == BatteryManager.BATTERY_STATUS_FULL;
+
+                if (!charging
+                        && level >= 0
+                        && scale > 0
+                        && level * 100 / scale < MIN_BATTERY_LEVEL) {
+                    Log.d(TAG, "Skipping warmup, low battery");
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * {@link PreJoinScheduler.Warmup} of the SDK.
+     */
+    private static class SdkWarmup implements PreJoinScheduler.Warmup {
+        private final Application application;
+
+        @Nullable
+        private final ReservationClient reservationClient;
+
+        private final URL serverURL;
+
+        SdkWarmup(
+                Application application,
+                URL serverURL,
+                @Nullable ReservationClient reservationClient) {
+            this.application = application;
+            this.serverURL = serverURL;
+            this.reservationClient = reservationClient;
+        }
+
+        @Override
+        public void warmUpContext() {
+            Log.d(TAG, "Warming up the React context");
+
+            ReactInstanceManagerHolder.initReactInstanceManager(application);
+
+            final ReactInstanceManager reactInstanceManager
+                = ReactInstanceManagerHolder.getReactInstanceManager();
+
+            if (reactInstanceManager.getCurrentReactContext() != null) {
+                createWebRTCFactory();
+                return;
+            }
+
+            reactInstanceManager.addReactInstanceEventListener(
+                new ReactInstanceManager.ReactInstanceEventListener() {
+                    @Override
+                    public void onReactContextInitialized(ReactContext reactContext) {
+                        reactInstanceManager.removeReactInstanceEventListener(this);
+                        createWebRTCFactory();
+                    }
+                });
+            if (!reactInstanceManager.hasStartedCreatingInitialContext()) {
+                reactInstanceManager.createReactContextInBackground();
+            }
+        }
+
+        @Override
+        public void warmUpNetwork(final Reservation reservation) {
+            Log.d(TAG, "Warming up the network for " + reservation.getRoomName());
+
+            if (reservationClient != null) {
+                reservationClient.prefetch(
+                    Collections.singletonList(reservation.getRoomName()));
+            }
+
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        InetAddress.getAllByName(serverURL.getHost());
+                    } catch (Exception e) {
+                        Log.w(TAG, "Failed to resolve hosts", e);
+                    }
+
+                    // The NAT64 prefix is only of use cached in the module
+                    // (which is missing if disabled by feature flag).
+                    NAT64AddrInfoModule nat64AddrInfoModule
+                        = ReactInstanceManagerHolder.getNativeModule(
+                            NAT64AddrInfoModule.class);
+
+                    if (nat64AddrInfoModule != null) {
+                        nat64AddrInfoModule.prefetch();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Creates the WebRTC module, and with it the peer connection factory,
+         * off the UI thread.
+         */
+        private void createWebRTCFactory() {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ReactInstanceManagerHolder.getNativeModule(WebRTCModule.class);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Parsers of the {@code /proc} files {@link ProcessStatsSampler} reads every
+ * second: they work on the raw bytes of the files, read into a preallocated
+ * buffer, and never allocate.
+ */
+final class ProcFileParser {
+    /**
+     * The 1-based index of the {@code utime} field in a {@code stat} file;
+     * {@code stime} follows.
+     */
+    private static final int UTIME_FIELD = 14;
+
+    /**
+     * Checks whether the name of the process or thread of a {@code stat} file
+     * starts with a specific prefix. The name is truncated to 15 characters
+     * by the kernel.
+     *
+     * @param buffer - The contents of the file.
+     * @param length - The length of the contents.
+     * @param prefix - The prefix, in ASCII.
+     */
+    static boolean commStartsWith(byte[] buffer, int length, byte[] prefix) {
+        int start = indexOf(buffer, 0, length, (byte) '(') + 1;
+
+        if (start == 0 || start + prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses the CPU time of a {@code /proc/<pid>/stat} or
+     * {@code /proc/<pid>/task/<tid>/stat} file: its user and system times.
+     *
+     * @param buffer - The contents of the file.
+     * @param length - The length of the contents.
+     * @return The CPU time, in clock ticks, or -1 if the contents are not
+     * valid.
+     */
+    static long parseCpuTime(byte[] buffer, int length) {
+        // The name may contain spaces and parentheses, the fields are counted
+        // from the last parenthesis, which is followed by the third field.
+        int i = length - 1;
+
+        while (i >= 0 && buffer[i] != ')') {
+            i--;
+        }
+        if (i < 0) {
+            return -1;
+        }
+        i += 2;
+        for (int field = 3; field < UTIME_FIELD && i > 0; field++) {
+            i = indexOf(buffer, i, length, (byte) ' ') + 1;
+        }
+        if (i <= 0) {
+            return -1;
+        }
+
+        long utime = parseLong(buffer, i, length);
+
+        i = indexOf(buffer, i, length, (byte) ' ') + 1;
+
+        long stime = i > 0 ? parseLong(buffer, i, length) : -1;
+
+        return utime < 0 || stime < 0 ? -1 : utime + stime;
+    }
+
+    /**
+     * Parses the numeric value of a line of a {@code /proc/<pid>/status}
+     * file, e.g. "VmRSS:    123456 kB".
+     *
+     * @param buffer - The contents of the file.
+     * @param length - The length of the contents.
+     * @param key - The key, with its colon, in ASCII.
+     * @return The value, or -1 if there's no such line.
+     */
+    static long parseStatusValue(byte[] buffer, int length, byte[] key) {
+        for (int line = 0; line >= 0 && line < length;) {
+            if (line + key.length <= length && regionMatches(buffer, line, key)) {
+                int i = line + key.length;
+
+                while (i < length && (buffer[i] == ' ' || buffer[i] == '\t')) {
+                    i++;
+                }
+
+                return parseLong(buffer, i, length);
+            }
+            line = indexOf(buffer, line, length, (byte) '\n');
+            if (line >= 0) {
+                line++;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reads a {@code /proc} file from its start into a buffer. The file is
+     * kept open between reads, its contents are regenerated by the kernel.
+     *
+     * @param file - The file.
+     * @param buffer - The buffer, which is to be larger than the file.
+     * @return The length of the contents.
+     * @throws IOException - If the file can't be read, e.g. the thread exited.
+     */
+    static int read(RandomAccessFile file, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+
+        file.seek(0);
+        while (length < buffer.length
+                && (read = file.read(buffer, length, buffer.length - length))
+                    > 0) {
+            length += read;
+        }
+
+        return length;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int length, byte b) {
+        for (int i = from; i < length; i++) {
+            if (buffer[i] == b) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parses the decimal digits at a specific index.
+     *
+     * @return The value, or -1 if there are no digits.
+     */
+    private static long parseLong(byte[] buffer, int from, int length) {
+        long value = -1;
+
+        for (int i = from; i < length; i++) {
+            int digit = buffer[i] - '0';
+
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = (value < 0 ? 0 : value * 10) + digit;
+        }
+
+        return value;
+    }
+
+    private static boolean regionMatches(byte[] buffer, int from, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (buffer[from + i] != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private ProcFileParser() {
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Immutable snapshot of the CPU and memory use of the process during the
+ * current conference, as returned by {@link JitsiMeet#getProcessStats(long)}:
+ * aggregates of the samples taken over a time window. An aggregate is
+ * {@code null} if the metric wasn't sampled in the window, e.g. the CPU use of
+ * the WebRTC threads before the call is set up.
+ *
+ * The CPU use is in percent of a single core, so it exceeds 100 when several
+ * cores are busy.
+ */
+public class ProcessStats {
+    private final WebRTCStats.Aggregate audioCpuUsage;
+    private final WebRTCStats.Aggregate cpuUsage;
+    private final WebRTCStats.Aggregate jsThreadCpuUsage;
+    private final WebRTCStats.Aggregate nativeHeapAllocated;
+    private final WebRTCStats.Aggregate residentMemory;
+    private final WebRTCStats.Aggregate webRTCCpuUsage;
+    private final long window;
+
+    ProcessStats(
+            long window,
+            WebRTCStats.Aggregate cpuUsage,
+            WebRTCStats.Aggregate jsThreadCpuUsage,
+            WebRTCStats.Aggregate webRTCCpuUsage,
+            WebRTCStats.Aggregate audioCpuUsage,
+            WebRTCStats.Aggregate residentMemory,
+            WebRTCStats.Aggregate nativeHeapAllocated) {
+        this.window = window;
+        this.cpuUsage = cpuUsage;
+        this.jsThreadCpuUsage = jsThreadCpuUsage;
+        this.webRTCCpuUsage = webRTCCpuUsage;
+        this.audioCpuUsage = audioCpuUsage;
+        this.residentMemory = residentMemory;
+        this.nativeHeapAllocated = nativeHeapAllocated;
+    }
+
+    /**
+     * Gets the CPU use of the audio thread of the SDK, which routes the audio
+     * (see {@link AudioModeModule}).
+     *
+     * @return - The CPU use {@link WebRTCStats.Aggregate}, in percent.
+     */
+    public WebRTCStats.Aggregate getAudioCpuUsage() {
+        return audioCpuUsage;
+    }
+
+    /**
+     * Gets the CPU use of the whole process.
+     *
+     * @return - The CPU use {@link WebRTCStats.Aggregate}, in percent.
+     */
+    public WebRTCStats.Aggregate getCpuUsage() {
+        return cpuUsage;
+    }
+
+    /**
+     * Gets the CPU use of the JavaScript thread.
+     *
+     * @return - The CPU use {@link WebRTCStats.Aggregate}, in percent.
+     */
+    public WebRTCStats.Aggregate getJsThreadCpuUsage() {
+        return jsThreadCpuUsage;
+    }
+
+    /**
+     * Gets the memory allocated on the native heap.
+     *
+     * @return - The memory {@link WebRTCStats.Aggregate}, in kB.
+     */
+    public WebRTCStats.Aggregate getNativeHeapAllocated() {
+        return nativeHeapAllocated;
+    }
+
+    /**
+     * Gets the resident set size of the process.
+     *
+     * @return - The memory {@link WebRTCStats.Aggregate}, in kB.
+     */
+    public WebRTCStats.Aggregate getResidentMemory() {
+        return residentMemory;
+    }
+
+    /**
+     * Gets the CPU use of the threads of WebRTC: signaling, worker, network,
+     * audio and video processing.
+     *
+     * @return - The CPU use {@link WebRTCStats.Aggregate}, in percent.
+     */
+    public WebRTCStats.Aggregate getWebRTCCpuUsage() {
+        return webRTCCpuUsage;
+    }
+
+    /**
+     * Gets the time window of the aggregates.
+     *
+     * @return - The window, in milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStats{window=" + window
+            + ", cpuUsage=" + cpuUsage
+            + ", jsThreadCpuUsage=" + jsThreadCpuUsage
+            + ", webRTCCpuUsage=" + webRTCCpuUsage
+            + ", audioCpuUsage=" + audioCpuUsage
+            + ", residentMemory=" + residentMemory
+            + ", nativeHeapAllocated=" + nativeHeapAllocated + "}";
+    }
+}
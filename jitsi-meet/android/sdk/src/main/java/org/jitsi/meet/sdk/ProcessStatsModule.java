@@ -0,0 +1,111 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+/**
+ * Module exposing the CPU and memory use of the process sampled during the
+ * conference (see {@link ProcessStatsSampler}) to JavaScript, for in-call
+ * diagnostics.
+ */
+@ReactModule(name = ProcessStatsModule.NAME)
+class ProcessStatsModule extends ReactContextBaseJavaModule {
+
+    public static final String NAME = "ProcessStats";
+
+    private static void putAggregate(
+            WritableMap map,
+            String key,
+            WebRTCStats.Aggregate aggregate) {
+        if (aggregate == null) {
+            map.putNull(key);
+            return;
+        }
+
+        WritableMap aggregateMap = Arguments.createMap();
+
+        aggregateMap.putInt("count", aggregate.getCount());
+        aggregateMap.putDouble("mean", aggregate.getMean());
+        aggregateMap.putDouble("min", aggregate.getMin());
+        aggregateMap.putDouble("max", aggregate.getMax());
+        aggregateMap.putDouble("p50", aggregate.getP50());
+        aggregateMap.putDouble("p95", aggregate.getP95());
+        map.putMap(key, aggregateMap);
+    }
+
+    /**
+     * Initializes a new module instance. There shall be a single instance of
+     * this module throughout the lifetime of the application.
+     *
+     * @param reactContext the {@link ReactApplicationContext} where this module
+     * is created.
+     */
+    public ProcessStatsModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    /**
+     * Gets the name for this module to be used in the React Native bridge.
+     *
+     * @return a string with the module name.
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Public method to retrieve the aggregates (count, mean, min, max, p50 and
+     * p95) of the CPU use, in percent of a core, of the process (cpu) and of
+     * its threads (jsThreadCpu, webRTCCpu and audioCpu), and of the memory
+     * use, in kB (residentMemory and nativeHeapAllocated). An aggregate is
+     * {@code null} if the metric wasn't sampled in the window.
+     *
+     * @param window the time window, in milliseconds, ending with the last
+     * sample.
+     * @param promise a {@link Promise} which will be resolved with the process
+     * stats, or with {@code null} if the process is not sampled.
+     */
+    @ReactMethod
+    public void getProcessStats(double window, Promise promise) {
+        ProcessStats stats = ProcessStatsSampler.getInstanceStats((long) window);
+
+        if (stats == null) {
+            promise.resolve(null);
+            return;
+        }
+
+        WritableMap result = Arguments.createMap();
+
+        result.putDouble("window", stats.getWindow());
+        putAggregate(result, "cpu", stats.getCpuUsage());
+        putAggregate(result, "jsThreadCpu", stats.getJsThreadCpuUsage());
+        putAggregate(result, "webRTCCpu", stats.getWebRTCCpuUsage());
+        putAggregate(result, "audioCpu", stats.getAudioCpuUsage());
+        putAggregate(result, "residentMemory", stats.getResidentMemory());
+        putAggregate(result, "nativeHeapAllocated", stats.getNativeHeapAllocated());
+
+        promise.resolve(result);
+    }
+}
@@ -0,0 +1,511 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.os.Debug;
+import android.os.SystemClock;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the CPU and memory use of the process while in a conference, see
+ * {@link JitsiMeet#getProcessStats(long)}: the CPU use of the whole process
+ * and of groups of threads (JavaScript, WebRTC, audio) from
+ * {@code /proc/self/stat} and {@code /proc/self/task/<tid>/stat}, the resident
+ * set size from {@code /proc/self/status} and the native heap from
+ * {@link Debug#getNativeHeapAllocatedSize()}.
+ *
+ * It runs every second for as long as the conference lasts, so the files are
+ * kept open and parsed in place (see {@link ProcFileParser}), and the samples
+ * go to {@link StatsRingBuffer}s: a sample doesn't allocate. The threads are
+ * only listed every {@link #THREAD_SCAN_INTERVAL} samples.
+ *
+ * All the methods are thread safe.
+ */
+class ProcessStatsSampler implements OngoingConferenceTracker.OngoingConferenceListener {
+    /**
+     * The samples kept per metric: 5 minutes worth.
+     */
+    static final int CAPACITY = 300;
+
+    /**
+     * The groups of threads whose CPU use is sampled.
+     */
+    static final int GROUP_AUDIO = 0;
+    static final int GROUP_JS = 1;
+    static final int GROUP_WEBRTC = 2;
+    private static final int GROUP_COUNT = 3;
+
+    /**
+     * The maximum number of threads whose CPU use is sampled.
+     */
+    static final int MAX_THREADS = 64;
+
+    /**
+     * How often the process is sampled, in milliseconds.
+     */
+    static final long SAMPLE_INTERVAL = 1000;
+
+    /**
+     * How often (in samples) the threads of the process are listed, to pick up
+     * the ones which were started since.
+     */
+    static final int THREAD_SCAN_INTERVAL = 10;
+
+    private static final String TAG = ProcessStatsSampler.class.getSimpleName();
+
+    /**
+     * The names of the threads per group, as prefixes since the names of the
+     * threads are truncated to 15 characters in {@code /proc}. The thread of
+     * {@link AudioModeModule} is named after the module.
+     */
+    private static final byte[][][] THREAD_NAMES = {
+        // GROUP_AUDIO
+        toBytes(AudioModeModule.NAME),
+        // GROUP_JS
+        toBytes("mqt_js"),
+        // GROUP_WEBRTC
+        toBytes(
+            "AudioRecordJava",
+            "AudioTrackJavaT",
+            "CaptureThread",
+            "DecodingQueue",
+            "EncoderQueue",
+            "IncomingVideoSt",
+            "ModuleProcessTh",
+            "PacerThread",
+            "network_thread",
+            "rtc-low-prio",
+            "rtp_send_contro",
+            "signaling_threa",
+            "worker_thread")
+    };
+
+    private static final byte[] VM_RSS = toBytes("VmRSS:")[0];
+
+    private static ProcessStatsSampler instance;
+
+    /**
+     * Gets the single instance, creating it on the first call.
+     *
+     * @return The {@link ProcessStatsSampler}.
+     */
+    static synchronized ProcessStatsSampler getInstance() {
+        if (instance == null) {
+            instance
+                = new ProcessStatsSampler(
+                    new File("/proc/self"),
+                    Os.sysconf(OsConstants._SC_CLK_TCK));
+            OngoingConferenceTracker.getInstance().addListener(instance);
+
+            final ProcessStatsSampler sampler = instance;
+
+            ShutdownRegistry.getInstance().register(TAG, new ShutdownRegistry.Hook() {
+                @Override
+                public void shutDown() {
+                    sampler.stop();
+                }
+            });
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the aggregates of the samples taken in a time window, if any.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return The {@link ProcessStats}, or {@code null} if the process isn't
+     * sampled.
+     */
+    static synchronized ProcessStats getInstanceStats(long window) {
+        return instance == null ? null : instance.getStats(window);
+    }
+
+    private static byte[][] toBytes(String... strings) {
+        Charset ascii = Charset.forName("US-ASCII");
+        byte[][] bytes = new byte[strings.length][];
+
+        for (int i = 0; i < strings.length; i++) {
+            bytes[i] = strings[i].getBytes(ascii);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * The contents of the last file read.
+     */
+    private final byte[] buffer = new byte[4096];
+
+    /**
+     * The clock ticks per second, the unit of the CPU times.
+     */
+    private final long clockTicks;
+
+    private final StatsRingBuffer cpuUsage = new StatsRingBuffer(CAPACITY);
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * The CPU use of the groups of threads, indexed by group.
+     */
+    private final StatsRingBuffer[] groupCpuUsage
+        = new StatsRingBuffer[GROUP_COUNT];
+
+    /**
+     * The CPU time of the groups of threads during the current sample.
+     */
+    private final long[] groupCpuTime = new long[GROUP_COUNT];
+
+    /**
+     * The CPU time of the process as of the last sample, -1 if there's none.
+     */
+    private long lastCpuTime;
+
+    private long lastSampleTime;
+
+    private final StatsRingBuffer nativeHeapAllocated
+        = new StatsRingBuffer(CAPACITY);
+
+    private final StatsRingBuffer residentMemory
+        = new StatsRingBuffer(CAPACITY);
+
+    /**
+     * The directory of the process in {@code /proc}.
+     */
+    private final File root;
+
+    /**
+     * The number of samples taken since sampling started, for listing the
+     * threads every {@link #THREAD_SCAN_INTERVAL} samples.
+     */
+    private int samplesSinceThreadScan;
+
+    private ScheduledFuture<?> sampling;
+
+    private RandomAccessFile stat;
+
+    private RandomAccessFile status;
+
+    /**
+     * The threads whose CPU use is sampled.
+     */
+    private final List<SampledThread> threads = new ArrayList<>();
+
+    ProcessStatsSampler(File root, long clockTicks) {
+        this.root = root;
+        this.clockTicks = clockTicks;
+
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            groupCpuUsage[i] = new StatsRingBuffer(CAPACITY);
+        }
+        lastCpuTime = -1;
+    }
+
+    /**
+     * Gets the aggregates of the samples taken in a time window.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return The {@link ProcessStats}.
+     */
+    synchronized ProcessStats getStats(long window) {
+        long since = lastSampleTime - window;
+
+        return new ProcessStats(
+            window,
+            cpuUsage.aggregate(since),
+            groupCpuUsage[GROUP_JS].aggregate(since),
+            groupCpuUsage[GROUP_WEBRTC].aggregate(since),
+            groupCpuUsage[GROUP_AUDIO].aggregate(since),
+            residentMemory.aggregate(since),
+            nativeHeapAllocated.aggregate(since));
+    }
+
+    @Override
+    public void onCurrentConferenceChanged(String conferenceUrl) {
+        if (conferenceUrl != null) {
+            start();
+        } else {
+            stop();
+        }
+    }
+
+    /**
+     * Takes a sample. The CPU use is computed from the previous sample, so the
+     * first sample only records the memory use.
+     *
+     * @param time - The time of the sample, in milliseconds.
+     * @param nativeHeapAllocated - The memory allocated on the native heap, in
+     * bytes.
+     */
+    synchronized void sample(long time, long nativeHeapAllocated) {
+        if (samplesSinceThreadScan++ % THREAD_SCAN_INTERVAL == 0) {
+            scanThreads();
+        }
+
+        try {
+            if (status == null) {
+                status = new RandomAccessFile(new File(root, "status"), "r");
+            }
+
+            long rss
+                = ProcFileParser.parseStatusValue(
+                    buffer,
+                    ProcFileParser.read(status, buffer),
+                    VM_RSS);
+
+            if (rss >= 0) {
+                residentMemory.add(time, rss);
+            }
+        } catch (IOException e) {
+            Log.d(TAG, "Failed to read the status", e);
+        }
+        this.nativeHeapAllocated.add(time, nativeHeapAllocated / 1024.0);
+
+        long cpuTime = -1;
+
+        try {
+            if (stat == null) {
+                stat = new RandomAccessFile(new File(root, "stat"), "r");
+            }
+            cpuTime
+                = ProcFileParser.parseCpuTime(
+                    buffer,
+                    ProcFileParser.read(stat, buffer));
+        } catch (IOException e) {
+            Log.d(TAG, "Failed to read the stat", e);
+        }
+
+        double elapsedTicks = (time - lastSampleTime) * clockTicks / 1000.0;
+        boolean first = lastCpuTime < 0 || elapsedTicks <= 0;
+
+        if (cpuTime >= 0) {
+            if (!first) {
+                cpuUsage.add(time, 100 * (cpuTime - lastCpuTime) / elapsedTicks);
+            }
+            lastCpuTime = cpuTime;
+        }
+
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            groupCpuTime[i] = 0;
+        }
+        for (int i = threads.size() - 1; i >= 0; i--) {
+            SampledThread thread = threads.get(i);
+            long threadCpuTime;
+
+            try {
+                threadCpuTime
+                    = ProcFileParser.parseCpuTime(
+                        buffer,
+                        ProcFileParser.read(thread.stat, buffer));
+            } catch (IOException e) {
+                threadCpuTime = -1;
+            }
+            if (threadCpuTime < 0) {
+                // The thread exited.
+                close(thread.stat);
+                threads.remove(i);
+                continue;
+            }
+            if (threadCpuTime >= thread.lastCpuTime) {
+                groupCpuTime[thread.group] += threadCpuTime - thread.lastCpuTime;
+            }
+            thread.lastCpuTime = threadCpuTime;
+        }
+        if (!first) {
+            for (int i = 0; i < GROUP_COUNT; i++) {
+                groupCpuUsage[i].add(time, 100 * groupCpuTime[i] / elapsedTicks);
+            }
+        }
+
+        lastSampleTime = time;
+    }
+
+    private static void close(RandomAccessFile file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // Nothing to do.
+            }
+        }
+    }
+
+    /**
+     * Gets the group of a thread.
+     *
+     * @param length - The length of the contents of the stat file of the
+     * thread, in {@link #buffer}.
+     * @return The group, or -1 if the thread is not sampled.
+     */
+    private int getGroup(int length) {
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            for (byte[] name : THREAD_NAMES[group]) {
+                if (ProcFileParser.commStartsWith(buffer, length, name)) {
+                    return group;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Lists the threads of the process and starts sampling the ones of the
+     * groups which aren't yet. Their CPU use starts with the next sample.
+     */
+    private void scanThreads() {
+        String[] tids = new File(root, "task").list();
+
+        if (tids == null) {
+            return;
+        }
+
+        Set<String> sampledTids = new HashSet<>();
+
+        for (SampledThread thread : threads) {
+            sampledTids.add(thread.tid);
+        }
+        for (String tid : tids) {
+            if (threads.size() >= MAX_THREADS) {
+                break;
+            }
+            if (sampledTids.contains(tid)) {
+                continue;
+            }
+
+            RandomAccessFile stat = null;
+
+            try {
+                stat = new RandomAccessFile(new File(root, "task/" + tid + "/stat"), "r");
+
+                int length = ProcFileParser.read(stat, buffer);
+                int group = getGroup(length);
+                long cpuTime = ProcFileParser.parseCpuTime(buffer, length);
+
+                if (group >= 0 && cpuTime >= 0) {
+                    threads.add(new SampledThread(tid, group, stat, cpuTime));
+                    stat = null;
+                }
+            } catch (IOException e) {
+                // The thread exited in the meantime.
+            } finally {
+                close(stat);
+            }
+        }
+    }
+
+    /**
+     * Starts sampling, starting over with new samples.
+     */
+    private synchronized void start() {
+        if (sampling != null) {
+            return;
+        }
+
+        cpuUsage.clear();
+        for (StatsRingBuffer buffer : groupCpuUsage) {
+            buffer.clear();
+        }
+        nativeHeapAllocated.clear();
+        residentMemory.clear();
+        lastCpuTime = -1;
+        lastSampleTime = 0;
+        samplesSinceThreadScan = 0;
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+        sampling
+            = executor.scheduleAtFixedRate(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        sample(
+                            SystemClock.elapsedRealtime(),
+                            Debug.getNativeHeapAllocatedSize());
+                    }
+                },
+                0,
+                SAMPLE_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and closes the files. The samples are kept, so the
+     * resource use of the conference which just ended can still be retrieved.
+     */
+    synchronized void stop() {
+        if (sampling != null) {
+            sampling.cancel(false);
+            sampling = null;
+        }
+
+        close(stat);
+        stat = null;
+        close(status);
+        status = null;
+        for (SampledThread thread : threads) {
+            close(thread.stat);
+        }
+        threads.clear();
+    }
+
+    /**
+     * A thread whose CPU use is sampled.
+     */
+    private static final class SampledThread {
+        final int group;
+        long lastCpuTime;
+        final RandomAccessFile stat;
+        final String tid;
+
+        SampledThread(String tid, int group, RandomAccessFile stat, long lastCpuTime) {
+            this.tid = tid;
+            this.group = group;
+            this.stat = stat;
+            this.lastCpuTime = lastCpuTime;
+        }
+    }
+}
@@ -16,14 +16,9 @@
 
 package org.jitsi.meet.sdk;
 
-import android.content.Context;
-import android.os.PowerManager;
-import android.os.PowerManager.WakeLock;
-
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
-import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.module.annotations.ReactModule;
 
 /**
@@ -31,6 +26,9 @@ import com.facebook.react.module.annotations.ReactModule;
  * wake lock. When the lock is held, if the proximity sensor detects a nearby
  * object it will dim the screen and disable touch controls. The functionality
  * is used with the conference audio-only mode.
+ *
+ * The wake lock itself is owned by {@link PowerLockManager}, which only holds
+ * it while the audio is routed to the earpiece.
  */
 @ReactModule(name = ProximityModule.NAME)
 class ProximityModule
@@ -39,19 +37,11 @@ class ProximityModule
     public static final String NAME = "Proximity";
 
     /**
-     * This type of wake lock (the one activated by the proximity sensor) has
-     * been available for a while, but the constant was only exported in API
-     * level 21 (Android Marshmallow) so make no assumptions and use its value
-     * directly.
-     *
-     * TODO: Remove when we bump the API level to 21.
+     * Whether this module requested the proximity wake lock.
      */
-    private static final int PROXIMITY_SCREEN_OFF_WAKE_LOCK = 32;
+    private boolean enabled;
 
-    /**
-     * {@link WakeLock} instance.
-     */
-    private final WakeLock wakeLock;
+    private final PowerLockManager powerLockManager;
 
     /**
      * Initializes a new module instance. There shall be a single instance of
@@ -63,21 +53,7 @@ class ProximityModule
     public ProximityModule(ReactApplicationContext reactContext) {
         super(reactContext);
 
-        WakeLock wakeLock;
-        PowerManager powerManager
-            = (PowerManager)
-                reactContext.getSystemService(Context.POWER_SERVICE);
-
-        try {
-            wakeLock
-                = powerManager.newWakeLock(
-                        PROXIMITY_SCREEN_OFF_WAKE_LOCK,
-                        "jitsi:"+NAME);
-        } catch (Throwable ignored) {
-            wakeLock = null;
-        }
-
-        this.wakeLock = wakeLock;
+        powerLockManager = PowerLockManager.getInstance(reactContext);
     }
 
     /**
@@ -91,28 +67,31 @@ class ProximityModule
     }
 
     /**
-     * Acquires / releases the proximity sensor wake lock.
+     * Releases the proximity wake lock, if it was requested, when the bridge
+     * goes away.
+     */
+    @Override
+    public void onCatalystInstanceDestroy() {
+        setEnabled(false);
+    }
+
+    /**
+     * Requests / stops requesting the proximity sensor wake lock.
      *
      * @param enabled {@code true} to enable the proximity sensor; otherwise,
      * {@code false}.
      */
     @ReactMethod
-    public void setEnabled(final boolean enabled) {
-        if (wakeLock == null) {
+    public synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
             return;
         }
 
-        UiThreadUtil.runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                if (enabled) {
-                    if (!wakeLock.isHeld()) {
-                        wakeLock.acquire();
-                    }
-                } else if (wakeLock.isHeld()) {
-                    wakeLock.release();
-                }
-            }
-        });
+        this.enabled = enabled;
+        if (enabled) {
+            powerLockManager.acquireProximityLock();
+        } else {
+            powerLockManager.releaseProximityLock();
+        }
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+/**
+ * Maps the thermal status, the battery level and the power save mode of the
+ * device to a quality {@link Tier}, see {@link AdaptiveQualityModule}.
+ *
+ * The quality is lowered as soon as the readings call for it, since the
+ * frame rate collapses once the device throttles. It's only raised one tier at
+ * a time, once the readings allowed it for {@link #UPGRADE_DELAY}, and the
+ * battery thresholds have a margin, so that the quality doesn't oscillate.
+ *
+ * Not thread safe.
+ */
+final class QualityPolicy {
+    /**
+     * A quality tier: the limits of the video which is sent and received.
+     */
+    static final class Tier {
+        final int index;
+        final String name;
+
+        /**
+         * The maximum number of received videos, -1 for no limit.
+         */
+        final int receiveVideoCount;
+
+        final int sendFrameRate;
+
+        /**
+         * The maximum height of the sent video.
+         */
+        final int sendHeight;
+
+        Tier(
+                int index,
+                String name,
+                int sendHeight,
+                int sendFrameRate,
+                int receiveVideoCount) {
+            this.index = index;
+            this.name = name;
+            this.sendHeight = sendHeight;
+            this.sendFrameRate = sendFrameRate;
+            this.receiveVideoCount = receiveVideoCount;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The tiers, from the highest quality to the lowest.
+     */
+    static final Tier[] TIERS = {
+        new Tier(0, "high", 720, 30, -1),
+        new Tier(1, "medium", 360, 30, 6),
+        new Tier(2, "low", 360, 15, 3),
+        new Tier(3, "minimal", 180, 15, 1)
+    };
+
+    static final int HIGH = 0;
+    static final int MEDIUM = 1;
+    static final int LOW = 2;
+    static final int MINIMAL = 3;
+
+    /**
+     * The battery level (in percent) below which the quality is lowered, if
+     * not charging.
+     */
+    static final int LOW_BATTERY_LEVEL = 15;
+
+    /**
+     * The battery level (in percent) below which the quality is minimal, if
+     * not charging.
+     */
+    static final int CRITICAL_BATTERY_LEVEL = 5;
+
+    /**
+     * How much (in percent) the battery level has to go back over a threshold
+     * for it to no longer apply.
+     */
+    static final int BATTERY_LEVEL_MARGIN = 5;
+
+    /**
+     * {@code PowerManager.THERMAL_STATUS_MODERATE} and the following ones,
+     * which were introduced in API level 29.
+     */
+    static final int THERMAL_STATUS_MODERATE = 2;
+    static final int THERMAL_STATUS_SEVERE = 3;
+    static final int THERMAL_STATUS_CRITICAL = 4;
+
+    /**
+     * How long (in milliseconds) the readings have to allow a higher quality
+     * before it's raised.
+     */
+    static final long UPGRADE_DELAY = 60000;
+
+    /**
+     * The tier the battery level calls for, with {@link #BATTERY_LEVEL_MARGIN}
+     * applied.
+     */
+    private int batteryTier = HIGH;
+
+    private int tier = HIGH;
+
+    /**
+     * Since when the readings allow a higher quality than {@link #tier}, -1
+     * if they don't.
+     */
+    private long upgradeTime = -1;
+
+    Tier getTier() {
+        return TIERS[tier];
+    }
+
+    /**
+     * Gets when the quality is to be raised, if the readings don't change in
+     * the meantime. The policy is to be updated again at that time, even if
+     * there are no new readings.
+     *
+     * @return The time, in milliseconds, or -1 if the quality is not about to
+     * be raised.
+     */
+    long getUpgradeTime() {
+        return upgradeTime == -1 ? -1 : upgradeTime + UPGRADE_DELAY;
+    }
+
+    /**
+     * Updates the tier from the readings of the device.
+     *
+     * @param time - The time of the readings, in milliseconds.
+     * @param thermalStatus - The {@code PowerManager} thermal status, 0 if
+     * unknown.
+     * @param batteryLevel - The battery level, in percent; -1 if unknown.
+     * @param charging - Whether the device is charging.
+     * @param powerSaveMode - Whether the device is in power save mode.
+     * @return The {@link Tier}.
+     */
+    Tier update(
+            long time,
+            int thermalStatus,
+            int batteryLevel,
+            boolean charging,
+            boolean powerSaveMode) {
+        int target = getThermalTier(thermalStatus);
+
+        batteryTier = getBatteryTier(batteryLevel, charging);
+        target = Math.max(target, batteryTier);
+        if (powerSaveMode) {
+            target = Math.max(target, MEDIUM);
+        }
+
+        if (target >= tier) {
+            tier = target;
+            upgradeTime = -1;
+        } else if (upgradeTime == -1) {
+            upgradeTime = time;
+        } else if (time - upgradeTime >= UPGRADE_DELAY) {
+            tier--;
+            upgradeTime = target < tier ? time : -1;
+        }
+
+        return TIERS[tier];
+    }
+
+    private int getBatteryTier(int batteryLevel, boolean charging) {
+        if (charging || batteryLevel < 0) {
+            return HIGH;
+        }
+
+        // The thresholds are higher for getting out of a tier than for
+        // getting into it.
+        int criticalLevel = CRITICAL_BATTERY_LEVEL;
+        int lowLevel = LOW_BATTERY_LEVEL;
+
+        if (batteryTier >= MINIMAL) {
+            criticalLevel += BATTERY_LEVEL_MARGIN;
+        }
+        if (batteryTier >= LOW) {
+            lowLevel += BATTERY_LEVEL_MARGIN;
+        }
+
+        if (batteryLevel <= criticalLevel) {
+            return MINIMAL;
+        }
+        if (batteryLevel <= lowLevel) {
+            return LOW;
+        }
+
+        return HIGH;
+    }
+
+    private static int getThermalTier(int thermalStatus) {
+        if (thermalStatus >= THERMAL_STATUS_CRITICAL) {
+            return MINIMAL;
+        }
+        if (thermalStatus >= THERMAL_STATUS_SEVERE) {
+            return LOW;
+        }
+        if (thermalStatus >= THERMAL_STATUS_MODERATE) {
+            return MEDIUM;
+        }
+
+        return HIGH;
+    }
+}
@@ -19,32 +19,54 @@ package org.jitsi.meet.sdk;
 
 import android.app.Activity;
 import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.os.SystemClock;
 import android.support.annotation.Nullable;
+import android.util.Log;
 
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.core.ImagePipelineFactory;
+import com.facebook.react.LazyReactPackage;
 import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.ReactInstanceManagerBuilder;
 import com.facebook.react.ReactPackage;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaScriptExecutorFactory;
+import com.facebook.react.bridge.ModuleSpec;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.LifecycleState;
 import com.facebook.react.devsupport.DevInternalSettings;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.facebook.react.uimanager.ViewManager;
 import com.oney.WebRTCModule.RTCVideoViewManager;
 import com.oney.WebRTCModule.WebRTCModule;
 
-import org.webrtc.SoftwareVideoDecoderFactory;
-import org.webrtc.SoftwareVideoEncoderFactory;
+import org.jitsi.meet.sdk.net.NAT64AddrInfoModule;
+import org.jitsi.meet.sdk.net.NetworkMonitor;
+import org.jitsi.meet.sdk.net.NetworkState;
 import org.webrtc.VideoDecoderFactory;
 import org.webrtc.VideoEncoderFactory;
 import org.webrtc.audio.AudioDeviceModule;
-import org.webrtc.audio.JavaAudioDeviceModule;
 import org.webrtc.voiceengine.WebRtcAudioManager;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.inject.Provider;
 
 class ReactInstanceManagerHolder {
     /**
@@ -58,48 +80,421 @@ class ReactInstanceManagerHolder {
      */
     private static ReactInstanceManager reactInstanceManager;
 
-    private static List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> nativeModules
-            = new ArrayList<>(Arrays.<NativeModule>asList(
-                new AndroidSettingsModule(reactContext),
-                new AppInfoModule(reactContext),
-                new AudioModeModule(reactContext),
-                new DropboxModule(reactContext),
-                new ExternalAPIModule(reactContext),
-                new LocaleDetector(reactContext),
-                new PictureInPictureModule(reactContext),
-                new ProximityModule(reactContext),
-                new WiFiStatsModule(reactContext),
-                new org.jitsi.meet.sdk.net.NAT64AddrInfoModule(reactContext)));
+    /**
+     * The name of the asset of the plain JavaScript bundle.
+     */
+    private static final String JS_BUNDLE_ASSET_NAME = "index.android.bundle";
+
+    /**
+     * The name of the asset of the precompiled (Hermes bytecode) bundle, which
+     * is built alongside the plain JavaScript one when the JS_ENGINE build
+     * option is "hermes" (which requires React Native 0.60 or later). It's
+     * stored uncompressed so it's memory-mapped straight from the APK.
+     */
+    private static final String JS_BYTECODE_BUNDLE_ASSET_NAME
+        = "index.android.hbc";
+
+    /**
+     * The value of the JS_ENGINE build option selecting Hermes.
+     */
+    private static final String JS_ENGINE_HERMES = "hermes";
+
+    /**
+     * The class name of the Hermes executor factory, which is only available
+     * when building with Hermes.
+     */
+    private static final String HERMES_EXECUTOR_FACTORY_CLASS_NAME
+        = "com.facebook.hermes.reactexecutor.HermesExecutorFactory";
+
+    /**
+     * The name of the event with which the changes of the network are sent to
+     * JavaScript.
+     */
+    private static final String NETWORK_CHANGED_EVENT
+        = "org.jitsi.meet:features/network-monitor#change";
+
+    /**
+     * The name of the event with which the requests of Android to trim the
+     * memory of the app are sent to JavaScript.
+     */
+    private static final String MEMORY_TRIMMED_EVENT
+        = "org.jitsi.meet:features/memory-pressure#trim";
+
+    private static final String TAG = ReactInstanceManagerHolder.class.getSimpleName();
+
+    /**
+     * How long (in milliseconds) loading (and running) the JavaScript bundle
+     * of the main instance manager took, -1 if it wasn't loaded yet.
+     */
+    private static volatile long jsBundleLoadTime = -1;
+
+    /**
+     * The event emitter of {@link #eventEmitterContext}, see
+     * {@link #getEventEmitter()}.
+     */
+    private static DeviceEventManagerModule.RCTDeviceEventEmitter eventEmitter;
+
+    /**
+     * The React context {@link #eventEmitter} belongs to.
+     */
+    private static ReactContext eventEmitterContext;
+
+    /**
+     * The name of the React Native app of {@code IncomingCallView}.
+     */
+    static final String INCOMING_CALL_APP_NAME = "IncomingCallApp";
+
+    /**
+     * The name of the asset of the dedicated bundle of the incoming call app.
+     */
+    private static final String INCOMING_CALL_JS_BUNDLE_ASSET_NAME
+        = "incoming-call.android.bundle";
+
+    /**
+     * The path of the entry point of the dedicated bundle of the incoming call
+     * app, for loading it from the packager in development mode.
+     */
+    private static final String INCOMING_CALL_JS_MAIN_MODULE_PATH
+        = "index.incoming-call.android";
+
+    /**
+     * The dedicated {@code ReactInstanceManager} of the incoming call app, if
+     * it's running on one.
+     */
+    private static ReactInstanceManager incomingCallReactInstanceManager;
+
+    /**
+     * The number of views using {@link #incomingCallReactInstanceManager}.
+     */
+    private static int incomingCallReactInstanceManagerUsers;
+
+    /**
+     * Feature flags (set on the default {@link JitsiMeetConferenceOptions}) which
+     * allow excluding optional native modules entirely. All of them default to
+     * {@code true}. Since the native modules are created once per React
+     * context, only the default options are taken into account.
+     */
+    static final String ADAPTIVE_QUALITY_ENABLED_FLAG = "adaptive-quality.enabled";
+    static final String CELLULAR_STATS_ENABLED_FLAG = "cellular-stats.enabled";
+    static final String DROPBOX_ENABLED_FLAG = "dropbox.enabled";
+    static final String NAT64_ENABLED_FLAG = "nat64.enabled";
+    static final String PIP_ENABLED_FLAG = "pip.enabled";
+    static final String PROCESS_STATS_ENABLED_FLAG = "process-stats.enabled";
+    static final String PROXIMITY_ENABLED_FLAG = "proximity.enabled";
+    static final String WIFI_STATS_ENABLED_FLAG = "wifi-stats.enabled";
+
+    /**
+     * The class name of the Amplitude module, which is not compiled when
+     * LIBRE_BUILD is enabled.
+     */
+    private static final String AMPLITUDE_MODULE_CLASS_NAME
+        = "org.jitsi.meet.sdk.AmplitudeModule";
+
+    /**
+     * The name of the WebRTC module, as exported to JavaScript.
+     */
+    private static final String WEBRTC_MODULE_NAME = "WebRTCModule";
+
+    /**
+     * Creates the specs of the native modules the SDK provides. The modules
+     * themselves are only instantiated by React Native when first accessed
+     * from JavaScript (or through {@link #getNativeModule(Class)}).
+     *
+     * @param reactContext the {@link ReactApplicationContext} the modules will
+     * be created with.
+     * @return the {@link ModuleSpec}s of the enabled modules.
+     */
+    private static List<ModuleSpec> createNativeModules(
+            final ReactApplicationContext reactContext) {
+        List<ModuleSpec> moduleSpecs = new ArrayList<>();
+
+        if (isModuleEnabled(ADAPTIVE_QUALITY_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                AdaptiveQualityModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new AdaptiveQualityModule(reactContext);
+                    }
+                }));
+        }
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            AndroidSettingsModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new AndroidSettingsModule(reactContext);
+                }
+            }));
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            AppInfoModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new AppInfoModule(reactContext);
+                }
+            }));
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            AudioModeModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new AudioModeModule(reactContext);
+                }
+            }));
+        if (isModuleEnabled(DROPBOX_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                DropboxModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new DropboxModule(reactContext);
+                    }
+                }));
+        }
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            ExternalAPIModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new ExternalAPIModule(reactContext);
+                }
+            }));
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            LocaleDetector.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new LocaleDetector(reactContext);
+                }
+            }));
+        if (isModuleEnabled(PIP_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                PictureInPictureModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new PictureInPictureModule(reactContext);
+                    }
+                }));
+        }
+        if (isModuleEnabled(PROCESS_STATS_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                ProcessStatsModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new ProcessStatsModule(reactContext);
+                    }
+                }));
+        }
+        if (isModuleEnabled(PROXIMITY_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                ProximityModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new ProximityModule(reactContext);
+                    }
+                }));
+        }
+        if (isModuleEnabled(WIFI_STATS_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                WiFiStatsModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new WiFiStatsModule(reactContext);
+                    }
+                }));
+        }
+        if (isModuleEnabled(CELLULAR_STATS_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                CellularStatsModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new CellularStatsModule(reactContext);
+                    }
+                }));
+        }
+        if (isModuleEnabled(NAT64_ENABLED_FLAG)) {
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                NAT64AddrInfoModule.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new NAT64AddrInfoModule(reactContext);
+                    }
+                }));
+        }
 
         if (AudioModeModule.useConnectionService()) {
-            nativeModules.add(new RNConnectionService(reactContext));
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                RNConnectionService.class,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        return new RNConnectionService(reactContext);
+                    }
+                }));
+        }
+
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            WebRTCModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return createWebRTCModule(reactContext);
+                }
+            }));
+
+        try {
+            Class<?> amplitudeModuleClass = Class.forName(AMPLITUDE_MODULE_CLASS_NAME);
+            final Constructor constructor = amplitudeModuleClass.getConstructor(ReactApplicationContext.class);
+
+            moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+                AMPLITUDE_MODULE_CLASS_NAME,
+                new Provider<NativeModule>() {
+                    @Override
+                    public NativeModule get() {
+                        try {
+                            return (NativeModule)constructor.newInstance(reactContext);
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }));
+        } catch (Exception e) {
+            // Ignore any error, the module is not compiled when LIBRE_BUILD is enabled.
         }
 
-        // Initialize the WebRTC module by hand, since we want to override some
-        // initialization options.
+        return moduleSpecs;
+    }
+
+    /**
+     * Creates the native modules of the incoming call app, which runs on its
+     * dedicated {@code ReactInstanceManager}: it only reads the locale, and
+     * sends its events through the external API.
+     *
+     * @param reactContext - The {@link ReactApplicationContext} of the
+     * dedicated instance.
+     * @return The {@link ModuleSpec}s of the native modules.
+     */
+    private static List<ModuleSpec> createIncomingCallNativeModules(
+            final ReactApplicationContext reactContext) {
+        List<ModuleSpec> moduleSpecs = new ArrayList<>();
+
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            ExternalAPIModule.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new ExternalAPIModule(reactContext);
+                }
+            }));
+        moduleSpecs.add(ModuleSpec.nativeModuleSpec(
+            LocaleDetector.class,
+            new Provider<NativeModule>() {
+                @Override
+                public NativeModule get() {
+                    return new LocaleDetector(reactContext);
+                }
+            }));
+
+        return moduleSpecs;
+    }
+
+    /**
+     * Describes the native modules created by {@link #createNativeModules} to
+     * React Native, by class name, so that they can be created lazily. None of
+     * them needs eager initialization.
+     *
+     * @return the {@link ReactModuleInfo}s of the SDK's native modules.
+     */
+    private static Map<String, ReactModuleInfo> getReactModuleInfos() {
+        Map<String, ReactModuleInfo> reactModuleInfos = new HashMap<>();
+
+        putReactModuleInfo(reactModuleInfos, AdaptiveQualityModule.NAME, AdaptiveQualityModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, AndroidSettingsModule.NAME, AndroidSettingsModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, AppInfoModule.NAME, AppInfoModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, AudioModeModule.NAME, AudioModeModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, DropboxModule.NAME, DropboxModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, ExternalAPIModule.NAME, ExternalAPIModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, LocaleDetector.NAME, LocaleDetector.class.getName());
+        putReactModuleInfo(reactModuleInfos, PictureInPictureModule.NAME, PictureInPictureModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, ProcessStatsModule.NAME, ProcessStatsModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, ProximityModule.NAME, ProximityModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, WiFiStatsModule.NAME, WiFiStatsModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, CellularStatsModule.NAME, CellularStatsModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, NAT64AddrInfoModule.NAME, NAT64AddrInfoModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, RNConnectionService.NAME, RNConnectionService.class.getName());
+        putReactModuleInfo(reactModuleInfos, WEBRTC_MODULE_NAME, WebRTCModule.class.getName());
+        putReactModuleInfo(reactModuleInfos, "Amplitude", AMPLITUDE_MODULE_CLASS_NAME);
+
+        return reactModuleInfos;
+    }
+
+    private static void putReactModuleInfo(
+            Map<String, ReactModuleInfo> reactModuleInfos,
+            String name,
+            String className) {
+        reactModuleInfos.put(
+            className,
+            new ReactModuleInfo(
+                name,
+                className,
+                /* canOverrideExistingModule */ false,
+                /* needsEagerInit */ false,
+                // Constants are only computed when the module is first
+                // accessed, so there is no harm in always asking for them.
+                /* hasConstants */ true,
+                /* isCxxModule */ false));
+    }
+
+    /**
+     * Tells whether an optional native module is enabled by the feature flags
+     * of the default {@link JitsiMeetConferenceOptions}.
+     *
+     * @param flag the feature flag controlling the module.
+     * @return {@code true} if the module is enabled; {@code false}, otherwise.
+     */
+    private static boolean isModuleEnabled(String flag) {
+        JitsiMeetConferenceOptions options = JitsiMeet.getDefaultConferenceOptions();
+
+        return options == null || options.getFeatureFlag(flag, true);
+    }
+
+    /**
+     * Creates the WebRTC module by hand, since we want to override some
+     * initialization options.
+     *
+     * @param reactContext the {@link ReactApplicationContext} to create the
+     * module with.
+     * @return the new {@link WebRTCModule}.
+     */
+    private static WebRTCModule createWebRTCModule(ReactApplicationContext reactContext) {
         WebRTCModule.Options options = new WebRTCModule.Options();
 
-        AudioDeviceModule adm = JavaAudioDeviceModule.builder(reactContext)
-            .createAudioDeviceModule();
-        VideoDecoderFactory videoDecoderFactory = new SoftwareVideoDecoderFactory();
-        VideoEncoderFactory videoEncoderFactory = new SoftwareVideoEncoderFactory();
+        AudioDeviceModule adm
+            = AudioDeviceModuleFactory.create(
+                reactContext, JitsiMeet.getAudioEngineOptions());
+        VideoCodecPolicy videoCodecPolicy
+            = new VideoCodecPolicy(JitsiMeet.getVideoCodecOptions());
+        VideoDecoderFactory videoDecoderFactory
+            = VideoCodecFactories.createDecoderFactory(videoCodecPolicy);
+        VideoEncoderFactory videoEncoderFactory
+            = VideoCodecFactories.createEncoderFactory(videoCodecPolicy);
 
         options.setAudioDeviceModule(adm);
         options.setVideoDecoderFactory(videoDecoderFactory);
         options.setVideoEncoderFactory(videoEncoderFactory);
 
-        nativeModules.add(new WebRTCModule(reactContext, options));
+        WebRTCModule webRTCModule = new WebRTCModule(reactContext, options);
 
-        try {
-            Class<?> amplitudeModuleClass = Class.forName("org.jitsi.meet.sdk.AmplitudeModule");
-            Constructor constructor = amplitudeModuleClass.getConstructor(ReactApplicationContext.class);
-            nativeModules.add((NativeModule)constructor.newInstance(reactContext));
-        } catch (Exception e) {
-            // Ignore any error, the module is not compiled when LIBRE_BUILD is enabled.
-        }
+        WebRTCStatsSampler.getInstance().setWebRTCModule(webRTCModule);
 
-        return nativeModules;
+        return webRTCModule;
     }
 
     private static List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
@@ -118,19 +513,35 @@ class ReactInstanceManagerHolder {
     static void emitEvent(
             String eventName,
             @Nullable Object data) {
-        ReactInstanceManager reactInstanceManager
-            = ReactInstanceManagerHolder.getReactInstanceManager();
+        DeviceEventManagerModule.RCTDeviceEventEmitter eventEmitter
+            = getEventEmitter();
 
-        if (reactInstanceManager != null) {
-            ReactContext reactContext
-                = reactInstanceManager.getCurrentReactContext();
+        if (eventEmitter != null) {
+            eventEmitter.emit(eventName, data);
+        }
+    }
 
-            if (reactContext != null) {
-                reactContext
-                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                    .emit(eventName, data);
-            }
+    /**
+     * Gets the event emitter of the current React context. It's looked up
+     * once per React context, rather than for every event.
+     *
+     * @return The {@code RCTDeviceEventEmitter}, or {@code null} if there is
+     * no React context.
+     */
+    private static synchronized DeviceEventManagerModule.RCTDeviceEventEmitter getEventEmitter() {
+        ReactContext reactContext
+            = reactInstanceManager != null
+                ? reactInstanceManager.getCurrentReactContext() : null;
+
+        if (reactContext != eventEmitterContext) {
+            eventEmitterContext = reactContext;
+            eventEmitter
+                = reactContext != null
+                    ? reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    : null;
         }
+
+        return eventEmitter;
     }
 
     /**
@@ -149,7 +560,8 @@ class ReactInstanceManagerHolder {
             = reactInstanceManager != null
                 ? reactInstanceManager.getCurrentReactContext() : null;
 
-        return reactContext != null
+        // Modules may have been excluded through feature flags.
+        return reactContext != null && reactContext.hasNativeModule(nativeModuleClass)
                 ? reactContext.getNativeModule(nativeModuleClass) : null;
     }
 
@@ -165,15 +577,165 @@ class ReactInstanceManagerHolder {
         return reactContext != null ? reactContext.getCurrentActivity() : null;
     }
 
+    /**
+     * Gets how long loading the JavaScript bundle took, for the last React
+     * context of the main instance manager which was created.
+     *
+     * @return The duration, in milliseconds, or -1 if no bundle was loaded
+     * yet.
+     */
+    static long getJSBundleLoadTime() {
+        return jsBundleLoadTime;
+    }
+
     static ReactInstanceManager getReactInstanceManager() {
         return reactInstanceManager;
     }
 
+    /**
+     * Checks whether an asset exists in the APK.
+     */
+    private static boolean hasAsset(Application application, String name) {
+        try {
+            application.getAssets().open(name).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the Hermes executor factory, if the SDK was built with Hermes and
+     * the bytecode bundle was packaged.
+     *
+     * @return The {@link JavaScriptExecutorFactory} of Hermes, or {@code null}
+     * if the default (JavaScriptCore) and the plain bundle are to be used.
+     */
+    private static JavaScriptExecutorFactory createHermesExecutorFactory(
+            Application application) {
+        if (!JS_ENGINE_HERMES.equals(BuildConfig.JS_ENGINE)
+                || !hasAsset(application, JS_BYTECODE_BUNDLE_ASSET_NAME)) {
+            return null;
+        }
+
+        try {
+            Class<?> factoryClass = Class.forName(HERMES_EXECUTOR_FACTORY_CLASS_NAME);
+
+            return (JavaScriptExecutorFactory) factoryClass.newInstance();
+        } catch (Throwable t) {
+            // Also thrown when the native library fails to load.
+            Log.w(TAG, "Failed to create the Hermes executor, using JSC", t);
+            return null;
+        }
+    }
+
+    /**
+     * Measures how long loading the JavaScript bundle of the main instance
+     * manager takes, using the markers React Native logs. It's started with the
+     * main instance manager, whether or not the dedicated one of the incoming
+     * call app was built before it. The markers are global to the process, but
+     * the dedicated instance manager is never built once the main one exists
+     * (see {@link #acquireReactInstanceManager}), and its markers are skipped
+     * when they name its bundle.
+     */
+    private static void startJSBundleLoadTimer() {
+        ReactMarker.addListener(new ReactMarker.MarkerListener() {
+            private long startTime;
+
+            @Override
+            public void logMarker(
+                    ReactMarkerConstants name,
+                    @Nullable String tag,
+                    int instanceKey) {
+                if (tag != null
+                        && (tag.contains(INCOMING_CALL_JS_BUNDLE_ASSET_NAME)
+                            || tag.contains(INCOMING_CALL_JS_MAIN_MODULE_PATH))) {
+                    return;
+                }
+
+                switch (name) {
+                case RUN_JS_BUNDLE_START:
+                    startTime = SystemClock.elapsedRealtime();
+                    break;
+                case RUN_JS_BUNDLE_END:
+                    jsBundleLoadTime = SystemClock.elapsedRealtime() - startTime;
+                    Log.i(TAG, "JavaScript bundle loaded in " + jsBundleLoadTime + "ms");
+                    break;
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets a {@code ReactInstanceManager} to run a React Native app on, and
+     * keeps it around until the matching
+     * {@link #releaseReactInstanceManager(ReactInstanceManager)}.
+     *
+     * The incoming call app runs on a dedicated instance manager, with its own
+     * small bundle, unless the main one was already created (e.g. a conference
+     * is ongoing) or the dedicated bundle wasn't packaged. This way showing an
+     * incoming call doesn't load the whole app, which only happens when the
+     * call is answered. All the other apps run on the main instance manager.
+     *
+     * @param application - The {@code Application} instance which is running.
+     * @param appName - The name of the React Native app.
+     * @return The {@link ReactInstanceManager} to run {@code appName} on.
+     */
+    static ReactInstanceManager acquireReactInstanceManager(
+            Application application,
+            String appName) {
+        if (INCOMING_CALL_APP_NAME.equals(appName)) {
+            if (incomingCallReactInstanceManager == null
+                    && reactInstanceManager == null
+                    && (BuildConfig.DEBUG
+                        || hasAsset(application, INCOMING_CALL_JS_BUNDLE_ASSET_NAME))) {
+                // The dedicated bundle is always plain JavaScript: it's small
+                // enough for parsing it not to matter.
+                incomingCallReactInstanceManager
+                    = buildReactInstanceManager(
+                        application,
+                        createReactInstanceManagerBuilder(
+                                application,
+                                INCOMING_CALL_JS_MAIN_MODULE_PATH,
+                                createIncomingCallPackages())
+                            .setBundleAssetName(INCOMING_CALL_JS_BUNDLE_ASSET_NAME));
+            }
+            if (incomingCallReactInstanceManager != null) {
+                incomingCallReactInstanceManagerUsers++;
+                return incomingCallReactInstanceManager;
+            }
+        }
+
+        initReactInstanceManager(application);
+
+        return reactInstanceManager;
+    }
+
+    /**
+     * Gets all the {@code ReactInstanceManager}s which exist, for dispatching
+     * the {@code Activity} lifecycle events to them.
+     *
+     * @return The {@link ReactInstanceManager}s, the main one first.
+     */
+    static List<ReactInstanceManager> getReactInstanceManagers() {
+        List<ReactInstanceManager> reactInstanceManagers = new ArrayList<>(2);
+
+        if (reactInstanceManager != null) {
+            reactInstanceManagers.add(reactInstanceManager);
+        }
+        if (incomingCallReactInstanceManager != null) {
+            reactInstanceManagers.add(incomingCallReactInstanceManager);
+        }
+
+        return reactInstanceManagers;
+    }
+
     /**
      * Internal method to initialize the React Native instance manager. We
      * create a single instance in order to load the JavaScript bundle a single
      * time. All {@code ReactRootView} instances will be tied to the one and
-     * only {@code ReactInstanceManager}.
+     * only {@code ReactInstanceManager}, except for the ones of the incoming
+     * call app (see {@link #acquireReactInstanceManager}).
      *
      * @param application {@code Application} instance which is running.
      */
@@ -182,6 +744,195 @@ class ReactInstanceManagerHolder {
             return;
         }
 
+        ReactInstanceManagerBuilder builder
+            = createReactInstanceManagerBuilder(
+                application,
+                "index.android",
+                createPackages());
+
+        // Prefer the precompiled bundle, which doesn't need to be parsed and
+        // compiled on every start. Fall back to the plain JavaScript one.
+        JavaScriptExecutorFactory hermesExecutorFactory
+            = createHermesExecutorFactory(application);
+
+        if (hermesExecutorFactory != null) {
+            builder
+                .setJavaScriptExecutorFactory(hermesExecutorFactory)
+                .setBundleAssetName(JS_BYTECODE_BUNDLE_ASSET_NAME);
+        } else {
+            builder.setBundleAssetName(JS_BUNDLE_ASSET_NAME);
+        }
+
+        startJSBundleLoadTimer();
+        reactInstanceManager = buildReactInstanceManager(application, builder);
+
+        // The idle incoming call views (e.g. pooled for the next call) no
+        // longer need the dedicated instance manager of the incoming call app:
+        // they run on the main one from now on. Disposing them releases the
+        // dedicated one.
+        if (incomingCallReactInstanceManager != null) {
+            UiThreadUtil.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    for (BaseReactView view : BaseReactView.getViews()) {
+                        if (view.getParent() == null
+                                && view.isReactInstanceManagerSuperseded()) {
+                            view.dispose();
+                        }
+                    }
+                }
+            });
+        }
+
+        initMemoryPressureCoordinator(application);
+
+        // The process is sampled during the conferences regardless of whether
+        // JavaScript asks for the samples, so that the host app can get them.
+        if (isModuleEnabled(PROCESS_STATS_ENABLED_FLAG)) {
+            ProcessStatsSampler.getInstance();
+        }
+
+        NetworkMonitor.getInstance(application).addListener(
+            new NetworkMonitor.Listener() {
+                @Override
+                public void onNetworkChanged(
+                        NetworkState state,
+                        NetworkState previous) {
+                    WritableMap data = Arguments.createMap();
+
+                    data.putBoolean("connected", state.isConnected());
+                    data.putBoolean("handover", state.isHandoverFrom(previous));
+                    data.putBoolean("ipv6Only", state.isIPv6Only());
+                    data.putBoolean("metered", state.isMetered());
+                    data.putBoolean("nat64", state.isNAT64());
+                    data.putString("previousTransport", previous.getTransport());
+                    data.putString("transport", state.getTransport());
+
+                    emitEvent(NETWORK_CHANGED_EVENT, data);
+                }
+            });
+    }
+
+    /**
+     * Sheds the memory of the SDK when Android asks the app to trim its
+     * memory: the images cached by React Native are released here, the other
+     * subsystems register their own releasers. JavaScript is told about it,
+     * so that it lowers the quality of the received video.
+     *
+     * @param application {@code Application} instance which is running.
+     */
+    private static void initMemoryPressureCoordinator(Application application) {
+        MemoryPressureCoordinator coordinator
+            = MemoryPressureCoordinator.getInstance();
+
+        coordinator.register(
+            "Fresco",
+            new MemoryPressureCoordinator.Releaser() {
+                @Override
+                public long release(int level) {
+                    if (level < ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                            || !Fresco.hasBeenInitialized()) {
+                        return 0;
+                    }
+
+                    ImagePipelineFactory factory
+                        = ImagePipelineFactory.getInstance();
+                    long sizeInBytes = getSizeInBytes(factory);
+
+                    // Only the entries which are not in use are evicted, the
+                    // images on screen stay in the caches.
+                    factory.getImagePipeline().clearMemoryCaches();
+
+                    return Math.max(0, sizeInBytes - getSizeInBytes(factory));
+                }
+
+                private long getSizeInBytes(ImagePipelineFactory factory) {
+                    return
+                        factory.getBitmapCountingMemoryCache().getSizeInBytes()
+                            + factory.getEncodedCountingMemoryCache()
+                                .getSizeInBytes();
+                }
+            });
+        coordinator.setListener(new MemoryPressureCoordinator.Listener() {
+            @Override
+            public void onMemoryTrimmed(int level, long releasedBytes) {
+                String levelName = MemoryPressureCoordinator.getLevelName(level);
+
+                Log.i(
+                    TAG,
+                    "Trimmed memory (" + levelName + "), released "
+                        + releasedBytes + " bytes");
+
+                WritableMap data = Arguments.createMap();
+
+                data.putString("level", levelName);
+                data.putDouble("releasedBytes", releasedBytes);
+
+                emitEvent(MEMORY_TRIMMED_EVENT, data);
+            }
+        });
+        coordinator.install(application);
+    }
+
+    /**
+     * Gets whether a {@code ReactInstanceManager} is the dedicated one of the
+     * incoming call app while the main one exists, i.e. the views running on
+     * it should rather be reloaded on the main one.
+     *
+     * @param reactInstanceManager - The {@link ReactInstanceManager}.
+     * @return {@code true} if {@code reactInstanceManager} is superseded.
+     */
+    static boolean isReactInstanceManagerSuperseded(
+            ReactInstanceManager reactInstanceManager) {
+        return reactInstanceManager != null
+            && reactInstanceManager == incomingCallReactInstanceManager
+            && ReactInstanceManagerHolder.reactInstanceManager != null;
+    }
+
+    /**
+     * Releases a {@code ReactInstanceManager} obtained with
+     * {@link #acquireReactInstanceManager(Application, String)}. The dedicated
+     * instance manager of the incoming call app is destroyed once it's no
+     * longer used; the main one is kept.
+     *
+     * @param reactInstanceManager - The {@link ReactInstanceManager} which is
+     * no longer used.
+     */
+    static void releaseReactInstanceManager(
+            ReactInstanceManager reactInstanceManager) {
+        if (reactInstanceManager != null
+                && reactInstanceManager == incomingCallReactInstanceManager
+                && --incomingCallReactInstanceManagerUsers == 0) {
+            incomingCallReactInstanceManager = null;
+            reactInstanceManager.destroy();
+        }
+    }
+
+    private static ReactInstanceManager buildReactInstanceManager(
+            Application application,
+            ReactInstanceManagerBuilder builder) {
+        boolean first
+            = reactInstanceManager == null
+                && incomingCallReactInstanceManager == null;
+
+        ReactInstanceManager reactInstanceManager = builder.build();
+
+        // Disable delta updates on Android, they have caused trouble.
+        DevInternalSettings devSettings
+            = (DevInternalSettings)reactInstanceManager.getDevSupportManager().getDevSettings();
+        if (devSettings != null) {
+            devSettings.setBundleDeltasEnabled(false);
+        }
+
+        if (first) {
+            // Register our uncaught exception handler.
+            JitsiMeetUncaughtExceptionHandler.register(application);
+        }
+
+        return reactInstanceManager;
+    }
+
+    private static List<ReactPackage> createPackages() {
         List<ReactPackage> packages
             = new ArrayList<>(Arrays.asList(
                 new com.BV.LinearGradient.LinearGradientPackage(),
@@ -194,12 +945,21 @@ class ReactInstanceManagerHolder {
                 new com.reactnativecommunity.webview.RNCWebViewPackage(),
                 new com.rnimmersive.RNImmersivePackage(),
                 new com.zmxv.RNSound.RNSoundPackage(),
-                new ReactPackageAdapter() {
+                new LazyReactPackage() {
                     @Override
-                    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
+                    public List<ModuleSpec> getNativeModules(ReactApplicationContext reactContext) {
                         return ReactInstanceManagerHolder.createNativeModules(reactContext);
                     }
                     @Override
+                    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+                        return new ReactModuleInfoProvider() {
+                            @Override
+                            public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                                return ReactInstanceManagerHolder.getReactModuleInfos();
+                            }
+                        };
+                    }
+                    @Override
                     public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
                         return ReactInstanceManagerHolder.createViewManagers(reactContext);
                     }
@@ -213,24 +973,51 @@ class ReactInstanceManagerHolder {
             // Ignore any error, the module is not compiled when LIBRE_BUILD is enabled.
         }
 
-        reactInstanceManager
-            = ReactInstanceManager.builder()
-                .setApplication(application)
-                .setBundleAssetName("index.android.bundle")
-                .setJSMainModulePath("index.android")
-                .addPackages(packages)
-                .setUseDeveloperSupport(BuildConfig.DEBUG)
-                .setInitialLifecycleState(LifecycleState.RESUMED)
-                .build();
+        return packages;
+    }
 
-        // Disable delta updates on Android, they have caused trouble.
-        DevInternalSettings devSettings
-            = (DevInternalSettings)reactInstanceManager.getDevSupportManager().getDevSettings();
-        if (devSettings != null) {
-            devSettings.setBundleDeltasEnabled(false);
-        }
+    /**
+     * Creates the packages of the incoming call app: the core of React Native,
+     * the third-party packages its UI uses and the few native modules of the
+     * SDK it needs (see {@link #createIncomingCallNativeModules}). They must
+     * cover the import graph of index.incoming-call.native.js, which doesn't
+     * include the storage, the sounds nor WebRTC.
+     */
+    private static List<ReactPackage> createIncomingCallPackages() {
+        return Arrays.<ReactPackage>asList(
+            new com.BV.LinearGradient.LinearGradientPackage(),
+            new com.facebook.react.shell.MainReactPackage(),
+            new com.oblador.vectoricons.VectorIconsPackage(),
+            new LazyReactPackage() {
+                @Override
+                public List<ModuleSpec> getNativeModules(ReactApplicationContext reactContext) {
+                    return ReactInstanceManagerHolder.createIncomingCallNativeModules(reactContext);
+                }
+                @Override
+                public ReactModuleInfoProvider getReactModuleInfoProvider() {
+                    return new ReactModuleInfoProvider() {
+                        @Override
+                        public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                            return ReactInstanceManagerHolder.getReactModuleInfos();
+                        }
+                    };
+                }
+                @Override
+                public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
+                    return Collections.emptyList();
+                }
+            });
+    }
 
-        // Register our uncaught exception handler.
-        JitsiMeetUncaughtExceptionHandler.register();
+    private static ReactInstanceManagerBuilder createReactInstanceManagerBuilder(
+            Application application,
+            String jsMainModulePath,
+            List<ReactPackage> packages) {
+        return ReactInstanceManager.builder()
+            .setApplication(application)
+            .setJSMainModulePath(jsMainModulePath)
+            .addPackages(packages)
+            .setUseDeveloperSupport(BuildConfig.DEBUG)
+            .setInitialLifecycleState(LifecycleState.RESUMED);
     }
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The reservation of a room, as returned by the reservation system via
+ * {@link ReservationClient}. It can be set on the
+ * {@link JitsiMeetConferenceOptions} so joining a room which is not reserved
+ * fails right away.
+ */
+public class Reservation {
+    /**
+     * The status of a reservation at a given time.
+     */
+    public enum Status {
+        /**
+         * The reserved time slot is ongoing.
+         */
+        ACTIVE,
+        /**
+         * The reserved time slot is over.
+         */
+        EXPIRED,
+        /**
+         * The room has no reservation.
+         */
+        NOT_FOUND,
+        /**
+         * The reserved time slot has not started yet.
+         */
+        NOT_STARTED
+    }
+
+    /**
+     * The ISO 8601 date times of the reservation system, e.g.
+     * {@code 2019-05-01T10:00:00Z}, {@code 2019-05-01T12:00:00.1234567+02:00}
+     * or {@code 2019-05-01T10:00:00} (without offset, see
+     * {@link #parseDateTime(String)}).
+     */
+    private static final Pattern DATE_TIME_PATTERN
+        = Pattern.compile(
+            "(\\d{4})-(\\d{2})-(\\d{2})T(\\d{2}):(\\d{2}):(\\d{2})(?:\\.(\\d+))?"
+                + "(Z|[+-]\\d{2}:\\d{2})?");
+
+    /**
+     * The .NET {@code TimeSpan}s of the reservation system, formatted as
+     * {@code [-][d.]hh:mm:ss[.fffffff]}, e.g. {@code 01:30:00}.
+     */
+    private static final Pattern TIME_SPAN_PATTERN
+        = Pattern.compile("(-)?(?:(\\d+)\\.)?(\\d+):(\\d+):(\\d+)(?:\\.(\\d+))?");
+
+    /**
+     * Reserved conference duration in milliseconds, 0 if unlimited.
+     */
+    private final long duration;
+
+    /**
+     * Whether the room is reserved at all.
+     */
+    private final boolean found;
+
+    /**
+     * Conference ID assigned by the reservation system.
+     */
+    private final long id;
+
+    /**
+     * Identifier of the owner of the reservation.
+     */
+    private final String owner;
+
+    /**
+     * Name of the reserved room.
+     */
+    private final String roomName;
+
+    /**
+     * Start time of the reservation, in milliseconds since the epoch.
+     */
+    private final long startTime;
+
+    Reservation(
+            String roomName,
+            boolean found,
+            long id,
+            String owner,
+            long startTime,
+            long duration) {
+        this.roomName = roomName;
+        this.found = found;
+        this.id = id;
+        this.owner = owner;
+        this.startTime = startTime;
+        this.duration = duration;
+    }
+
+    /**
+     * Creates the {@link Reservation} for a room which isn't reserved.
+     */
+    static Reservation notFound(String roomName) {
+        return new Reservation(roomName, false, 0, null, 0, 0);
+    }
+
+    /**
+     * Parses a reservation of the reservation system, e.g.
+     * {@code {"id": 42, "createdDateTime": "2019-04-30T08:00:00",
+     * "conference": {"id": 7, "roomName": "room",
+     * "roomOwnerIdentifier": "user@example.org", "startTime": null,
+     * "conferenceDuration": "01:30:00"},
+     * "reservationValidFromDatetime": "2019-05-01T10:00:00",
+     * "reservationExpirationDateTime": "2019-05-09T10:00:00",
+     * "meetingHasStarted": false}}. Until the meeting starts the reservation
+     * spans its validity period; once it has started, it spans the reserved
+     * conference duration from the start of the meeting.
+     *
+     * @param roomName - The name of the room which was looked up.
+     * @param json - The reservation.
+     * @return The parsed {@link Reservation}.
+     */
+    static Reservation fromJSON(String roomName, JSONObject json)
+            throws JSONException, ParseException {
+        JSONObject conference = json.getJSONObject("conference");
+        long validFrom
+            = parseDateTime(json.getString("reservationValidFromDatetime"));
+        long startTime;
+        long duration;
+
+        if (json.optBoolean("meetingHasStarted")
+                && !conference.isNull("startTime")) {
+            startTime = parseDateTime(conference.getString("startTime"));
+            duration
+                = conference.isNull("conferenceDuration")
+                    ? 0
+                    : parseTimeSpan(conference.getString("conferenceDuration"));
+        } else {
+            startTime = validFrom;
+            duration
+                = parseDateTime(json.getString("reservationExpirationDateTime"))
+                    - validFrom;
+        }
+
+        return new Reservation(
+            conference.optString("roomName", roomName),
+            true,
+            json.getLong("id"),
+            conference.isNull("roomOwnerIdentifier")
+                ? null
+                : conference.getString("roomOwnerIdentifier"),
+            startTime,
+            Math.max(0, duration));
+    }
+
+    /**
+     * Parses an ISO 8601 date time of the reservation system. The system
+     * writes most of them without offset, in the local time of the server
+     * ({@code DateTime.Now}), whose time zone the client doesn't know; they're
+     * taken as UTC. The times of a {@link Reservation} may therefore be off by
+     * the UTC offset of the server: they're good enough to schedule warmups
+     * (see {@link PreJoinWarmupScheduler}), not to reject a join.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    static long parseDateTime(String s) throws ParseException {
+        Matcher m = DATE_TIME_PATTERN.matcher(s);
+
+        if (!m.matches()) {
+            throw new ParseException("Unparseable date time: " + s, 0);
+        }
+
+        String offset = m.group(8);
+        Calendar calendar
+            = Calendar.getInstance(
+                TimeZone.getTimeZone(
+                    offset == null || offset.equals("Z")
+                        ? "UTC"
+                        : "GMT" + offset));
+
+        calendar.clear();
+        calendar.set(
+            Integer.parseInt(m.group(1)),
+            Integer.parseInt(m.group(2)) - 1,
+            Integer.parseInt(m.group(3)),
+            Integer.parseInt(m.group(4)),
+            Integer.parseInt(m.group(5)),
+            Integer.parseInt(m.group(6)));
+
+        return calendar.getTimeInMillis() + parseMillis(m.group(7));
+    }
+
+    /**
+     * Parses a .NET {@code TimeSpan} of the reservation system.
+     *
+     * @return The time span, in milliseconds.
+     */
+    static long parseTimeSpan(String s) throws ParseException {
+        Matcher m = TIME_SPAN_PATTERN.matcher(s);
+
+        if (!m.matches()) {
+            throw new ParseException("Unparseable time span: " + s, 0);
+        }
+
+        long days = m.group(2) == null ? 0 : Long.parseLong(m.group(2));
+        long millis
+            = (((days * 24 + Long.parseLong(m.group(3))) * 60
+                    + Long.parseLong(m.group(4))) * 60
+                + Long.parseLong(m.group(5))) * 1000
+                + parseMillis(m.group(6));
+
+        return m.group(1) == null ? millis : -millis;
+    }
+
+    /**
+     * Parses a fraction of a second, e.g. "1234567" for 0.1234567 seconds.
+     */
+    private static long parseMillis(String fraction) {
+        if (fraction == null) {
+            return 0;
+        }
+
+        String millis = (fraction + "00").substring(0, 3);
+
+        return Long.parseLong(millis);
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the status of this reservation at the given time. Except for
+     * {@link Status#NOT_FOUND}, it's an estimate (see
+     * {@link #parseDateTime(String)}).
+     *
+     * @param now - The time, in milliseconds since the epoch.
+     * @return The {@link Status} of the reservation.
+     */
+    public Status getStatus(long now) {
+        if (!found) {
+            return Status.NOT_FOUND;
+        }
+        if (now < startTime) {
+            return Status.NOT_STARTED;
+        }
+        if (duration > 0 && now >= startTime + duration) {
+            return Status.EXPIRED;
+        }
+
+        return Status.ACTIVE;
+    }
+
+    boolean isFound() {
+        return found;
+    }
+}
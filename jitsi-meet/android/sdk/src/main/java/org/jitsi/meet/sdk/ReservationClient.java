@@ -0,0 +1,327 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.support.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Client for the reservation system which may be deployed in front of Jicofo
+ * (see https://github.com/jitsi/jicofo/blob/master/doc/reservation.md). It
+ * looks up room reservations asynchronously through the API of the
+ * reservation manager, at {@code <base URL>/api/reservation/<room name>}
+ * (rather than the conference endpoint Jicofo queries), caches them for a short
+ * while and can prefetch the reservations of several rooms at once (e.g. the
+ * upcoming rooms of a calendar).
+ *
+ * Requests run on a small pool of threads; {@link HttpURLConnection} keeps the
+ * connections to the reservation system alive and reuses them, as long as the
+ * responses are fully read.
+ */
+public class ReservationClient {
+    /**
+     * Callback used to deliver the result of a lookup. It's invoked on a
+     * background thread.
+     */
+    public interface Callback {
+        void onReservation(Reservation reservation);
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * How long (in milliseconds) a reservation lookup is cached by default.
+     */
+    static final long DEFAULT_CACHE_TTL = 60 * 1000;
+
+    /**
+     * The prefix of the error message of the reservation system when the room
+     * has no reservation, which it reports as an internal server error.
+     */
+    private static final String NOT_FOUND_MESSAGE
+        = "Unable to locate a reservation";
+
+    /**
+     * The connect and read timeouts (in milliseconds) of the HTTP requests.
+     */
+    private static final int CONNECT_TIMEOUT = 10 * 1000;
+    private static final int READ_TIMEOUT = 10 * 1000;
+
+    /**
+     * Maximum number of concurrent requests to the reservation system.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    /**
+     * {@link ExecutorService} for running the requests, shared by all clients.
+     */
+    private static final ExecutorService defaultExecutor
+        = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+
+    private final URL baseURL;
+
+    /**
+     * The cached lookups by (lowercase) room name. Guarded by {@code this}.
+     */
+    private final Map<String, CachedReservation> cache = new HashMap<>();
+
+    private final long cacheTtl;
+
+    private final ExecutorService executor;
+
+    /**
+     * The callbacks waiting for the lookups in progress, by (lowercase) room
+     * name. Guarded by {@code this}.
+     */
+    private final Map<String, List<Callback>> pending = new HashMap<>();
+
+    /**
+     * Creates a new client for the reservation system at the given URL.
+     *
+     * @param baseURL - The base URL of the reservation system, the API paths
+     * are relative to it.
+     */
+    public ReservationClient(URL baseURL) {
+        this(baseURL, DEFAULT_CACHE_TTL, defaultExecutor);
+    }
+
+    ReservationClient(URL baseURL, long cacheTtl, ExecutorService executor) {
+        this.baseURL = baseURL;
+        this.cacheTtl = cacheTtl;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the cached reservation of the given room, if it was looked up (or
+     * prefetched) recently.
+     *
+     * @param roomName - The name of the room.
+     * @return The {@link Reservation}, or {@code null} if it's not cached.
+     */
+    @Nullable
+    public synchronized Reservation getCachedReservation(String roomName) {
+        CachedReservation cached = cache.get(toKey(roomName));
+
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - cached.timestamp > cacheTtl) {
+            cache.remove(toKey(roomName));
+            return null;
+        }
+
+        return cached.reservation;
+    }
+
+    /**
+     * Looks up the reservation of the given room. Rooms which are not reserved
+     * get a {@link Reservation} with the {@link Reservation.Status#NOT_FOUND}
+     * status.
+     *
+     * @param roomName - The name of the room.
+     * @param callback - The {@link Callback} to deliver the result to.
+     */
+    public void getReservation(String roomName, Callback callback) {
+        Reservation cached = getCachedReservation(roomName);
+
+        if (cached != null) {
+            callback.onReservation(cached);
+            return;
+        }
+
+        fetch(roomName, callback);
+    }
+
+    /**
+     * Looks up the reservations of the given rooms in the background, so they
+     * are cached by the time they are needed. Rooms which are already cached
+     * or being looked up are skipped.
+     *
+     * @param roomNames - The names of the rooms.
+     */
+    public void prefetch(Collection<String> roomNames) {
+        for (String roomName : roomNames) {
+            if (getCachedReservation(roomName) == null) {
+                fetch(roomName, null);
+            }
+        }
+    }
+
+    private void fetch(final String roomName, @Nullable Callback callback) {
+        final String key = toKey(roomName);
+
+        synchronized (this) {
+            List<Callback> callbacks = pending.get(key);
+
+            if (callbacks != null) {
+                // Piggyback on the lookup in progress.
+                if (callback != null) {
+                    callbacks.add(callback);
+                }
+                return;
+            }
+
+            callbacks = new ArrayList<>();
+            if (callback != null) {
+                callbacks.add(callback);
+            }
+            pending.put(key, callbacks);
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Reservation reservation = null;
+                Exception error = null;
+
+                try {
+                    reservation = request(roomName);
+                } catch (Exception e) {
+                    error = e;
+                }
+
+                List<Callback> callbacks;
+
+                synchronized (ReservationClient.this) {
+                    callbacks = pending.remove(key);
+                    if (reservation != null) {
+                        cache.put(key, new CachedReservation(reservation));
+                    }
+                }
+
+                for (Callback callback : callbacks) {
+                    if (reservation != null) {
+                        callback.onReservation(reservation);
+                    } else {
+                        callback.onFailure(error);
+                    }
+                }
+            }
+        });
+    }
+
+    private Reservation request(String roomName) throws Exception {
+        String base = baseURL.toString();
+        URL url
+            = new URL(
+                base
+                    + (base.endsWith("/") ? "" : "/")
+                    + "api/reservation/"
+                    + URLEncoder.encode(roomName, "UTF-8").replace("+", "%20"));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestProperty("Accept", "application/json");
+
+        int responseCode = connection.getResponseCode();
+
+        if (responseCode == HttpURLConnection.HTTP_OK) {
+            return Reservation.fromJSON(
+                roomName,
+                new JSONObject(readFully(connection.getInputStream())));
+        }
+
+        // Errors come with a {"message": "..."} body. Read it fully in any case
+        // so the connection can be reused.
+        String message = getErrorMessage(readFully(connection.getErrorStream()));
+
+        if (responseCode == HttpURLConnection.HTTP_NOT_FOUND
+                || (responseCode == HttpURLConnection.HTTP_INTERNAL_ERROR
+                    && message != null
+                    && message.startsWith(NOT_FOUND_MESSAGE))) {
+            return Reservation.notFound(roomName);
+        }
+
+        throw new IOException(
+            "Unexpected response code: " + responseCode
+                + (message != null ? " (" + message.trim() + ")" : ""));
+    }
+
+    /**
+     * Gets the message of an error response of the reservation system.
+     *
+     * @return The message, or {@code null} if there is none.
+     */
+    @Nullable
+    private static String getErrorMessage(String body) {
+        try {
+            JSONObject json = new JSONObject(body);
+
+            return json.isNull("message") ? null : json.getString("message");
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private static String readFully(@Nullable InputStream in) throws IOException {
+        if (in == null) {
+            return "";
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Room names are case insensitive.
+     */
+    private static String toKey(String roomName) {
+        return roomName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A cached lookup along with the time it was made.
+     */
+    private static final class CachedReservation {
+        final Reservation reservation;
+
+        final long timestamp = System.currentTimeMillis();
+
+        CachedReservation(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
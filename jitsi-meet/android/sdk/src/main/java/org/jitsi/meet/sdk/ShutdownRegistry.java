@@ -0,0 +1,317 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the cleanup hooks of the subsystems of the SDK, which are run
+ * when the process is about to die because of an uncaught exception (see
+ * {@link JitsiMeetUncaughtExceptionHandler}), so that nothing is left behind
+ * on the system: ongoing calls, the foreground service, the audio mode, wake
+ * locks, etc.
+ *
+ * The hooks run in parallel, each on its own daemon thread, and the whole
+ * shutdown is bounded by a time budget: hooks which don't complete in time are
+ * abandoned. What happened is written to a small breadcrumb file, which is
+ * read the next time the SDK starts.
+ *
+ * All the methods are thread safe.
+ */
+final class ShutdownRegistry {
+    /**
+     * A cleanup hook. It must not block for longer than necessary.
+     */
+    interface Hook {
+        void shutDown() throws Exception;
+    }
+
+    /**
+     * Default time budget (in milliseconds) of the shutdown.
+     */
+    static final long DEFAULT_TIMEOUT = 2000;
+
+    /**
+     * The status of a hook which completed.
+     */
+    static final String STATUS_DONE = "done";
+
+    /**
+     * The status of a hook which threw.
+     */
+    static final String STATUS_FAILED = "failed";
+
+    /**
+     * The status of a hook which didn't complete within the time budget.
+     */
+    static final String STATUS_TIMEOUT = "timeout";
+
+    private static final ShutdownRegistry instance = new ShutdownRegistry();
+
+    static ShutdownRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Reads (and deletes) the breadcrumb left by the last shutdown.
+     *
+     * @param file - The breadcrumb {@link File}.
+     * @return The breadcrumb, or {@code null} if there is none (the last
+     * process didn't crash) or it couldn't be read.
+     */
+    static JSONObject readBreadcrumb(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try {
+            InputStream inputStream = new FileInputStream(file);
+
+            try {
+                byte[] buffer = new byte[(int) file.length()];
+                int length = 0;
+                int read;
+
+                while (length < buffer.length
+                        && (read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+                    length += read;
+                }
+
+                return new JSONObject(new String(buffer, 0, length, "UTF-8"));
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException | JSONException e) {
+            return null;
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Where the breadcrumb is written, {@code null} if it's not.
+     */
+    private File breadcrumbFile;
+
+    /**
+     * The registered hooks by name, in order of registration.
+     */
+    private final Map<String, Hook> hooks = new LinkedHashMap<>();
+
+    ShutdownRegistry() {
+    }
+
+    /**
+     * Registers a hook, replacing the one registered with the same name, if
+     * any (e.g. by a previous instance of a native module).
+     *
+     * @param name - The name of the hook, identifying it in the breadcrumb.
+     * @param hook - The {@link Hook}.
+     */
+    synchronized void register(String name, Hook hook) {
+        hooks.put(name, hook);
+    }
+
+    /**
+     * Sets the file the breadcrumb of the shutdown is written to.
+     *
+     * @param breadcrumbFile - The breadcrumb {@link File}.
+     */
+    synchronized void setBreadcrumbFile(File breadcrumbFile) {
+        this.breadcrumbFile = breadcrumbFile;
+    }
+
+    /**
+     * Runs all the registered hooks, in parallel, and writes the breadcrumb.
+     * Returns as soon as all the hooks completed, or when the time budget is
+     * exhausted. The hooks are unregistered, so they run at most once.
+     *
+     * @param cause - What caused the shutdown, if anything.
+     * @param timeout - The time budget, in milliseconds.
+     * @return The breadcrumb.
+     */
+    JSONObject shutDown(Throwable cause, long timeout) {
+        Map<String, Hook> hooks;
+        File breadcrumbFile;
+
+        synchronized (this) {
+            hooks = new LinkedHashMap<>(this.hooks);
+            this.hooks.clear();
+            breadcrumbFile = this.breadcrumbFile;
+        }
+
+        final long startTime = System.nanoTime();
+        final CountDownLatch latch = new CountDownLatch(hooks.size());
+        final List<HookRun> runs = new ArrayList<>(hooks.size());
+
+        for (Map.Entry<String, Hook> e : hooks.entrySet()) {
+            final HookRun run = new HookRun(e.getKey(), e.getValue());
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        run.hook.shutDown();
+                        run.complete(STATUS_DONE, startTime);
+                    } catch (Throwable t) {
+                        run.complete(STATUS_FAILED, startTime);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }, "jitsi-shutdown-" + run.name);
+
+            // The process is dying, don't let a stuck hook keep it alive.
+            thread.setDaemon(true);
+            runs.add(run);
+            thread.start();
+        }
+
+        try {
+            latch.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        JSONObject breadcrumb = createBreadcrumb(cause, startTime, runs);
+
+        if (breadcrumbFile != null) {
+            writeBreadcrumb(breadcrumbFile, breadcrumb);
+        }
+
+        return breadcrumb;
+    }
+
+    /**
+     * Unregisters a hook.
+     *
+     * @param name - The name the hook was registered with.
+     */
+    synchronized void unregister(String name) {
+        hooks.remove(name);
+    }
+
+    /**
+     * Unregisters a hook, unless it was replaced already (e.g. by a new
+     * instance of a native module created before the old one was destroyed).
+     *
+     * @param name - The name the hook was registered with.
+     * @param hook - The {@link Hook} which was registered.
+     */
+    synchronized void unregister(String name, Hook hook) {
+        if (hooks.get(name) == hook) {
+            hooks.remove(name);
+        }
+    }
+
+    private static JSONObject createBreadcrumb(
+            Throwable cause,
+            long startTime,
+            List<HookRun> runs) {
+        JSONObject breadcrumb = new JSONObject();
+
+        try {
+            breadcrumb.put("time", System.currentTimeMillis());
+            if (cause != null) {
+                breadcrumb.put("cause", cause.toString());
+            }
+            breadcrumb.put(
+                "duration",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+            JSONArray hooks = new JSONArray();
+
+            for (HookRun run : runs) {
+                JSONObject hook = new JSONObject();
+
+                synchronized (run) {
+                    hook.put("name", run.name);
+                    hook.put(
+                        "status",
+                        run.status == null ? STATUS_TIMEOUT : run.status);
+                    if (run.status != null) {
+                        hook.put("duration", run.duration);
+                    }
+                }
+                hooks.put(hook);
+            }
+            breadcrumb.put("hooks", hooks);
+        } catch (JSONException ignored) {
+            // Only thrown for non-finite numbers.
+        }
+
+        return breadcrumb;
+    }
+
+    private static void writeBreadcrumb(File file, JSONObject breadcrumb) {
+        try {
+            OutputStream outputStream = new FileOutputStream(file);
+
+            try {
+                outputStream.write(breadcrumb.toString().getBytes("UTF-8"));
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException ignored) {
+            // Nothing more can be done, the process is dying.
+        }
+    }
+
+    /**
+     * The run of a {@link Hook} during a shutdown.
+     */
+    private static class HookRun {
+        /**
+         * How long (in milliseconds) the hook took.
+         */
+        long duration;
+
+        final Hook hook;
+
+        final String name;
+
+        /**
+         * The status of the hook, {@code null} while it's running.
+         */
+        String status;
+
+        HookRun(String name, Hook hook) {
+            this.name = name;
+            this.hook = hook;
+        }
+
+        synchronized void complete(String status, long startTime) {
+            this.status = status;
+            duration
+                = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        }
+    }
+}
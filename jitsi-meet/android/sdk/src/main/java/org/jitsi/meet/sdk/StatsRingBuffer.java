@@ -0,0 +1,169 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity time series of {@code double} values, backed by preallocated
+ * primitive arrays: adding a value never allocates, the oldest one is
+ * overwritten once full. Not thread safe.
+ */
+final class StatsRingBuffer {
+    /**
+     * Where the next value goes.
+     */
+    private int head;
+
+    /**
+     * Scratch space for sorting the values of a window.
+     */
+    private final double[] scratch;
+
+    private int size;
+
+    private final long[] times;
+
+    private final double[] values;
+
+    StatsRingBuffer(int capacity) {
+        times = new long[capacity];
+        values = new double[capacity];
+        scratch = new double[capacity];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param time - The time of the value, in milliseconds.
+     * @param value - The value.
+     */
+    void add(long time, double value) {
+        times[head] = time;
+        values[head] = value;
+        head = (head + 1) % values.length;
+        size = Math.min(size + 1, values.length);
+    }
+
+    /**
+     * Aggregates the values of a time window.
+     *
+     * @param since - The start of the window, in milliseconds (exclusive).
+     * @return The {@link WebRTCStats.Aggregate} of the values added after
+     * {@code since}, or {@code null} if there are none.
+     */
+    WebRTCStats.Aggregate aggregate(long since) {
+        int capacity = values.length;
+        int count = 0;
+        double sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            int index = (head - size + i + capacity) % capacity;
+
+            if (times[index] > since) {
+                scratch[count++] = values[index];
+                sum += values[index];
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        Arrays.sort(scratch, 0, count);
+
+        return new WebRTCStats.Aggregate(
+            count,
+            sum / count,
+            scratch[0],
+            scratch[count - 1],
+            percentile(scratch, count, 50),
+            percentile(scratch, count, 95));
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the memory the buffer takes: its arrays, which are allocated
+     * upfront.
+     *
+     * @return The size of the arrays, in bytes.
+     */
+    long getSizeInBytes() {
+        return (long) values.length * (Long.SIZE + Double.SIZE * 2) / Byte.SIZE;
+    }
+
+    /**
+     * Copies the values of a time window, oldest first.
+     *
+     * @param since - The start of the window, in milliseconds (exclusive).
+     * @param times - The array to copy the times of the values to, at least
+     * {@link #size()} long.
+     * @param values - The array to copy the values to, at least
+     * {@link #size()} long.
+     * @return The number of values copied.
+     */
+    int copy(long since, long[] times, double[] values) {
+        int capacity = this.values.length;
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            int index = (head - size + i + capacity) % capacity;
+
+            if (this.times[index] > since) {
+                times[count] = this.times[index];
+                values[count] = this.values[index];
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Replaces the value added last, e.g. with a more recent reading of the
+     * same sampling period. Adds the value if there are none.
+     *
+     * @param time - The time of the value, in milliseconds.
+     * @param value - The value.
+     */
+    void replaceLast(long time, double value) {
+        if (size == 0) {
+            add(time, value);
+        } else {
+            int index = (head - 1 + values.length) % values.length;
+
+            times[index] = time;
+            values[index] = value;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets a percentile of sorted values, with the nearest-rank method.
+     */
+    private static double percentile(double[] sorted, int count, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * count);
+
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.util.Log;
+
+import com.oney.WebRTCModule.EglUtils;
+
+import org.webrtc.DefaultVideoDecoderFactory;
+import org.webrtc.DefaultVideoEncoderFactory;
+import org.webrtc.EglBase;
+import org.webrtc.HardwareVideoDecoderFactory;
+import org.webrtc.HardwareVideoEncoderFactory;
+import org.webrtc.SoftwareVideoDecoderFactory;
+import org.webrtc.SoftwareVideoEncoderFactory;
+import org.webrtc.VideoCodecInfo;
+import org.webrtc.VideoDecoder;
+import org.webrtc.VideoDecoderFactory;
+import org.webrtc.VideoEncoder;
+import org.webrtc.VideoEncoderFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper class for creating the video encoder / decoder factories handed to
+ * {@link com.oney.WebRTCModule.WebRTCModule} according to a
+ * {@link VideoCodecPolicy}.
+ */
+class VideoCodecFactories {
+    private static final String TAG = VideoCodecFactories.class.getSimpleName();
+
+    /**
+     * Creates the {@link VideoDecoderFactory} to use with the given policy.
+     */
+    static VideoDecoderFactory createDecoderFactory(VideoCodecPolicy policy) {
+        VideoDecoderFactory factory;
+
+        if (policy.useHardwareDecoder()) {
+            EglBase.Context eglContext = EglUtils.getRootEglBaseContext();
+
+            factory
+                = policy.useSoftwareFallback()
+                    ? new DefaultVideoDecoderFactory(eglContext)
+                    : new HardwareVideoDecoderFactory(eglContext);
+        } else {
+            factory = new SoftwareVideoDecoderFactory();
+        }
+
+        Log.d(TAG, "Using video decoder factory: " + factory.getClass().getSimpleName());
+
+        return new FilteringVideoDecoderFactory(factory, policy);
+    }
+
+    /**
+     * Creates the {@link VideoEncoderFactory} to use with the given policy.
+     */
+    static VideoEncoderFactory createEncoderFactory(VideoCodecPolicy policy) {
+        VideoEncoderFactory factory;
+
+        if (policy.useHardwareEncoder()) {
+            EglBase.Context eglContext = EglUtils.getRootEglBaseContext();
+
+            factory
+                = policy.useSoftwareFallback()
+                    ? new DefaultVideoEncoderFactory(
+                        eglContext,
+                        /* enableIntelVp8Encoder */ true,
+                        policy.useH264HighProfile())
+                    : new HardwareVideoEncoderFactory(
+                        eglContext,
+                        /* enableIntelVp8Encoder */ true,
+                        policy.useH264HighProfile());
+        } else {
+            factory = new SoftwareVideoEncoderFactory();
+        }
+
+        Log.d(TAG, "Using video encoder factory: " + factory.getClass().getSimpleName());
+
+        return new FilteringVideoEncoderFactory(factory, policy);
+    }
+
+    private static List<String> codecNames(VideoCodecInfo[] codecs) {
+        List<String> names = new ArrayList<>(codecs.length);
+
+        for (VideoCodecInfo codec : codecs) {
+            names.add(codec.name);
+        }
+
+        return names;
+    }
+
+    /**
+     * Returns the given codecs filtered and ordered by the policy. A codec is
+     * listed once per set of parameters (e.g. the H264 profiles), even if the
+     * factory lists it several times (e.g. once per hardware and software
+     * implementation) or the policy returns its name several times.
+     */
+    private static VideoCodecInfo[] filterCodecs(
+            VideoCodecInfo[] codecs, VideoCodecPolicy policy) {
+        List<VideoCodecInfo> result = new ArrayList<>();
+
+        for (String name : policy.filterCodecs(codecNames(codecs))) {
+            for (VideoCodecInfo codec : codecs) {
+                if (codec.name.equals(name) && !containsCodec(result, codec)) {
+                    result.add(codec);
+                }
+            }
+        }
+
+        return result.toArray(new VideoCodecInfo[0]);
+    }
+
+    /**
+     * Tells whether the given list has a codec with the same name and
+     * parameters as the given one.
+     */
+    private static boolean containsCodec(
+            List<VideoCodecInfo> codecs, VideoCodecInfo codec) {
+        for (VideoCodecInfo c : codecs) {
+            if (c.name.equalsIgnoreCase(codec.name)
+                    && c.params.equals(codec.params)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@link VideoDecoderFactory} which only exposes the codecs allowed by a
+     * {@link VideoCodecPolicy}.
+     */
+    private static class FilteringVideoDecoderFactory
+        implements VideoDecoderFactory {
+
+        private final VideoDecoderFactory delegate;
+        private final VideoCodecPolicy policy;
+
+        FilteringVideoDecoderFactory(
+                VideoDecoderFactory delegate, VideoCodecPolicy policy) {
+            this.delegate = delegate;
+            this.policy = policy;
+        }
+
+        @Override
+        public VideoDecoder createDecoder(VideoCodecInfo info) {
+            if (!policy.isCodecAllowed(
+                    info.name, codecNames(delegate.getSupportedCodecs()))) {
+                return null;
+            }
+
+            return delegate.createDecoder(info);
+        }
+
+        @Override
+        public VideoCodecInfo[] getSupportedCodecs() {
+            return filterCodecs(delegate.getSupportedCodecs(), policy);
+        }
+    }
+
+    /**
+     * {@link VideoEncoderFactory} which only exposes the codecs allowed by a
+     * {@link VideoCodecPolicy}.
+     */
+    private static class FilteringVideoEncoderFactory
+        implements VideoEncoderFactory {
+
+        private final VideoEncoderFactory delegate;
+        private final VideoCodecPolicy policy;
+
+        FilteringVideoEncoderFactory(
+                VideoEncoderFactory delegate, VideoCodecPolicy policy) {
+            this.delegate = delegate;
+            this.policy = policy;
+        }
+
+        @Override
+        public VideoEncoder createEncoder(VideoCodecInfo info) {
+            if (!policy.isCodecAllowed(
+                    info.name, codecNames(delegate.getSupportedCodecs()))) {
+                return null;
+            }
+
+            return delegate.createEncoder(info);
+        }
+
+        @Override
+        public VideoCodecInfo[] getSupportedCodecs() {
+            return filterCodecs(delegate.getSupportedCodecs(), policy);
+        }
+    }
+}
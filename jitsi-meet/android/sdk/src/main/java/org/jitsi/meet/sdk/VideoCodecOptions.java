@@ -0,0 +1,199 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the options used to pick the video encoder and decoder
+ * factories handed to WebRTC. The user can create an instance by using
+ * {@link VideoCodecOptions.Builder} and install it with
+ * {@link JitsiMeet#setVideoCodecOptions(VideoCodecOptions)}.
+ *
+ * The WebRTC module is created once per React context, so the options must be
+ * set before the first {@link JitsiMeetView} is created in order to take
+ * effect.
+ */
+public class VideoCodecOptions {
+    /**
+     * Whether hardware (MediaCodec) encoders / decoders should be preferred.
+     */
+    private boolean hardwareAccelerationEnabled;
+
+    /**
+     * Whether the software codecs should be used when a hardware one cannot be
+     * created for a given codec.
+     */
+    private boolean softwareFallbackEnabled;
+
+    /**
+     * Whether the conference is expected to use simulcast.
+     */
+    private boolean simulcastEnabled;
+
+    /**
+     * Whether hardware encoders may be used while simulcast is in use. Many
+     * MediaCodec implementations cannot run one encoder instance per simulcast
+     * layer, so this is off by default.
+     */
+    private boolean hardwareSimulcastEnabled;
+
+    /**
+     * Whether the H.264 High profile should be advertised by the hardware
+     * encoder factory.
+     */
+    private boolean h264HighProfileEnabled;
+
+    /**
+     * Names of the codecs (e.g. "VP8", "H264") which may be used, in order of
+     * preference. An empty list allows all the supported codecs.
+     */
+    private List<String> codecAllowlist;
+
+    /**
+     * Class used to build the immutable {@link VideoCodecOptions} object.
+     */
+    public static class Builder {
+        private boolean hardwareAccelerationEnabled;
+        private boolean softwareFallbackEnabled = true;
+        private boolean simulcastEnabled = true;
+        private boolean hardwareSimulcastEnabled;
+        private boolean h264HighProfileEnabled;
+        private final List<String> codecAllowlist = new ArrayList<>();
+
+        /**
+         * Enables / disables the use of hardware encoders and decoders.
+         * Defaults to false i.e. only software codecs are used.
+         * @param enabled - Whether hardware codecs should be preferred.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setHardwareAccelerationEnabled(boolean enabled) {
+            this.hardwareAccelerationEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Enables / disables falling back to software codecs when a hardware
+         * one is not available. Defaults to true.
+         * @param enabled - Whether the software fallback should be used.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setSoftwareFallbackEnabled(boolean enabled) {
+            this.softwareFallbackEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Indicates whether the conferences will use simulcast. Defaults to
+         * true, which matches the default Jitsi Meet configuration.
+         * @param enabled - Whether simulcast is in use.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setSimulcastEnabled(boolean enabled) {
+            this.simulcastEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Allows hardware encoders to be used while simulcast is in use.
+         * Defaults to false.
+         * @param enabled - Whether hardware encoding is allowed with simulcast.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setHardwareSimulcastEnabled(boolean enabled) {
+            this.hardwareSimulcastEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Enables / disables the H.264 High profile on the hardware encoder.
+         * Defaults to false.
+         * @param enabled - Whether the H.264 High profile should be offered.
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setH264HighProfileEnabled(boolean enabled) {
+            this.h264HighProfileEnabled = enabled;
+
+            return this;
+        }
+
+        /**
+         * Restricts the codecs which may be used to the given ones, in order of
+         * preference. Not calling this method allows all the supported codecs.
+         * @param codecs - Codec names such as "VP8", "VP9" or "H264".
+         * @return - The {@link Builder} object itself so the method calls can be chained.
+         */
+        public Builder setCodecAllowlist(String... codecs) {
+            this.codecAllowlist.clear();
+            Collections.addAll(this.codecAllowlist, codecs);
+
+            return this;
+        }
+
+        /**
+         * Builds the immutable {@link VideoCodecOptions} object with the configuration
+         * that this {@link Builder} instance specified.
+         * @return - The built {@link VideoCodecOptions} object.
+         */
+        public VideoCodecOptions build() {
+            VideoCodecOptions options = new VideoCodecOptions();
+
+            options.hardwareAccelerationEnabled = this.hardwareAccelerationEnabled;
+            options.softwareFallbackEnabled = this.softwareFallbackEnabled;
+            options.simulcastEnabled = this.simulcastEnabled;
+            options.hardwareSimulcastEnabled = this.hardwareSimulcastEnabled;
+            options.h264HighProfileEnabled = this.h264HighProfileEnabled;
+            options.codecAllowlist
+                = Collections.unmodifiableList(new ArrayList<>(this.codecAllowlist));
+
+            return options;
+        }
+    }
+
+    private VideoCodecOptions() {
+    }
+
+    public boolean isHardwareAccelerationEnabled() {
+        return hardwareAccelerationEnabled;
+    }
+
+    public boolean isSoftwareFallbackEnabled() {
+        return softwareFallbackEnabled;
+    }
+
+    public boolean isSimulcastEnabled() {
+        return simulcastEnabled;
+    }
+
+    public boolean isHardwareSimulcastEnabled() {
+        return hardwareSimulcastEnabled;
+    }
+
+    public boolean isH264HighProfileEnabled() {
+        return h264HighProfileEnabled;
+    }
+
+    public List<String> getCodecAllowlist() {
+        return codecAllowlist;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides, based on {@link VideoCodecOptions}, which kind of video codec
+ * factories WebRTC should use and which codecs they may expose. It only deals
+ * with codec names so it doesn't depend on WebRTC classes and it can be tested
+ * on a plain JVM.
+ */
+class VideoCodecPolicy {
+    private final VideoCodecOptions options;
+
+    /**
+     * Creates a new policy for the given options.
+     *
+     * @param options - The {@link VideoCodecOptions} to use. If {@code null},
+     * the defaults (software codecs only, all codecs allowed) are used.
+     */
+    VideoCodecPolicy(@Nullable VideoCodecOptions options) {
+        this.options
+            = options != null ? options : new VideoCodecOptions.Builder().build();
+    }
+
+    /**
+     * Filters and orders the given codec names according to the configured
+     * allowlist. If no allowlist is configured, or none of the given codecs are
+     * allowed, the given list is returned as is so that video never ends up
+     * without any codec.
+     *
+     * @param supportedCodecs - The names of the codecs a factory supports.
+     * @return The names of the codecs which should be exposed.
+     */
+    List<String> filterCodecs(List<String> supportedCodecs) {
+        List<String> allowlist = options.getCodecAllowlist();
+
+        if (allowlist.isEmpty()) {
+            return supportedCodecs;
+        }
+
+        List<String> result = new ArrayList<>();
+
+        for (String allowed : allowlist) {
+            for (String codec : supportedCodecs) {
+                if (codec.equalsIgnoreCase(allowed) && !result.contains(codec)) {
+                    result.add(codec);
+                }
+            }
+        }
+
+        return result.isEmpty() ? supportedCodecs : result;
+    }
+
+    /**
+     * Tells whether the given codec may be used.
+     *
+     * @param codecName - The name of the codec e.g. "VP8".
+     * @param supportedCodecs - The names of all the codecs the factory supports.
+     * @return {@code true} if the codec may be used; {@code false}, otherwise.
+     */
+    boolean isCodecAllowed(String codecName, List<String> supportedCodecs) {
+        for (String codec : filterCodecs(supportedCodecs)) {
+            if (codec.equalsIgnoreCase(codecName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Whether a hardware decoder factory should be used.
+     */
+    boolean useHardwareDecoder() {
+        return options.isHardwareAccelerationEnabled();
+    }
+
+    /**
+     * Whether a hardware encoder factory should be used. Hardware encoding is
+     * skipped with simulcast unless explicitly allowed, since most MediaCodec
+     * implementations cannot run an encoder per simulcast layer.
+     */
+    boolean useHardwareEncoder() {
+        return options.isHardwareAccelerationEnabled()
+            && (!options.isSimulcastEnabled()
+                || options.isHardwareSimulcastEnabled());
+    }
+
+    /**
+     * Whether the hardware factories should fall back to software codecs.
+     */
+    boolean useSoftwareFallback() {
+        return options.isSoftwareFallbackEnabled();
+    }
+
+    /**
+     * Whether the H.264 High profile should be enabled on the hardware encoder.
+     */
+    boolean useH264HighProfile() {
+        return options.isH264HighProfileEnabled();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the connection quality of the current conference, as
+ * returned by {@link JitsiMeet#getWebRTCStats(long)}: aggregates of the WebRTC
+ * statistics sampled over a time window, per RTP stream.
+ */
+public class WebRTCStats {
+    /**
+     * Aggregate of the samples of a metric over the window.
+     */
+    public static class Aggregate {
+        private final int count;
+        private final double max;
+        private final double mean;
+        private final double min;
+        private final double p50;
+        private final double p95;
+
+        Aggregate(
+                int count,
+                double mean,
+                double min,
+                double max,
+                double p50,
+                double p95) {
+            this.count = count;
+            this.mean = mean;
+            this.min = min;
+            this.max = max;
+            this.p50 = p50;
+            this.p95 = p95;
+        }
+
+        /**
+         * Gets the number of samples.
+         *
+         * @return - The number of samples.
+         */
+        public int getCount() {
+            return count;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        /**
+         * Gets the median of the samples.
+         *
+         * @return - The 50th percentile.
+         */
+        public double getP50() {
+            return p50;
+        }
+
+        /**
+         * Gets the 95th percentile of the samples.
+         *
+         * @return - The 95th percentile.
+         */
+        public double getP95() {
+            return p95;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count
+                + ", mean=" + mean
+                + ", min=" + min
+                + ", max=" + max
+                + ", p50=" + p50
+                + ", p95=" + p95 + "}";
+        }
+    }
+
+    /**
+     * The aggregates of an RTP stream. An aggregate is {@code null} if the
+     * metric wasn't sampled in the window, e.g. the frame rate of audio.
+     */
+    public static class Stream {
+        private final Aggregate bitrate;
+        private final Aggregate frameRate;
+        private final Aggregate jitter;
+        private final String kind;
+        private final boolean outbound;
+        private final Aggregate packetLoss;
+        private final Aggregate roundTripTime;
+        private final long ssrc;
+
+        Stream(
+                long ssrc,
+                String kind,
+                boolean outbound,
+                Aggregate bitrate,
+                Aggregate roundTripTime,
+                Aggregate jitter,
+                Aggregate packetLoss,
+                Aggregate frameRate) {
+            this.ssrc = ssrc;
+            this.kind = kind;
+            this.outbound = outbound;
+            this.bitrate = bitrate;
+            this.roundTripTime = roundTripTime;
+            this.jitter = jitter;
+            this.packetLoss = packetLoss;
+            this.frameRate = frameRate;
+        }
+
+        /**
+         * Gets the bitrate, in kbps.
+         *
+         * @return - The bitrate {@link Aggregate}.
+         */
+        public Aggregate getBitrate() {
+            return bitrate;
+        }
+
+        /**
+         * Gets the frame rate, in frames per second (video only).
+         *
+         * @return - The frame rate {@link Aggregate}.
+         */
+        public Aggregate getFrameRate() {
+            return frameRate;
+        }
+
+        /**
+         * Gets the jitter, in milliseconds (inbound streams only).
+         *
+         * @return - The jitter {@link Aggregate}.
+         */
+        public Aggregate getJitter() {
+            return jitter;
+        }
+
+        /**
+         * Gets the kind of media of the stream.
+         *
+         * @return - "audio" or "video".
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the packet loss, in percent (inbound streams only).
+         *
+         * @return - The packet loss {@link Aggregate}.
+         */
+        public Aggregate getPacketLoss() {
+            return packetLoss;
+        }
+
+        /**
+         * Gets the round-trip time of the connection of the stream, in
+         * milliseconds.
+         *
+         * @return - The round-trip time {@link Aggregate}.
+         */
+        public Aggregate getRoundTripTime() {
+            return roundTripTime;
+        }
+
+        public long getSsrc() {
+            return ssrc;
+        }
+
+        /**
+         * Gets whether the stream is sent or received.
+         *
+         * @return - {@code true} if the stream is sent.
+         */
+        public boolean isOutbound() {
+            return outbound;
+        }
+
+        @Override
+        public String toString() {
+            return "Stream{ssrc=" + ssrc
+                + ", kind=" + kind
+                + ", outbound=" + outbound
+                + ", bitrate=" + bitrate
+                + ", roundTripTime=" + roundTripTime
+                + ", jitter=" + jitter
+                + ", packetLoss=" + packetLoss
+                + ", frameRate=" + frameRate + "}";
+        }
+    }
+
+    private final List<Stream> streams;
+
+    private final long window;
+
+    WebRTCStats(long window, List<Stream> streams) {
+        this.window = window;
+        this.streams = Collections.unmodifiableList(streams);
+    }
+
+    /**
+     * Gets the streams which were sampled in the window.
+     *
+     * @return - The {@link Stream}s.
+     */
+    public List<Stream> getStreams() {
+        return streams;
+    }
+
+    /**
+     * Gets the time window of the aggregates, in milliseconds.
+     *
+     * @return - The window.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return "WebRTCStats{window=" + window + ", streams=" + streams + "}";
+    }
+}
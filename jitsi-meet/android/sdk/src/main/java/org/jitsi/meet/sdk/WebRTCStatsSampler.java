@@ -0,0 +1,671 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk;
+
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import android.util.SparseArray;
+
+import com.oney.WebRTCModule.WebRTCModule;
+
+import org.webrtc.PeerConnection;
+import org.webrtc.RTCStats;
+import org.webrtc.RTCStatsCollectorCallback;
+import org.webrtc.RTCStatsReport;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the WebRTC statistics of the peer connections natively while in a
+ * conference, so the host app can get the connection quality (see
+ * {@link JitsiMeet#getWebRTCStats(long)}) without going through the JavaScript
+ * bridge. The reports are read straight from
+ * {@link PeerConnection#getStats(RTCStatsCollectorCallback)}, and only a few
+ * metrics are kept per RTP stream, in {@link StatsRingBuffer}s allocated once
+ * per stream.
+ *
+ * The sampler schedules the samples on its own thread, but the peer
+ * connections are only used on the executor of {@link WebRTCModule}, which
+ * creates and disposes of them, so that they're not disposed of underneath.
+ *
+ * All the methods are thread safe.
+ */
+class WebRTCStatsSampler implements OngoingConferenceTracker.OngoingConferenceListener {
+    /**
+     * Source of the peer connections to sample. They may only be used by the
+     * tasks run with {@link #execute(Runnable)}.
+     */
+    interface PeerConnectionSource {
+        /**
+         * Runs a task on the thread which creates and disposes of the peer
+         * connections. Does nothing if that thread is not available.
+         *
+         * @param task - The task to run.
+         */
+        void execute(Runnable task);
+
+        List<PeerConnection> getPeerConnections();
+    }
+
+    /**
+     * The samples kept per metric of a stream: 5 minutes worth.
+     */
+    static final int CAPACITY = 150;
+
+    /**
+     * The maximum number of streams which are sampled at once.
+     */
+    static final int MAX_STREAMS = 32;
+
+    /**
+     * How often the statistics are sampled, in milliseconds.
+     */
+    static final long SAMPLE_INTERVAL = 2000;
+
+    /**
+     * How long (in milliseconds) a stream has to go unsampled for it to be
+     * considered ended, and its series released under memory pressure.
+     */
+    static final long STALE_TIME = 5 * SAMPLE_INTERVAL;
+
+    private static final String TAG = WebRTCStatsSampler.class.getSimpleName();
+
+    private static WebRTCStatsSampler instance;
+
+    /**
+     * Gets the single instance, creating it on the first call. It samples the
+     * peer connections of the last {@link WebRTCModule} set with
+     * {@link #setWebRTCModule(WebRTCModule)}.
+     *
+     * @return The {@link WebRTCStatsSampler}.
+     */
+    static synchronized WebRTCStatsSampler getInstance() {
+        if (instance == null) {
+            instance = new WebRTCStatsSampler();
+            OngoingConferenceTracker.getInstance().addListener(instance);
+
+            final WebRTCStatsSampler sampler = instance;
+
+            ShutdownRegistry.getInstance().register(TAG, new ShutdownRegistry.Hook() {
+                @Override
+                public void shutDown() {
+                    sampler.stop();
+                }
+            });
+            MemoryPressureCoordinator.getInstance().register(
+                TAG,
+                new MemoryPressureCoordinator.Releaser() {
+                    @Override
+                    public long release(int level) {
+                        return
+                            level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                                ? sampler.releaseSeries()
+                                : 0;
+                    }
+                });
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the aggregates of the statistics sampled in a time window, if any.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return The {@link WebRTCStats}, or {@code null} if no WebRTC module was
+     * created in this process.
+     */
+    static synchronized WebRTCStats getInstanceStats(long window) {
+        return instance == null ? null : instance.getStats(window);
+    }
+
+    /**
+     * Gets the value of a numeric member of a report. The type of the members
+     * depends on the WebRTC type: {@code Long}, {@code BigInteger},
+     * {@code Double}...
+     *
+     * @return The value, or {@code NaN} if there's no such member.
+     */
+    private static double getNumber(Map<String, Object> members, String name) {
+        Object value = members.get(name);
+
+        return value instanceof Number
+            ? ((Number) value).doubleValue()
+            : Double.NaN;
+    }
+
+    /**
+     * The time of the last sample, in milliseconds.
+     */
+    private long lastSampleTime;
+
+    private ScheduledExecutorService executor;
+
+    private PeerConnectionSource peerConnectionSource;
+
+    private ScheduledFuture<?> sampling;
+
+    private final Series[] series = new Series[MAX_STREAMS];
+
+    private int seriesCount;
+
+    WebRTCStatsSampler() {
+    }
+
+    /**
+     * Gets the aggregates of the statistics sampled in a time window.
+     *
+     * @param window - The time window, in milliseconds, ending with the last
+     * sample.
+     * @return The {@link WebRTCStats}.
+     */
+    synchronized WebRTCStats getStats(long window) {
+        long since = lastSampleTime - window;
+        List<WebRTCStats.Stream> streams = new ArrayList<>(seriesCount);
+
+        for (int i = 0; i < seriesCount; i++) {
+            WebRTCStats.Stream stream = series[i].aggregate(since);
+
+            if (stream != null) {
+                streams.add(stream);
+            }
+        }
+
+        return new WebRTCStats(window, streams);
+    }
+
+    @Override
+    public void onCurrentConferenceChanged(String conferenceUrl) {
+        if (conferenceUrl != null) {
+            start();
+        } else {
+            stop();
+        }
+    }
+
+    /**
+     * Records a sample of an RTP stream. The counters are cumulative, as
+     * reported by WebRTC; the rates are computed from the previous sample of
+     * the stream. Missing values are {@code NaN}.
+     *
+     * @param ssrc - The SSRC of the stream.
+     * @param kind - "audio" or "video".
+     * @param outbound - Whether the stream is sent.
+     * @param time - The time of the sample, in milliseconds.
+     * @param bytes - The bytes sent or received.
+     * @param packets - The packets sent or received.
+     * @param packetsLost - The packets lost (inbound streams only).
+     * @param jitter - The jitter, in milliseconds (inbound streams only).
+     * @param frames - The frames encoded or decoded (video only).
+     * @param roundTripTime - The round-trip time of the connection, in
+     * milliseconds.
+     */
+    synchronized void onSample(
+            long ssrc,
+            String kind,
+            boolean outbound,
+            long time,
+            double bytes,
+            double packets,
+            double packetsLost,
+            double jitter,
+            double frames,
+            double roundTripTime) {
+        Series s = getSeries(ssrc, kind, outbound, time);
+
+        if (s != null) {
+            s.update(time, bytes, packets, packetsLost, jitter, frames, roundTripTime);
+            lastSampleTime = Math.max(lastSampleTime, time);
+        }
+    }
+
+    /**
+     * Releases the series of the streams which ended, or all of them if not
+     * sampling (the statistics of the last conference are then lost).
+     *
+     * @return An estimate of the memory released, in bytes.
+     */
+    synchronized long releaseSeries() {
+        long releasedBytes = 0;
+        int count = 0;
+
+        for (int i = 0; i < seriesCount; i++) {
+            Series s = series[i];
+
+            if (sampling != null && s.lastTime > lastSampleTime - STALE_TIME) {
+                series[count++] = s;
+            } else {
+                releasedBytes += s.getSizeInBytes();
+            }
+        }
+        for (int i = count; i < seriesCount; i++) {
+            series[i] = null;
+        }
+        seriesCount = count;
+
+        return releasedBytes;
+    }
+
+    /**
+     * Sets the {@link WebRTCModule} whose peer connections are to be sampled.
+     * Only a weak reference to it is kept.
+     *
+     * @param webRTCModule - The {@link WebRTCModule}.
+     */
+    void setWebRTCModule(WebRTCModule webRTCModule) {
+        setPeerConnectionSource(new WebRTCModulePeerConnections(webRTCModule));
+    }
+
+    synchronized void setPeerConnectionSource(PeerConnectionSource peerConnectionSource) {
+        this.peerConnectionSource = peerConnectionSource;
+    }
+
+    /**
+     * Gets the series of a stream, creating it (or reusing the one of a stream
+     * which went away) if needed.
+     *
+     * @return The {@link Series}, or {@code null} if there are too many
+     * streams.
+     */
+    private Series getSeries(long ssrc, String kind, boolean outbound, long time) {
+        Series stale = null;
+
+        for (int i = 0; i < seriesCount; i++) {
+            Series s = series[i];
+
+            if (s.ssrc == ssrc && s.outbound == outbound) {
+                return s;
+            }
+            if (s.lastTime < time - CAPACITY * SAMPLE_INTERVAL
+                    && (stale == null || s.lastTime < stale.lastTime)) {
+                stale = s;
+            }
+        }
+
+        Series s;
+
+        if (seriesCount < MAX_STREAMS) {
+            s = series[seriesCount++] = new Series();
+        } else if (stale != null) {
+            s = stale;
+        } else {
+            return null;
+        }
+        s.reset(ssrc, kind, outbound);
+
+        return s;
+    }
+
+    /**
+     * Records the samples of a report of a peer connection.
+     */
+    private synchronized void onReport(RTCStatsReport report) {
+        Map<String, RTCStats> statsMap = report.getStatsMap();
+        double roundTripTime = Double.NaN;
+
+        // The round-trip time is the one of the selected candidate pair.
+        for (RTCStats stats : statsMap.values()) {
+            Map<String, Object> members = stats.getMembers();
+
+            if ("candidate-pair".equals(stats.getType())
+                    && Boolean.TRUE.equals(members.get("nominated"))
+                    && members.containsKey("currentRoundTripTime")) {
+                roundTripTime
+                    = getNumber(members, "currentRoundTripTime") * 1000;
+                break;
+            }
+        }
+
+        for (RTCStats stats : statsMap.values()) {
+            String type = stats.getType();
+            boolean outbound;
+
+            if ("outbound-rtp".equals(type)) {
+                outbound = true;
+            } else if ("inbound-rtp".equals(type)) {
+                outbound = false;
+            } else {
+                continue;
+            }
+
+            Map<String, Object> members = stats.getMembers();
+            Object ssrc = members.get("ssrc");
+
+            if (!(ssrc instanceof Number)) {
+                continue;
+            }
+
+            Object kind = members.get("kind");
+
+            if (kind == null) {
+                kind = members.get("mediaType");
+            }
+
+            onSample(
+                ((Number) ssrc).longValue(),
+                String.valueOf(kind),
+                outbound,
+                (long) (stats.getTimestampUs() / 1000),
+                getNumber(members, outbound ? "bytesSent" : "bytesReceived"),
+                getNumber(members, outbound ? "packetsSent" : "packetsReceived"),
+                outbound ? Double.NaN : getNumber(members, "packetsLost"),
+                outbound ? Double.NaN : getNumber(members, "jitter") * 1000,
+                getNumber(members, outbound ? "framesEncoded" : "framesDecoded"),
+                roundTripTime);
+        }
+    }
+
+    /**
+     * Requests the reports of the peer connections on the thread of their
+     * source. They're delivered on the signaling thread of WebRTC.
+     */
+    private void sample() {
+        final PeerConnectionSource source;
+
+        synchronized (this) {
+            source = peerConnectionSource;
+        }
+        if (source == null) {
+            return;
+        }
+
+        source.execute(new Runnable() {
+            @Override
+            public void run() {
+                sample(source);
+            }
+        });
+    }
+
+    /**
+     * Requests the reports of the peer connections of a source. Runs on the
+     * thread of the source.
+     */
+    private void sample(PeerConnectionSource source) {
+        for (PeerConnection peerConnection : source.getPeerConnections()) {
+            peerConnection.getStats(new RTCStatsCollectorCallback() {
+                @Override
+                public void onStatsDelivered(RTCStatsReport report) {
+                    onReport(report);
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts sampling, starting over with new series.
+     */
+    private synchronized void start() {
+        if (sampling != null) {
+            return;
+        }
+
+        for (int i = 0; i < seriesCount; i++) {
+            series[i] = null;
+        }
+        seriesCount = 0;
+        lastSampleTime = 0;
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+        sampling
+            = executor.scheduleAtFixedRate(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        sample();
+                    }
+                },
+                SAMPLE_INTERVAL,
+                SAMPLE_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling. The series are kept, so the quality of the conference
+     * which just ended can still be retrieved.
+     */
+    private synchronized void stop() {
+        if (sampling != null) {
+            sampling.cancel(false);
+            sampling = null;
+        }
+    }
+
+    /**
+     * The metrics of an RTP stream, and its last cumulative counters.
+     */
+    private static final class Series {
+        final StatsRingBuffer bitrate = new StatsRingBuffer(CAPACITY);
+        final StatsRingBuffer frameRate = new StatsRingBuffer(CAPACITY);
+        final StatsRingBuffer jitter = new StatsRingBuffer(CAPACITY);
+        String kind;
+        double lastBytes;
+        double lastFrames;
+        double lastPackets;
+        double lastPacketsLost;
+        long lastTime;
+        boolean outbound;
+        final StatsRingBuffer packetLoss = new StatsRingBuffer(CAPACITY);
+        final StatsRingBuffer roundTripTime = new StatsRingBuffer(CAPACITY);
+        long ssrc;
+
+        long getSizeInBytes() {
+            return bitrate.getSizeInBytes()
+                + frameRate.getSizeInBytes()
+                + jitter.getSizeInBytes()
+                + packetLoss.getSizeInBytes()
+                + roundTripTime.getSizeInBytes();
+        }
+
+        WebRTCStats.Stream aggregate(long since) {
+            WebRTCStats.Aggregate bitrate = this.bitrate.aggregate(since);
+            WebRTCStats.Aggregate roundTripTime
+                = this.roundTripTime.aggregate(since);
+            WebRTCStats.Aggregate jitter = this.jitter.aggregate(since);
+            WebRTCStats.Aggregate packetLoss = this.packetLoss.aggregate(since);
+            WebRTCStats.Aggregate frameRate = this.frameRate.aggregate(since);
+
+            if (bitrate == null
+                    && roundTripTime == null
+                    && jitter == null
+                    && packetLoss == null
+                    && frameRate == null) {
+                return null;
+            }
+
+            return new WebRTCStats.Stream(
+                ssrc,
+                kind,
+                outbound,
+                bitrate,
+                roundTripTime,
+                jitter,
+                packetLoss,
+                frameRate);
+        }
+
+        void reset(long ssrc, String kind, boolean outbound) {
+            this.ssrc = ssrc;
+            this.kind = kind;
+            this.outbound = outbound;
+
+            lastTime = -1;
+            bitrate.clear();
+            frameRate.clear();
+            jitter.clear();
+            packetLoss.clear();
+            roundTripTime.clear();
+        }
+
+        void update(
+                long time,
+                double bytes,
+                double packets,
+                double packetsLost,
+                double jitter,
+                double frames,
+                double roundTripTime) {
+            if (lastTime >= 0 && time > lastTime) {
+                double seconds = (time - lastTime) / 1000.0;
+
+                // The counters restart when a stream is recreated.
+                if (bytes >= lastBytes) {
+                    bitrate.add(time, (bytes - lastBytes) * 8 / 1000 / seconds);
+                }
+                if (frames >= lastFrames) {
+                    frameRate.add(time, (frames - lastFrames) / seconds);
+                }
+
+                double received = packets - lastPackets;
+                double lost = Math.max(packetsLost - lastPacketsLost, 0);
+
+                if (received + lost > 0) {
+                    packetLoss.add(time, 100 * lost / (received + lost));
+                }
+            }
+            if (!Double.isNaN(jitter)) {
+                this.jitter.add(time, jitter);
+            }
+            if (!Double.isNaN(roundTripTime)) {
+                this.roundTripTime.add(time, roundTripTime);
+            }
+
+            lastTime = time;
+            lastBytes = bytes;
+            lastFrames = frames;
+            lastPackets = packets;
+            lastPacketsLost = packetsLost;
+        }
+    }
+
+    /**
+     * The peer connections of a {@link WebRTCModule}. Neither they nor the
+     * executor the module uses them on ({@code ThreadUtils}) are exposed by the
+     * module, so they're looked up by reflection and sampling is just disabled
+     * if that fails (e.g. with another version of the module).
+     */
+    private static final class WebRTCModulePeerConnections implements PeerConnectionSource {
+        private Method getPeerConnection;
+
+        private Field observers;
+
+        private Method runOnExecutor;
+
+        private final WeakReference<WebRTCModule> webRTCModule;
+
+        WebRTCModulePeerConnections(WebRTCModule webRTCModule) {
+            this.webRTCModule = new WeakReference<>(webRTCModule);
+
+            try {
+                Field observers
+                    = WebRTCModule.class.getDeclaredField(
+                        "mPeerConnectionObservers");
+                Method runOnExecutor
+                    = Class.forName(
+                            WebRTCModule.class.getPackage().getName()
+                                + ".ThreadUtils")
+                        .getDeclaredMethod("runOnExecutor", Runnable.class);
+
+                observers.setAccessible(true);
+                runOnExecutor.setAccessible(true);
+                this.observers = observers;
+                this.runOnExecutor = runOnExecutor;
+            } catch (Exception e) {
+                Log.w(TAG, "Peer connections not available, not sampling", e);
+            }
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (runOnExecutor == null) {
+                return;
+            }
+
+            try {
+                runOnExecutor.invoke(null, task);
+            } catch (Exception e) {
+                Log.d(TAG, "Failed to run on the executor of WebRTC", e);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * Runs on the executor of {@link WebRTCModule} (see
+         * {@link #execute(Runnable)}), which modifies the observers.
+         */
+        @Override
+        public List<PeerConnection> getPeerConnections() {
+            WebRTCModule module = webRTCModule.get();
+
+            if (module == null || observers == null) {
+                return Collections.emptyList();
+            }
+
+            List<PeerConnection> peerConnections = new ArrayList<>();
+
+            try {
+                SparseArray<?> observers = (SparseArray<?>) this.observers.get(module);
+
+                for (int i = 0; i < observers.size(); i++) {
+                    Object observer = observers.valueAt(i);
+
+                    if (getPeerConnection == null) {
+                        getPeerConnection
+                            = observer.getClass().getDeclaredMethod(
+                                "getPeerConnection");
+                        getPeerConnection.setAccessible(true);
+                    }
+
+                    PeerConnection peerConnection
+                        = (PeerConnection) getPeerConnection.invoke(observer);
+
+                    if (peerConnection != null) {
+                        peerConnections.add(peerConnection);
+                    }
+                }
+            } catch (Exception e) {
+                Log.d(TAG, "Failed to get the peer connections", e);
+            }
+
+            return peerConnections;
+        }
+    }
+}
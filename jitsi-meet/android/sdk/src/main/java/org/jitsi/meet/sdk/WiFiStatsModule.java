@@ -21,20 +21,25 @@ import android.net.wifi.WifiInfo;
 import android.net.wifi.WifiManager;
 import android.util.Log;
 
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.jitsi.meet.sdk.net.NetworkMonitor;
+import org.jitsi.meet.sdk.net.NetworkState;
 
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -46,7 +51,8 @@ import java.util.concurrent.Executors;
  */
 @ReactModule(name = WiFiStatsModule.NAME)
 class WiFiStatsModule
-    extends ReactContextBaseJavaModule {
+    extends ReactContextBaseJavaModule
+    implements NetworkMonitor.Listener {
 
     public static final String NAME = "WiFiStats";
 
@@ -67,6 +73,41 @@ class WiFiStatsModule
     private static final ExecutorService executor
         = Executors.newSingleThreadExecutor();
 
+    /**
+     * The hook of this module in {@link ShutdownRegistry}, registered while the
+     * module is alive.
+     */
+    private final ShutdownRegistry.Hook shutdownHook
+        = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                executor.shutdownNow();
+            }
+        };
+
+    /**
+     * The addresses of the WiFi interface, see {@link #getAddresses(int)}.
+     */
+    private List<String> addresses;
+
+    /**
+     * The IPv4 address of the WiFi interface {@link #addresses} are of.
+     */
+    private int addressesIpAddress;
+
+    /**
+     * The value of {@link #networkChanges} when {@link #addresses} were
+     * looked up.
+     */
+    private int addressesNetworkChanges;
+
+    /**
+     * The number of changes of the network, which invalidate
+     * {@link #addresses}. Only incremented on the thread of
+     * {@link NetworkMonitor}.
+     */
+    private volatile int networkChanges;
+
     /**
      * Initializes a new module instance. There shall be a single instance of
      * this module throughout the lifetime of the application.
@@ -76,6 +117,9 @@ class WiFiStatsModule
      */
     public WiFiStatsModule(ReactApplicationContext reactContext) {
         super(reactContext);
+
+        ShutdownRegistry.getInstance().register(NAME, shutdownHook);
+        NetworkMonitor.getInstance(reactContext).addListener(this);
     }
 
     /**
@@ -109,6 +153,11 @@ class WiFiStatsModule
     /**
      * Public method to retrieve WiFi stats.
      *
+     * The stats are resolved as a map (rather than a JSON string) so that
+     * neither side of the bridge has to serialize / parse them on every
+     * invocation: rssi, signal and timestamp are numbers and addresses is an
+     * array of strings.
+     *
      * @param promise a {@link Promise} which will be resolved if WiFi stats are
      * retrieved successfully, and it will be rejected otherwise.
      */
@@ -141,58 +190,23 @@ class WiFiStatsModule
                         = WifiManager.calculateSignalLevel(
                             rssi, SIGNAL_LEVEL_SCALE);
 
-                    JSONObject result = new JSONObject();
-                    result.put("rssi", rssi)
-                        .put("signal", signalLevel)
-                        .put("timestamp", System.currentTimeMillis());
-
-                    JSONArray addresses = new JSONArray();
-
-                    InetAddress wifiAddress
-                        = toInetAddress(wifiInfo.getIpAddress());
-
-                    try {
-                        Enumeration<NetworkInterface> e
-                            =  NetworkInterface.getNetworkInterfaces();
-                        while (e.hasMoreElements()) {
-                            NetworkInterface networkInterface = e.nextElement();
-                            boolean found = false;
-
-                            // first check whether this is the desired interface
-                            Enumeration<InetAddress> as
-                                = networkInterface.getInetAddresses();
-                            while (as.hasMoreElements()) {
-                                InetAddress a = as.nextElement();
-                                if(a.equals(wifiAddress)) {
-                                    found = true;
-                                    break;
-                                }
-                            }
-
-                            if (found) {
-                                // interface found let's put addresses
-                                // to the result object
-                                as = networkInterface.getInetAddresses();
-                                while (as.hasMoreElements()) {
-                                    InetAddress a = as.nextElement();
-                                    if (a.isLinkLocalAddress())
-                                        continue;
-
-                                    addresses.put(a.getHostAddress());
-                                }
-                            }
-
-                        }
-                    } catch (SocketException e) {
-                        Log.wtf(TAG,
-                            "Unable to NetworkInterface.getNetworkInterfaces()"
-                        );
+                    WritableMap result = Arguments.createMap();
+                    result.putInt("rssi", rssi);
+                    result.putInt("signal", signalLevel);
+                    result.putDouble("timestamp", System.currentTimeMillis());
+
+                    WritableArray addresses = Arguments.createArray();
+
+                    for (String address
+                            : getAddresses(wifiInfo.getIpAddress())) {
+                        addresses.pushString(address);
                     }
 
-                    result.put("addresses", addresses);
-                    promise.resolve(result.toString());
+                    result.putArray("addresses", addresses);
+
+                    Log.d(TAG, "WiFi stats: rssi=" + rssi + " signal=" + signalLevel);
 
-                    Log.d(TAG, "WiFi stats: " + result.toString());
+                    promise.resolve(result);
                 } catch (Throwable e) {
                     Log.e(TAG, "Failed to obtain wifi stats", e);
                     promise.reject(
@@ -202,4 +216,87 @@ class WiFiStatsModule
         };
         executor.execute(r);
     }
+
+    /**
+     * Gets the addresses of the WiFi interface. The network interfaces are
+     * only enumerated again when the network changed. Only called on the
+     * thread of {@link #executor}.
+     *
+     * @param ipAddress the int representation of the IPv4 address of the
+     * WiFi interface.
+     * @return the addresses which are not link-local, as strings.
+     * @throws UnknownHostException - if IP address is of illegal length.
+     */
+    private List<String> getAddresses(int ipAddress)
+            throws UnknownHostException {
+        if (addresses != null
+                && addressesIpAddress == ipAddress
+                && addressesNetworkChanges == networkChanges) {
+            return addresses;
+        }
+
+        addressesNetworkChanges = networkChanges;
+
+        List<String> addresses = new ArrayList<>();
+        InetAddress wifiAddress = toInetAddress(ipAddress);
+
+        try {
+            Enumeration<NetworkInterface> e
+                =  NetworkInterface.getNetworkInterfaces();
+            while (e.hasMoreElements()) {
+                NetworkInterface networkInterface = e.nextElement();
+                boolean found = false;
+
+                // first check whether this is the desired interface
+                Enumeration<InetAddress> as
+                    = networkInterface.getInetAddresses();
+                while (as.hasMoreElements()) {
+                    InetAddress a = as.nextElement();
+                    if(a.equals(wifiAddress)) {
+                        found = true;
+                        break;
+                    }
+                }
+
+                if (found) {
+                    // interface found let's put addresses
+                    // to the result list
+                    as = networkInterface.getInetAddresses();
+                    while (as.hasMoreElements()) {
+                        InetAddress a = as.nextElement();
+                        if (a.isLinkLocalAddress())
+                            continue;
+
+                        addresses.add(a.getHostAddress());
+                    }
+                }
+
+            }
+        } catch (SocketException e) {
+            Log.wtf(TAG,
+                "Unable to NetworkInterface.getNetworkInterfaces()"
+            );
+        }
+
+        this.addresses = addresses;
+        addressesIpAddress = ipAddress;
+
+        return addresses;
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        NetworkMonitor.getInstance(getReactApplicationContext())
+            .removeListener(this);
+        ShutdownRegistry.getInstance().unregister(NAME, shutdownHook);
+    }
+
+    /**
+     * Invalidates the addresses of the WiFi interface, which are looked up
+     * again on the next call to {@link #getWiFiStats(Promise)}.
+     */
+    @Override
+    public void onNetworkChanged(NetworkState state, NetworkState previous) {
+        networkChanges++;
+    }
 }
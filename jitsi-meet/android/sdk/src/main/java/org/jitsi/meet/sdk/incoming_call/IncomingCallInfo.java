@@ -18,6 +18,8 @@ package org.jitsi.meet.sdk.incoming_call;
 
 import android.support.annotation.NonNull;
 
+import java.util.Objects;
+
 public class IncomingCallInfo {
     /**
      * URL for the caller avatar.
@@ -69,4 +71,25 @@ public class IncomingCallInfo {
     public boolean hasVideo() {
         return hasVideo;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IncomingCallInfo)) {
+            return false;
+        }
+
+        IncomingCallInfo other = (IncomingCallInfo) o;
+
+        return hasVideo == other.hasVideo
+            && Objects.equals(callerName, other.callerName)
+            && Objects.equals(callerAvatarURL, other.callerAvatarURL);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(callerName, callerAvatarURL, hasVideo);
+    }
 }
@@ -19,6 +19,7 @@ package org.jitsi.meet.sdk.incoming_call;
 import android.content.Context;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
+import android.util.DisplayMetrics;
 
 import com.facebook.react.bridge.ReadableMap;
 
@@ -38,8 +39,33 @@ public class IncomingCallView
     private static final Map<String, Method> LISTENER_METHODS
         = ListenerUtils.mapListenerMethods(IncomingCallViewListener.class);
 
+    /**
+     * The name of the React Native app this view loads.
+     */
+    private static final String APP_NAME = "IncomingCallApp";
+
+    /**
+     * The information of the incoming call currently shown, if any.
+     */
+    private IncomingCallInfo callInfo;
+
+    /**
+     * Whether the React Native app was loaded.
+     */
+    private boolean loaded;
+
     public IncomingCallView(@NonNull Context context) {
-        super(context);
+        // The incoming call app runs on its own, lightweight bundle when
+        // available.
+        super(context, APP_NAME);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+
+        callInfo = null;
+        loaded = false;
     }
 
     /**
@@ -62,12 +88,65 @@ public class IncomingCallView
      * information.
      */
     public void setIncomingCallInfo(IncomingCallInfo callInfo) {
+        // Updating the props of an already loaded app only re-renders what
+        // changed (e.g. the avatar), so skip the update if nothing did.
+        if (loaded && callInfo.equals(this.callInfo)) {
+            return;
+        }
+
         Bundle props = new Bundle();
 
         props.putString("callerAvatarURL", callInfo.getCallerAvatarURL());
         props.putString("callerName", callInfo.getCallerName());
         props.putBoolean("hasVideo", callInfo.hasVideo());
 
-        createReactRootView("IncomingCallApp", props);
+        createReactRootView(APP_NAME, props);
+        this.callInfo = callInfo;
+        loaded = true;
+    }
+
+    /**
+     * Loads the React Native app without an incoming call, so it's ready by
+     * the time one comes in and {@link #setIncomingCallInfo} is called. It
+     * does nothing if the app was already loaded.
+     *
+     * It can be called before this view is attached to a window.
+     */
+    public void preload() {
+        if (loaded) {
+            return;
+        }
+
+        createReactRootView(APP_NAME, new Bundle());
+        loaded = true;
+
+        // The React Native app only starts once its root view was measured, so
+        // measure it with the size of the screen (the incoming call UI is
+        // full screen) in case it isn't laid out yet.
+        if (getMeasuredWidth() == 0 || getMeasuredHeight() == 0) {
+            DisplayMetrics displayMetrics = getResources().getDisplayMetrics();
+
+            measure(
+                MeasureSpec.makeMeasureSpec(
+                    displayMetrics.widthPixels, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(
+                    displayMetrics.heightPixels, MeasureSpec.EXACTLY));
+        }
+    }
+
+    /**
+     * Clears the incoming call information, so this view can be reused for
+     * another call without reloading the React Native app. If the main app
+     * was started in the meantime (e.g. the call was answered), the React
+     * Native app is unloaded instead, so the dedicated instance it runs on is
+     * released, and it's loaded on the main instance for the next call.
+     */
+    public void reset() {
+        if (isReactInstanceManagerSuperseded()) {
+            dispose();
+        } else if (loaded && callInfo != null) {
+            createReactRootView(APP_NAME, new Bundle());
+            callInfo = null;
+        }
     }
 }
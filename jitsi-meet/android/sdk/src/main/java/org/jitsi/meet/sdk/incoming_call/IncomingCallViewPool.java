@@ -0,0 +1,108 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.incoming_call;
+
+import android.app.Activity;
+import android.support.annotation.NonNull;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+/**
+ * Keeps an {@link IncomingCallView} loaded ahead of time and reuses it across
+ * incoming calls, so that showing a call only takes updating the caller
+ * information instead of loading the React Native app again.
+ *
+ * The pool is bound to an {@link Activity}: it should be created when the
+ * {@code Activity} is, and {@link #dispose()}d when it's destroyed. All the
+ * methods must be called on the UI thread.
+ */
+public class IncomingCallViewPool {
+    private final Activity activity;
+
+    /**
+     * The idle view, ready for the next incoming call.
+     */
+    private IncomingCallView idleView;
+
+    public IncomingCallViewPool(@NonNull Activity activity) {
+        this.activity = activity;
+    }
+
+    /**
+     * Gets a view for an incoming call. It's the idle view if there is one,
+     * otherwise a new view is created. The view must be handed back with
+     * {@link #release(IncomingCallView)} once the call was answered or
+     * declined.
+     *
+     * @return An {@link IncomingCallView}, to be set the call information on.
+     */
+    public IncomingCallView acquire() {
+        IncomingCallView view = idleView;
+
+        if (view != null) {
+            idleView = null;
+        } else {
+            view = new IncomingCallView(activity);
+        }
+
+        return view;
+    }
+
+    /**
+     * Releases all the resources held by this pool.
+     */
+    public void dispose() {
+        if (idleView != null) {
+            idleView.dispose();
+            idleView = null;
+        }
+    }
+
+    /**
+     * Loads the idle view ahead of time, e.g. when the app is told (by a push
+     * notification) that a call is coming in.
+     */
+    public void preload() {
+        if (idleView == null) {
+            idleView = new IncomingCallView(activity);
+        }
+
+        idleView.preload();
+    }
+
+    /**
+     * Hands back a view obtained with {@link #acquire()}. It's removed from its
+     * parent, its call information is cleared and it's kept for the next call.
+     *
+     * @param view - The {@link IncomingCallView} which is no longer used.
+     */
+    public void release(IncomingCallView view) {
+        ViewParent parent = view.getParent();
+
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(view);
+        }
+
+        view.setListener(null);
+        view.reset();
+
+        if (idleView != null && idleView != view) {
+            idleView.dispose();
+        }
+        idleView = view;
+    }
+}
@@ -27,7 +27,9 @@ import java.net.UnknownHostException;
 
 /**
  * This module exposes the functionality of creating an IPv6 representation
- * of IPv4 addresses in NAT64 environment.
+ * of IPv4 addresses in NAT64 environment. The NAT64 prefix is discovered again
+ * when the network changes (see {@link NetworkMonitor}), or when it's cached
+ * for too long.
  *
  * See[1] and [2] for more info on what NAT64 is.
  * [1]: https://tools.ietf.org/html/rfc6146
@@ -35,7 +37,8 @@ import java.net.UnknownHostException;
  */
 @ReactModule(name = NAT64AddrInfoModule.NAME)
 public class NAT64AddrInfoModule
-    extends ReactContextBaseJavaModule {
+    extends ReactContextBaseJavaModule
+    implements NetworkMonitor.Listener {
 
     public final static String NAME = "NAT64AddrInfo";
 
@@ -43,7 +46,7 @@ public class NAT64AddrInfoModule
      * The host for which the module wil try to resolve both IPv4 and IPv6
      * addresses in order to figure out the NAT64 prefix.
      */
-    private final static String HOST = "nat64.jitsi.net";
+    public final static String HOST = "nat64.jitsi.net";
 
     /**
      * How long is the {@link NAT64AddrInfo} instance valid.
@@ -60,11 +63,22 @@ public class NAT64AddrInfoModule
      */
     private NAT64AddrInfo info;
 
+    /**
+     * The value of {@link #networkChanges} when {@link #info} was created.
+     */
+    private int infoNetworkChanges;
+
     /**
      * When {@link #info} was created.
      */
     private long infoTimestamp;
 
+    /**
+     * The number of changes of the network which invalidated {@link #info}.
+     * Only incremented on the thread of {@link NetworkMonitor}.
+     */
+    private volatile int networkChanges;
+
     /**
      * Creates new {@link NAT64AddrInfoModule}.
      *
@@ -73,6 +87,8 @@ public class NAT64AddrInfoModule
      */
     public NAT64AddrInfoModule(ReactApplicationContext reactContext) {
         super(reactContext);
+
+        NetworkMonitor.getInstance(reactContext).addListener(this);
     }
 
     /**
@@ -86,14 +102,40 @@ public class NAT64AddrInfoModule
      */
     @ReactMethod
     public void getIPv6Address(String ipv4Address, final Promise promise) {
-        // Reset if cached for too long.
-        if (System.currentTimeMillis() - infoTimestamp > INFO_LIFETIME) {
+        NAT64AddrInfo info = getInfo();
+        String result;
+
+        try {
+            result = info == null ? null : info.getIPv6Address(ipv4Address);
+        } catch (IllegalArgumentException exc) {
+            Log.e(TAG, "Failed to get IPv6 address for: " + ipv4Address, exc);
+
+            // We don't want to reject. It's not a big deal if there's no IPv6
+            // address resolved.
+            result = null;
+        }
+        promise.resolve(result);
+    }
+
+    /**
+     * Gets the {@link NAT64AddrInfo} of the current network, discovering it
+     * if it's not cached.
+     *
+     * @return The {@link NAT64AddrInfo}, or {@code null} if none was
+     * discovered.
+     */
+    private synchronized NAT64AddrInfo getInfo() {
+        // Reset if cached for too long, or for another network.
+        if (System.currentTimeMillis() - infoTimestamp > INFO_LIFETIME
+                || infoNetworkChanges != networkChanges) {
             info = null;
         }
 
         if (info == null) {
             String host = HOST;
 
+            infoNetworkChanges = networkChanges;
+
             try {
                 info = NAT64AddrInfo.discover(host);
             } catch (UnknownHostException e) {
@@ -102,22 +144,41 @@ public class NAT64AddrInfoModule
             infoTimestamp = System.currentTimeMillis();
         }
 
-        String result;
-
-        try {
-            result = info == null ? null : info.getIPv6Address(ipv4Address);
-        } catch (IllegalArgumentException exc) {
-            Log.e(TAG, "Failed to get IPv6 address for: " + ipv4Address, exc);
+        return info;
+    }
 
-            // We don't want to reject. It's not a big deal if there's no IPv6
-            // address resolved.
-            result = null;
-        }
-        promise.resolve(result);
+    /**
+     * Discovers the {@link NAT64AddrInfo} of the current network ahead of
+     * time (e.g. right before a scheduled conference), unless it's cached
+     * already, so that {@link #getIPv6Address} doesn't have to. It blocks on
+     * DNS lookups, so it must not be called on the UI thread.
+     */
+    public void prefetch() {
+        getInfo();
     }
 
     @Override
     public String getName() {
         return NAME;
     }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        NetworkMonitor.getInstance(getReactApplicationContext())
+            .removeListener(this);
+    }
+
+    /**
+     * Invalidates the {@link NAT64AddrInfo} of the previous network. It's only
+     * discarded on the next call to {@link #getIPv6Address}, so that the
+     * {@link NetworkMonitor} is not blocked by a discovery in progress.
+     */
+    @Override
+    public void onNetworkChanged(NetworkState state, NetworkState previous) {
+        if (!state.isSameNetwork(previous)
+                || state.isIPv6Only() != previous.isIPv6Only()
+                || state.isNAT64() != previous.isNAT64()) {
+            networkChanges++;
+        }
+    }
 }
@@ -0,0 +1,355 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.net;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.LinkAddress;
+import android.net.LinkProperties;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.os.Build;
+import android.util.Log;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Monitors the default network of the device with a
+ * {@link ConnectivityManager.NetworkCallback}, and publishes the changes of
+ * its {@link NetworkState} to {@link Listener}s: handovers (e.g. from Wi-Fi to
+ * cellular), IPv6-only and NAT64 status, metered state. This way the caches
+ * which depend on the network are invalidated as soon as it changes.
+ *
+ * The listeners are notified on a dedicated thread.
+ */
+public final class NetworkMonitor {
+    /**
+     * Listener for the changes of the network.
+     */
+    public interface Listener {
+        /**
+         * Called when the state of the network changed.
+         *
+         * @param state - The new state.
+         * @param previous - The previous state.
+         */
+        void onNetworkChanged(NetworkState state, NetworkState previous);
+    }
+
+    /**
+     * Discovers the NAT64 prefix of the current network.
+     */
+    interface NAT64Discoverer {
+        NAT64AddrInfo discover();
+    }
+
+    private static final String TAG = NetworkMonitor.class.getSimpleName();
+
+    private static NetworkMonitor instance;
+
+    /**
+     * Gets the single instance, creating it and starting to monitor the
+     * network on the first call.
+     *
+     * @param context - The {@link Context} to get the
+     * {@link ConnectivityManager} from.
+     * @return The {@link NetworkMonitor}.
+     */
+    public static synchronized NetworkMonitor getInstance(Context context) {
+        if (instance == null) {
+            instance
+                = new NetworkMonitor(
+                    Executors.newSingleThreadExecutor(),
+                    new NAT64Discoverer() {
+                        @Override
+                        public NAT64AddrInfo discover() {
+                            String host = NAT64AddrInfoModule.HOST;
+
+                            try {
+                                return NAT64AddrInfo.discover(host);
+                            } catch (UnknownHostException e) {
+                                Log.w(TAG, "NAT64AddrInfo.discover: " + host, e);
+                                return null;
+                            }
+                        }
+                    });
+            instance.start(
+                (ConnectivityManager)
+                    context.getApplicationContext()
+                        .getSystemService(Context.CONNECTIVITY_SERVICE));
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the default network.
+     */
+    private static Network getDefaultNetwork(
+            ConnectivityManager connectivityManager) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return connectivityManager.getActiveNetwork();
+        }
+
+        NetworkInfo activeNetworkInfo
+            = connectivityManager.getActiveNetworkInfo();
+
+        if (activeNetworkInfo != null) {
+            for (Network network : connectivityManager.getAllNetworks()) {
+                NetworkInfo networkInfo
+                    = connectivityManager.getNetworkInfo(network);
+
+                if (networkInfo != null
+                        && networkInfo.isConnected()
+                        && networkInfo.getType() == activeNetworkInfo.getType()) {
+                    return network;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the state of the default network.
+     */
+    private static NetworkState getDefaultNetworkState(
+            ConnectivityManager connectivityManager) {
+        Network network = getDefaultNetwork(connectivityManager);
+
+        if (network == null) {
+            return NetworkState.NONE;
+        }
+
+        NetworkCapabilities capabilities
+            = connectivityManager.getNetworkCapabilities(network);
+        LinkProperties linkProperties
+            = connectivityManager.getLinkProperties(network);
+
+        // The network was lost in the meantime.
+        if (capabilities == null || linkProperties == null) {
+            return NetworkState.NONE;
+        }
+
+        String transport;
+
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            transport = NetworkState.TRANSPORT_WIFI;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            transport = NetworkState.TRANSPORT_CELLULAR;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            transport = NetworkState.TRANSPORT_ETHERNET;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) {
+            transport = NetworkState.TRANSPORT_VPN;
+        } else {
+            transport = NetworkState.TRANSPORT_OTHER;
+        }
+
+        boolean ipv4 = false;
+        boolean ipv6 = false;
+
+        for (LinkAddress linkAddress : linkProperties.getLinkAddresses()) {
+            InetAddress address = linkAddress.getAddress();
+
+            if (address.isLoopbackAddress() || address.isLinkLocalAddress()) {
+                continue;
+            }
+            if (address instanceof Inet4Address) {
+                ipv4 = true;
+            } else if (address instanceof Inet6Address) {
+                ipv6 = true;
+            }
+        }
+
+        return new NetworkState(
+            network.toString(),
+            transport,
+            ipv6 && !ipv4,
+            false,
+            !capabilities.hasCapability(
+                NetworkCapabilities.NET_CAPABILITY_NOT_METERED));
+    }
+
+    private ConnectivityManager connectivityManager;
+
+    private final Executor executor;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final NAT64Discoverer nat64Discoverer;
+
+    /**
+     * The current state, {@code null} until it's known. Only written on the
+     * thread of {@link #executor}.
+     */
+    private volatile NetworkState state;
+
+    /**
+     * Whether an update of {@link #state} is pending, so that a burst of
+     * callbacks results in a single update.
+     */
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+
+    NetworkMonitor(Executor executor, NAT64Discoverer nat64Discoverer) {
+        this.executor = executor;
+        this.nat64Discoverer = nat64Discoverer;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets the current state of the network.
+     *
+     * @return The {@link NetworkState}, or {@code null} if it's not known
+     * yet.
+     */
+    public NetworkState getState() {
+        return state;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the current state, and notifies the listeners if it changed. NAT64
+     * is looked up (and a second change notified) once the listeners know
+     * about the new network, so that they're not delayed by DNS.
+     *
+     * @param state - The state, as computed from the network.
+     */
+    void update(NetworkState state) {
+        NetworkState previous = this.state;
+
+        // Whether the network has NAT64 is not computed from the network.
+        if (state.isSameNetwork(previous)
+                && state.isIPv6Only() == previous.isIPv6Only()) {
+            state = state.withNAT64(previous.isNAT64());
+        }
+        if (state.equals(previous)) {
+            return;
+        }
+
+        this.state = state;
+        notifyListeners(state, previous);
+
+        if (state.isIPv6Only() && !state.isNAT64()) {
+            NAT64AddrInfo info = nat64Discoverer.discover();
+
+            if (info != null) {
+                NetworkState nat64State = state.withNAT64(true);
+
+                this.state = nat64State;
+                notifyListeners(nat64State, state);
+            }
+        }
+    }
+
+    private void notifyListeners(NetworkState state, NetworkState previous) {
+        // The first state is not a change.
+        if (previous == null) {
+            return;
+        }
+
+        for (Listener listener : listeners) {
+            try {
+                listener.onNetworkChanged(state, previous);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Network listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Schedules an update of the state from the default network.
+     */
+    private void scheduleUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    updateScheduled.set(false);
+                    update(getDefaultNetworkState(connectivityManager));
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts monitoring the network.
+     */
+    private void start(ConnectivityManager connectivityManager) {
+        this.connectivityManager = connectivityManager;
+
+        ConnectivityManager.NetworkCallback callback
+            = new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    scheduleUpdate();
+                }
+
+                @Override
+                public void onCapabilitiesChanged(
+                        Network network,
+                        NetworkCapabilities networkCapabilities) {
+                    scheduleUpdate();
+                }
+
+                @Override
+                public void onLinkPropertiesChanged(
+                        Network network,
+                        LinkProperties linkProperties) {
+                    scheduleUpdate();
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    scheduleUpdate();
+                }
+            };
+
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                connectivityManager.registerDefaultNetworkCallback(callback);
+            } else {
+                // The default network is looked up on every change of any
+                // network instead.
+                connectivityManager.registerNetworkCallback(
+                    new NetworkRequest.Builder()
+                        .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                        .build(),
+                    callback);
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to monitor the network", e);
+        }
+
+        scheduleUpdate();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jitsi.meet.sdk.net;
+
+/**
+ * Immutable description of the default network of the device, as published
+ * by {@link NetworkMonitor}.
+ */
+public final class NetworkState {
+    /**
+     * The state when there's no network.
+     */
+    public static final NetworkState NONE
+        = new NetworkState(null, NetworkState.TRANSPORT_NONE, false, false, false);
+
+    public static final String TRANSPORT_CELLULAR = "cellular";
+    public static final String TRANSPORT_ETHERNET = "ethernet";
+    public static final String TRANSPORT_NONE = "none";
+    public static final String TRANSPORT_OTHER = "other";
+    public static final String TRANSPORT_VPN = "vpn";
+    public static final String TRANSPORT_WIFI = "wifi";
+
+    private final boolean ipv6Only;
+
+    private final boolean metered;
+
+    private final boolean nat64;
+
+    /**
+     * The identifier of the network, which changes when the device switches
+     * networks even if the transport remains the same (e.g. from an access
+     * point to another one).
+     */
+    private final String networkId;
+
+    private final String transport;
+
+    NetworkState(
+            String networkId,
+            String transport,
+            boolean ipv6Only,
+            boolean nat64,
+            boolean metered) {
+        this.networkId = networkId;
+        this.transport = transport;
+        this.ipv6Only = ipv6Only;
+        this.nat64 = nat64;
+        this.metered = metered;
+    }
+
+    public String getNetworkId() {
+        return networkId;
+    }
+
+    /**
+     * Gets the transport of the network.
+     *
+     * @return - One of the {@code TRANSPORT_} constants.
+     */
+    public String getTransport() {
+        return transport;
+    }
+
+    public boolean isConnected() {
+        return networkId != null;
+    }
+
+    /**
+     * Gets whether the device switched to this network from another one it
+     * was connected to. The connections established on the previous network,
+     * e.g. ICE, won't survive the switch. Connecting after having no network
+     * is not a handover: there is nothing to switch from.
+     *
+     * @param previous - The previous state.
+     * @return {@code true} if this is a handover from {@code previous}.
+     */
+    public boolean isHandoverFrom(NetworkState previous) {
+        return isConnected()
+            && previous != null
+            && previous.isConnected()
+            && !networkId.equals(previous.networkId);
+    }
+
+    /**
+     * Gets whether the network has no IPv4 connectivity. If so, IPv4
+     * addresses are only reachable through NAT64, see {@link #isNAT64()}.
+     *
+     * @return - {@code true} if the network is IPv6-only.
+     */
+    public boolean isIPv6Only() {
+        return ipv6Only;
+    }
+
+    public boolean isMetered() {
+        return metered;
+    }
+
+    /**
+     * Gets whether a NAT64 prefix was discovered on the network (only looked
+     * up on IPv6-only networks).
+     *
+     * @return - {@code true} if the network has NAT64.
+     */
+    public boolean isNAT64() {
+        return nat64;
+    }
+
+    /**
+     * Gets whether this and another state describe the same network.
+     *
+     * @param other - The other state.
+     * @return - {@code true} if {@code other} is about the same network.
+     */
+    boolean isSameNetwork(NetworkState other) {
+        return other != null
+            && (networkId == null
+                ? other.networkId == null
+                : networkId.equals(other.networkId));
+    }
+
+    NetworkState withNAT64(boolean nat64) {
+        return new NetworkState(networkId, transport, ipv6Only, nat64, metered);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NetworkState)) {
+            return false;
+        }
+
+        NetworkState other = (NetworkState) o;
+
+        return isSameNetwork(other)
+            && transport.equals(other.transport)
+            && ipv6Only == other.ipv6Only
+            && nat64 == other.nat64
+            && metered == other.metered;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = networkId == null ? 0 : networkId.hashCode();
+
+        result = 31 * result + transport.hashCode();
+        result = 31 * result + (ipv6Only ? 1 : 0);
+        result = 31 * result + (nat64 ? 1 : 0);
+        result = 31 * result + (metered ? 1 : 0);
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkState{networkId=" + networkId
+            + ", transport=" + transport
+            + ", ipv6Only=" + ipv6Only
+            + ", nat64=" + nat64
+            + ", metered=" + metered + "}";
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import android.telephony.TelephonyManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CellularStatsSampler} class.
+ */
+public class CellularStatsSamplerTest {
+    private static final double DELTA = 0.0001;
+
+    private static final int UNAVAILABLE = CellularStatsSampler.UNAVAILABLE;
+
+    private CellularStatsSampler sampler;
+
+    @Before
+    public void setUp() {
+        sampler = new CellularStatsSampler();
+    }
+
+    @Test
+    public void testSamples() {
+        sampler.setNetworkType(TelephonyManager.NETWORK_TYPE_LTE);
+        sampler.onSignalStrength(1000, 3, -95, -10, 12.5);
+        sampler.onSignalStrength(2000, 2, -105, -14, 3);
+
+        CellularStatsSampler.Snapshot snapshot = sampler.getSnapshot();
+
+        assertEquals("4g", snapshot.networkType);
+        assertEquals(2, snapshot.count);
+        assertEquals(1000, snapshot.times[0]);
+        assertEquals(2000, snapshot.times[1]);
+        assertEquals(3, snapshot.level[0], DELTA);
+        assertEquals(-105, snapshot.rsrp[1], DELTA);
+        assertEquals(-14, snapshot.rsrq[1], DELTA);
+        assertEquals(12.5, snapshot.sinr[0], DELTA);
+    }
+
+    /**
+     * The unavailable and out of range readings are not numbers.
+     */
+    @Test
+    public void testUnavailableReadings() {
+        sampler.onSignalStrength(0, UNAVAILABLE, UNAVAILABLE, -50, Double.NaN);
+        sampler.onSignalStrength(5000, 5, -30, UNAVAILABLE, 99);
+
+        CellularStatsSampler.Snapshot snapshot = sampler.getSnapshot();
+
+        assertEquals("unknown", snapshot.networkType);
+        for (int i = 0; i < snapshot.count; i++) {
+            assertTrue(Double.isNaN(snapshot.level[i]));
+            assertTrue(Double.isNaN(snapshot.rsrp[i]));
+            assertTrue(Double.isNaN(snapshot.rsrq[i]));
+            assertTrue(Double.isNaN(snapshot.sinr[i]));
+        }
+    }
+
+    /**
+     * The readings which come in faster than the minimum interval replace the
+     * last sample instead of adding samples.
+     */
+    @Test
+    public void testBoundedRate() {
+        long interval = CellularStatsSampler.MIN_INTERVAL;
+
+        sampler.onSignalStrength(0, 4, -80, -8, 20);
+        sampler.onSignalStrength(interval / 4, 3, -90, -9, 15);
+        sampler.onSignalStrength(interval / 2, 2, -100, -11, 10);
+
+        CellularStatsSampler.Snapshot snapshot = sampler.getSnapshot();
+
+        assertEquals(1, snapshot.count);
+        assertEquals(interval / 2, snapshot.times[0]);
+        assertEquals(2, snapshot.level[0], DELTA);
+
+        // The interval is measured from the first reading of the sample.
+        sampler.onSignalStrength(interval, 1, -110, -15, 0);
+        assertEquals(2, sampler.getSnapshot().count);
+    }
+
+    /**
+     * Only the most recent samples are kept, oldest first.
+     */
+    @Test
+    public void testCapacity() {
+        int capacity = CellularStatsSampler.CAPACITY;
+        long interval = CellularStatsSampler.MIN_INTERVAL;
+
+        for (int i = 0; i < capacity + 10; i++) {
+            sampler.onSignalStrength(i * interval, 2, -100 + i % 10, -10, 5);
+        }
+
+        CellularStatsSampler.Snapshot snapshot = sampler.getSnapshot();
+
+        assertEquals(capacity, snapshot.count);
+        assertEquals(10 * interval, snapshot.times[0]);
+        assertEquals((capacity + 9) * interval, snapshot.times[capacity - 1]);
+
+        sampler.clear();
+        assertEquals(0, sampler.getSnapshot().count);
+    }
+
+    /**
+     * The RSSNR is in units of 0.1 dB up to API level 30 and in dB from API
+     * level 31, the samples are in dB either way.
+     */
+    @Test
+    public void testRssnrToDb() {
+        assertEquals(-20, CellularStatsSampler.rssnrToDb(-200, 28), DELTA);
+        assertEquals(12.5, CellularStatsSampler.rssnrToDb(125, 29), DELTA);
+        assertEquals(30, CellularStatsSampler.rssnrToDb(300, 30), DELTA);
+        assertEquals(12, CellularStatsSampler.rssnrToDb(12, 31), DELTA);
+        assertTrue(
+            Double.isNaN(CellularStatsSampler.rssnrToDb(UNAVAILABLE, 29)));
+
+        sampler.onSignalStrength(
+            0, 3, -95, -10, CellularStatsSampler.rssnrToDb(250, 29));
+
+        assertEquals(25, sampler.getSnapshot().sinr[0], DELTA);
+    }
+
+    @Test
+    public void testNetworkTypeNames() {
+        assertEquals(
+            "2g",
+            CellularStatsSampler.getNetworkTypeName(TelephonyManager.NETWORK_TYPE_EDGE));
+        assertEquals(
+            "3g",
+            CellularStatsSampler.getNetworkTypeName(TelephonyManager.NETWORK_TYPE_HSPAP));
+        assertEquals(
+            "4g",
+            CellularStatsSampler.getNetworkTypeName(TelephonyManager.NETWORK_TYPE_LTE));
+        assertEquals("5g", CellularStatsSampler.getNetworkTypeName(20));
+        assertEquals(
+            "unknown",
+            CellularStatsSampler.getNetworkTypeName(TelephonyManager.NETWORK_TYPE_UNKNOWN));
+    }
+}
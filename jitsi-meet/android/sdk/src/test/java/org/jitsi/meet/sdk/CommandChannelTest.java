@@ -0,0 +1,187 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CommandChannel} class.
+ */
+public class CommandChannelTest {
+    private static final String SCOPE = "scope";
+
+    private final List<List<CommandChannel.Command>> batches = new ArrayList<>();
+
+    private CommandChannel channel;
+
+    private long now;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        channel
+            = new CommandChannel(
+                new CommandChannel.Scheduler() {
+                    @Override
+                    public void schedule(Runnable runnable, long delay) {
+                        scheduled.add(runnable);
+                    }
+                },
+                new CommandChannel.TimeSource() {
+                    @Override
+                    public long elapsedRealtime() {
+                        return now;
+                    }
+                },
+                new CommandChannel.Transport() {
+                    @Override
+                    public void send(List<CommandChannel.Command> commands) {
+                        batches.add(commands);
+                    }
+                });
+    }
+
+    private void runScheduled() {
+        List<Runnable> runnables = new ArrayList<>(scheduled);
+
+        scheduled.clear();
+        for (Runnable runnable : runnables) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Commands are queued until the app is ready, then sent in one batch.
+     */
+    @Test
+    public void testQueuedUntilReady() {
+        channel.send(SCOPE, "setAudioMuted", null, true);
+        channel.send(SCOPE, "hangUp", null, true);
+        assertTrue(scheduled.isEmpty());
+
+        channel.setReady(SCOPE, true);
+        assertEquals(1, scheduled.size());
+        runScheduled();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals("setAudioMuted", batches.get(0).get(0).name);
+        assertEquals("hangUp", batches.get(0).get(1).name);
+    }
+
+    /**
+     * A command replaces the queued one with the same name, in its place, and
+     * both futures complete with its acknowledgement.
+     */
+    @Test
+    public void testCoalescing() throws Exception {
+        CommandFuture first = channel.send(SCOPE, "setAudioMuted", "true", true);
+
+        channel.send(SCOPE, "sendEndpointMessage", "a", false);
+        channel.send(SCOPE, "sendEndpointMessage", "b", false);
+
+        CommandFuture second = channel.send(SCOPE, "setAudioMuted", "false", true);
+
+        channel.setReady(SCOPE, true);
+        runScheduled();
+
+        List<CommandChannel.Command> batch = batches.get(0);
+
+        assertEquals(3, batch.size());
+        assertEquals("false", batch.get(0).args);
+        assertEquals("a", batch.get(1).args);
+        assertEquals("b", batch.get(2).args);
+
+        channel.acknowledge(batch.get(0).id, null);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertNull(first.get());
+        assertEquals(1, channel.getStats().getCoalescedCount());
+    }
+
+    @Test
+    public void testAcknowledgement() throws Exception {
+        channel.setReady(SCOPE, true);
+
+        CommandFuture ok = channel.send(SCOPE, "setAudioMuted", null, true);
+        CommandFuture failed = channel.send(SCOPE, "sendEndpointMessage", null, false);
+
+        // Only a single flush is scheduled for a batch.
+        assertEquals(1, scheduled.size());
+        now = 100;
+        runScheduled();
+
+        List<CommandChannel.Command> batch = batches.get(0);
+
+        now = 130;
+        channel.acknowledge(batch.get(0).id, null);
+        now = 150;
+        channel.acknowledge(batch.get(1).id, "Not in a conference");
+
+        assertNull(ok.get());
+        try {
+            failed.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("Not in a conference", e.getCause().getMessage());
+        }
+
+        CommandChannelStats stats = channel.getStats();
+
+        assertEquals(2, stats.getSentCount());
+        assertEquals(1, stats.getBatchCount());
+        assertEquals(1, stats.getAcknowledgedCount());
+        assertEquals(1, stats.getFailedCount());
+        assertEquals(100, stats.getAverageQueueTime());
+        assertEquals(40, stats.getAverageRoundTripTime());
+        assertEquals(50, stats.getMaxRoundTripTime());
+    }
+
+    /**
+     * The commands of an app which went away fail instead of hanging forever,
+     * and the ones of other apps are not affected.
+     */
+    @Test
+    public void testAppGoingAway() {
+        channel.setReady(SCOPE, true);
+
+        CommandFuture sent = channel.send(SCOPE, "setAudioMuted", null, true);
+
+        runScheduled();
+
+        CommandFuture queued = channel.send(SCOPE, "hangUp", null, true);
+        CommandFuture other = channel.send("other", "hangUp", null, true);
+
+        channel.setReady(SCOPE, false);
+        runScheduled();
+        assertTrue(sent.isDone());
+        assertFalse(queued.isDone());
+        assertEquals(1, batches.size());
+
+        channel.close(SCOPE);
+        assertTrue(queued.isDone());
+        assertFalse(other.isDone());
+        assertEquals(2, channel.getStats().getFailedCount());
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import com.dropbox.core.DbxHost;
+import com.dropbox.core.DbxRequestConfig;
+import com.dropbox.core.http.HttpRequestor;
+import com.dropbox.core.http.StandardHttpRequestor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DropboxApiClient} class, against a local HTTP stand-in for
+ * the Dropbox API.
+ */
+public class DropboxApiClientTest {
+    private static final String ACCOUNT_JSON
+        = "{\"account_id\": \"dbid:AAH4f99T0taONIb-OurWxbNQ6ywGRopQngc\","
+            + "\"name\": {\"given_name\": \"Jane\", \"surname\": \"Doe\","
+            + "\"familiar_name\": \"Jane\", \"display_name\": \"Jane Doe\","
+            + "\"abbreviated_name\": \"JD\"},"
+            + "\"email\": \"jane@example.org\", \"email_verified\": true,"
+            + "\"disabled\": false, \"locale\": \"en\","
+            + "\"referral_link\": \"https://db.tt/ZITNuhtI\","
+            + "\"is_paired\": false, \"account_type\": {\".tag\": \"basic\"},"
+            + "\"root_info\": {\".tag\": \"user\","
+            + "\"root_namespace_id\": \"3235641\","
+            + "\"home_namespace_id\": \"3235641\"}}";
+
+    private static final String SPACE_USAGE_JSON
+        = "{\"used\": 314159265,"
+            + "\"allocation\": {\".tag\": \"individual\","
+            + "\"allocated\": 10000000000}}";
+
+    /**
+     * The (fake) Dropbox host name, redirected to the local stand-in by
+     * {@link LocalHttpRequestor}.
+     */
+    private static final String STUB_HOST = "dropbox.test";
+
+    private final AtomicInteger accountRequests = new AtomicInteger();
+
+    private DropboxApiClient client;
+
+    private SimulatedClock clock;
+
+    private ExecutorService executor;
+
+    private HttpServer server;
+
+    private final AtomicInteger spaceUsageRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(
+            "/2/users/get_current_account",
+            new JsonHandler(ACCOUNT_JSON, accountRequests));
+        server.createContext(
+            "/2/users/get_space_usage",
+            new JsonHandler(SPACE_USAGE_JSON, spaceUsageRequests));
+        server.start();
+
+        clock = new SimulatedClock(0);
+        executor = Executors.newSingleThreadExecutor();
+        client = newClient();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        server.stop(0);
+    }
+
+    /**
+     * The display name is fetched once and then served from the cache.
+     */
+    @Test
+    public void testDisplayNameIsCached() throws Exception {
+        assertEquals("Jane Doe", getDisplayName("token"));
+        assertEquals("Jane Doe", getDisplayName("token"));
+        assertEquals(1, accountRequests.get());
+
+        // Another token is another account.
+        assertEquals("Jane Doe", getDisplayName("other-token"));
+        assertEquals(2, accountRequests.get());
+    }
+
+    /**
+     * Expired responses are fetched again.
+     */
+    @Test
+    public void testCacheExpires() throws Exception {
+        getDisplayName("token");
+        clock.advance(DropboxApiClient.DEFAULT_CACHE_TTL);
+        getDisplayName("token");
+
+        assertEquals(1, accountRequests.get());
+
+        clock.advance(1);
+        getDisplayName("token");
+
+        assertEquals(2, accountRequests.get());
+    }
+
+    @Test
+    public void testSpaceUsage() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicReference<DropboxApiClient.SpaceUsage> result
+            = new AtomicReference<>();
+        DropboxApiClient.Callback<DropboxApiClient.SpaceUsage> callback
+            = new DropboxApiClient.Callback<DropboxApiClient.SpaceUsage>() {
+                @Override
+                public void onSuccess(DropboxApiClient.SpaceUsage spaceUsage) {
+                    result.set(spaceUsage);
+                    latch.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    latch.countDown();
+                }
+            };
+
+        client.getSpaceUsage("token", callback);
+        client.getSpaceUsage("token", callback);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        assertEquals(314159265L, result.get().used);
+        assertEquals(10000000000L, result.get().allocated);
+        assertEquals(1, spaceUsageRequests.get());
+    }
+
+    /**
+     * Errors are delivered through the callback.
+     */
+    @Test
+    public void testFailure() throws Exception {
+        server.removeContext("/2/users/get_current_account");
+        server.createContext(
+            "/2/users/get_current_account",
+            new JsonHandler(ACCOUNT_JSON, accountRequests, 500));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Exception> error = new AtomicReference<>();
+
+        client.getDisplayName("token", new DropboxApiClient.Callback<String>() {
+            @Override
+            public void onSuccess(String displayName) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                error.set(e);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotNull(error.get());
+    }
+
+    private String getDisplayName(String token) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> result = new AtomicReference<>();
+
+        client.getDisplayName(token, new DropboxApiClient.Callback<String>() {
+            @Override
+            public void onSuccess(String displayName) {
+                result.set(displayName);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        return result.get();
+    }
+
+    private DropboxApiClient newClient() {
+        DbxRequestConfig requestConfig
+            = DbxRequestConfig.newBuilder("JitsiMeetTest/dev")
+                .withHttpRequestor(
+                    new LocalHttpRequestor(server.getAddress().getPort()))
+                .build();
+
+        return new DropboxApiClient(
+            requestConfig,
+            new DbxHost(STUB_HOST, STUB_HOST, STUB_HOST, STUB_HOST),
+            DropboxApiClient.DEFAULT_CACHE_TTL,
+            executor,
+            clock);
+    }
+
+    /**
+     * Serves a fixed JSON body and counts the requests.
+     */
+    private static class JsonHandler implements HttpHandler {
+        private final byte[] body;
+        private final AtomicInteger requests;
+        private final int status;
+
+        JsonHandler(String body, AtomicInteger requests) {
+            this(body, requests, 200);
+        }
+
+        JsonHandler(String body, AtomicInteger requests, int status) {
+            this.body = body.getBytes();
+            this.requests = requests;
+            this.status = status;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+
+            OutputStream os = exchange.getResponseBody();
+
+            os.write(body);
+            os.close();
+        }
+    }
+
+    /**
+     * The Dropbox SDK always builds https URLs without a port, so redirect them
+     * to the local stand-in which speaks plain HTTP.
+     */
+    private static class LocalHttpRequestor extends HttpRequestor {
+        private final HttpRequestor delegate = StandardHttpRequestor.INSTANCE;
+
+        private final int port;
+
+        LocalHttpRequestor(int port) {
+            this.port = port;
+        }
+
+        @Override
+        public Response doGet(String url, Iterable<Header> headers)
+                throws IOException {
+            return delegate.doGet(toLocalUrl(url), headers);
+        }
+
+        @Override
+        public Uploader startPost(String url, Iterable<Header> headers)
+                throws IOException {
+            return delegate.startPost(toLocalUrl(url), headers);
+        }
+
+        @Override
+        public Uploader startPut(String url, Iterable<Header> headers)
+                throws IOException {
+            return delegate.startPut(toLocalUrl(url), headers);
+        }
+
+        private String toLocalUrl(String url) {
+            return url.replace(
+                "https://" + STUB_HOST, "http://127.0.0.1:" + port);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import android.os.Bundle;
+import android.os.Parcel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.URL;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link android.os.Parcelable} implementation of
+ * {@link JitsiMeetConferenceOptions}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class JitsiMeetConferenceOptionsParcelTest {
+    /**
+     * Number of flags in the large feature flag sets.
+     */
+    private static final int LARGE_FEATURE_FLAGS = 200;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JitsiMeetUserInfo userInfo = new JitsiMeetUserInfo();
+
+        userInfo.setDisplayName("Jane Doe");
+        userInfo.setAvatar(new URL("https://example.org/avatar.png"));
+
+        Bundle colorScheme = new Bundle();
+
+        colorScheme.putString("background", "#000000");
+
+        JitsiMeetConferenceOptions options
+            = new JitsiMeetConferenceOptions.Builder()
+                .setServerURL(new URL("https://meet.example.org"))
+                .setRoom("room")
+                .setSubject("Subject")
+                .setColorScheme(colorScheme)
+                .setAudioMuted(true)
+                .setVideoMuted(false)
+                .setWelcomePageEnabled(false)
+                .setFeatureFlag("chat.enabled", true)
+                .setFeatureFlag("custom.enabled", true)
+                .setFeatureFlag("custom.count", 3)
+                .setFeatureFlag("custom.name", "value")
+                .setUserInfo(userInfo)
+                .build();
+
+        Bundle props = roundTrip(options).asProps();
+        Bundle urlProps = props.getBundle("url");
+        Bundle config = urlProps.getBundle("config");
+        Bundle flags = props.getBundle("flags");
+
+        assertEquals("https://meet.example.org", urlProps.getString("serverURL"));
+        assertEquals("room", urlProps.getString("room"));
+        assertFalse(urlProps.containsKey("jwt"));
+        assertEquals("Subject", config.getString("subject"));
+        assertTrue(config.getBoolean("startWithAudioMuted"));
+        assertFalse(config.getBoolean("startWithVideoMuted", true));
+        assertFalse(config.containsKey("startAudioOnly"));
+        assertEquals("#000000", props.getBundle("colorScheme").getString("background"));
+
+        assertFalse(flags.getBoolean("welcomepage.enabled", true));
+        assertTrue(flags.getBoolean("chat.enabled"));
+        assertTrue(flags.getBoolean("custom.enabled"));
+        assertEquals(3, flags.getInt("custom.count"));
+        assertEquals("value", flags.getString("custom.name"));
+
+        Bundle userInfoProps = props.getBundle("userInfo");
+
+        assertEquals("Jane Doe", userInfoProps.getString("displayName"));
+        assertFalse(userInfoProps.containsKey("email"));
+        assertEquals(
+            "https://example.org/avatar.png",
+            userInfoProps.getString("avatarURL"));
+    }
+
+    @Test
+    public void testRoundTripEmpty() {
+        Bundle props
+            = roundTrip(new JitsiMeetConferenceOptions.Builder().build())
+                .asProps();
+        Bundle urlProps = props.getBundle("url");
+
+        assertFalse(urlProps.containsKey("room"));
+        assertFalse(urlProps.containsKey("serverURL"));
+        assertTrue(urlProps.getBundle("config").isEmpty());
+        assertFalse(props.containsKey("colorScheme"));
+        assertFalse(props.containsKey("userInfo"));
+    }
+
+    /**
+     * The content hash survives a round-trip and only depends on the content.
+     */
+    @Test
+    public void testContentHash() throws Exception {
+        JitsiMeetConferenceOptions options
+            = new JitsiMeetConferenceOptions.Builder()
+                .setServerURL(new URL("https://meet.example.org"))
+                .setRoom("room")
+                .setFeatureFlag("chat.enabled", false)
+                .setFeatureFlag("custom.enabled", true)
+                .build();
+        JitsiMeetConferenceOptions sameOptions
+            = new JitsiMeetConferenceOptions.Builder()
+                .setFeatureFlag("custom.enabled", true)
+                .setFeatureFlag("chat.enabled", false)
+                .setRoom("room")
+                .setServerURL(new URL("https://meet.example.org"))
+                .build();
+        JitsiMeetConferenceOptions otherOptions
+            = new JitsiMeetConferenceOptions.Builder()
+                .setServerURL(new URL("https://meet.example.org"))
+                .setRoom("other-room")
+                .setFeatureFlag("chat.enabled", false)
+                .setFeatureFlag("custom.enabled", true)
+                .build();
+
+        assertSame(options.asProps(), options.asProps());
+        assertEquals(options.getContentHash(), sameOptions.getContentHash());
+        assertEquals(
+            options.getContentHash(),
+            roundTrip(options).getContentHash());
+        assertNotEquals(
+            options.getContentHash(),
+            otherOptions.getContentHash());
+    }
+
+    /**
+     * Options with colliding content hashes don't have the same content.
+     */
+    @Test
+    public void testSameContent() throws Exception {
+        // "Aa" and "BB" have the same String#hashCode().
+        JitsiMeetConferenceOptions options
+            = new JitsiMeetConferenceOptions.Builder()
+                .setServerURL(new URL("https://meet.example.org"))
+                .setRoom("Aa")
+                .build();
+        JitsiMeetConferenceOptions collidingOptions
+            = new JitsiMeetConferenceOptions.Builder()
+                .setServerURL(new URL("https://meet.example.org"))
+                .setRoom("BB")
+                .build();
+
+        assertEquals(
+            options.getContentHash(),
+            collidingOptions.getContentHash());
+        assertFalse(options.hasSameContent(collidingOptions));
+        assertTrue(options.hasSameContent(roundTrip(options)));
+        assertFalse(options.hasSameContent(null));
+    }
+
+    /**
+     * Parcels written by older versions of the SDK can still be read.
+     */
+    @Test
+    public void testReadLegacyParcel() {
+        Bundle flags = new Bundle();
+
+        flags.putBoolean("chat.enabled", false);
+
+        Bundle userInfo = new Bundle();
+
+        userInfo.putString("displayName", "Jane Doe");
+
+        Parcel parcel = Parcel.obtain();
+
+        parcel.writeString("room");
+        parcel.writeString(null);
+        parcel.writeString("token");
+        parcel.writeBundle(null);
+        parcel.writeBundle(flags);
+        parcel.writeBundle(userInfo);
+        parcel.writeByte((byte) 1);
+        parcel.writeByte((byte) 0);
+        parcel.writeByte((byte) 2);
+        parcel.setDataPosition(0);
+
+        JitsiMeetConferenceOptions options
+            = JitsiMeetConferenceOptions.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        Bundle props = options.asProps();
+        Bundle urlProps = props.getBundle("url");
+        Bundle config = urlProps.getBundle("config");
+
+        assertEquals("room", urlProps.getString("room"));
+        assertEquals("token", urlProps.getString("jwt"));
+        assertTrue(config.getBoolean("startWithAudioMuted"));
+        assertFalse(config.containsKey("startAudioOnly"));
+        assertFalse(config.getBoolean("startWithVideoMuted", true));
+        assertFalse(options.getFeatureFlag("chat.enabled", true));
+    }
+
+    /**
+     * The compact encoding of a large feature flag set is smaller than the
+     * {@link Bundle} based one.
+     */
+    @Test
+    public void testLargeFeatureFlags() {
+        JitsiMeetConferenceOptions.Builder builder
+            = new JitsiMeetConferenceOptions.Builder()
+                .setRoom("room");
+        Bundle flags = new Bundle();
+
+        for (int i = 0; i < LARGE_FEATURE_FLAGS; i++) {
+            String flag = "custom." + i + ".enabled";
+
+            builder.setFeatureFlag(flag, i % 2 == 0);
+            flags.putBoolean(flag, i % 2 == 0);
+        }
+
+        JitsiMeetConferenceOptions options = builder.build();
+        Parcel parcel = Parcel.obtain();
+
+        options.writeToParcel(parcel, 0);
+
+        int compactSize = parcel.dataSize();
+
+        parcel.recycle();
+        parcel = Parcel.obtain();
+        parcel.writeString("room");
+        parcel.writeBundle(flags);
+
+        int bundleSize = parcel.dataSize();
+
+        parcel.recycle();
+
+        assertTrue(compactSize < bundleSize);
+        assertFalse(roundTrip(options).getFeatureFlag("custom.1.enabled", true));
+        assertTrue(roundTrip(options).getFeatureFlag("custom.2.enabled", false));
+    }
+
+    private static JitsiMeetConferenceOptions roundTrip(
+            JitsiMeetConferenceOptions options) {
+        Parcel parcel = Parcel.obtain();
+
+        options.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+
+        JitsiMeetConferenceOptions result
+            = JitsiMeetConferenceOptions.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MemoryPressureCoordinator} class.
+ */
+public class MemoryPressureCoordinatorTest {
+    private MemoryPressureCoordinator coordinator;
+
+    private final List<String> releases = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        coordinator = new MemoryPressureCoordinator();
+    }
+
+    private MemoryPressureCoordinator.Releaser releaser(
+            final String name,
+            final int minLevel,
+            final long bytes) {
+        return new MemoryPressureCoordinator.Releaser() {
+            @Override
+            public long release(int level) {
+                if (level < minLevel) {
+                    return 0;
+                }
+                releases.add(name);
+                return bytes;
+            }
+        };
+    }
+
+    /**
+     * The releasers run in order of registration, depending on the level, and
+     * what they release adds up.
+     */
+    @Test
+    public void testTrim() {
+        final long[] trimmed = new long[2];
+
+        coordinator.register(
+            "cache",
+            releaser("cache", ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW, 1000));
+        coordinator.register(
+            "stats",
+            releaser("stats", ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE, 200));
+        coordinator.setListener(new MemoryPressureCoordinator.Listener() {
+            @Override
+            public void onMemoryTrimmed(int level, long releasedBytes) {
+                trimmed[0] = level;
+                trimmed[1] = releasedBytes;
+            }
+        });
+        assertNull(coordinator.getStats());
+
+        assertEquals(
+            200,
+            coordinator.trim(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE));
+        assertEquals(
+            1200,
+            coordinator.trim(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL));
+        assertEquals(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL, trimmed[0]);
+        assertEquals(1200, trimmed[1]);
+
+        List<String> expected = new ArrayList<>();
+
+        expected.add("stats");
+        expected.add("cache");
+        expected.add("stats");
+        assertEquals(expected, releases);
+
+        MemoryPressureStats stats = coordinator.getStats();
+
+        assertEquals(2, stats.getTrimCount());
+        assertEquals(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL, stats.getLastLevel());
+        assertEquals(1200, stats.getLastReleasedBytes());
+        assertEquals(1400, stats.getTotalReleasedBytes());
+        assertEquals(0, stats.getFailedCount());
+    }
+
+    /**
+     * A releaser which throws doesn't keep the others from running, and one
+     * registered with the same name replaces the previous one.
+     */
+    @Test
+    public void testFailureAndReplacement() {
+        coordinator.register("a", releaser("a", 0, 10));
+        coordinator.register(
+            "b",
+            new MemoryPressureCoordinator.Releaser() {
+                @Override
+                public long release(int level) {
+                    throw new IllegalStateException();
+                }
+            });
+        coordinator.register("c", releaser("c", 0, 20));
+        coordinator.register("a", releaser("a2", 0, 30));
+
+        assertEquals(50, coordinator.trim(ComponentCallbacks2.TRIM_MEMORY_COMPLETE));
+        assertEquals(1, coordinator.getStats().getFailedCount());
+        assertEquals("a2", releases.get(0));
+        assertEquals(2, releases.size());
+    }
+
+    @Test
+    public void testLevelNames() {
+        assertEquals(
+            "running-moderate",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE));
+        assertEquals(
+            "running-low",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW));
+        assertEquals(
+            "running-critical",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL));
+        assertEquals(
+            "ui-hidden",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+        assertEquals(
+            "background",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND));
+        assertEquals(
+            "complete",
+            MemoryPressureCoordinator.getLevelName(ComponentCallbacks2.TRIM_MEMORY_COMPLETE));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PowerLockManager} class.
+ */
+public class PowerLockManagerTest {
+    private static final String SPEAKER = "SPEAKER";
+
+    private FakeLock cpuLock;
+
+    private PowerLockManager manager;
+
+    private long now;
+
+    private FakeLock proximityLock;
+
+    @Before
+    public void setUp() {
+        cpuLock = new FakeLock();
+        proximityLock = new FakeLock();
+        manager
+            = new PowerLockManager(
+                proximityLock,
+                cpuLock,
+                new PowerLockManager.TimeSource() {
+                    @Override
+                    public long elapsedRealtime() {
+                        return now;
+                    }
+                });
+    }
+
+    @Test
+    public void testCpuLockFollowsRequests() {
+        assertFalse(cpuLock.held);
+
+        // Being in a conference alone doesn't hold the CPU lock.
+        manager.setInConference(true);
+        assertFalse(cpuLock.held);
+
+        manager.acquireCpuLock();
+        assertTrue(cpuLock.held);
+
+        manager.acquireCpuLock();
+        manager.releaseCpuLock();
+        manager.setInConference(false);
+        assertTrue(cpuLock.held);
+
+        manager.releaseCpuLock();
+        assertFalse(cpuLock.held);
+        assertEquals(1, cpuLock.acquireCount);
+    }
+
+    /**
+     * The proximity lock is only held on the earpiece, in a conference.
+     */
+    @Test
+    public void testProximityLockFollowsAudioRoute() {
+        manager.acquireProximityLock();
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+        assertFalse(proximityLock.held);
+
+        manager.setInConference(true);
+        assertTrue(proximityLock.held);
+
+        manager.setAudioRoute(SPEAKER);
+        assertFalse(proximityLock.held);
+
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+        assertTrue(proximityLock.held);
+
+        manager.setInConference(false);
+        assertFalse(proximityLock.held);
+    }
+
+    @Test
+    public void testProximityLockIsReferenceCounted() {
+        manager.setInConference(true);
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+
+        manager.acquireProximityLock();
+        manager.acquireProximityLock();
+        manager.releaseProximityLock();
+        assertTrue(proximityLock.held);
+
+        manager.releaseProximityLock();
+        assertFalse(proximityLock.held);
+        assertEquals(1, proximityLock.acquireCount);
+    }
+
+    @Test
+    public void testStats() {
+        manager.acquireProximityLock();
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+
+        now = 1000;
+        manager.setInConference(true);
+        manager.acquireCpuLock();
+        now = 4000;
+        manager.setAudioRoute(SPEAKER);
+        now = 5000;
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+        now = 6000;
+
+        PowerLockStats stats = manager.getStats();
+
+        assertEquals(2, stats.getProximityAcquireCount());
+        assertEquals(4000, stats.getProximityTotalHeldTime());
+        assertEquals(3000, stats.getProximityLongestHeldTime());
+        assertEquals(1, stats.getCpuAcquireCount());
+        assertEquals(5000, stats.getCpuTotalHeldTime());
+        assertEquals(5000, stats.getCpuLongestHeldTime());
+    }
+
+    /**
+     * Devices without (some of) the wake locks are supported.
+     */
+    @Test
+    public void testUnsupportedLocks() {
+        manager
+            = new PowerLockManager(
+                null,
+                null,
+                new PowerLockManager.TimeSource() {
+                    @Override
+                    public long elapsedRealtime() {
+                        return now;
+                    }
+                });
+        manager.setInConference(true);
+        manager.setAudioRoute(AudioModeModule.DEVICE_EARPIECE);
+        manager.acquireProximityLock();
+        manager.acquireCpuLock();
+
+        assertFalse(manager.isCpuLockHeld());
+        assertFalse(manager.isProximityLockHeld());
+        assertEquals(0, manager.getStats().getCpuAcquireCount());
+    }
+
+    private static class FakeLock implements PowerLockManager.Lock {
+        int acquireCount;
+
+        boolean held;
+
+        @Override
+        public void acquire() {
+            assertFalse(held);
+            acquireCount++;
+            held = true;
+        }
+
+        @Override
+        public void release() {
+            assertTrue(held);
+            held = false;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PreJoinScheduler} class, on a {@link SimulatedClock}.
+ */
+public class PreJoinSchedulerTest {
+    private static final long MINUTE = 60 * 1000;
+
+    private static final long LEAD_TIME = 10 * MINUTE;
+
+    /**
+     * 2019-05-01T10:00:00Z.
+     */
+    private static final long NOW = 1556704800000L;
+
+    private boolean budgetAllows = true;
+
+    private SimulatedClock clock;
+
+    private int contextWarmups;
+
+    private final List<String> networkWarmups = new ArrayList<>();
+
+    private PreJoinScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        clock = new SimulatedClock(NOW);
+        scheduler
+            = new PreJoinScheduler(
+                clock,
+                new PreJoinScheduler.Budget() {
+                    @Override
+                    public boolean allowsWarmup() {
+                        return budgetAllows;
+                    }
+                },
+                new PreJoinScheduler.Warmup() {
+                    @Override
+                    public void warmUpContext() {
+                        contextWarmups++;
+                    }
+
+                    @Override
+                    public void warmUpNetwork(Reservation reservation) {
+                        networkWarmups.add(reservation.getRoomName());
+                    }
+                },
+                LEAD_TIME);
+    }
+
+    @Test
+    public void testWarmupPhases() {
+        scheduler.schedule(
+            Collections.singletonList(reservation("room", NOW + 30 * MINUTE)));
+
+        clock.advance(20 * MINUTE - 1);
+        assertEquals(0, contextWarmups);
+
+        clock.advance(1);
+        assertEquals(1, contextWarmups);
+        assertTrue(networkWarmups.isEmpty());
+
+        clock.advance(10 * MINUTE - PreJoinScheduler.NETWORK_LEAD_TIME - 1);
+        assertTrue(networkWarmups.isEmpty());
+
+        clock.advance(1);
+        assertEquals(Collections.singletonList("room"), networkWarmups);
+        assertEquals(0, scheduler.getScheduledTaskCount());
+        assertEquals(0, clock.getPendingTaskCount());
+    }
+
+    /**
+     * Past and unknown reservations are not warmed up, ongoing ones right away.
+     */
+    @Test
+    public void testPastAndOngoingReservations() {
+        scheduler.schedule(Arrays.asList(
+            reservation("past", NOW - PreJoinScheduler.START_GRACE_PERIOD - 1),
+            Reservation.notFound("unknown"),
+            reservation("ongoing", NOW - MINUTE)));
+
+        clock.advance(0);
+
+        assertEquals(1, contextWarmups);
+        assertEquals(Collections.singletonList("ongoing"), networkWarmups);
+    }
+
+    /**
+     * Tasks which run late (the device was asleep) are skipped if the
+     * conference started long ago.
+     */
+    @Test
+    public void testLateTasksAreSkipped() {
+        final List<Runnable> tasks = new ArrayList<>();
+        PreJoinScheduler.Clock stuckClock = new PreJoinScheduler.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return clock.currentTimeMillis();
+            }
+
+            @Override
+            public Object schedule(Runnable task, long delay) {
+                tasks.add(task);
+                return task;
+            }
+
+            @Override
+            public void cancel(Object token) {
+                tasks.remove(token);
+            }
+        };
+
+        scheduler
+            = new PreJoinScheduler(
+                stuckClock,
+                new PreJoinScheduler.Budget() {
+                    @Override
+                    public boolean allowsWarmup() {
+                        return true;
+                    }
+                },
+                new PreJoinScheduler.Warmup() {
+                    @Override
+                    public void warmUpContext() {
+                        contextWarmups++;
+                    }
+
+                    @Override
+                    public void warmUpNetwork(Reservation reservation) {
+                        networkWarmups.add(reservation.getRoomName());
+                    }
+                },
+                LEAD_TIME);
+        scheduler.schedule(
+            Collections.singletonList(reservation("room", NOW + 30 * MINUTE)));
+
+        clock.advance(30 * MINUTE + PreJoinScheduler.START_GRACE_PERIOD + 1);
+        for (Runnable task : new ArrayList<>(tasks)) {
+            task.run();
+        }
+
+        assertEquals(0, contextWarmups);
+        assertTrue(networkWarmups.isEmpty());
+    }
+
+    @Test
+    public void testBudget() {
+        budgetAllows = false;
+        scheduler.schedule(
+            Collections.singletonList(reservation("room", NOW + 30 * MINUTE)));
+
+        clock.advance(30 * MINUTE);
+
+        assertEquals(0, contextWarmups);
+        assertTrue(networkWarmups.isEmpty());
+    }
+
+    @Test
+    public void testContextWarmupsPerHourLimit() {
+        List<Reservation> reservations = new ArrayList<>();
+
+        for (int i = 0; i < 2 * PreJoinScheduler.MAX_CONTEXT_WARMUPS_PER_HOUR; i++) {
+            reservations.add(reservation("room" + i, NOW + LEAD_TIME + i * MINUTE));
+        }
+        reservations.add(reservation("later", NOW + LEAD_TIME + 60 * MINUTE));
+
+        scheduler.schedule(reservations);
+        clock.advance(30 * MINUTE);
+
+        assertEquals(PreJoinScheduler.MAX_CONTEXT_WARMUPS_PER_HOUR, contextWarmups);
+        assertEquals(reservations.size() - 1, networkWarmups.size());
+
+        // An hour later, there is budget again.
+        clock.advance(60 * MINUTE);
+
+        assertEquals(PreJoinScheduler.MAX_CONTEXT_WARMUPS_PER_HOUR + 1, contextWarmups);
+    }
+
+    /**
+     * Scheduling again replaces the previous schedule.
+     */
+    @Test
+    public void testReschedule() {
+        scheduler.schedule(
+            Collections.singletonList(reservation("room1", NOW + 30 * MINUTE)));
+        scheduler.schedule(
+            Collections.singletonList(reservation("room2", NOW + 40 * MINUTE)));
+
+        assertEquals(2, clock.getPendingTaskCount());
+
+        clock.advance(40 * MINUTE);
+
+        assertEquals(1, contextWarmups);
+        assertEquals(Collections.singletonList("room2"), networkWarmups);
+
+        scheduler.schedule(
+            Collections.singletonList(reservation("room3", NOW + 60 * MINUTE)));
+        scheduler.cancel();
+
+        assertEquals(0, clock.getPendingTaskCount());
+    }
+
+    private static Reservation reservation(String roomName, long startTime) {
+        return new Reservation(roomName, true, 1, null, startTime, 30 * MINUTE);
+    }
+}
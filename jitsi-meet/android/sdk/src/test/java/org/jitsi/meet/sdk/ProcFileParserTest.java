@@ -0,0 +1,137 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ProcFileParser} class.
+ */
+public class ProcFileParserTest {
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private static final byte[] STAT
+        = ("4242 (org.jitsi.meet) S 610 610 0 0 -1 1077952832 152003 0 1 0"
+            + " 1234 567 0 0 10 -10 91 0 1633 15811080192 58290 18446744073709551615"
+            + " 1 1 0 0 0 0 4612 1 1073775864 0 0 0 17 6 0 0 0 0 0\n")
+            .getBytes(ASCII);
+
+    /**
+     * A thread name with spaces and parentheses.
+     */
+    private static final byte[] THREAD_STAT
+        = ("4250 (a (b) c) R 610 610 0 0 -1 4194368 0 0 0 0 42 8 0 0 20 0\n")
+            .getBytes(ASCII);
+
+    private static final byte[] STATUS
+        = ("Name:\torg.jitsi.meet\nUmask:\t0077\nState:\tS (sleeping)\n"
+            + "VmPeak:\t15858236 kB\nVmRSS:\t  233160 kB\nRssAnon:\t   92028 kB\n"
+            + "Threads:\t91\n")
+            .getBytes(ASCII);
+
+    private static final byte[] VM_RSS = "VmRSS:".getBytes(ASCII);
+
+    private static final byte[] THREADS = "Threads:".getBytes(ASCII);
+
+    @Test
+    public void testCpuTime() {
+        assertEquals(1234 + 567, ProcFileParser.parseCpuTime(STAT, STAT.length));
+        assertEquals(
+            42 + 8,
+            ProcFileParser.parseCpuTime(THREAD_STAT, THREAD_STAT.length));
+
+        // Truncated.
+        assertEquals(-1, ProcFileParser.parseCpuTime(STAT, 60));
+        assertEquals(-1, ProcFileParser.parseCpuTime(new byte[0], 0));
+    }
+
+    @Test
+    public void testComm() {
+        assertTrue(
+            ProcFileParser.commStartsWith(STAT, STAT.length, "org.jitsi".getBytes(ASCII)));
+        assertTrue(
+            ProcFileParser.commStartsWith(
+                THREAD_STAT,
+                THREAD_STAT.length,
+                "a (b)".getBytes(ASCII)));
+        assertFalse(
+            ProcFileParser.commStartsWith(STAT, STAT.length, "mqt_js".getBytes(ASCII)));
+    }
+
+    @Test
+    public void testStatusValue() {
+        assertEquals(
+            233160,
+            ProcFileParser.parseStatusValue(STATUS, STATUS.length, VM_RSS));
+        assertEquals(
+            91,
+            ProcFileParser.parseStatusValue(STATUS, STATUS.length, THREADS));
+        assertEquals(
+            -1,
+            ProcFileParser.parseStatusValue(STATUS, STATUS.length, "VmSwap:".getBytes(ASCII)));
+
+        // "RssAnon:" doesn't match in the middle of a line.
+        assertEquals(
+            -1,
+            ProcFileParser.parseStatusValue(STATUS, STATUS.length, "Anon:".getBytes(ASCII)));
+    }
+
+    /**
+     * The parsers run every second for hours, they're not to allocate.
+     */
+    @Test
+    public void testNoAllocation() {
+        java.lang.management.ThreadMXBean threadMXBean
+            = ManagementFactory.getThreadMXBean();
+
+        Assume.assumeTrue(
+            threadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocations
+            = (com.sun.management.ThreadMXBean) threadMXBean;
+        long threadId = Thread.currentThread().getId();
+        long sum = 0;
+
+        // Warm up, the first calls may allocate while the classes load.
+        for (int i = 0; i < 1000; i++) {
+            sum += parse();
+        }
+
+        long allocated = allocations.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < 100000; i++) {
+            sum += parse();
+        }
+        allocated = allocations.getThreadAllocatedBytes(threadId) - allocated;
+
+        assertTrue(sum > 0);
+
+        // getThreadAllocatedBytes() itself may allocate a little.
+        assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private static long parse() {
+        return ProcFileParser.parseCpuTime(STAT, STAT.length)
+            + ProcFileParser.parseStatusValue(STATUS, STATUS.length, VM_RSS)
+            + (ProcFileParser.commStartsWith(STAT, STAT.length, VM_RSS) ? 1 : 0);
+    }
+}
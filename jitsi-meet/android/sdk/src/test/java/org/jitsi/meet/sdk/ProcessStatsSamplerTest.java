@@ -0,0 +1,161 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ProcessStatsSampler} class, with a fake {@code /proc}
+ * directory.
+ */
+public class ProcessStatsSamplerTest {
+    private static final long CLOCK_TICKS = 100;
+
+    private static final double DELTA = 0.0001;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File root;
+
+    private ProcessStatsSampler sampler;
+
+    @Before
+    public void setUp() throws IOException {
+        root = folder.getRoot();
+        sampler = new ProcessStatsSampler(root, CLOCK_TICKS);
+    }
+
+    @After
+    public void tearDown() {
+        sampler.stop();
+    }
+
+    private static String stat(String comm, long utime, long stime) {
+        return "4242 (" + comm + ") S 1 2 3 4 5 6 7 8 9 10 "
+            + utime + " " + stime + " 0 0 20 0 91 0\n";
+    }
+
+    private void write(String path, String contents) throws IOException {
+        File file = new File(root, path);
+
+        file.getParentFile().mkdirs();
+
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(contents);
+        }
+    }
+
+    private void writeProcess(long cpuTime, long rss) throws IOException {
+        write("stat", stat("org.jitsi.meet", cpuTime, 0));
+        write("status", "Name:\torg.jitsi.meet\nVmRSS:\t" + rss + " kB\n");
+    }
+
+    /**
+     * The CPU use is computed from the previous sample, per group of threads.
+     * The files are kept open and read again.
+     */
+    @Test
+    public void testSamples() throws IOException {
+        writeProcess(1000, 200000);
+        write("task/10/stat", stat("mqt_js", 100, 20));
+        write("task/11/stat", stat("signaling_threa", 50, 0));
+        write("task/12/stat", stat("worker_thread", 50, 0));
+        write("task/13/stat", stat(AudioModeModule.NAME, 5, 0));
+        write("task/14/stat", stat("RenderThread", 300, 0));
+        sampler.sample(1000, 50 * 1024 * 1024);
+
+        ProcessStats stats = sampler.getStats(10000);
+
+        // The first sample has no CPU use.
+        assertNull(stats.getCpuUsage());
+        assertEquals(200000, stats.getResidentMemory().getMean(), DELTA);
+        assertEquals(50 * 1024, stats.getNativeHeapAllocated().getMean(), DELTA);
+
+        // One second later: 150 ticks for the process, i.e. 1.5 cores.
+        writeProcess(1150, 210000);
+        write("task/10/stat", stat("mqt_js", 120, 30));
+        write("task/11/stat", stat("signaling_threa", 60, 0));
+        write("task/12/stat", stat("worker_thread", 55, 5));
+        write("task/13/stat", stat(AudioModeModule.NAME, 6, 0));
+        write("task/14/stat", stat("RenderThread", 400, 0));
+        sampler.sample(2000, 60 * 1024 * 1024);
+
+        stats = sampler.getStats(10000);
+        assertEquals(150, stats.getCpuUsage().getMean(), DELTA);
+        assertEquals(30, stats.getJsThreadCpuUsage().getMean(), DELTA);
+        assertEquals(20, stats.getWebRTCCpuUsage().getMean(), DELTA);
+        assertEquals(1, stats.getAudioCpuUsage().getMean(), DELTA);
+        assertEquals(210000, stats.getResidentMemory().getMax(), DELTA);
+        assertEquals(2, stats.getResidentMemory().getCount());
+    }
+
+    /**
+     * Threads which exit are no longer sampled, new ones are picked up when
+     * the threads are listed again.
+     */
+    @Test
+    public void testThreads() throws IOException {
+        long time = 0;
+
+        writeProcess(0, 1000);
+        write("task/10/stat", stat("mqt_js", 100, 0));
+        sampler.sample(time += 1000, 0);
+
+        new File(root, "task/10/stat").delete();
+        new File(root, "task/10").delete();
+        write("task/20/stat", stat("mqt_js", 0, 0));
+        for (int i = 1; i < ProcessStatsSampler.THREAD_SCAN_INTERVAL; i++) {
+            sampler.sample(time += 1000, 0);
+        }
+        assertEquals(0, sampler.getStats(100000).getJsThreadCpuUsage().getMax(), DELTA);
+
+        // Picked up, its CPU use counts from now on.
+        sampler.sample(time += 1000, 0);
+        write("task/20/stat", stat("mqt_js", 50, 0));
+        sampler.sample(time += 1000, 0);
+        assertEquals(50, sampler.getStats(500).getJsThreadCpuUsage().getMean(), DELTA);
+    }
+
+    /**
+     * The window ends with the last sample.
+     */
+    @Test
+    public void testWindow() throws IOException {
+        for (int i = 0; i <= 10; i++) {
+            writeProcess(i * 10 * i, 1000 + i);
+            sampler.sample(i * 1000, 0);
+        }
+
+        ProcessStats stats = sampler.getStats(3000);
+
+        assertEquals(3000, stats.getWindow());
+        assertEquals(3, stats.getCpuUsage().getCount());
+        assertEquals(1010, stats.getResidentMemory().getMax(), DELTA);
+        assertEquals(1008, stats.getResidentMemory().getMin(), DELTA);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link QualityPolicy} class, with simulated readings.
+ */
+public class QualityPolicyTest {
+    private static final long DELAY = QualityPolicy.UPGRADE_DELAY;
+
+    private QualityPolicy policy;
+
+    @Before
+    public void setUp() {
+        policy = new QualityPolicy();
+    }
+
+    private int update(long time, int thermalStatus) {
+        return policy.update(time, thermalStatus, 80, false, false).index;
+    }
+
+    private int update(long time, int batteryLevel, boolean charging) {
+        return policy.update(time, 0, batteryLevel, charging, false).index;
+    }
+
+    /**
+     * The quality is lowered right away as the device heats up, and raised
+     * one tier at a time once it has cooled down for the upgrade delay.
+     */
+    @Test
+    public void testThermalStatus() {
+        assertEquals(QualityPolicy.HIGH, update(0, 1));
+        assertEquals(QualityPolicy.MEDIUM, update(1000, QualityPolicy.THERMAL_STATUS_MODERATE));
+        assertEquals(QualityPolicy.MINIMAL, update(2000, QualityPolicy.THERMAL_STATUS_CRITICAL));
+        assertEquals(-1, policy.getUpgradeTime());
+
+        // Cooled down.
+        assertEquals(QualityPolicy.MINIMAL, update(3000, 0));
+        assertEquals(3000 + DELAY, policy.getUpgradeTime());
+        assertEquals(QualityPolicy.MINIMAL, update(3000 + DELAY - 1, 0));
+        assertEquals(QualityPolicy.LOW, update(3000 + DELAY, 0));
+        assertEquals(QualityPolicy.MEDIUM, update(3000 + 2 * DELAY, 0));
+        assertEquals(QualityPolicy.HIGH, update(3000 + 3 * DELAY, 0));
+        assertEquals(-1, policy.getUpgradeTime());
+    }
+
+    /**
+     * A status which oscillates around a threshold doesn't raise the quality.
+     */
+    @Test
+    public void testThermalOscillation() {
+        int severe = QualityPolicy.THERMAL_STATUS_SEVERE;
+        long time = 0;
+
+        for (int i = 0; i < 100; i++, time += DELAY / 2) {
+            assertEquals(
+                QualityPolicy.LOW,
+                update(time, i % 2 == 0 ? severe : severe - 1));
+        }
+        assertEquals(QualityPolicy.LOW, update(time, severe - 1));
+        assertEquals(QualityPolicy.MEDIUM, update(time + DELAY, severe - 1));
+    }
+
+    /**
+     * The battery thresholds only apply when not charging, and have a margin
+     * for getting back over them.
+     */
+    @Test
+    public void testBatteryLevel() {
+        int low = QualityPolicy.LOW_BATTERY_LEVEL;
+        int margin = QualityPolicy.BATTERY_LEVEL_MARGIN;
+        long time = 0;
+
+        assertEquals(QualityPolicy.HIGH, update(time, low + 1, false));
+        assertEquals(QualityPolicy.HIGH, update(time, 3, true));
+        assertEquals(QualityPolicy.LOW, update(time, low, false));
+
+        // Within the margin.
+        time += DELAY;
+        assertEquals(QualityPolicy.LOW, update(time, low + margin, false));
+        time += DELAY;
+        assertEquals(QualityPolicy.LOW, update(time, low + margin, false));
+        assertEquals(-1, policy.getUpgradeTime());
+
+        assertEquals(
+            QualityPolicy.MINIMAL,
+            update(time, QualityPolicy.CRITICAL_BATTERY_LEVEL, false));
+
+        // Plugged in.
+        assertEquals(QualityPolicy.MINIMAL, update(time, 6, true));
+        time += DELAY;
+        assertEquals(QualityPolicy.LOW, update(time, 7, true));
+    }
+
+    @Test
+    public void testPowerSaveMode() {
+        assertEquals(
+            QualityPolicy.MEDIUM,
+            policy.update(0, 0, 80, false, true).index);
+        assertEquals(
+            QualityPolicy.LOW,
+            policy.update(1000, QualityPolicy.THERMAL_STATUS_SEVERE, 80, false, true).index);
+
+        // Unknown readings.
+        policy = new QualityPolicy();
+        assertEquals(
+            QualityPolicy.HIGH,
+            policy.update(0, 0, -1, false, false).index);
+    }
+
+    /**
+     * The tiers go down in quality.
+     */
+    @Test
+    public void testTiers() {
+        QualityPolicy.Tier[] tiers = QualityPolicy.TIERS;
+
+        for (int i = 1; i < tiers.length; i++) {
+            assertEquals(i, tiers[i].index);
+            assertTrue(tiers[i].sendHeight <= tiers[i - 1].sendHeight);
+            assertTrue(tiers[i].sendFrameRate <= tiers[i - 1].sendFrameRate);
+            assertTrue(tiers[i].receiveVideoCount > 0);
+        }
+        assertEquals(-1, tiers[QualityPolicy.HIGH].receiveVideoCount);
+    }
+}
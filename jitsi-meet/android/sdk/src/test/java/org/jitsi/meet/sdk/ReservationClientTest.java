@@ -0,0 +1,348 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ReservationClient} class, against a local HTTP stand-in for
+ * the reservation system which responds like its {@code ReservationController}.
+ */
+public class ReservationClientTest {
+    /**
+     * 2019-05-01T10:00:00Z.
+     */
+    private static final long START_TIME = 1556704800000L;
+
+    /**
+     * A reservation valid for 15 minutes from {@link #START_TIME}.
+     */
+    private static final String RESERVATION_JSON
+        = "{\"id\": 364758328,"
+            + "\"createdDateTime\": \"2019-04-30T08:00:00\","
+            + "\"conference\": {\"id\": 0, \"roomName\": \"reserved\","
+            + "\"roomOwnerIdentifier\": \"jane@example.org\","
+            + "\"startTime\": null, \"conferenceDuration\": \"01:30:00\"},"
+            + "\"reservationValidFromDatetime\": \"2019-05-01T10:00:00\","
+            + "\"reservationExpirationDateTime\": \"2019-05-01T12:15:00+02:00\","
+            + "\"meetingHasStarted\": false}";
+
+    /**
+     * A reservation whose meeting started 5 minutes after
+     * {@link #START_TIME}.
+     */
+    private static final String STARTED_RESERVATION_JSON
+        = "{\"id\": 364758329,"
+            + "\"createdDateTime\": \"2019-04-30T08:00:00\","
+            + "\"conference\": {\"id\": 12, \"roomName\": \"started\","
+            + "\"roomOwnerIdentifier\": null,"
+            + "\"startTime\": \"2019-05-01T10:05:00.1234567Z\","
+            + "\"conferenceDuration\": \"01:30:00\"},"
+            + "\"reservationValidFromDatetime\": \"2019-05-01T10:00:00Z\","
+            + "\"reservationExpirationDateTime\": \"2019-05-09T10:00:00Z\","
+            + "\"meetingHasStarted\": true}";
+
+    private ReservationClient client;
+
+    private ExecutorService executor;
+
+    /**
+     * The number of requests per path.
+     */
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Holds back the responses while > 0.
+     */
+    private final CountDownLatch responseLatch = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    private volatile int status = 200;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/reservation/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String path = exchange.getRequestURI().getPath();
+                AtomicInteger count = requests.get(path);
+
+                if (count == null) {
+                    requests.put(path, count = new AtomicInteger());
+                }
+                count.incrementAndGet();
+
+                try {
+                    responseLatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                String room = path.substring(path.lastIndexOf('/') + 1);
+                int code;
+                String body;
+
+                if (room.equals("reserved") && status != 200) {
+                    code = status;
+                    body = "{\"message\": \"Unable to load reservation\"}";
+                } else if (room.equals("reserved")) {
+                    code = 200;
+                    body = RESERVATION_JSON;
+                } else if (room.equals("started")) {
+                    code = 200;
+                    body = STARTED_RESERVATION_JSON;
+                } else {
+                    // The repository fails to locate the reservation, which
+                    // the controller reports as an internal server error.
+                    code = 500;
+                    body
+                        = "{\"message\": \"Unable to locate a reservation for"
+                            + " room: " + room + "\"}";
+                }
+
+                byte[] bytes = body.getBytes("UTF-8");
+
+                exchange.sendResponseHeaders(code, bytes.length);
+
+                OutputStream os = exchange.getResponseBody();
+
+                os.write(bytes);
+                os.close();
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        executor = Executors.newFixedThreadPool(4);
+        client = newClient(ReservationClient.DEFAULT_CACHE_TTL);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    public void testReservation() throws Exception {
+        responseLatch.countDown();
+
+        Reservation reservation = getReservation("reserved");
+
+        assertNotNull(reservation);
+        assertEquals(364758328L, reservation.getId());
+        assertEquals("reserved", reservation.getRoomName());
+        assertEquals("jane@example.org", reservation.getOwner());
+        assertEquals(START_TIME, reservation.getStartTime());
+        assertEquals(900 * 1000, reservation.getDuration());
+
+        assertEquals(
+            Reservation.Status.NOT_STARTED,
+            reservation.getStatus(START_TIME - 1));
+        assertEquals(
+            Reservation.Status.ACTIVE,
+            reservation.getStatus(START_TIME));
+        assertEquals(
+            Reservation.Status.EXPIRED,
+            reservation.getStatus(START_TIME + 900 * 1000));
+
+        // Cached, and room names are case insensitive.
+        assertSame(reservation, getReservation("Reserved"));
+        assertSame(reservation, client.getCachedReservation("reserved"));
+        assertEquals(1, requests.get("/api/reservation/reserved").get());
+    }
+
+    /**
+     * Once the meeting has started, the reservation spans the reserved
+     * conference duration from the start of the meeting.
+     */
+    @Test
+    public void testMeetingStarted() throws Exception {
+        responseLatch.countDown();
+
+        Reservation reservation = getReservation("started");
+        long startTime = START_TIME + 5 * 60 * 1000 + 123;
+
+        assertNotNull(reservation);
+        assertEquals(364758329L, reservation.getId());
+        assertEquals("started", reservation.getRoomName());
+        assertNull(reservation.getOwner());
+        assertEquals(startTime, reservation.getStartTime());
+        assertEquals(90 * 60 * 1000, reservation.getDuration());
+        assertEquals(
+            Reservation.Status.ACTIVE,
+            reservation.getStatus(startTime + 60 * 60 * 1000));
+        assertEquals(
+            Reservation.Status.EXPIRED,
+            reservation.getStatus(startTime + 90 * 60 * 1000));
+    }
+
+    @Test
+    public void testParseTimeSpan() throws Exception {
+        assertEquals(90 * 60 * 1000, Reservation.parseTimeSpan("01:30:00"));
+        assertEquals(
+            (24 + 2) * 60 * 60 * 1000 + 500,
+            Reservation.parseTimeSpan("1.02:00:00.5000000"));
+        assertEquals(-15 * 1000, Reservation.parseTimeSpan("-00:00:15"));
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        responseLatch.countDown();
+
+        Reservation reservation = getReservation("unknown room");
+
+        assertNotNull(reservation);
+        assertEquals(
+            Reservation.Status.NOT_FOUND,
+            reservation.getStatus(START_TIME));
+        assertEquals(1, requests.get("/api/reservation/unknown room").get());
+    }
+
+    @Test
+    public void testCacheExpires() throws Exception {
+        responseLatch.countDown();
+        client = newClient(0);
+
+        getReservation("reserved");
+        Thread.sleep(5);
+
+        assertNull(client.getCachedReservation("reserved"));
+
+        getReservation("reserved");
+
+        assertEquals(2, requests.get("/api/reservation/reserved").get());
+    }
+
+    /**
+     * Prefetching fills the cache, and lookups of rooms being prefetched share
+     * the requests in progress.
+     */
+    @Test
+    public void testPrefetch() throws Exception {
+        client.prefetch(Arrays.asList("reserved", "room1", "room2"));
+        client.prefetch(Arrays.asList("reserved", "room1", "room2"));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        client.getReservation("reserved", new ReservationClient.Callback() {
+            @Override
+            public void onReservation(Reservation reservation) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+            }
+        });
+        responseLatch.countDown();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        // Wait for the other prefetches to complete.
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertNotNull(client.getCachedReservation("room1"));
+        assertNotNull(client.getCachedReservation("room2"));
+        assertEquals(1, requests.get("/api/reservation/reserved").get());
+        assertEquals(1, requests.get("/api/reservation/room1").get());
+        assertEquals(1, requests.get("/api/reservation/room2").get());
+    }
+
+    /**
+     * Errors are delivered through the callback and not cached.
+     */
+    @Test
+    public void testFailure() throws Exception {
+        responseLatch.countDown();
+        status = 500;
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Exception> error = new AtomicReference<>();
+
+        client.getReservation("reserved", new ReservationClient.Callback() {
+            @Override
+            public void onReservation(Reservation reservation) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                error.set(e);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotNull(error.get());
+        assertNull(client.getCachedReservation("reserved"));
+    }
+
+    private Reservation getReservation(String roomName)
+            throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Reservation> result = new AtomicReference<>();
+
+        client.getReservation(roomName, new ReservationClient.Callback() {
+            @Override
+            public void onReservation(Reservation reservation) {
+                result.set(reservation);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        return result.get();
+    }
+
+    private ReservationClient newClient(long cacheTtl) throws IOException {
+        return new ReservationClient(
+            new URL("http://127.0.0.1:" + server.getAddress().getPort()),
+            cacheTtl,
+            executor);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ShutdownRegistry} class.
+ */
+public class ShutdownRegistryTest {
+    private static final long TIMEOUT = 500;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ShutdownRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new ShutdownRegistry();
+    }
+
+    /**
+     * The hooks run in parallel: a hook waiting for another one completes.
+     */
+    @Test
+    public void testHooksRunInParallel() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        ShutdownRegistry.Hook hook = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() throws Exception {
+                latch.countDown();
+                assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+            }
+        };
+
+        registry.register("a", hook);
+        registry.register("b", hook);
+
+        JSONArray hooks = registry.shutDown(null, TIMEOUT).getJSONArray("hooks");
+
+        assertEquals(2, hooks.length());
+        assertEquals(ShutdownRegistry.STATUS_DONE, hooks.getJSONObject(0).getString("status"));
+        assertEquals(ShutdownRegistry.STATUS_DONE, hooks.getJSONObject(1).getString("status"));
+    }
+
+    /**
+     * A stuck hook doesn't hold the shutdown for longer than the time budget.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        final CountDownLatch never = new CountDownLatch(1);
+
+        registry.register("stuck", new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() throws Exception {
+                never.await();
+            }
+        });
+        registry.register("failing", new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                throw new IllegalStateException();
+            }
+        });
+
+        long startTime = System.nanoTime();
+        JSONObject breadcrumb
+            = registry.shutDown(new RuntimeException("boom"), TIMEOUT);
+        long duration
+            = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertTrue(duration >= TIMEOUT);
+        assertTrue(duration < 4 * TIMEOUT);
+
+        JSONArray hooks = breadcrumb.getJSONArray("hooks");
+
+        assertEquals("stuck", hooks.getJSONObject(0).getString("name"));
+        assertEquals(ShutdownRegistry.STATUS_TIMEOUT, hooks.getJSONObject(0).getString("status"));
+        assertFalse(hooks.getJSONObject(0).has("duration"));
+        assertEquals(ShutdownRegistry.STATUS_FAILED, hooks.getJSONObject(1).getString("status"));
+        assertTrue(breadcrumb.getString("cause").contains("boom"));
+        never.countDown();
+    }
+
+    /**
+     * Hooks are replaced by name, and only run once.
+     */
+    @Test
+    public void testRegistration() {
+        final AtomicInteger runs = new AtomicInteger();
+        ShutdownRegistry.Hook hook = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+                runs.incrementAndGet();
+            }
+        };
+
+        registry.register("a", hook);
+        registry.register("a", hook);
+        registry.register("b", hook);
+        registry.unregister("b");
+        registry.shutDown(null, TIMEOUT);
+        registry.shutDown(null, TIMEOUT);
+
+        assertEquals(1, runs.get());
+    }
+
+    /**
+     * A hook which was replaced is not unregistered in place of its
+     * replacement.
+     */
+    @Test
+    public void testUnregisterReplacedHook() throws Exception {
+        ShutdownRegistry.Hook oldHook = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+            }
+        };
+        ShutdownRegistry.Hook newHook = new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+            }
+        };
+
+        registry.register("a", oldHook);
+        registry.register("a", newHook);
+        registry.unregister("a", oldHook);
+        registry.register("b", oldHook);
+        registry.unregister("b", oldHook);
+
+        JSONArray hooks = registry.shutDown(null, TIMEOUT).getJSONArray("hooks");
+
+        assertEquals(1, hooks.length());
+        assertEquals("a", hooks.getJSONObject(0).getString("name"));
+    }
+
+    @Test
+    public void testBreadcrumbFile() throws Exception {
+        File file = new File(temporaryFolder.getRoot(), "breadcrumb.json");
+
+        assertNull(ShutdownRegistry.readBreadcrumb(file));
+
+        registry.setBreadcrumbFile(file);
+        registry.register("a", new ShutdownRegistry.Hook() {
+            @Override
+            public void shutDown() {
+            }
+        });
+
+        JSONObject breadcrumb = registry.shutDown(null, TIMEOUT);
+        JSONObject read = ShutdownRegistry.readBreadcrumb(file);
+
+        assertNotNull(read);
+        assertEquals(breadcrumb.toString(), read.toString());
+
+        // The breadcrumb is only read once.
+        assertFalse(file.exists());
+        assertNull(ShutdownRegistry.readBreadcrumb(file));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import java.util.PriorityQueue;
+
+/**
+ * A {@link PreJoinScheduler.Clock} whose time only moves when told to, running
+ * the tasks which become due on the calling thread. It's also the
+ * {@link DropboxApiClient.TimeSource} of the tests of the Dropbox cache.
+ */
+class SimulatedClock
+    implements DropboxApiClient.TimeSource, PreJoinScheduler.Clock {
+    private long now;
+
+    /**
+     * Used to run tasks due at the same time in the order they were scheduled.
+     */
+    private long sequence;
+
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+
+    SimulatedClock(long now) {
+        this.now = now;
+    }
+
+    /**
+     * Moves the time forward, running the tasks which become due on the way
+     * (at their due time).
+     *
+     * @param millis - How long to move the time forward by.
+     */
+    void advance(long millis) {
+        long end = now + millis;
+
+        while (!tasks.isEmpty() && tasks.peek().dueTime <= end) {
+            Task task = tasks.poll();
+
+            now = Math.max(now, task.dueTime);
+            task.runnable.run();
+        }
+
+        now = end;
+    }
+
+    @Override
+    public void cancel(Object token) {
+        tasks.remove(token);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Gets the number of tasks which are scheduled.
+     */
+    int getPendingTaskCount() {
+        return tasks.size();
+    }
+
+    @Override
+    public Object schedule(Runnable runnable, long delay) {
+        Task task = new Task(runnable, now + delay, sequence++);
+
+        tasks.add(task);
+
+        return task;
+    }
+
+    private static final class Task implements Comparable<Task> {
+        final long dueTime;
+        final Runnable runnable;
+        final long sequence;
+
+        Task(Runnable runnable, long dueTime, long sequence) {
+            this.runnable = runnable;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (dueTime != other.dueTime) {
+                return dueTime < other.dueTime ? -1 : 1;
+            }
+
+            return sequence < other.sequence ? -1 : sequence > other.sequence ? 1 : 0;
+        }
+    }
+}
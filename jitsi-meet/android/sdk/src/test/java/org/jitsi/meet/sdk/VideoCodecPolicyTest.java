@@ -0,0 +1,109 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VideoCodecPolicy} class.
+ */
+public class VideoCodecPolicyTest {
+    private static final List<String> CODECS = Arrays.asList("VP8", "VP9", "H264");
+
+    /**
+     * The defaults keep the software-only behavior and allow every codec.
+     */
+    @Test
+    public void testDefaults() {
+        VideoCodecPolicy policy = new VideoCodecPolicy(null);
+
+        assertFalse(policy.useHardwareDecoder());
+        assertFalse(policy.useHardwareEncoder());
+        assertTrue(policy.useSoftwareFallback());
+        assertEquals(CODECS, policy.filterCodecs(CODECS));
+    }
+
+    /**
+     * Hardware encoding is skipped with simulcast unless explicitly allowed.
+     */
+    @Test
+    public void testHardwareWithSimulcast() {
+        VideoCodecPolicy policy
+            = new VideoCodecPolicy(
+                new VideoCodecOptions.Builder()
+                    .setHardwareAccelerationEnabled(true)
+                    .build());
+
+        assertTrue(policy.useHardwareDecoder());
+        assertFalse(policy.useHardwareEncoder());
+
+        policy
+            = new VideoCodecPolicy(
+                new VideoCodecOptions.Builder()
+                    .setHardwareAccelerationEnabled(true)
+                    .setHardwareSimulcastEnabled(true)
+                    .build());
+
+        assertTrue(policy.useHardwareEncoder());
+
+        policy
+            = new VideoCodecPolicy(
+                new VideoCodecOptions.Builder()
+                    .setHardwareAccelerationEnabled(true)
+                    .setSimulcastEnabled(false)
+                    .build());
+
+        assertTrue(policy.useHardwareEncoder());
+    }
+
+    /**
+     * The allowlist filters the codecs and orders them by preference.
+     */
+    @Test
+    public void testAllowlist() {
+        VideoCodecPolicy policy
+            = new VideoCodecPolicy(
+                new VideoCodecOptions.Builder()
+                    .setCodecAllowlist("h264", "VP8")
+                    .build());
+
+        assertEquals(Arrays.asList("H264", "VP8"), policy.filterCodecs(CODECS));
+        assertTrue(policy.isCodecAllowed("VP8", CODECS));
+        assertFalse(policy.isCodecAllowed("VP9", CODECS));
+    }
+
+    /**
+     * An allowlist which matches nothing must not leave video without codecs.
+     */
+    @Test
+    public void testAllowlistWithoutMatches() {
+        VideoCodecPolicy policy
+            = new VideoCodecPolicy(
+                new VideoCodecOptions.Builder()
+                    .setCodecAllowlist("AV1")
+                    .build());
+
+        assertEquals(CODECS, policy.filterCodecs(CODECS));
+        assertEquals(
+            Arrays.asList("VP8"),
+            policy.filterCodecs(Arrays.asList("VP8")));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WebRTCStatsSampler} and {@link StatsRingBuffer} classes.
+ */
+public class WebRTCStatsSamplerTest {
+    private static final double DELTA = 0.0001;
+
+    private static final double NaN = Double.NaN;
+
+    private WebRTCStatsSampler sampler;
+
+    @Before
+    public void setUp() {
+        sampler = new WebRTCStatsSampler();
+    }
+
+    @Test
+    public void testPercentiles() {
+        StatsRingBuffer buffer = new StatsRingBuffer(100);
+
+        for (int i = 100; i >= 1; i--) {
+            buffer.add(i, i);
+        }
+
+        WebRTCStats.Aggregate aggregate = buffer.aggregate(0);
+
+        assertEquals(100, aggregate.getCount());
+        assertEquals(1, aggregate.getMin(), DELTA);
+        assertEquals(100, aggregate.getMax(), DELTA);
+        assertEquals(50.5, aggregate.getMean(), DELTA);
+        assertEquals(50, aggregate.getP50(), DELTA);
+        assertEquals(95, aggregate.getP95(), DELTA);
+
+        aggregate = buffer.aggregate(90);
+        assertEquals(10, aggregate.getCount());
+        assertEquals(91, aggregate.getMin(), DELTA);
+
+        assertNull(buffer.aggregate(100));
+    }
+
+    /**
+     * Once full, the oldest values are overwritten.
+     */
+    @Test
+    public void testWrapAround() {
+        StatsRingBuffer buffer = new StatsRingBuffer(3);
+
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i, i * 10);
+        }
+
+        WebRTCStats.Aggregate aggregate = buffer.aggregate(0);
+
+        assertEquals(3, buffer.size());
+        assertEquals(3, aggregate.getCount());
+        assertEquals(30, aggregate.getMin(), DELTA);
+        assertEquals(50, aggregate.getMax(), DELTA);
+    }
+
+    /**
+     * The rates are computed from the cumulative counters of two consecutive
+     * samples.
+     */
+    @Test
+    public void testInboundRates() {
+        sampler.onSample(1, "video", false, 1000, 0, 0, 0, 5, 0, 40);
+        sampler.onSample(1, "video", false, 3000, 250000, 190, 10, 7, 60, 60);
+
+        WebRTCStats stats = sampler.getStats(10000);
+
+        assertEquals(1, stats.getStreams().size());
+
+        WebRTCStats.Stream stream = stats.getStreams().get(0);
+
+        assertEquals(1, stream.getSsrc());
+        assertEquals("video", stream.getKind());
+        assertFalse(stream.isOutbound());
+        assertEquals(1, stream.getBitrate().getCount());
+        assertEquals(1000, stream.getBitrate().getMean(), DELTA);
+        assertEquals(30, stream.getFrameRate().getMean(), DELTA);
+        assertEquals(5, stream.getPacketLoss().getMean(), DELTA);
+        assertEquals(2, stream.getJitter().getCount());
+        assertEquals(6, stream.getJitter().getMean(), DELTA);
+        assertEquals(50, stream.getRoundTripTime().getMean(), DELTA);
+    }
+
+    /**
+     * The metrics which are not reported for a stream are not aggregated, and
+     * the window ends with the last sample.
+     */
+    @Test
+    public void testMissingMetricsAndWindow() {
+        sampler.onSample(2, "audio", true, 0, 0, 0, NaN, NaN, NaN, NaN);
+        sampler.onSample(2, "audio", true, 2000, 8000, 100, NaN, NaN, NaN, NaN);
+        sampler.onSample(2, "audio", true, 4000, 24000, 200, NaN, NaN, NaN, NaN);
+
+        WebRTCStats.Stream stream = sampler.getStats(2000).getStreams().get(0);
+
+        assertTrue(stream.isOutbound());
+        assertEquals(1, stream.getBitrate().getCount());
+        assertEquals(64, stream.getBitrate().getMean(), DELTA);
+        assertNull(stream.getFrameRate());
+        assertNull(stream.getJitter());
+        assertNull(stream.getPacketLoss());
+        assertNull(stream.getRoundTripTime());
+
+        assertEquals(2, sampler.getStats(10000).getStreams().get(0).getBitrate().getCount());
+    }
+
+    @Test
+    public void testMaxStreams() {
+        for (int i = 0; i <= WebRTCStatsSampler.MAX_STREAMS; i++) {
+            sampler.onSample(i, "audio", false, 1, NaN, NaN, NaN, 1, NaN, NaN);
+        }
+        assertEquals(
+            WebRTCStatsSampler.MAX_STREAMS,
+            sampler.getStats(1000).getStreams().size());
+
+        // A stream which went away makes room for a new one.
+        long later = WebRTCStatsSampler.CAPACITY * WebRTCStatsSampler.SAMPLE_INTERVAL + 2;
+
+        sampler.onSample(1000, "audio", false, later, NaN, NaN, NaN, 1, NaN, NaN);
+        assertEquals(1, sampler.getStats(1000).getStreams().size());
+        assertEquals(1000, sampler.getStats(1000).getStreams().get(0).getSsrc());
+    }
+
+    /**
+     * Under memory pressure, the series of the streams which ended are
+     * released during a conference, all of them after it.
+     */
+    @Test
+    public void testReleaseSeries() {
+        long stale = WebRTCStatsSampler.STALE_TIME;
+
+        sampler.onCurrentConferenceChanged("https://meet.jit.si/test");
+        try {
+            sampler.onSample(1, "audio", false, 0, NaN, NaN, NaN, 1, NaN, NaN);
+            sampler.onSample(2, "video", false, 0, NaN, NaN, NaN, 1, NaN, NaN);
+            sampler.onSample(2, "video", false, stale, NaN, NaN, NaN, 1, NaN, NaN);
+
+            long released = sampler.releaseSeries();
+
+            assertEquals(
+                5 * new StatsRingBuffer(WebRTCStatsSampler.CAPACITY).getSizeInBytes(),
+                released);
+            assertEquals(1, sampler.getStats(2 * stale).getStreams().size());
+            assertEquals(2, sampler.getStats(2 * stale).getStreams().get(0).getSsrc());
+            assertEquals(0, sampler.releaseSeries());
+        } finally {
+            sampler.onCurrentConferenceChanged(null);
+        }
+
+        assertTrue(sampler.releaseSeries() > 0);
+        assertTrue(sampler.getStats(2 * stale).getStreams().isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright @ 2019-present 8x8, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jitsi.meet.sdk.net;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link NetworkMonitor} class.
+ */
+public class NetworkMonitorTest {
+    private static final NetworkState CELLULAR
+        = new NetworkState("101", NetworkState.TRANSPORT_CELLULAR, false, false, true);
+
+    private static final NetworkState IPV6_ONLY
+        = new NetworkState("102", NetworkState.TRANSPORT_CELLULAR, true, false, true);
+
+    private static final NetworkState WIFI
+        = new NetworkState("100", NetworkState.TRANSPORT_WIFI, false, false, false);
+
+    private final List<NetworkState[]> changes = new ArrayList<>();
+
+    private int discoveries;
+
+    private NetworkMonitor monitor;
+
+    private NAT64AddrInfo nat64AddrInfo;
+
+    @Before
+    public void setUp() {
+        monitor
+            = new NetworkMonitor(
+                new Executor() {
+                    @Override
+                    public void execute(Runnable runnable) {
+                        runnable.run();
+                    }
+                },
+                new NetworkMonitor.NAT64Discoverer() {
+                    @Override
+                    public NAT64AddrInfo discover() {
+                        discoveries++;
+                        return nat64AddrInfo;
+                    }
+                });
+        monitor.addListener(new NetworkMonitor.Listener() {
+            @Override
+            public void onNetworkChanged(
+                    NetworkState state,
+                    NetworkState previous) {
+                changes.add(new NetworkState[] { state, previous });
+            }
+        });
+    }
+
+    /**
+     * The first state is not a change, the same state is not notified twice.
+     */
+    @Test
+    public void testChanges() {
+        monitor.update(WIFI);
+        assertEquals(WIFI, monitor.getState());
+        assertTrue(changes.isEmpty());
+
+        monitor.update(
+            new NetworkState("100", NetworkState.TRANSPORT_WIFI, false, false, false));
+        assertTrue(changes.isEmpty());
+
+        monitor.update(CELLULAR);
+        monitor.update(NetworkState.NONE);
+        assertEquals(2, changes.size());
+        assertSame(CELLULAR, changes.get(0)[0]);
+        assertSame(WIFI, changes.get(0)[1]);
+        assertTrue(CELLULAR.isHandoverFrom(WIFI));
+        assertFalse(NetworkState.NONE.isHandoverFrom(CELLULAR));
+        assertEquals(0, discoveries);
+    }
+
+    /**
+     * Switching access points is a handover, although the transport is the
+     * same. Connecting after having no network is not.
+     */
+    @Test
+    public void testHandoverOnSameTransport() {
+        NetworkState otherWifi
+            = new NetworkState("103", NetworkState.TRANSPORT_WIFI, false, false, false);
+
+        assertTrue(otherWifi.isHandoverFrom(WIFI));
+        assertFalse(WIFI.isHandoverFrom(WIFI));
+        assertFalse(WIFI.isHandoverFrom(NetworkState.NONE));
+    }
+
+    /**
+     * NAT64 is looked up on IPv6-only networks once the listeners know about
+     * the network, and kept for as long as the network is.
+     */
+    @Test
+    public void testNAT64() {
+        nat64AddrInfo
+            = NAT64AddrInfo.figureOutNAT64AddrInfo(
+                new byte[] { (byte) 203, 0, 113, 1 },
+                new byte[] {
+                    0, 0x64, (byte) 0xff, (byte) 0x9b, 0, 0, 0, 0, 0, 0, 0, 0,
+                    (byte) 203, 0, 113, 1
+                });
+        assertNotNull(nat64AddrInfo);
+
+        monitor.update(WIFI);
+        monitor.update(IPV6_ONLY);
+
+        assertEquals(1, discoveries);
+        assertEquals(2, changes.size());
+        assertFalse(changes.get(0)[0].isNAT64());
+        assertTrue(changes.get(1)[0].isNAT64());
+        assertFalse(changes.get(1)[0].isHandoverFrom(changes.get(1)[1]));
+        assertTrue(monitor.getState().isNAT64());
+
+        // A change of the network which is not about IPv6 keeps NAT64.
+        monitor.update(
+            new NetworkState("102", NetworkState.TRANSPORT_CELLULAR, true, false, false));
+        assertEquals(1, discoveries);
+        assertTrue(monitor.getState().isNAT64());
+        assertFalse(monitor.getState().isMetered());
+
+        // No NAT64 on the next IPv6-only network.
+        nat64AddrInfo = null;
+        monitor.update(
+            new NetworkState("104", NetworkState.TRANSPORT_WIFI, true, false, false));
+        assertEquals(2, discoveries);
+        assertFalse(monitor.getState().isNAT64());
+    }
+}
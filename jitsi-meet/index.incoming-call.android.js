@@ -0,0 +1 @@
+import './react/index.incoming-call.native';
@@ -15,12 +15,15 @@ import {
 } from '../../base/responsive-ui';
 import { updateSettings } from '../../base/settings';
 import '../../google-api';
+import '../../mobile/adaptive-quality';
 import '../../mobile/audio-mode';
 import '../../mobile/back-button';
 import '../../mobile/background';
 import '../../mobile/call-integration';
 import '../../mobile/external-api';
 import '../../mobile/full-screen';
+import '../../mobile/memory-pressure';
+import '../../mobile/network-monitor';
 import '../../mobile/permissions';
 import '../../mobile/picture-in-picture';
 import '../../mobile/proximity';
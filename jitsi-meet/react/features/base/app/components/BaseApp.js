@@ -4,24 +4,15 @@ import _ from 'lodash';
 import React, { Component, Fragment } from 'react';
 import { I18nextProvider } from 'react-i18next';
 import { Provider } from 'react-redux';
-import { compose, createStore } from 'redux';
-import Thunk from 'redux-thunk';
 
 import { i18next } from '../../i18n';
-import {
-    MiddlewareRegistry,
-    ReducerRegistry,
-    StateListenerRegistry
-} from '../../redux';
 import { SoundCollection } from '../../sounds';
-import { PersistenceRegistry } from '../../storage';
 
 import { appWillMount, appWillUnmount } from '../actions';
+import { createAppStore } from '../functions';
 
 const logger = require('jitsi-meet-logger').getLogger(__filename);
 
-declare var APP: Object;
-
 /**
  * The type of the React {@code Component} state of {@link BaseApp}.
  */
@@ -180,39 +171,7 @@ export default class BaseApp extends Component<*, State> {
      * this {@code AbstractApp}.
      */
     _createStore() {
-        // Create combined reducer from all reducers in ReducerRegistry.
-        const reducer = ReducerRegistry.combineReducers();
-
-        // Apply all registered middleware from the MiddlewareRegistry and
-        // additional 3rd party middleware:
-        // - Thunk - allows us to dispatch async actions easily. For more info
-        // @see https://github.com/gaearon/redux-thunk.
-        let middleware = MiddlewareRegistry.applyMiddleware(Thunk);
-
-        // Try to enable Redux DevTools Chrome extension in order to make it
-        // available for the purposes of facilitating development.
-        let devToolsExtension;
-
-        if (typeof window === 'object'
-                && (devToolsExtension = window.devToolsExtension)) {
-            middleware = compose(middleware, devToolsExtension());
-        }
-
-        const store = createStore(
-            reducer, PersistenceRegistry.getPersistedState(), middleware);
-
-        // StateListenerRegistry
-        StateListenerRegistry.subscribe(store);
-
-        // This is temporary workaround to be able to dispatch actions from
-        // non-reactified parts of the code (conference.js for example).
-        // Don't use in the react code!!!
-        // FIXME: remove when the reactification is finished!
-        if (typeof APP !== 'undefined') {
-            APP.store = store;
-        }
-
-        return store;
+        return createAppStore();
     }
 
     /**
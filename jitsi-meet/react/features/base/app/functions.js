@@ -1,6 +1,59 @@
 // @flow
 
-import { toState } from '../redux';
+import { compose, createStore } from 'redux';
+import Thunk from 'redux-thunk';
+
+import {
+    MiddlewareRegistry,
+    ReducerRegistry,
+    StateListenerRegistry,
+    toState
+} from '../redux';
+import { PersistenceRegistry } from '../storage';
+
+declare var APP: Object;
+
+/**
+ * Initializes a new redux store instance suitable for use by an app (e.g.
+ * {@link BaseApp}).
+ *
+ * @returns {Store} - A new redux store instance suitable for use by an app.
+ */
+export function createAppStore() {
+    // Create combined reducer from all reducers in ReducerRegistry.
+    const reducer = ReducerRegistry.combineReducers();
+
+    // Apply all registered middleware from the MiddlewareRegistry and
+    // additional 3rd party middleware:
+    // - Thunk - allows us to dispatch async actions easily. For more info
+    // @see https://github.com/gaearon/redux-thunk.
+    let middleware = MiddlewareRegistry.applyMiddleware(Thunk);
+
+    // Try to enable Redux DevTools Chrome extension in order to make it
+    // available for the purposes of facilitating development.
+    let devToolsExtension;
+
+    if (typeof window === 'object'
+            && (devToolsExtension = window.devToolsExtension)) {
+        middleware = compose(middleware, devToolsExtension());
+    }
+
+    const store = createStore(
+        reducer, PersistenceRegistry.getPersistedState(), middleware);
+
+    // StateListenerRegistry
+    StateListenerRegistry.subscribe(store);
+
+    // This is temporary workaround to be able to dispatch actions from
+    // non-reactified parts of the code (conference.js for example).
+    // Don't use in the react code!!!
+    // FIXME: remove when the reactification is finished!
+    if (typeof APP !== 'undefined') {
+        APP.store = store;
+    }
+
+    return store;
+}
 
 /**
  * Gets the value of a specific React {@code Component} prop of the currently
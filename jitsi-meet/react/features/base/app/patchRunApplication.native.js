@@ -0,0 +1,33 @@
+// @flow
+
+import { AppRegistry } from 'react-native';
+
+declare var __DEV__;
+
+/**
+ * HORRIBLE HACK ALERT! React Native logs the initial props with
+ * {@code console.log}. Here we are quickly patching it to avoid logging
+ * potentially sensitive information. Does nothing in development mode.
+ *
+ * @returns {void}
+ */
+export default function patchRunApplication() {
+    if (__DEV__) {
+        return;
+    }
+
+    /* eslint-disable */
+
+    const __orig_console_log = console.log;
+    const __orig_appregistry_runapplication = AppRegistry.runApplication;
+
+    AppRegistry.runApplication = (...args) => {
+        // $FlowExpectedError
+        console.log = () => {};
+        __orig_appregistry_runapplication(...args);
+        // $FlowExpectedError
+        console.log = __orig_console_log;
+    };
+
+    /* eslint-enable */
+}
@@ -162,6 +162,18 @@ export const SET_FOLLOW_ME = 'SET_FOLLOW_ME';
  */
 export const SET_LASTN = 'SET_LASTN';
 
+/**
+ * The type of (redux) action which sets the maximum lastN (value) of the video
+ * channel, e.g. because of the state of the device, even if a larger lastN is
+ * set.
+ *
+ * {
+ *     type: SET_MAX_LASTN,
+ *     maxLastN: number
+ * }
+ */
+export const SET_MAX_LASTN = 'SET_MAX_LASTN';
+
 /**
  * The type of (redux) action which sets the maximum video height that should be
  * received from remote participants, even if the user prefers a larger video
@@ -39,6 +39,7 @@ import {
     SET_DESKTOP_SHARING_ENABLED,
     SET_FOLLOW_ME,
     SET_LASTN,
+    SET_MAX_LASTN,
     SET_MAX_RECEIVER_VIDEO_QUALITY,
     SET_PASSWORD,
     SET_PASSWORD_FAILED,
@@ -60,6 +61,7 @@ import {
     getCurrentConference,
     sendLocalParticipant
 } from './functions';
+import { getDefaultLastN } from './lastN';
 import type { Dispatch } from 'redux';
 
 const logger = require('jitsi-meet-logger').getLogger(__filename);
@@ -587,16 +589,8 @@ export function setFollowMe(enabled: boolean) {
 export function setLastN(lastN: ?number) {
     return (dispatch: Dispatch<any>, getState: Function) => {
         if (typeof lastN === 'undefined') {
-            const config = getState()['features/base/config'];
-
-            /* eslint-disable no-param-reassign */
-
-            lastN = config.channelLastN;
-            if (typeof lastN === 'undefined') {
-                lastN = -1;
-            }
-
-            /* eslint-enable no-param-reassign */
+            // eslint-disable-next-line no-param-reassign
+            lastN = getDefaultLastN(getState()['features/base/config']);
         }
 
         dispatch({
@@ -606,6 +600,23 @@ export function setLastN(lastN: ?number) {
     };
 }
 
+/**
+ * Sets the maximum lastN (value) of the video channel, which caps the lastN set
+ * with {@link setLastN}.
+ *
+ * @param {number} maxLastN - The maximum lastN, -1 for no maximum.
+ * @returns {{
+ *     type: SET_MAX_LASTN,
+ *     maxLastN: number
+ * }}
+ */
+export function setMaxLastN(maxLastN: number) {
+    return {
+        type: SET_MAX_LASTN,
+        maxLastN
+    };
+}
+
 /**
  * Sets the max frame height that should be received from remote videos.
  *
@@ -0,0 +1,55 @@
+// @flow
+
+// XXX The functions of this module are pure and it has no imports, so that it
+// can be unit tested with plain Node.js (see lastN.test.js). Hence the types in
+// the JSDoc rather than Flow annotations.
+
+/**
+ * Caps a lastN (value) with a maximum. A lastN which is not a number (e.g. the
+ * undefined lastN of the redux state before it's set) is replaced with the
+ * default lastN first, and so is a maximum which is not a number with no
+ * maximum.
+ *
+ * @param {*} lastN - The lastN, -1 for no limit.
+ * @param {*} maxLastN - The maximum lastN, -1 for no maximum.
+ * @param {number} defaultLastN - The default lastN (see
+ * {@link getDefaultLastN}).
+ * @returns {number} The lowest of {@code lastN} and {@code maxLastN}.
+ */
+export function capLastN(lastN, maxLastN, defaultLastN) {
+    const normalizedLastN = _isLastN(lastN) ? lastN : defaultLastN;
+
+    if (!_isLastN(maxLastN) || maxLastN === -1) {
+        return normalizedLastN;
+    }
+    if (normalizedLastN === -1) {
+        return maxLastN;
+    }
+
+    return Math.min(normalizedLastN, maxLastN);
+}
+
+/**
+ * Gets the default lastN (value) of the video channel: the one of the config
+ * or, if it doesn't have one, no limit.
+ *
+ * @param {Object} config - The redux state of the feature base/config.
+ * @returns {number} The default lastN, -1 for no limit.
+ */
+export function getDefaultLastN(config) {
+    const { channelLastN } = config || {};
+
+    return _isLastN(channelLastN) ? channelLastN : -1;
+}
+
+/**
+ * Determines whether a value is a lastN (value), i.e. -1 (for no limit) or a
+ * non-negative integer.
+ *
+ * @param {*} value - The value to check.
+ * @private
+ * @returns {boolean}
+ */
+function _isLastN(value) {
+    return Number.isInteger(value) && value >= -1;
+}
@@ -0,0 +1,35 @@
+import assert from 'node:assert';
+import test from 'node:test';
+
+import { capLastN, getDefaultLastN } from './lastN.js';
+
+test('capLastN caps the lastN with the maximum', () => {
+    assert.strictEqual(capLastN(5, 2, -1), 2);
+    assert.strictEqual(capLastN(1, 2, -1), 1);
+    assert.strictEqual(capLastN(0, 2, -1), 0);
+    assert.strictEqual(capLastN(-1, 2, -1), 2);
+    assert.strictEqual(capLastN(5, -1, -1), 5);
+    assert.strictEqual(capLastN(-1, -1, -1), -1);
+});
+
+test('capLastN replaces a lastN which is not a number with the default', () => {
+    for (const lastN of [ undefined, null, NaN, '3', {}, 1.5, -2 ]) {
+        assert.strictEqual(capLastN(lastN, -1, 20), 20);
+        assert.strictEqual(capLastN(lastN, 4, 20), 4);
+        assert.strictEqual(capLastN(lastN, 4, -1), 4);
+        assert.strictEqual(capLastN(lastN, -1, -1), -1);
+    }
+});
+
+test('capLastN ignores a maximum which is not a number', () => {
+    assert.strictEqual(capLastN(5, undefined, -1), 5);
+    assert.strictEqual(capLastN(undefined, NaN, 20), 20);
+});
+
+test('getDefaultLastN falls back to no limit', () => {
+    assert.strictEqual(getDefaultLastN({ channelLastN: 20 }), 20);
+    assert.strictEqual(getDefaultLastN({ channelLastN: 0 }), 0);
+    assert.strictEqual(getDefaultLastN({}), -1);
+    assert.strictEqual(getDefaultLastN({ channelLastN: '20' }), -1);
+    assert.strictEqual(getDefaultLastN(undefined), -1);
+});
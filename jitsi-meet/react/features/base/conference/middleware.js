@@ -39,6 +39,7 @@ import {
     DATA_CHANNEL_OPENED,
     SET_AUDIO_ONLY,
     SET_LASTN,
+    SET_MAX_LASTN,
     SET_PENDING_SUBJECT_CHANGE,
     SET_ROOM
 } from './actionTypes';
@@ -49,6 +50,7 @@ import {
     _handleParticipantError,
     _removeLocalTracksFromConference
 } from './functions';
+import { capLastN, getDefaultLastN } from './lastN';
 
 const logger = require('jitsi-meet-logger').getLogger(__filename);
 
@@ -101,6 +103,9 @@ MiddlewareRegistry.register(store => next => action => {
     case SET_LASTN:
         return _setLastN(store, next, action);
 
+    case SET_MAX_LASTN:
+        return _setMaxLastN(store, next, action);
+
     case SET_ROOM:
         return _setRoom(store, next, action);
 
@@ -203,6 +208,8 @@ function _conferenceJoined({ dispatch, getState }, next, action) {
     const {
         audioOnly,
         conference,
+        lastN,
+        maxLastN,
         pendingSubjectChange
     } = getState()['features/base/conference'];
 
@@ -215,6 +222,10 @@ function _conferenceJoined({ dispatch, getState }, next, action) {
     // and the LastN value needs to be synchronized here.
     audioOnly && conference.getLastN() !== 0 && dispatch(setLastN(0));
 
+    // The new conference starts with the default lastN, which may exceed the
+    // maximum.
+    audioOnly || maxLastN === -1 || dispatch(setLastN(lastN));
+
     // FIXME: Very dirty solution. This will work on web only.
     // When the user closes the window or quits the browser, lib-jitsi-meet
     // handles the process of leaving the conference. This is temporary solution
@@ -549,11 +560,16 @@ function _setAudioOnly({ dispatch, getState }, next, action) {
  * @returns {Object} The value returned by {@code next(action)}.
  */
 function _setLastN({ getState }, next, action) {
-    const { conference } = getState()['features/base/conference'];
+    const state = getState();
+    const { conference, maxLastN } = state['features/base/conference'];
 
     if (conference) {
         try {
-            conference.setLastN(action.lastN);
+            conference.setLastN(
+                capLastN(
+                    action.lastN,
+                    maxLastN,
+                    getDefaultLastN(state['features/base/config'])));
         } catch (err) {
             logger.error(`Failed to set lastN: ${err}`);
         }
@@ -562,6 +578,27 @@ function _setLastN({ getState }, next, action) {
     return next(action);
 }
 
+/**
+ * Sets the maximum lastN (value) of the video channel, and applies it to the
+ * current lastN of the conference.
+ *
+ * @param {Store} store - The redux store in which the specified {@code action}
+ * is being dispatched.
+ * @param {Dispatch} next - The redux {@code dispatch} function to dispatch the
+ * specified {@code action} to the specified {@code store}.
+ * @param {Action} action - The redux action {@code SET_MAX_LASTN} which is
+ * being dispatched in the specified {@code store}.
+ * @private
+ * @returns {Object} The value returned by {@code next(action)}.
+ */
+function _setMaxLastN({ dispatch, getState }, next, action) {
+    const result = next(action);
+
+    dispatch(setLastN(getState()['features/base/conference'].lastN));
+
+    return result;
+}
+
 /**
  * Helper function for updating the preferred receiver video constraint, based
  * on the user preference and the internal maximum.
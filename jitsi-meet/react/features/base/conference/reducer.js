@@ -18,6 +18,8 @@ import {
     SET_AUDIO_ONLY,
     SET_DESKTOP_SHARING_ENABLED,
     SET_FOLLOW_ME,
+    SET_LASTN,
+    SET_MAX_LASTN,
     SET_MAX_RECEIVER_VIDEO_QUALITY,
     SET_PASSWORD,
     SET_PENDING_SUBJECT_CHANGE,
@@ -32,8 +34,10 @@ import { isRoomValid } from './functions';
 const DEFAULT_STATE = {
     conference: undefined,
     joining: undefined,
+    lastN: undefined,
     leaving: undefined,
     locked: undefined,
+    maxLastN: -1,
     maxReceiverVideoQuality: VIDEO_QUALITY_LEVELS.HIGH,
     password: undefined,
     passwordRequired: undefined,
@@ -88,6 +92,12 @@ ReducerRegistry.register(
         case SET_LOCATION_URL:
             return set(state, 'room', undefined);
 
+        case SET_LASTN:
+            return set(state, 'lastN', action.lastN);
+
+        case SET_MAX_LASTN:
+            return set(state, 'maxLastN', action.maxLastN);
+
         case SET_MAX_RECEIVER_VIDEO_QUALITY:
             return set(
                 state,
@@ -0,0 +1,12 @@
+import { NativeModules } from 'react-native';
+import { getJitsiMeetGlobalNS } from '../../util';
+
+/**
+ * If CellularStats native module exist attach it to JitsiMeetGlobalNS, next to
+ * getWiFiStats. It resolves with the recent readings of the cellular radio as
+ * arrays of numbers (see CellularStatsModule).
+ */
+if (NativeModules.CellularStats) {
+    getJitsiMeetGlobalNS().getCellularStats
+        = NativeModules.CellularStats.getCellularStats;
+}
@@ -0,0 +1,12 @@
+import { NativeModules } from 'react-native';
+import { getJitsiMeetGlobalNS } from '../../util';
+
+/**
+ * If ProcessStats native module exist attach it to JitsiMeetGlobalNS, next to
+ * getCellularStats. It resolves with the aggregates of the CPU and memory use
+ * of the process over a time window (see ProcessStatsModule).
+ */
+if (NativeModules.ProcessStats) {
+    getJitsiMeetGlobalNS().getProcessStats
+        = NativeModules.ProcessStats.getProcessStats;
+}
@@ -2,7 +2,8 @@ import { NativeModules } from 'react-native';
 import { getJitsiMeetGlobalNS } from '../../util';
 
 /**
- * If WiFiStats native module exist attach it to JitsiMeetGlobalNS.
+ * If WiFiStats native module exist attach it to JitsiMeetGlobalNS. It resolves
+ * with the stats as an object, which is handed to lib-jitsi-meet as is.
  */
 if (NativeModules.WiFiStats) {
     getJitsiMeetGlobalNS().getWiFiStats = NativeModules.WiFiStats.getWiFiStats;
@@ -1,2 +1,4 @@
 import './polyfills-browser';
+import './CellularStats';
+import './ProcessStats';
 import './WiFiStats';
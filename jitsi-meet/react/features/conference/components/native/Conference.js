@@ -327,9 +327,9 @@ class Conference extends AbstractConference<Props, *> {
     _onHardwareBackPress() {
         let p;
 
-        if (this.props._pictureInPictureEnabled) {
-            const { PictureInPicture } = NativeModules;
+        const { PictureInPicture } = NativeModules;
 
+        if (this.props._pictureInPictureEnabled && PictureInPicture) {
             p = PictureInPicture.enterPictureInPicture();
         } else {
             p = Promise.reject(new Error('PiP not enabled'));
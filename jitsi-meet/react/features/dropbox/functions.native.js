@@ -2,7 +2,17 @@
 
 import { NativeModules } from 'react-native';
 
-const { Dropbox } = NativeModules;
+/**
+ * Gets the Dropbox native module. It's looked up lazily so that the native side
+ * only creates it when it's actually used. It may also be missing altogether if
+ * the SDK was configured to exclude it.
+ *
+ * @private
+ * @returns {Object|undefined}
+ */
+function _getDropbox() {
+    return NativeModules.Dropbox;
+}
 
 /**
  * Action to authorize the Jitsi Recording app in dropbox.
@@ -13,7 +23,7 @@ const { Dropbox } = NativeModules;
  * access token or rejected with an error.
  */
 export function _authorizeDropbox(): Promise<string> {
-    return Dropbox.authorize();
+    return _getDropbox().authorize();
 }
 
 /**
@@ -24,7 +34,7 @@ export function _authorizeDropbox(): Promise<string> {
  * name or rejected with an error.
  */
 export function getDisplayName(token: string) {
-    return Dropbox.getDisplayName(token);
+    return _getDropbox().getDisplayName(token);
 }
 
 /**
@@ -37,7 +47,7 @@ export function getDisplayName(token: string) {
  * with an error.
  */
 export function getSpaceUsage(token: string) {
-    return Dropbox.getSpaceUsage(token);
+    return _getDropbox().getSpaceUsage(token);
 }
 
 /**
@@ -50,5 +60,11 @@ export function getSpaceUsage(token: string) {
 export function isEnabled(state: Object) {
     const { dropbox = {} } = state['features/base/config'];
 
-    return Dropbox.ENABLED && typeof dropbox.appKey === 'string';
+    if (typeof dropbox.appKey !== 'string') {
+        return false;
+    }
+
+    const Dropbox = _getDropbox();
+
+    return Boolean(Dropbox && Dropbox.ENABLED);
 }
@@ -7,6 +7,11 @@ import { ParticipantView } from '../../base/participants';
 import { connect } from '../../base/redux';
 import { DimensionsDetector } from '../../base/responsive-ui';
 import { StyleType } from '../../base/styles';
+import { statsEmitter } from '../../connection-indicator';
+import {
+    setPictureInPictureAspectRatio,
+    setPictureInPictureSourceRectHint
+} from '../../mobile/picture-in-picture/functions';
 
 import { AVATAR_SIZE } from './styles';
 
@@ -77,6 +82,46 @@ class LargeVideo extends Component<Props, State> {
 
         // Bind event handlers so they are only bound once per instance.
         this._onDimensionsChanged = this._onDimensionsChanged.bind(this);
+        this._onStatsUpdated = this._onStatsUpdated.bind(this);
+    }
+
+    /**
+     * Starts listening for the stats of the participant on the stage, in order
+     * to follow the aspect ratio of their video.
+     *
+     * @inheritdoc
+     * @returns {void}
+     */
+    componentDidMount() {
+        statsEmitter.subscribeToClientStats(
+            this.props._participantId, this._onStatsUpdated);
+    }
+
+    /**
+     * Listens for the stats of the new participant on the stage, if it
+     * changed.
+     *
+     * @inheritdoc
+     * @returns {void}
+     */
+    componentDidUpdate(prevProps: Props) {
+        if (prevProps._participantId !== this.props._participantId) {
+            statsEmitter.unsubscribeToClientStats(
+                prevProps._participantId, this._onStatsUpdated);
+            statsEmitter.subscribeToClientStats(
+                this.props._participantId, this._onStatsUpdated);
+        }
+    }
+
+    /**
+     * Stops listening for the stats.
+     *
+     * @inheritdoc
+     * @returns {void}
+     */
+    componentWillUnmount() {
+        statsEmitter.unsubscribeToClientStats(
+            this.props._participantId, this._onStatsUpdated);
     }
 
     _onDimensionsChanged: (width: number, height: number) => void;
@@ -106,6 +151,30 @@ class LargeVideo extends Component<Props, State> {
         }
 
         this.setState(nextState);
+
+        // The large video fills the conference, which fills the window.
+        setPictureInPictureSourceRectHint(0, 0, width, height);
+    }
+
+    _onStatsUpdated: (Object) => void;
+
+    /**
+     * Handles the stats of the participant on the stage: the picture-in-picture
+     * window is set the aspect ratio of their video.
+     *
+     * @param {Object} stats - The stats of the participant.
+     * @private
+     * @returns {void}
+     */
+    _onStatsUpdated({ resolution }) {
+        // The resolution is per SSRC, and there is a single video SSRC.
+        const ssrc = resolution && Object.keys(resolution)[0];
+
+        if (ssrc) {
+            const { height, width } = resolution[ssrc];
+
+            setPictureInPictureAspectRatio(width, height);
+        }
     }
 
     /**
@@ -0,0 +1,16 @@
+/**
+ * The type of redux action which signals that the native side picked another
+ * quality tier, because of the thermal status, the battery level or the power
+ * save mode of the device.
+ *
+ * {
+ *     type: QUALITY_TIER_CHANGED,
+ *     tier: {
+ *         name: string,
+ *         receiveVideoCount: number,
+ *         sendFrameRate: number,
+ *         sendHeight: number
+ *     }
+ * }
+ */
+export const QUALITY_TIER_CHANGED = 'QUALITY_TIER_CHANGED';
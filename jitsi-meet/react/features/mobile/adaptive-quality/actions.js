@@ -0,0 +1,19 @@
+// @flow
+
+import { QUALITY_TIER_CHANGED } from './actionTypes';
+
+/**
+ * Signals that the native side picked another quality tier.
+ *
+ * @param {Object} tier - The quality tier, as sent by the native side.
+ * @returns {{
+ *     type: QUALITY_TIER_CHANGED,
+ *     tier: Object
+ * }}
+ */
+export function qualityTierChanged(tier: Object) {
+    return {
+        type: QUALITY_TIER_CHANGED,
+        tier
+    };
+}
@@ -0,0 +1,19 @@
+// @flow
+
+/**
+ * Limits the height of the video a specific conference sends, if
+ * lib-jitsi-meet supports it.
+ *
+ * @param {JitsiConference} conference - The conference.
+ * @param {number} height - The maximum height of the sent video.
+ * @returns {boolean} Whether the sent video is being limited.
+ */
+export function setSenderVideoHeight(conference: Object, height: number) {
+    if (typeof conference.setSenderVideoConstraint === 'function') {
+        conference.setSenderVideoConstraint(height);
+
+        return true;
+    }
+
+    return false;
+}
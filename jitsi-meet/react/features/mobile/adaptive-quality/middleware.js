@@ -0,0 +1,123 @@
+// @flow
+
+import { DeviceEventEmitter, NativeModules } from 'react-native';
+
+import { APP_WILL_MOUNT, APP_WILL_UNMOUNT } from '../../base/app';
+import {
+    CONFERENCE_JOINED,
+    getCurrentConference,
+    setMaxLastN
+} from '../../base/conference';
+import { MiddlewareRegistry } from '../../base/redux';
+
+import { qualityTierChanged } from './actions';
+import { QUALITY_TIER_CHANGED } from './actionTypes';
+import { setSenderVideoHeight } from './functions';
+
+const logger = require('jitsi-meet-logger').getLogger(__filename);
+
+const { AdaptiveQuality } = NativeModules;
+
+/**
+ * The name of the event with which the native side sends the changes of the
+ * quality tier. It must match {@code AdaptiveQualityModule.TIER_CHANGED_EVENT}
+ * on the native side.
+ *
+ * @type {string}
+ */
+const TIER_CHANGED_EVENT = 'org.jitsi.meet:features/adaptive-quality#tier';
+
+/**
+ * The subscriptions to the changes of the quality tier, by redux store.
+ *
+ * @type {Map<Object, Object>}
+ */
+const _subscriptions = new Map();
+
+/**
+ * Middleware which applies to the conference the quality tier the native side
+ * picks from the thermal status, the battery level and the power save mode of
+ * the device: the number of received videos and, if lib-jitsi-meet supports
+ * it, the height of the sent video. The number of received videos is the
+ * maximum lastN of the conference, so it caps (rather than overrides) the
+ * lastN of audio-only mode, of the background and of the filmstrip.
+ *
+ * @param {Store} store - The redux store.
+ * @returns {Function}
+ */
+MiddlewareRegistry.register(store => next => action => {
+    switch (action.type) {
+    case APP_WILL_MOUNT:
+        // The native module is disabled with the adaptive-quality.enabled
+        // feature flag.
+        if (AdaptiveQuality && !_subscriptions.has(store)) {
+            _subscriptions.set(
+                store,
+                DeviceEventEmitter.addListener(
+                    TIER_CHANGED_EVENT,
+                    tier => store.dispatch(qualityTierChanged(tier))));
+            AdaptiveQuality.getTier()
+                .then(tier => store.dispatch(qualityTierChanged(tier)))
+                .catch(err => logger.error('Failed to get the quality tier', err));
+        }
+        break;
+
+    case APP_WILL_UNMOUNT: {
+        const subscription = _subscriptions.get(store);
+
+        if (subscription) {
+            subscription.remove();
+            _subscriptions.delete(store);
+        }
+        break;
+    }
+
+    case CONFERENCE_JOINED: {
+        const result = next(action);
+
+        _applyTier(store, false);
+
+        return result;
+    }
+
+    case QUALITY_TIER_CHANGED: {
+        const result = next(action);
+        const { receiveVideoCount } = action.tier;
+
+        store.dispatch(
+            setMaxLastN(
+                typeof receiveVideoCount === 'number' ? receiveVideoCount : -1));
+        _applyTier(store, true);
+
+        return result;
+    }
+    }
+
+    return next(action);
+});
+
+/**
+ * Applies the current quality tier to the video sent in the current
+ * conference, if any. The number of received videos is applied by
+ * base/conference, see {@code setMaxLastN}.
+ *
+ * @param {Store} store - The redux store.
+ * @param {boolean} changed - Whether the tier just changed. The default tier
+ * is not applied on joining, so that the defaults of the conference are kept.
+ * @private
+ * @returns {void}
+ */
+function _applyTier({ getState }, changed) {
+    const state = getState();
+    const tier = state['features/adaptive-quality'];
+    const conference = getCurrentConference(state);
+
+    if (!conference || !tier.name || (!changed && tier.name === 'high')) {
+        return;
+    }
+
+    logger.info(`Applying the ${tier.name} quality tier`);
+
+    setSenderVideoHeight(conference, tier.sendHeight)
+        || logger.warn('Sender video constraints not supported by lib-jitsi-meet');
+}
@@ -0,0 +1,20 @@
+// @flow
+
+import { ReducerRegistry } from '../../base/redux';
+
+import { QUALITY_TIER_CHANGED } from './actionTypes';
+
+/**
+ * Reduces the redux actions of the feature adaptive-quality: the state is the
+ * last quality tier sent by the native side, if any.
+ */
+ReducerRegistry.register(
+    'features/adaptive-quality',
+    (state = {}, action) => {
+        switch (action.type) {
+        case QUALITY_TIER_CHANGED:
+            return action.tier;
+        }
+
+        return state;
+    });
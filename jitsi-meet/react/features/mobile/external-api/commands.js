@@ -0,0 +1,149 @@
+// @flow
+
+import { DeviceEventEmitter, NativeModules } from 'react-native';
+
+import { appNavigate } from '../../app/actions';
+import { getCurrentConference } from '../../base/conference';
+import {
+    VIDEO_MUTISM_AUTHORITY,
+    setAudioMuted,
+    setVideoMuted
+} from '../../base/media';
+
+/**
+ * The name of the event with which the native side sends batches of commands.
+ * It must match {@code CommandChannel.COMMANDS_EVENT} on the native side.
+ *
+ * @type {string}
+ */
+const COMMANDS_EVENT = 'org.jitsi.meet:features/external-api#commands';
+
+/**
+ * The subscriptions to the commands, by the external API scope of the app
+ * which executes them.
+ *
+ * @type {Map<string, Object>}
+ */
+const _subscriptions = new Map();
+
+/**
+ * Starts executing the commands the native side sends to a specific app, and
+ * lets the native side know so that it sends the queued ones.
+ *
+ * @param {Store} store - The redux store of the app.
+ * @param {Object} app - The app (e.g. {@code App}).
+ * @returns {void}
+ */
+export function subscribeToCommands(store: Object, app: Object) {
+    const { externalAPIScope } = app.props;
+
+    if (!externalAPIScope || _subscriptions.has(externalAPIScope)) {
+        return;
+    }
+
+    _subscriptions.set(
+        externalAPIScope,
+        DeviceEventEmitter.addListener(
+            COMMANDS_EVENT,
+            commands => _executeCommands(store, externalAPIScope, commands)));
+    NativeModules.ExternalAPI.setCommandsReady(externalAPIScope, true);
+}
+
+/**
+ * Stops executing the commands the native side sends to a specific app.
+ *
+ * @param {Object} app - The app (e.g. {@code App}).
+ * @returns {void}
+ */
+export function unsubscribeFromCommands(app: Object) {
+    const { externalAPIScope } = app.props;
+    const subscription = _subscriptions.get(externalAPIScope);
+
+    if (subscription) {
+        subscription.remove();
+        _subscriptions.delete(externalAPIScope);
+        NativeModules.ExternalAPI.setCommandsReady(externalAPIScope, false);
+    }
+}
+
+/**
+ * Executes a specific command.
+ *
+ * @param {Store} store - The redux store.
+ * @param {string} name - The name of the command.
+ * @param {Object} args - The arguments of the command.
+ * @private
+ * @throws {Error} If the command couldn't be executed.
+ * @returns {void}
+ */
+function _executeCommand({ dispatch, getState }, name, args) {
+    switch (name) {
+    case 'hangUp': {
+        const { app } = getState()['features/base/app'];
+
+        // An app without navigation (i.e. HeadlessApp) knows how to hang up
+        // on its own.
+        if (app && typeof app.hangUp === 'function') {
+            app.hangUp();
+        } else {
+            dispatch(appNavigate(undefined));
+        }
+        break;
+    }
+
+    case 'sendEndpointMessage': {
+        const conference = getCurrentConference(getState());
+
+        if (!conference) {
+            throw new Error('Not in a conference');
+        }
+        conference.sendEndpointMessage(args.to, args.message);
+        break;
+    }
+
+    case 'setAudioMuted':
+        dispatch(setAudioMuted(Boolean(args.muted), /* ensureTrack */ true));
+        break;
+
+    case 'setVideoMuted':
+        dispatch(setVideoMuted(
+            Boolean(args.muted),
+            VIDEO_MUTISM_AUTHORITY.USER,
+            /* ensureTrack */ true));
+        break;
+
+    default:
+        throw new Error(`Unknown command: ${name}`);
+    }
+}
+
+/**
+ * Executes the commands of a batch which are for a specific app, and
+ * acknowledges them all at once.
+ *
+ * @param {Store} store - The redux store of the app.
+ * @param {string} externalAPIScope - The external API scope of the app.
+ * @param {Array<Object>} commands - The batch of commands.
+ * @private
+ * @returns {void}
+ */
+function _executeCommands(store, externalAPIScope, commands) {
+    const acknowledgements = [];
+
+    for (const { args, id, name, scope } of commands) {
+        if (scope === externalAPIScope) {
+            try {
+                _executeCommand(store, name, args);
+                acknowledgements.push({ id });
+            } catch (error) {
+                acknowledgements.push({
+                    error: String((error && error.message) || error),
+                    id
+                });
+            }
+        }
+    }
+
+    acknowledgements.length
+        && NativeModules.ExternalAPI.acknowledgeCommands(acknowledgements);
+}
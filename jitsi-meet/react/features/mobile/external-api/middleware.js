@@ -1,5 +1,6 @@
 // @flow
 
+import { APP_WILL_MOUNT, APP_WILL_UNMOUNT } from '../../base/app';
 import {
     CONFERENCE_FAILED,
     CONFERENCE_JOINED,
@@ -21,6 +22,7 @@ import { MiddlewareRegistry } from '../../base/redux';
 import { toURLString } from '../../base/util';
 import { ENTER_PICTURE_IN_PICTURE } from '../picture-in-picture';
 
+import { subscribeToCommands, unsubscribeFromCommands } from './commands';
 import { sendEvent } from './functions';
 
 /**
@@ -31,7 +33,8 @@ const CONFERENCE_TERMINATED = 'CONFERENCE_TERMINATED';
 
 /**
  * Middleware that captures Redux actions and uses the ExternalAPI module to
- * turn them into native events so the application knows about them.
+ * turn them into native events so the application knows about them. It also
+ * has the mounted apps execute the commands sent by the application.
  *
  * @param {Store} store - Redux store.
  * @returns {Function}
@@ -41,6 +44,14 @@ MiddlewareRegistry.register(store => next => action => {
     const { type } = action;
 
     switch (type) {
+    case APP_WILL_MOUNT:
+        subscribeToCommands(store, action.app);
+        break;
+
+    case APP_WILL_UNMOUNT:
+        unsubscribeFromCommands(action.app);
+        break;
+
     case CONFERENCE_FAILED: {
         const { error, ...data } = action;
 
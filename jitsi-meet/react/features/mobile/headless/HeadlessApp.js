@@ -0,0 +1,188 @@
+// @flow
+
+import { appNavigate } from '../../app/actions';
+import { getDefaultURL } from '../../app/functions';
+import { appWillMount, appWillUnmount, createAppStore } from '../../base/app';
+import { disconnect } from '../../base/connection';
+import { updateFlags } from '../../base/flags';
+import { updateSettings } from '../../base/settings';
+import { toURLString } from '../../base/util';
+
+const logger = require('jitsi-meet-logger').getLogger(__filename);
+
+/**
+ * An app which runs a conference without rendering anything, from a React
+ * Native headless JS task (see {@link headlessConferenceTask}). It takes the
+ * place of the root {@code App} {@code Component} in the redux store, so the
+ * features which get the props of the app (e.g. the external API) are none the
+ * wiser, including the commands sent by the native side (see
+ * {@code mobile/external-api}).
+ */
+export default class HeadlessApp {
+    /**
+     * Whether the conference was left or terminated.
+     */
+    _ended: boolean;
+
+    /**
+     * Whether leaving the conference was requested.
+     */
+    _leaving: boolean;
+
+    /**
+     * Resolves the {@code Promise} returned by {@link #run}.
+     */
+    _resolve: Function;
+
+    /**
+     * Whether the app started connecting.
+     */
+    _started: boolean;
+
+    /**
+     * The redux store of the app.
+     */
+    _store: Object;
+
+    _unsubscribeStore: Function;
+
+    /**
+     * The props of the app, like the ones of {@code App}.
+     */
+    props: Object;
+
+    /**
+     * Initializes a new {@code HeadlessApp} instance.
+     *
+     * @param {Object} props - The props of the app, like the ones of
+     * {@code App}.
+     */
+    constructor(props: Object) {
+        this.props = props;
+
+        this._ended = false;
+        this._leaving = false;
+        this._started = false;
+
+        this._onStateChange = this._onStateChange.bind(this);
+    }
+
+    /**
+     * Runs the conference.
+     *
+     * @returns {Promise} - Resolved once the conference ended.
+     */
+    run(): Promise<void> {
+        const { _initializing } = window.localStorage;
+
+        return new Promise(resolve => {
+            this._resolve = resolve;
+
+            (_initializing || Promise.resolve())
+                .catch(err => {
+                    // The app should always initialize!
+                    logger.error(err);
+                })
+                .then(() => this._start())
+                .catch(err => {
+                    logger.error('Failed to start the headless conference', err);
+                    this._end();
+                });
+        });
+    }
+
+    /**
+     * Leaves the conference. Unlike {@code App}, there's no navigating away
+     * from the conference: the app ends once it's left. If still loading the
+     * config, the app disconnects as soon as it connects (see
+     * {@link #_onStateChange}).
+     *
+     * @returns {void}
+     */
+    hangUp() {
+        if (this._leaving) {
+            return;
+        }
+
+        this._leaving = true;
+        this._started && this._store.dispatch(disconnect());
+    }
+
+    /**
+     * Navigates to a specific route. There's nothing to render.
+     *
+     * @returns {Promise}
+     */
+    _navigate(): Promise<void> {
+        return Promise.resolve();
+    }
+
+    /**
+     * Ends the app, resolving the {@code Promise} returned by {@link #run}.
+     *
+     * @private
+     * @returns {void}
+     */
+    _end() {
+        if (this._ended) {
+            return;
+        }
+
+        this._ended = true;
+        this._unsubscribeStore && this._unsubscribeStore();
+        this._store && this._store.dispatch(appWillUnmount(this));
+        this._resolve();
+    }
+
+    _onStateChange: () => void;
+
+    /**
+     * Ends the app once the conference was left or terminated, or when it
+     * failed to start at all.
+     *
+     * @private
+     * @returns {void}
+     */
+    _onStateChange() {
+        if (this._ended) {
+            return;
+        }
+
+        const state = this._store.getState();
+        const { conference, joining, leaving }
+            = state['features/base/conference'];
+        const { connection, connecting }
+            = state['features/base/connection'];
+
+        if (conference || joining || leaving || connection || connecting) {
+            if (!this._started) {
+                this._started = true;
+                this._leaving && this._store.dispatch(disconnect());
+            }
+        } else if (this._started
+                || state['features/base/config'].error
+                || state['features/base/connection'].error) {
+            this._end();
+        }
+    }
+
+    /**
+     * Creates the redux store and joins the conference.
+     *
+     * @private
+     * @returns {void}
+     */
+    _start() {
+        const store = createAppStore();
+        const { dispatch } = store;
+
+        this._store = store;
+        this._unsubscribeStore = store.subscribe(this._onStateChange);
+
+        dispatch(appWillMount(this));
+        dispatch(updateFlags(this.props.flags));
+        dispatch(updateSettings(this.props.userInfo || {}));
+        dispatch(appNavigate(
+            toURLString(this.props.url) || getDefaultURL(store)));
+    }
+}
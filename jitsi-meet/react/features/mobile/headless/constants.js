@@ -0,0 +1,9 @@
+// @flow
+
+/**
+ * The key with which the headless conference task is registered. It must match
+ * {@code JitsiMeetHeadlessConference.TASK_KEY} on the native side.
+ *
+ * @type {string}
+ */
+export const HEADLESS_TASK_KEY = 'HeadlessConference';
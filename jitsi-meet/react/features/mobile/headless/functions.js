@@ -0,0 +1,15 @@
+// @flow
+
+import HeadlessApp from './HeadlessApp';
+
+/**
+ * The React Native headless JS task which runs a conference without any UI.
+ * The task ends (i.e. the returned {@code Promise} resolves) when the
+ * conference does.
+ *
+ * @param {Object} props - The props of the app, as for {@code App}.
+ * @returns {Promise}
+ */
+export function headlessConferenceTask(props: Object): Promise<void> {
+    return new HeadlessApp(props).run();
+}
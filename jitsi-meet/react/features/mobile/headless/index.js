@@ -0,0 +1,3 @@
+export * from './constants';
+export * from './functions';
+export { default as HeadlessApp } from './HeadlessApp';
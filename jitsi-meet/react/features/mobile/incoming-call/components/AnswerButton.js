@@ -1,9 +1,9 @@
 // @flow
 
-import { translate } from '../../../base/i18n';
+import { translate } from '../../../base/i18n/functions';
 import { connect } from '../../../base/redux';
-import { AbstractButton } from '../../../base/toolbox';
 import type { AbstractButtonProps } from '../../../base/toolbox';
+import AbstractButton from '../../../base/toolbox/components/AbstractButton';
 
 import { incomingCallAnswered } from '../actions';
 
@@ -1,8 +1,21 @@
 // @flow
 
-import { BaseApp } from '../../../base/app';
+import React, { Component } from 'react';
+import { I18nextProvider } from 'react-i18next';
+import { Provider } from 'react-redux';
+import { applyMiddleware, combineReducers, createStore } from 'redux';
+
+// XXX Import the modules of the features the incoming call UI needs rather than
+// their barrels (and, in particular, not BaseApp) because this Component is
+// the root of the dedicated bundle of IncomingCallView
+// (see index.incoming-call.native.js), which must not pull in the conference
+// and media features nor the native modules they require.
+import i18next from '../../../base/i18n/i18next';
 
 import { incomingCallReceived } from '../actions';
+import createMiddleware from '../middleware';
+import reducer from '../reducer';
+
 import IncomingCallPage from './IncomingCallPage';
 
 /**
@@ -20,47 +33,128 @@ type Props = {
      */
     callerName: string,
 
+    /**
+     * The external API scope of the native view which hosts the app.
+     */
+    externalAPIScope: string,
+
     /**
      * Whether this is a video call or not.
      */
     hasVideo: boolean
 };
 
+/**
+ * The type of the React {@code Component} state of {@link IncomingCallApp}.
+ */
+type State = {
+
+    /**
+     * Whether there is a caller, i.e. whether {@link IncomingCallPage} is
+     * rendered.
+     */
+    hasCaller: boolean,
+
+    /**
+     * The redux store of the app.
+     */
+    store: Object
+};
+
 /**
  * Root application component for incoming call.
  *
- * @extends BaseApp
+ * The native side may mount it ahead of time without a caller (in order to
+ * have it ready when a call comes in) and reuse it across calls, updating its
+ * props as the caller information arrives or changes.
+ *
+ * Unlike {@link App}, it has a redux store of its own with the reducer and the
+ * middleware of the feature mobile/incoming-call only.
  */
-export default class IncomingCallApp extends BaseApp<Props> {
-    _init: Promise<*>;
-
+export default class IncomingCallApp extends Component<Props, State> {
     /**
-     * Navigates to {@link IncomingCallPage} upon mount.
+     * Initializes a new {@code IncomingCallApp} instance.
      *
-     * NOTE: This was implmented here instead of in a middleware for the
-     * {@link APP_WILL_MOUNT} action because that would run also for
-     * {@link App}.
+     * @param {Props} props - The read-only React {@code Component} props with
+     * which the new instance is to be initialized.
+     */
+    constructor(props: Props) {
+        super(props);
+
+        this.state = {
+            hasCaller: false,
+            store: createStore(
+                combineReducers({
+                    'features/mobile/incoming-call': reducer
+                }),
+                applyMiddleware(
+                    createMiddleware(() => this.props.externalAPIScope)))
+        };
+    }
+
+    /**
+     * Shows the caller upon mount, if there is one already.
      *
+     * @inheritdoc
      * @returns {void}
      */
     componentDidMount() {
-        super.componentDidMount();
-
-        this._init.then(() => {
-            const { dispatch } = this.state.store;
-            const {
-                callerAvatarURL: avatarUrl,
-                callerName: name,
-                hasVideo
-            } = this.props;
-
-            dispatch(incomingCallReceived({
-                avatarUrl,
-                hasVideo,
-                name
-            }));
-
-            super._navigate({ component: IncomingCallPage });
-        });
+        this._updateCaller();
+    }
+
+    /**
+     * Updates the caller upon changes of the caller information props.
+     *
+     * @inheritdoc
+     * @returns {void}
+     */
+    componentDidUpdate(prevProps: Props) {
+        const { callerAvatarURL, callerName, hasVideo } = this.props;
+
+        if (callerAvatarURL !== prevProps.callerAvatarURL
+                || callerName !== prevProps.callerName
+                || hasVideo !== prevProps.hasVideo) {
+            this._updateCaller();
+        }
+    }
+
+    /**
+     * Implements React's {@link Component#render()}.
+     *
+     * @inheritdoc
+     * @returns {ReactElement}
+     */
+    render() {
+        const { hasCaller, store } = this.state;
+
+        return (
+            <I18nextProvider i18n = { i18next }>
+                <Provider store = { store }>
+                    { hasCaller ? <IncomingCallPage /> : null }
+                </Provider>
+            </I18nextProvider>
+        );
+    }
+
+    /**
+     * Shows the caller specified by the props, or nothing if there is none.
+     *
+     * @private
+     * @returns {void}
+     */
+    _updateCaller() {
+        const {
+            callerAvatarURL: avatarUrl,
+            callerName: name,
+            hasVideo
+        } = this.props;
+
+        name && this.state.store.dispatch(incomingCallReceived({
+            avatarUrl,
+            hasVideo,
+            name
+        }));
+
+        this.setState({ hasCaller: Boolean(name) });
     }
 }
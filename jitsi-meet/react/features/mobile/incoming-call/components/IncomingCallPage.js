@@ -4,8 +4,8 @@ import React, { Component } from 'react';
 import { Image, Text, View } from 'react-native';
 import LinearGradient from 'react-native-linear-gradient';
 
-import { Avatar } from '../../../base/avatar';
-import { translate } from '../../../base/i18n';
+import { StatelessAvatar } from '../../../base/avatar/components/native';
+import { translate } from '../../../base/i18n/functions';
 import { connect } from '../../../base/redux';
 
 import AnswerButton from './AnswerButton';
@@ -128,7 +128,7 @@ class IncomingCallPage extends Component<Props> {
                     colors = { AVATAR_BORDER_GRADIENT }
                     style = { styles.avatarBorder } />
                 <View style = { styles.avatar }>
-                    <Avatar
+                    <StatelessAvatar
                         size = { CALLER_AVATAR_SIZE }
                         url = { this.props._callerAvatarURL } />
                 </View>
@@ -1,4 +1 @@
 export * from './components';
-
-import './middleware';
-import './reducer';
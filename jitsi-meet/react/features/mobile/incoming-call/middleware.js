@@ -1,27 +1,39 @@
 // @flow
 
-import { MiddlewareRegistry } from '../../base/redux';
-
-import { sendEvent } from '../external-api';
+import { NativeModules } from 'react-native';
 
 import { INCOMING_CALL_ANSWERED, INCOMING_CALL_DECLINED } from './actionTypes';
 
 /**
- * Middleware that captures redux actions and uses the ExternalAPI module to
- * turn them into native events so the app knows about them.
+ * Creates the middleware of the redux store of {@link IncomingCallApp}, which
+ * captures redux actions and uses the ExternalAPI module to turn them into
+ * native events so the app knows about them.
  *
- * @param {Store} store - The redux store.
+ * @param {Function} getExternalAPIScope - The function which gets the external
+ * API scope of the native view which hosts the app.
  * @returns {Function}
  */
-MiddlewareRegistry.register(store => next => action => {
-    const result = next(action);
+export default function createMiddleware(getExternalAPIScope: Function) {
+    return () => (next: Function) => (action: Object) => {
+        const result = next(action);
+
+        switch (action.type) {
+        case INCOMING_CALL_ANSWERED:
+        case INCOMING_CALL_DECLINED: {
+            // The JavaScript App needs to provide uniquely identifying
+            // information to the native ExternalAPI module so that the latter
+            // may match the former to the native view which hosts it.
+            const externalAPIScope = getExternalAPIScope();
 
-    switch (action.type) {
-    case INCOMING_CALL_ANSWERED:
-    case INCOMING_CALL_DECLINED:
-        sendEvent(store, action.type, /* data */ {});
-        break;
-    }
+            externalAPIScope
+                && NativeModules.ExternalAPI.sendEvent(
+                    action.type,
+                    /* data */ {},
+                    externalAPIScope);
+            break;
+        }
+        }
 
-    return result;
-});
+        return result;
+    };
+}
@@ -1,6 +1,6 @@
 // @flow
 
-import { ReducerRegistry, set } from '../../base/redux';
+import { set } from '../../base/redux';
 
 import {
     INCOMING_CALL_ANSWERED,
@@ -8,16 +8,23 @@ import {
     INCOMING_CALL_RECEIVED
 } from './actionTypes';
 
-ReducerRegistry.register(
-    'features/mobile/incoming-call', (state = {}, action) => {
-        switch (action.type) {
-        case INCOMING_CALL_ANSWERED:
-        case INCOMING_CALL_DECLINED:
-            return set(state, 'caller', undefined);
+/**
+ * Reduces the redux actions of the feature mobile/incoming-call in the redux
+ * store of {@link IncomingCallApp}.
+ *
+ * @param {Object} state - The current redux state.
+ * @param {Object} action - The redux action to reduce.
+ * @returns {Object} The next redux state.
+ */
+export default function reducer(state: Object = {}, action: Object) {
+    switch (action.type) {
+    case INCOMING_CALL_ANSWERED:
+    case INCOMING_CALL_DECLINED:
+        return set(state, 'caller', undefined);
 
-        case INCOMING_CALL_RECEIVED:
-            return set(state, 'caller', action.caller);
-        }
+    case INCOMING_CALL_RECEIVED:
+        return set(state, 'caller', action.caller);
+    }
 
-        return state;
-    });
+    return state;
+}
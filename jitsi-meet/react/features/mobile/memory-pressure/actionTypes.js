@@ -0,0 +1,22 @@
+/**
+ * The type of redux action which signals that the pressure on the memory of
+ * the device eased, i.e. that Android didn't ask the app to trim its memory
+ * for a while.
+ *
+ * {
+ *     type: MEMORY_PRESSURE_RELIEVED
+ * }
+ */
+export const MEMORY_PRESSURE_RELIEVED = 'MEMORY_PRESSURE_RELIEVED';
+
+/**
+ * The type of redux action which signals that Android asked the app to trim
+ * its memory, and that the native side released what it could.
+ *
+ * {
+ *     type: MEMORY_TRIMMED,
+ *     level: string,
+ *     releasedBytes: number
+ * }
+ */
+export const MEMORY_TRIMMED = 'MEMORY_TRIMMED';
@@ -0,0 +1,37 @@
+// @flow
+
+import { MEMORY_PRESSURE_RELIEVED, MEMORY_TRIMMED } from './actionTypes';
+
+/**
+ * Signals that the pressure on the memory of the device eased.
+ *
+ * @returns {{
+ *     type: MEMORY_PRESSURE_RELIEVED
+ * }}
+ */
+export function memoryPressureRelieved() {
+    return {
+        type: MEMORY_PRESSURE_RELIEVED
+    };
+}
+
+/**
+ * Signals that Android asked the app to trim its memory.
+ *
+ * @param {string} level - The level of the memory pressure, e.g.
+ * "running-low" (see {@code MemoryPressureCoordinator.getLevelName}).
+ * @param {number} releasedBytes - An estimate of the memory the native side
+ * released.
+ * @returns {{
+ *     type: MEMORY_TRIMMED,
+ *     level: string,
+ *     releasedBytes: number
+ * }}
+ */
+export function memoryTrimmed(level: string, releasedBytes: number) {
+    return {
+        type: MEMORY_TRIMMED,
+        level,
+        releasedBytes
+    };
+}
@@ -0,0 +1,175 @@
+// @flow
+
+import { DeviceEventEmitter } from 'react-native';
+
+import { APP_WILL_MOUNT, APP_WILL_UNMOUNT } from '../../base/app';
+import {
+    VIDEO_QUALITY_LEVELS,
+    setPreferredReceiverVideoQuality
+} from '../../base/conference';
+import { MiddlewareRegistry } from '../../base/redux';
+
+import { memoryPressureRelieved, memoryTrimmed } from './actions';
+import { MEMORY_PRESSURE_RELIEVED, MEMORY_TRIMMED } from './actionTypes';
+
+const logger = require('jitsi-meet-logger').getLogger(__filename);
+
+/**
+ * The name of the event with which the native side sends the requests of
+ * Android to trim the memory of the app. It must match
+ * {@code ReactInstanceManagerHolder.MEMORY_TRIMMED_EVENT} on the native side.
+ *
+ * @type {string}
+ */
+const MEMORY_TRIMMED_EVENT = 'org.jitsi.meet:features/memory-pressure#trim';
+
+/**
+ * The maximum quality of the received video per level of memory pressure,
+ * while the app is running. Decoding fewer pixels takes less memory.
+ *
+ * @type {Object}
+ */
+const RECEIVER_VIDEO_QUALITIES = {
+    'running-critical': VIDEO_QUALITY_LEVELS.LOW,
+    'running-low': VIDEO_QUALITY_LEVELS.STANDARD
+};
+
+/**
+ * How long (in milliseconds) Android has to not ask the app to trim its memory
+ * for the pressure to be considered relieved. Android doesn't tell when it
+ * is.
+ *
+ * @type {number}
+ */
+const RECOVERY_DELAY = 60000;
+
+/**
+ * The memory pressures which lowered the quality of the received video, by
+ * redux store: the quality to restore, the one it was lowered to and the
+ * timeout of the recovery.
+ *
+ * @type {Map<Object, Object>}
+ */
+const _pressures = new Map();
+
+/**
+ * The subscriptions to the trims of the memory, by redux store.
+ *
+ * @type {Map<Object, Object>}
+ */
+const _subscriptions = new Map();
+
+/**
+ * Middleware which lowers the quality of the received video when Android asks
+ * the app to trim its memory while it's running, and restores it once the
+ * pressure is relieved.
+ *
+ * @param {Store} store - The redux store.
+ * @returns {Function}
+ */
+MiddlewareRegistry.register(store => next => action => {
+    switch (action.type) {
+    case APP_WILL_MOUNT:
+        _subscriptions.has(store)
+            || _subscriptions.set(
+                store,
+                DeviceEventEmitter.addListener(
+                    MEMORY_TRIMMED_EVENT,
+                    ({ level, releasedBytes }) =>
+                        store.dispatch(memoryTrimmed(level, releasedBytes))));
+        break;
+
+    case APP_WILL_UNMOUNT: {
+        const pressure = _pressures.get(store);
+        const subscription = _subscriptions.get(store);
+
+        if (pressure) {
+            clearTimeout(pressure.timeout);
+            _pressures.delete(store);
+        }
+        if (subscription) {
+            subscription.remove();
+            _subscriptions.delete(store);
+        }
+        break;
+    }
+
+    case MEMORY_PRESSURE_RELIEVED:
+        _memoryPressureRelieved(store);
+        break;
+
+    case MEMORY_TRIMMED:
+        _memoryTrimmed(store, action.level);
+        break;
+    }
+
+    return next(action);
+});
+
+/**
+ * Restores the quality of the received video, unless it was changed since it
+ * was lowered.
+ *
+ * @param {Store} store - The redux store.
+ * @private
+ * @returns {void}
+ */
+function _memoryPressureRelieved(store) {
+    const pressure = _pressures.get(store);
+
+    if (!pressure) {
+        return;
+    }
+
+    const { dispatch, getState } = store;
+    const { preferredReceiverVideoQuality }
+        = getState()['features/base/conference'];
+
+    _pressures.delete(store);
+    clearTimeout(pressure.timeout);
+
+    if (preferredReceiverVideoQuality === pressure.lowered) {
+        logger.info('Memory pressure relieved, restoring the video quality');
+        dispatch(setPreferredReceiverVideoQuality(pressure.previous));
+    }
+}
+
+/**
+ * Lowers the quality of the received video, if the memory is under pressure
+ * while the app is running, and (re)starts the countdown to restoring it.
+ *
+ * @param {Store} store - The redux store.
+ * @param {string} level - The level of the memory pressure.
+ * @private
+ * @returns {void}
+ */
+function _memoryTrimmed(store, level) {
+    const quality = RECEIVER_VIDEO_QUALITIES[level];
+
+    if (!quality) {
+        return;
+    }
+
+    const { dispatch, getState } = store;
+    const { preferredReceiverVideoQuality }
+        = getState()['features/base/conference'];
+    let pressure = _pressures.get(store);
+
+    if (pressure) {
+        clearTimeout(pressure.timeout);
+    } else {
+        pressure = { previous: preferredReceiverVideoQuality };
+        _pressures.set(store, pressure);
+    }
+
+    pressure.lowered = Math.min(preferredReceiverVideoQuality, quality);
+    pressure.timeout
+        = setTimeout(
+            () => dispatch(memoryPressureRelieved()),
+            RECOVERY_DELAY);
+
+    if (preferredReceiverVideoQuality > quality) {
+        logger.info(`Memory pressure (${level}), lowering the video quality`);
+        dispatch(setPreferredReceiverVideoQuality(quality));
+    }
+}
@@ -0,0 +1,27 @@
+// @flow
+
+import { ReducerRegistry } from '../../base/redux';
+
+import { MEMORY_PRESSURE_RELIEVED, MEMORY_TRIMMED } from './actionTypes';
+
+/**
+ * Reduces the redux actions of the feature memory-pressure: the state is the
+ * level of the last trim of the memory and what it released, if the memory is
+ * under pressure.
+ */
+ReducerRegistry.register(
+    'features/memory-pressure',
+    (state = {}, action) => {
+        switch (action.type) {
+        case MEMORY_PRESSURE_RELIEVED:
+            return {};
+
+        case MEMORY_TRIMMED:
+            return {
+                level: action.level,
+                releasedBytes: action.releasedBytes
+            };
+        }
+
+        return state;
+    });
@@ -0,0 +1,18 @@
+/**
+ * The type of redux action which signals that the network of the device
+ * changed.
+ *
+ * {
+ *     type: NETWORK_CHANGED,
+ *     network: {
+ *         connected: boolean,
+ *         handover: boolean,
+ *         ipv6Only: boolean,
+ *         metered: boolean,
+ *         nat64: boolean,
+ *         previousTransport: string,
+ *         transport: string
+ *     }
+ * }
+ */
+export const NETWORK_CHANGED = 'NETWORK_CHANGED';
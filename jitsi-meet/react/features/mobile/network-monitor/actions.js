@@ -0,0 +1,20 @@
+// @flow
+
+import { NETWORK_CHANGED } from './actionTypes';
+
+/**
+ * Signals that the network of the device changed.
+ *
+ * @param {Object} network - The state of the network, as sent by the native
+ * side.
+ * @returns {{
+ *     type: NETWORK_CHANGED,
+ *     network: Object
+ * }}
+ */
+export function networkChanged(network: Object) {
+    return {
+        type: NETWORK_CHANGED,
+        network
+    };
+}
@@ -0,0 +1,96 @@
+// @flow
+
+import { DeviceEventEmitter } from 'react-native';
+
+import { APP_WILL_MOUNT, APP_WILL_UNMOUNT } from '../../base/app';
+import { getCurrentConference } from '../../base/conference';
+import { MiddlewareRegistry } from '../../base/redux';
+
+import { networkChanged } from './actions';
+import { NETWORK_CHANGED } from './actionTypes';
+
+const logger = require('jitsi-meet-logger').getLogger(__filename);
+
+/**
+ * The name of the event with which the native side sends the changes of the
+ * network. It must match {@code ReactInstanceManagerHolder.NETWORK_CHANGED_EVENT}
+ * on the native side.
+ *
+ * @type {string}
+ */
+const NETWORK_CHANGED_EVENT = 'org.jitsi.meet:features/network-monitor#change';
+
+/**
+ * The subscriptions to the changes of the network, by redux store.
+ *
+ * @type {Map<Object, Object>}
+ */
+const _subscriptions = new Map();
+
+/**
+ * Middleware which subscribes to the changes of the network sent by the native
+ * side and stores them in redux, and logs the transport changes (e.g. from
+ * Wi-Fi to cellular) which happen during a conference.
+ *
+ * It doesn't restart ICE on such a handover: lib-jitsi-meet has no public API
+ * to restart ICE nor the JVB session, and its internal ICE failure handling
+ * also stops P2P and reports the failure to Jicofo, which may end the
+ * conference. The recovery of the media session is left to lib-jitsi-meet,
+ * which detects the failure of the connection on its own.
+ *
+ * @param {Store} store - The redux store.
+ * @returns {Function}
+ */
+MiddlewareRegistry.register(store => next => action => {
+    switch (action.type) {
+    case APP_WILL_MOUNT:
+        _subscriptions.has(store)
+            || _subscriptions.set(
+                store,
+                DeviceEventEmitter.addListener(
+                    NETWORK_CHANGED_EVENT,
+                    network => store.dispatch(networkChanged(network))));
+        break;
+
+    case APP_WILL_UNMOUNT: {
+        const subscription = _subscriptions.get(store);
+
+        if (subscription) {
+            subscription.remove();
+            _subscriptions.delete(store);
+        }
+        break;
+    }
+
+    case NETWORK_CHANGED:
+        _networkChanged(store, action.network);
+        break;
+    }
+
+    return next(action);
+});
+
+/**
+ * Logs the switches between transports of a device which was already
+ * connected, during a conference.
+ *
+ * @param {Store} store - The redux store.
+ * @param {Object} network - The state of the network.
+ * @private
+ * @returns {void}
+ */
+function _networkChanged({ getState }, network) {
+    const { handover, previousTransport, transport } = network;
+
+    if (!handover || previousTransport === transport) {
+        return;
+    }
+
+    const conference = getCurrentConference(getState);
+
+    if (conference) {
+        logger.info(
+            `Network handover from ${previousTransport} to ${transport},`
+                + ` connection state: ${conference.getConnectionState()}`);
+    }
+}
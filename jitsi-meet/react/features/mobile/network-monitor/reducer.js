@@ -0,0 +1,20 @@
+// @flow
+
+import { ReducerRegistry } from '../../base/redux';
+
+import { NETWORK_CHANGED } from './actionTypes';
+
+/**
+ * Reduces the redux actions of the feature network-monitor: the state is the
+ * last state of the network sent by the native side, if any.
+ */
+ReducerRegistry.register(
+    'features/network-monitor',
+    (state = {}, action) => {
+        switch (action.type) {
+        case NETWORK_CHANGED:
+            return action.network;
+        }
+
+        return state;
+    });
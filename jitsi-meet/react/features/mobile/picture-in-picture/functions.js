@@ -0,0 +1,73 @@
+// @flow
+
+import { NativeModules } from 'react-native';
+
+import { Platform } from '../../base/react';
+
+/**
+ * The last aspect ratio, as {@code width/height}, which was sent to the native
+ * side, so unchanged ones (the stats are updated periodically) are not sent
+ * again.
+ */
+let _aspectRatio;
+
+/**
+ * The last source rect hint which was sent to the native side.
+ */
+let _sourceRectHint;
+
+/**
+ * Sets the aspect ratio of the picture-in-picture window, so that it fits the
+ * large video. Only applies to Android, where the aspect ratio is set ahead of
+ * entering picture-in-picture.
+ *
+ * @param {number} width - The width of the large video.
+ * @param {number} height - The height of the large video.
+ * @returns {void}
+ */
+export function setPictureInPictureAspectRatio(width: number, height: number) {
+    const { PictureInPicture } = NativeModules;
+
+    if (Platform.OS !== 'android'
+            || !PictureInPicture
+            || !width
+            || !height) {
+        return;
+    }
+
+    const aspectRatio = `${width}/${height}`;
+
+    if (aspectRatio !== _aspectRatio) {
+        _aspectRatio = aspectRatio;
+        PictureInPicture.setAspectRatio(width, height);
+    }
+}
+
+/**
+ * Sets the bounds of the large video in the window, which the transition to
+ * picture-in-picture starts from. Only applies to Android.
+ *
+ * @param {number} x - The left coordinate of the large video.
+ * @param {number} y - The top coordinate of the large video.
+ * @param {number} width - The width of the large video.
+ * @param {number} height - The height of the large video.
+ * @returns {void}
+ */
+export function setPictureInPictureSourceRectHint(
+        x: number,
+        y: number,
+        width: number,
+        height: number) {
+    const { PictureInPicture } = NativeModules;
+
+    if (Platform.OS !== 'android' || !PictureInPicture) {
+        return;
+    }
+
+    const sourceRectHint = `${x},${y},${width},${height}`;
+
+    if (sourceRectHint !== _sourceRectHint) {
+        _sourceRectHint = sourceRectHint;
+        PictureInPicture.setSourceRectHint(x, y, width, height);
+    }
+}
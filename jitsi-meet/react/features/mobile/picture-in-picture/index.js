@@ -1,3 +1,4 @@
 export * from './actions';
 export * from './actionTypes';
+export * from './functions';
 export * from './components';
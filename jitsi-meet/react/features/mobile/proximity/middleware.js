@@ -29,5 +29,8 @@ StateListenerRegistry.register(
  * @returns {void}
  */
 function _setProximityEnabled(enabled) {
-    NativeModules.Proximity.setEnabled(Boolean(enabled));
+    const { Proximity } = NativeModules;
+
+    // The native module may have been excluded from the SDK.
+    Proximity && Proximity.setEnabled(Boolean(enabled));
 }
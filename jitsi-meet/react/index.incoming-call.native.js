@@ -0,0 +1,19 @@
+// @flow
+
+// The entry point of the dedicated bundle of IncomingCallView. It only
+// includes the incoming call UI, so it loads in a fraction of the time and
+// memory of the full app bundle (see index.native.js), which is then only
+// loaded when the call is answered.
+
+import './features/base/lib-jitsi-meet/native/polyfills-bundler';
+
+import { AppRegistry } from 'react-native';
+
+import patchRunApplication from './features/base/app/patchRunApplication';
+import { IncomingCallApp } from './features/mobile/incoming-call';
+
+// Keep React Native from logging the (potentially sensitive) initial props.
+patchRunApplication();
+
+// Register the main/root Component of IncomingCallView.
+AppRegistry.registerComponent('IncomingCallApp', () => IncomingCallApp);
@@ -14,10 +14,13 @@ import React, { PureComponent } from 'react';
 import { AppRegistry } from 'react-native';
 
 import { App } from './features/app';
+import patchRunApplication from './features/base/app/patchRunApplication';
+import {
+    HEADLESS_TASK_KEY,
+    headlessConferenceTask
+} from './features/mobile/headless';
 import { IncomingCallApp } from './features/mobile/incoming-call';
 
-declare var __DEV__;
-
 /**
  * The type of the React {@code Component} props of {@link Root}.
  */
@@ -51,28 +54,19 @@ class Root extends PureComponent<Props> {
     }
 }
 
-// HORRIBLE HACK ALERT! React Native logs the initial props with `console.log`. Here we are quickly patching it
-// to avoid logging potentially sensitive information.
-if (!__DEV__) {
-    /* eslint-disable */
-
-    const __orig_console_log = console.log;
-    const __orig_appregistry_runapplication = AppRegistry.runApplication;
-
-    AppRegistry.runApplication = (...args) => {
-        // $FlowExpectedError
-        console.log = () => {};
-        __orig_appregistry_runapplication(...args);
-        // $FlowExpectedError
-        console.log = __orig_console_log;
-    };
-
-    /* eslint-enable */
-}
-
+// Keep React Native from logging the (potentially sensitive) initial props.
+patchRunApplication();
 
 // Register the main/root Component of JitsiMeetView.
 AppRegistry.registerComponent('App', () => Root);
 
-// Register the main/root Component of IncomingCallView.
+// Register the main/root Component of IncomingCallView. It's also in the
+// dedicated bundle (see index.incoming-call.native.js) which the SDK prefers,
+// but the SDK falls back to this bundle if the dedicated one isn't packaged.
 AppRegistry.registerComponent('IncomingCallApp', () => IncomingCallApp);
+
+// Register the task of JitsiMeetHeadlessConference, which runs a conference
+// without any root view.
+AppRegistry.registerHeadlessTask(
+    HEADLESS_TASK_KEY,
+    () => headlessConferenceTask);